@@ -11,6 +11,7 @@ import org.babyfish.jimmer.client.meta.Doc;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.NonSharedList;
+import org.babyfish.jimmer.runtime.RowValues;
 import org.babyfish.jimmer.sql.Id;
 import org.jetbrains.annotations.Nullable;
 
@@ -18,6 +19,7 @@ import javax.lang.model.element.Modifier;
 import java.util.Objects;
 
 import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotation;
+import static org.babyfish.jimmer.apt.util.SuppressAnnotation.suppressAllAnnotation;
 
 public class ImplGenerator {
 
@@ -48,6 +50,7 @@ public class ImplGenerator {
             addGetter(prop);
         }
         addClone();
+        addCreateRow();
         addIsLoaded(PropId.class);
         addIsLoaded(String.class);
         addIsVisible(PropId.class);
@@ -193,6 +196,120 @@ public class ImplGenerator {
         typeBuilder.addMethod(builder.build());
     }
 
+    private void addCreateRow() {
+        if (!isRowFactorySupported(type)) {
+            return;
+        }
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("__createRow")
+                .addModifiers(Modifier.STATIC)
+                .addAnnotation(suppressAllAnnotation())
+                .addParameter(ArrayTypeName.of(Constants.PROP_ID_CLASS_NAME), "__propIds")
+                .addParameter(RowValues.class, "__values")
+                .returns(type.getImplClassName());
+        builder.addStatement("$T __row = new $T()", type.getImplClassName(), type.getImplClassName());
+        builder.beginControlFlow("for (int __index = 0; __index < __propIds.length; __index++)");
+        builder.beginControlFlow("switch (__propIds[__index].asIndex())");
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            builder.beginControlFlow("case $L:", prop.getSlotName());
+            if (prop.isJavaFormula() || prop.getManyToManyViewBaseProp() != null) {
+                builder.addStatement("break");
+            } else if (prop.getIdViewBaseProp() != null) {
+                builder.addStatement(
+                        "throw new IllegalArgumentException($S)",
+                        "The id view property \"" + prop + "\" cannot be created by row"
+                );
+            } else if (primitiveGetterName(prop) != null) {
+                builder.addStatement(
+                        "__row.$L = __values.$L(__index)",
+                        prop.getValueName(),
+                        primitiveGetterName(prop)
+                );
+                builder.addStatement(
+                        "if (__values.wasNull()) throw new IllegalArgumentException($S)",
+                        "'" + prop.getName() + "' cannot be null"
+                );
+                if (prop.isLoadedStateRequired()) {
+                    builder.addStatement("__row.$L = true", prop.getLoadedStateName());
+                }
+                builder.addStatement("break");
+            } else {
+                builder.addStatement("Object value = __values.get(__index)");
+                if (!prop.isNullable()) {
+                    builder.addStatement(
+                            "if (value == null) throw new IllegalArgumentException($S)",
+                            "'" + prop.getName() + "' cannot be null"
+                    );
+                }
+                Object castTo = prop.getBoxType();
+                if (castTo == null) {
+                    castTo = prop.getTypeName();
+                }
+                if (prop.isList()) {
+                    builder.addStatement(
+                            "__row.$L = $T.of(null, ($T)value)",
+                            prop.getValueName(),
+                            NonSharedList.class,
+                            castTo
+                    );
+                } else {
+                    builder.addStatement("__row.$L = ($T)value", prop.getValueName(), castTo);
+                }
+                if (prop.isLoadedStateRequired()) {
+                    builder.addStatement("__row.$L = true", prop.getLoadedStateName());
+                }
+                builder.addStatement("break");
+            }
+            builder.endControlFlow();
+        }
+        builder.addStatement(
+                "default: throw new IllegalArgumentException($S + __propIds[__index] + $S)",
+                "Illegal property id for \"" + type + "\": \"",
+                "\""
+        );
+        builder.endControlFlow();
+        builder.endControlFlow();
+        builder.addStatement("return __row");
+        typeBuilder.addMethod(builder.build());
+    }
+
+    /**
+     * The values of these primitive types are got without boxing
+     */
+    private static String primitiveGetterName(ImmutableProp prop) {
+        TypeName typeName = prop.getTypeName();
+        if (typeName.equals(TypeName.INT)) {
+            return "getInt";
+        }
+        if (typeName.equals(TypeName.LONG)) {
+            return "getLong";
+        }
+        if (typeName.equals(TypeName.DOUBLE)) {
+            return "getDouble";
+        }
+        if (typeName.equals(TypeName.BOOLEAN)) {
+            return "getBoolean";
+        }
+        return null;
+    }
+
+    /**
+     * Row factory is not generated for the type with validation rules,
+     * the validators belong to the draft implementation.
+     */
+    static boolean isRowFactorySupported(ImmutableType type) {
+        if (type.isMappedSuperClass() || !type.getValidationMessageMap().isEmpty()) {
+            return false;
+        }
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (!prop.getValidationMessageMap().isEmpty() ||
+                    !Annotations.validateAnnotationMirrorMultiMap(prop).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void addIsLoaded(Class<?> argType) {
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder("__isLoaded")
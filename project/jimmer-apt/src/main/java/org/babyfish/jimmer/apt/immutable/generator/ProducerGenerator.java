@@ -259,6 +259,9 @@ public class ProducerGenerator {
                 );
             }
         }
+        if (ImplGenerator.isRowFactorySupported(type)) {
+            builder.add(".rowFactory(Impl::__createRow)\n");
+        }
         builder.add(".build()")
                 .unindent();
         typeBuilder.addField(
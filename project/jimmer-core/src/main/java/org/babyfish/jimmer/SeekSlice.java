@@ -0,0 +1,82 @@
+package org.babyfish.jimmer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of keyset(seek) pagination, unlike {@link Slice},
+ * the next slice is located by the opaque cursor, not by offset,
+ * so that the cost of deep pages is the same as the first page.
+ * @param <T> The row type
+ *
+ * @see Slice
+ */
+public class SeekSlice<T> {
+
+    @NotNull
+    private final List<T> rows;
+
+    private final boolean isHead;
+
+    @Nullable
+    private final String nextCursor;
+
+    public SeekSlice(@NotNull List<T> rows, boolean isHead, @Nullable String nextCursor) {
+        this.rows = rows;
+        this.isHead = isHead;
+        this.nextCursor = nextCursor;
+    }
+
+    @NotNull
+    public List<T> getRows() {
+        return rows;
+    }
+
+    public boolean isHead() {
+        return isHead;
+    }
+
+    public boolean isTail() {
+        return nextCursor == null;
+    }
+
+    /**
+     * @return The cursor to fetch the next slice, or null if this slice is tail.
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SeekSlice<?> slice = (SeekSlice<?>) o;
+
+        if (isHead != slice.isHead) return false;
+        if (!Objects.equals(nextCursor, slice.nextCursor)) return false;
+        return rows.equals(slice.rows);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = rows.hashCode();
+        result = 31 * result + (isHead ? 1 : 0);
+        result = 31 * result + Objects.hashCode(nextCursor);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SeekSlice{" +
+                "rows=" + rows +
+                ", isHead=" + isHead +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
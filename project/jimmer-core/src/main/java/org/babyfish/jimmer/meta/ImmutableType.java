@@ -4,6 +4,7 @@ import kotlin.reflect.KClass;
 import org.babyfish.jimmer.Draft;
 import org.babyfish.jimmer.meta.impl.Metadata;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.RowFactory;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.LogicalDeletedValueGenerator;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
@@ -73,6 +74,13 @@ public interface ImmutableType {
     @NotNull
     BiFunction<DraftContext, Object, Draft> getDraftFactory();
 
+    /**
+     * @return The factory which creates object from selected row without draft,
+     * null if it is not generated for this type.
+     */
+    @Nullable
+    RowFactory getRowFactory();
+
     @NotNull
     Map<String, ImmutableProp> getDeclaredProps();
 
@@ -197,6 +205,8 @@ public interface ImmutableType {
                 boolean nullable
         );
 
+        Builder rowFactory(RowFactory rowFactory);
+
         ImmutableType build();
     }
 }
@@ -7,6 +7,7 @@ import org.babyfish.jimmer.Immutable;
 import org.babyfish.jimmer.View;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.RowFactory;
 import org.babyfish.jimmer.sql.*;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.LogicalDeletedValueGenerator;
@@ -62,6 +63,8 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
 
     private final BiFunction<DraftContext, Object, Draft> draftFactory;
 
+    private RowFactory rowFactory;
+
     private Map<String, ImmutableProp> declaredProps;
 
     private Map<String, ImmutableProp> props;
@@ -244,6 +247,12 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
         return draftFactory;
     }
 
+    @Nullable
+    @Override
+    public RowFactory getRowFactory() {
+        return rowFactory;
+    }
+
     @NotNull
     @Override
     public Map<String, ImmutableProp> getDeclaredProps() {
@@ -503,6 +512,10 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
         this.props = Collections.unmodifiableMap(createPropMap(redefinedMap));
     }
 
+    void setRowFactory(RowFactory rowFactory) {
+        this.rowFactory = rowFactory;
+    }
+
     void setIdProp(ImmutableProp idProp) {
         if (idProp.getDeclaringType() != this) {
             idProp = getProp(idProp.getName());
@@ -634,6 +647,8 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
 
         private final BiFunction<DraftContext, Object, Draft> draftFactory;
 
+        private RowFactory rowFactory;
+
         private String idPropName;
 
         private String versionPropName;
@@ -1154,6 +1169,12 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
                     ImmutablePropCategory.SCALAR;
         }
 
+        @Override
+        public Builder rowFactory(RowFactory rowFactory) {
+            this.rowFactory = rowFactory;
+            return this;
+        }
+
         @Override
         public ImmutableType build() {
 
@@ -1166,6 +1187,7 @@ class ImmutableTypeImpl extends AbstractImmutableTypeImpl {
                 map.put(e.getKey(), e.getValue().build(type));
             }
             type.setProps(map, redefinedMap);
+            type.setRowFactory(rowFactory);
 
             if (idPropName != null) {
                 type.setIdProp(type.declaredProps.get(idPropName));
@@ -0,0 +1,48 @@
+package org.babyfish.jimmer.runtime;
+
+class ArrayRowValues implements RowValues {
+
+    private final Object[] values;
+
+    private boolean wasNull;
+
+    ArrayRowValues(Object[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Object get(int index) {
+        Object value = values[index];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public int getInt(int index) {
+        Object value = get(index);
+        return value != null ? (Integer) value : 0;
+    }
+
+    @Override
+    public long getLong(int index) {
+        Object value = get(index);
+        return value != null ? (Long) value : 0L;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        Object value = get(index);
+        return value != null ? (Double) value : 0D;
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        Object value = get(index);
+        return value != null && (Boolean) value;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+}
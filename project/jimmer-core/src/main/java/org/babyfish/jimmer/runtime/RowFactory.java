@@ -0,0 +1,25 @@
+package org.babyfish.jimmer.runtime;
+
+import org.babyfish.jimmer.meta.PropId;
+
+/**
+ * Creates the final immutable object from the values of
+ * one selected row directly, without draft.
+ *
+ * <p>It is generated by the annotation processor or KSP,
+ * the value at the index {@code i} of {@code values} is
+ * the value of the property {@code propIds[i]}, the
+ * properties which are not specified are unloaded.
+ * The values of the properties whose types are
+ * {@code int}, {@code long}, {@code double} and {@code boolean}
+ * are got by the primitive getters of {@link RowValues}.</p>
+ */
+@FunctionalInterface
+public interface RowFactory {
+
+    ImmutableSpi create(PropId[] propIds, RowValues values);
+
+    default ImmutableSpi create(PropId[] propIds, Object[] values) {
+        return create(propIds, RowValues.of(values));
+    }
+}
@@ -0,0 +1,27 @@
+package org.babyfish.jimmer.runtime;
+
+/**
+ * The values of one selected row which are passed to {@link RowFactory}.
+ *
+ * <p>Like JDBC, the primitive getters do not box the values,
+ * they return the default value of the primitive type for null
+ * and {@link #wasNull()} tells whether the last got value is null.</p>
+ */
+public interface RowValues {
+
+    Object get(int index);
+
+    int getInt(int index);
+
+    long getLong(int index);
+
+    double getDouble(int index);
+
+    boolean getBoolean(int index);
+
+    boolean wasNull();
+
+    static RowValues of(Object[] values) {
+        return new ArrayRowValues(values);
+    }
+}
@@ -89,6 +89,7 @@ internal val DRAFT_CONTEXT_CLASS_NAME = DraftContext::class.asClassName()
 internal val NON_SHARED_LIST_CLASS_NAME = NonSharedList::class.asClassName()
 internal val VISIBILITY_CLASS_NAME = Visibility::class.asClassName()
 internal val PROP_ID_CLASS_NAME = PropId::class.asClassName()
+internal val ROW_VALUES_CLASS_NAME = RowValues::class.asClassName()
 internal val CIRCULAR_REFERENCE_EXCEPTION_CLASS_NAME = CircularReferenceException::class.asClassName()
 internal val IMMUTABLE_CREATOR_CLASS_NAME = ClassName("org.babyfish.jimmer.kt", "ImmutableCreator")
 internal val DSL_SCOPE_CLASS_NAME = ClassName("org.babyfish.jimmer.kt", "DslScope")
@@ -59,6 +59,101 @@ class ImplGenerator(
                 }
                 .build()
         )
+        if (type.isRowFactorySupported) {
+            parent.addCreateRowFun()
+        }
+    }
+
+    private fun TypeSpec.Builder.addCreateRowFun() {
+        addFunction(
+            FunSpec
+                .builder("__createRow")
+                .addModifiers(KModifier.PRIVATE)
+                .addAnnotation(
+                    AnnotationSpec
+                        .builder(Suppress::class)
+                        .addMember("%S", "UNCHECKED_CAST")
+                        .build()
+                )
+                .addParameter("__propIds", ARRAY.parameterizedBy(PROP_ID_CLASS_NAME))
+                .addParameter("__values", ROW_VALUES_CLASS_NAME)
+                .returns(type.draftClassName(PRODUCER, IMPL))
+                .addCode(
+                    CodeBlock
+                        .builder()
+                        .apply {
+                            addStatement("val __row = %T()", type.draftClassName(PRODUCER, IMPL))
+                            beginControlFlow("for (__index in __propIds.indices)")
+                            beginControlFlow("when (__propIds[__index].asIndex())")
+                            for (prop in type.propsOrderById) {
+                                if (prop.isKotlinFormula || prop.manyToManyViewBaseProp !== null) {
+                                    addStatement("%L -> {}", prop.slotName)
+                                    continue
+                                }
+                                beginControlFlow("%L ->", prop.slotName)
+                                if (prop.idViewBaseProp !== null) {
+                                    addStatement(
+                                        "throw IllegalArgumentException(%S)",
+                                        "The id view property \"$prop\" cannot be created by row"
+                                    )
+                                } else if (prop.primitiveGetterName !== null) {
+                                    addStatement(
+                                        "__row.%L = __values.%L(__index)",
+                                        prop.valueFieldName,
+                                        prop.primitiveGetterName
+                                    )
+                                    beginControlFlow("if (__values.wasNull())")
+                                    addStatement(
+                                        "throw IllegalArgumentException(%S)",
+                                        "'${prop.name}' cannot be null"
+                                    )
+                                    endControlFlow()
+                                    prop.loadedFieldName?.let {
+                                        addStatement("__row.%L = true", it)
+                                    }
+                                } else {
+                                    add(
+                                        "val %N = __values.get(__index) as %T?",
+                                        prop.name,
+                                        prop.typeName(overrideNullable = false)
+                                    )
+                                    if (!prop.isNullable) {
+                                        add(
+                                            "\n\t?: throw IllegalArgumentException(%S)",
+                                            "'${prop.name}' cannot be null"
+                                        )
+                                    }
+                                    add("\n")
+                                    if (prop.isList || prop.isScalarList) {
+                                        addStatement(
+                                            "__row.%L = %T.of(null, %N)",
+                                            prop.valueFieldName,
+                                            NON_SHARED_LIST_CLASS_NAME,
+                                            prop.name
+                                        )
+                                    } else {
+                                        addStatement("__row.%L = %N", prop.valueFieldName, prop.name)
+                                    }
+                                    prop.loadedFieldName?.let {
+                                        addStatement("__row.%L = true", it)
+                                    }
+                                }
+                                endControlFlow()
+                            }
+                            add("else -> throw IllegalArgumentException(\n")
+                            indent()
+                            add("%S + \n", "Illegal property id for \"$type\": ")
+                            add("__propIds[__index]\n")
+                            unindent()
+                            addStatement(")")
+                            endControlFlow()
+                            endControlFlow()
+                            addStatement("return __row")
+                        }
+                        .build()
+                )
+                .build()
+        )
     }
 
     private fun TypeSpec.Builder.addFields(prop: ImmutableProp) {
@@ -537,4 +632,21 @@ class ImplGenerator(
                 .build()
         )
     }
-}
\ No newline at end of file
+}
+
+/**
+ * The values of these primitive types are got without boxing
+ */
+private val ImmutableProp.primitiveGetterName: String?
+    get() =
+        if (isPrimitive) {
+            when (typeName()) {
+                INT -> "getInt"
+                LONG -> "getLong"
+                DOUBLE -> "getDouble"
+                BOOLEAN -> "getBoolean"
+                else -> null
+            }
+        } else {
+            null
+        }
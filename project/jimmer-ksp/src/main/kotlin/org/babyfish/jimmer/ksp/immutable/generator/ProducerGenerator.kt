@@ -82,6 +82,9 @@ class ProducerGenerator(
         for (prop in type.declaredProperties.values) {
             addProp(prop)
         }
+        if (type.isRowFactorySupported) {
+            add(".rowFactory { propIds, values -> __createRow(propIds, values) }\n")
+        }
         add(".build()")
         unindent()
     }
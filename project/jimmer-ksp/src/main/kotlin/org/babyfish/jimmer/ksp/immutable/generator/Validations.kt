@@ -2,6 +2,7 @@ package org.babyfish.jimmer.ksp.immutable.generator
 
 import com.google.devtools.ksp.symbol.KSAnnotation
 import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
 import org.babyfish.jimmer.ksp.util.fastResolve
 
 val ImmutableProp.validationAnnotationMirrorMultiMap: Map<String, List<KSAnnotation>>
@@ -18,6 +19,15 @@ val ImmutableProp.validationAnnotationMirrorMultiMap: Map<String, List<KSAnnotat
         }
     }
 
+/**
+ * Row factory is not generated for the type with validation rules,
+ * the validators belong to the draft implementation.
+ */
+internal val ImmutableType.isRowFactorySupported: Boolean
+    get() = !isMappedSuperclass && validationMessages.isEmpty() && properties.values.all {
+        it.validationMessages.isEmpty() && it.validationAnnotationMirrorMultiMap.isEmpty()
+    }
+
 private const val JAVAX_PREFIX = "javax.validation.constraints."
 
 private const val JAKARTA_PREFIX = "jakarta.validation.constraints."
\ No newline at end of file
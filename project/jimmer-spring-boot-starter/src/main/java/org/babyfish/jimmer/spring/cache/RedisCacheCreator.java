@@ -7,6 +7,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheCreator;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineHashBinder;
 import org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder;
 import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
@@ -41,6 +42,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(type))
                 .add(redisValueBinder(type))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
@@ -55,6 +57,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(prop))
                 .add(redisValueBinder(prop))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
@@ -78,6 +81,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .refreshPolicy(refreshPolicy(type))
                 .build();
     }
 
@@ -91,6 +95,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .refreshPolicy(refreshPolicy(prop))
                 .build();
     }
 
@@ -116,6 +121,9 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .serializationFormat(args.serializationFormat)
+                .refreshPolicy(refreshPolicy(type))
+                .batchPolicy(args.remoteBatchPolicy)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -134,6 +142,9 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .serializationFormat(args.serializationFormat)
+                .refreshPolicy(refreshPolicy(prop))
+                .batchPolicy(args.remoteBatchPolicy)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -152,6 +163,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.multiVewDuration)
                 .randomPercent(args.randomDurationPercent)
+                .serializationFormat(args.serializationFormat)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -161,6 +173,20 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 );
     }
 
+    private CacheRefreshPolicy refreshPolicy(ImmutableType type) {
+        Args args = args();
+        return args.refreshPolicyProvider != null ?
+                args.refreshPolicyProvider.typePolicy(type) :
+                null;
+    }
+
+    private CacheRefreshPolicy refreshPolicy(ImmutableProp prop) {
+        Args args = args();
+        return args.refreshPolicyProvider != null ?
+                args.refreshPolicyProvider.propPolicy(prop) :
+                null;
+    }
+
     private static class Root extends Cfg {
 
         final RedisConnectionFactory connectionFactory;
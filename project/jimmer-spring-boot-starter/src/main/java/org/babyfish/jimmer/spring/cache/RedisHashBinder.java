@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,6 +33,30 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                null,
+                operations
+        );
+    }
+
+    protected RedisHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @NotNull RedisOperations<String, byte[]> operations
     ) {
         super(
                 type,
@@ -40,7 +65,8 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                 objectMapper,
                 keyPrefixProvider,
                 duration,
-                randomPercent
+                randomPercent,
+                serializationFormat
         );
         this.operations = operations;
     }
@@ -131,6 +157,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                     keyPrefixProvider,
                     duration,
                     randomPercent,
+                    serializationFormat,
                     operations
             );
         }
@@ -3,8 +3,11 @@ package org.babyfish.jimmer.spring.cache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.RemoteBatchPolicy;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,7 +17,9 @@ import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.SessionCallback;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +37,84 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                null,
+                operations
+        );
+    }
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat,
+                null,
+                operations
+        );
+    }
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @Nullable CacheRefreshPolicy refreshPolicy,
+            @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat,
+                refreshPolicy,
+                null,
+                operations
+        );
+    }
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            @NotNull Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @Nullable CacheRefreshPolicy refreshPolicy,
+            @Nullable RemoteBatchPolicy batchPolicy,
+            @NotNull RedisOperations<String, byte[]> operations
     ) {
         super(
                 type,
@@ -40,7 +123,10 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
                 objectMapper,
                 keyPrefixProvider,
                 duration,
-                randomPercent
+                randomPercent,
+                serializationFormat,
+                refreshPolicy,
+                batchPolicy
         );
         this.operations = operations;
     }
@@ -72,6 +158,57 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         );
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    protected List<List<byte[]>> readBatch(List<List<String>> keyGroups) {
+        if (keyGroups.size() == 1) {
+            return Collections.singletonList(read(keyGroups.get(0)));
+        }
+        // One MGET for each slot, all of them are sent by one pipeline
+        List<Object> results = operations.executePipelined(
+                new SessionCallback<Void>() {
+                    @Override
+                    public <XK, XV> Void execute(RedisOperations<XK, XV> pops) throws DataAccessException {
+                        RedisOperations<String, byte[]> pipelinedOps = (RedisOperations<String, byte[]>)pops;
+                        for (List<String> keyGroup : keyGroups) {
+                            pipelinedOps.opsForValue().multiGet(keyGroup);
+                        }
+                        return null;
+                    }
+                }
+        );
+        List<List<byte[]>> valueGroups = new ArrayList<>(results.size());
+        for (Object result : results) {
+            valueGroups.add((List<byte[]>) result);
+        }
+        return valueGroups;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void writeBatch(List<Map<String, byte[]>> maps) {
+        // SET with PX for each key, so that each command only accesses one slot
+        operations.executePipelined(
+                new SessionCallback<Void>() {
+                    @Override
+                    public <XK, XV> Void execute(RedisOperations<XK, XV> pops) throws DataAccessException {
+                        RedisOperations<String, byte[]> pipelinedOps = (RedisOperations<String, byte[]>)pops;
+                        for (Map<String, byte[]> map : maps) {
+                            for (Map.Entry<String, byte[]> e : map.entrySet()) {
+                                pipelinedOps.opsForValue().set(
+                                        e.getKey(),
+                                        e.getValue(),
+                                        nextExpireMillis(),
+                                        TimeUnit.MILLISECONDS
+                                );
+                            }
+                        }
+                        return null;
+                    }
+                }
+        );
+    }
+
     @Override
     protected void deleteAllSerializedKeys(List<String> serializedKeys) {
         operations.delete(serializedKeys);
@@ -96,10 +233,24 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
 
         private RedisOperations<String, byte[]> operations;
 
+        private CacheRefreshPolicy refreshPolicy;
+
+        private RemoteBatchPolicy batchPolicy;
+
         protected Builder(ImmutableType type, ImmutableProp prop) {
             super(type, prop);
         }
 
+        public Builder<K, V> refreshPolicy(CacheRefreshPolicy refreshPolicy) {
+            this.refreshPolicy = refreshPolicy;
+            return this;
+        }
+
+        public Builder<K, V> batchPolicy(RemoteBatchPolicy batchPolicy) {
+            this.batchPolicy = batchPolicy;
+            return this;
+        }
+
         public Builder<K, V> redis(RedisOperations<String, byte[]> operations) {
             this.operations = operations;
             return this;
@@ -124,6 +275,9 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
                     keyPrefixProvider,
                     duration,
                     randomPercent,
+                    serializationFormat,
+                    refreshPolicy,
+                    batchPolicy,
                     operations
             );
         }
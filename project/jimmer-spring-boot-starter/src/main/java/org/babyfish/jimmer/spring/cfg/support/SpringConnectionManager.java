@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.cfg.support;
 
+import org.babyfish.jimmer.sql.runtime.StatementCache;
 import org.babyfish.jimmer.sql.transaction.Propagation;
 import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
 import org.jetbrains.annotations.NotNull;
@@ -9,13 +10,18 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-public class SpringConnectionManager implements DataSourceAwareConnectionManager, TxConnectionManager {
+public class SpringConnectionManager implements
+        DataSourceAwareConnectionManager,
+        TxConnectionManager,
+        StatementCache.ScopeBinder {
 
     private final DataSource dataSource;
 
@@ -74,6 +80,46 @@ public class SpringConnectionManager implements DataSourceAwareConnectionManager
         return result;
     }
 
+    /**
+     * The connection bound to spring transaction is borrowed by
+     * every statement of that transaction, keep the cached statements
+     * until the transaction is completed.
+     */
+    @Override
+    public boolean bindScope(Connection con, Runnable release) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+                !DataSourceUtils.isConnectionTransactional(con, dataSource)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        release.run();
+                    }
+                }
+        );
+        return true;
+    }
+
+    @Override
+    public boolean registerAfterCommit(Connection con, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+                !TransactionSynchronizationManager.isActualTransactionActive() ||
+                !DataSourceUtils.isConnectionTransactional(con, dataSource)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+        );
+        return true;
+    }
+
     private DataSourceTransactionManager transactionManager() {
         Object obj = transactionManagerObject();
         if (obj instanceof RuntimeException) {
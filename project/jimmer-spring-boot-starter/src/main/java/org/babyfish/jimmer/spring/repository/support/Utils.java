@@ -16,6 +16,7 @@ import org.babyfish.jimmer.sql.meta.EmbeddedColumns;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.StatementCache;
 import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
@@ -46,7 +47,7 @@ public class Utils {
         if (sqlClient instanceof TransactionalSqlClientImplementor) {
             return implementor;
         }
-        if (!(implementor.getConnectionManager() instanceof SpringConnectionManager)) {
+        if (!(StatementCache.unwrap(implementor.getConnectionManager()) instanceof SpringConnectionManager)) {
             throw new IllegalArgumentException(
                     "The connection manager of sql client must be instance of \"" +
                             SpringConnectionManager.class.getName() +
@@ -60,7 +61,7 @@ public class Utils {
                             "\""
             );
         }
-        ConnectionManager slaveConnectionManager = implementor.getSlaveConnectionManager(false);
+        ConnectionManager slaveConnectionManager = StatementCache.unwrap(implementor.getSlaveConnectionManager(false));
         if (slaveConnectionManager != null && !(slaveConnectionManager instanceof SpringConnectionManager)) {
             throw new IllegalArgumentException(
                     "The slave connection manager of sql client must be null or instance of \"" +
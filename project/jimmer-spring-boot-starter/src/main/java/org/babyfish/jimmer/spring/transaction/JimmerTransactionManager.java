@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.kt.KSqlClient;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.StatementCache;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.jdbc.support.JdbcTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -81,7 +82,7 @@ public class JimmerTransactionManager extends JdbcTransactionManager {
                             "\""
             );
         }
-        ConnectionManager connectionManager = ((JSqlClientImplementor)sqlClient).getConnectionManager();
+        ConnectionManager connectionManager = StatementCache.unwrap(((JSqlClientImplementor)sqlClient).getConnectionManager());
         if (!(connectionManager instanceof DataSourceAwareConnectionManager)) {
             throw new IllegalArgumentException(
                     "The data source of sql client must be an instance of \"" +
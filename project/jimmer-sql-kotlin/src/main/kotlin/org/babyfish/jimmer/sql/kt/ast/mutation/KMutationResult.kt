@@ -13,4 +13,8 @@ interface KMutationResult {
     fun affectedRowCount(entityType: KClass<*>): Int
 
     fun affectedRowCount(prop: KProperty1<*, *>): Int
+
+    val skippedRowCountMap: Map<AffectedTable, Int>
+
+    fun skippedRowCount(entityType: KClass<*>): Int
 }
\ No newline at end of file
@@ -185,6 +185,27 @@ interface KSaveCommandPartialDsl {
 
     fun setMaxCommandJoinCount(count: Int)
 
+    /**
+     * Insert the objects of `INSERT_ONLY` mode by the native bulk load
+     * protocol of database, see the java method
+     * `AbstractEntitySaveCommand.setBulkLoadEnabled(boolean)`
+     */
+    fun setBulkLoadEnabled(enabled: Boolean = true)
+
+    /**
+     * Save the associated objects of all shapes together for each
+     * association property, see the java method
+     * `AbstractEntitySaveCommand.setShapeMergingEnabled(boolean)`
+     */
+    fun setShapeMergingEnabled(enabled: Boolean = true)
+
+    /**
+     * Skip the unchanged objects and only update the changed columns
+     * by comparing with the original rows, see the java method
+     * `AbstractEntitySaveCommand.setDiffUpdateEnabled(boolean)`
+     */
+    fun setDiffUpdateEnabled(enabled: Boolean = true)
+
     interface OptimisticLockContext<E: Any> {
         val table: KNonNullTable<E>
         fun <V: Any> newNonNull(prop: KProperty1<E, V>): KNonNullExpression<V>
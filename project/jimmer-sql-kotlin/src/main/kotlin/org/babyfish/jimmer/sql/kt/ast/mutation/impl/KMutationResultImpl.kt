@@ -24,6 +24,12 @@ internal abstract class KMutationResultImpl(
             AffectedTable.of(prop.toImmutableProp())
         )
 
+    override val skippedRowCountMap: Map<AffectedTable, Int>
+        get() = javaResult.skippedRowCountMap
+
+    override fun skippedRowCount(entityType: KClass<*>): Int =
+        javaResult.getSkippedRowCount(entityType.java)
+
     override fun hashCode(): Int {
         return javaResult.hashCode()
     }
@@ -180,5 +180,17 @@ internal class KSaveCommandDslImpl(
     override fun setMaxCommandJoinCount(count: Int) {
         javaCommand = javaCommand.setMaxCommandJoinCount(count)
     }
+
+    override fun setBulkLoadEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setBulkLoadEnabled(enabled)
+    }
+
+    override fun setShapeMergingEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setShapeMergingEnabled(enabled)
+    }
+
+    override fun setDiffUpdateEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setDiffUpdateEnabled(enabled)
+    }
 }
 
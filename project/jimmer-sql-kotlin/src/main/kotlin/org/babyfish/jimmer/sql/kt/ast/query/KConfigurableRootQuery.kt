@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.kt.ast.query
 
 import org.babyfish.jimmer.Page
+import org.babyfish.jimmer.SeekSlice
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.lang.NewChain
 import org.babyfish.jimmer.sql.ast.query.PageFactory
@@ -51,6 +52,21 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
         con: Connection? = null
     ) : Slice<R>
 
+    /**
+     * Keyset(seek) pagination, the sort orders of current query
+     * and the id are used as the key, so that deep pages are as cheap
+     * as the first page.
+     *
+     * @param afterCursor The `nextCursor` of previous slice, null means the first slice
+     * @param pageSize The max row count of the slice
+     * @param con The explicit jdbc connection, null means using default connection
+     */
+    fun fetchSeek(
+        afterCursor: String?,
+        pageSize: Int,
+        con: Connection? = null
+    ) : SeekSlice<R>
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
@@ -30,4 +30,15 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = -1,
         block: (R) -> Unit
     )
-}
\ No newline at end of file
+
+    /**
+     * Read the rows lazily by a cursor, the sequence is only
+     * valid inside the block because the cursor is closed
+     * when the block returns.
+     */
+    fun <X> stream(
+        con: Connection? = null,
+        batchSize: Int = -1,
+        block: (Sequence<R>) -> X
+    ): X
+}
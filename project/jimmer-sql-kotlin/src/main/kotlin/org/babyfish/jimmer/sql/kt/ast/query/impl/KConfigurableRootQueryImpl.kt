@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.kt.ast.query.impl
 
+import org.babyfish.jimmer.SeekSlice
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.impl.query.PageSource
@@ -53,6 +54,10 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
             )
         }
 
+        if ((javaQuery as ConfigurableRootQueryImpl<*, *>).baseQuery.sqlClient.concurrentPagingExecutor != null) {
+            return javaQuery.fetchPage(pageIndex, pageSize, con, pageFactory)
+        }
+
         val offset = pageIndex.toLong() * pageSize
         require(offset <= Long.MAX_VALUE - pageSize) { "offset is too big" }
         val total = this.fetchUnlimitedCount(con)
@@ -111,9 +116,15 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
         )
     }
 
+    override fun fetchUnlimitedCount(con: Connection?): Long =
+        javaQuery.fetchUnlimitedCount(con)
+
     override fun fetchSlice(limit: Int, offset: Int, con: Connection?): Slice<R> =
         javaQuery.fetchSlice(limit, offset, con)
 
+    override fun fetchSeek(afterCursor: String?, pageSize: Int, con: Connection?): SeekSlice<R> =
+        javaQuery.fetchSeek(afterCursor, pageSize, con)
+
     override fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
     ): KConfigurableRootQuery<E, X> {
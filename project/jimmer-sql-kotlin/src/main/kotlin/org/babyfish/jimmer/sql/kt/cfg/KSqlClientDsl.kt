@@ -386,6 +386,70 @@ class KSqlClientDsl constructor(
         javaBuilder.setMicroServiceExchange(exchange)
     }
 
+    fun setQueryReaderCacheEnabled(enabled: Boolean) {
+        javaBuilder.setQueryReaderCacheEnabled(enabled)
+    }
+
+    fun setQueryReaderCacheMaxSize(maxSize: Int) {
+        javaBuilder.setQueryReaderCacheMaxSize(maxSize)
+    }
+
+    fun setParallelFetchingEnabled(enabled: Boolean) {
+        javaBuilder.setParallelFetchingEnabled(enabled)
+    }
+
+    fun setParallelFetchingExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setParallelFetchingExecutor(executor)
+    }
+
+    fun setAssociationMemoEnabled(enabled: Boolean) {
+        javaBuilder.setAssociationMemoEnabled(enabled)
+    }
+
+    fun setAssociationMemoMaxSize(maxSize: Int) {
+        javaBuilder.setAssociationMemoMaxSize(maxSize)
+    }
+
+    fun setAssociationMemoDuration(duration: java.time.Duration) {
+        javaBuilder.setAssociationMemoDuration(duration)
+    }
+
+    fun setAdaptiveBatchSizeEnabled(enabled: Boolean) {
+        javaBuilder.setAdaptiveBatchSizeEnabled(enabled)
+    }
+
+    fun setLargeInListThreshold(threshold: Int) {
+        javaBuilder.setLargeInListThreshold(threshold)
+    }
+
+    fun setStatementCacheEnabled(enabled: Boolean) {
+        javaBuilder.setStatementCacheEnabled(enabled)
+    }
+
+    fun setStatementCacheMaxSize(maxSize: Int) {
+        javaBuilder.setStatementCacheMaxSize(maxSize)
+    }
+
+    fun setConcurrentPagingEnabled(enabled: Boolean) {
+        javaBuilder.setConcurrentPagingEnabled(enabled)
+    }
+
+    fun setCountCacheEnabled(enabled: Boolean) {
+        javaBuilder.setCountCacheEnabled(enabled)
+    }
+
+    fun setCountCacheDuration(duration: java.time.Duration) {
+        javaBuilder.setCountCacheDuration(duration)
+    }
+
+    fun setCountCache(countCache: CountCache?) {
+        javaBuilder.setCountCache(countCache)
+    }
+
+    fun setMultiRowInsertBatchSize(size: Int) {
+        javaBuilder.setMultiRowInsertBatchSize(size)
+    }
+
     @DslScope
     class ConnectionManagerDsl internal constructor(
         private val javaBlock: Function<Connection, *>
@@ -35,13 +35,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperations {
 
@@ -181,6 +184,16 @@ public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperatio
         return getEntities().saveEntitiesCommand(entities);
     }
 
+    @Override
+    default <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Iterator<E> entities) {
+        return getEntities().saveEntitiesCommand(entities);
+    }
+
+    @Override
+    default <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Stream<E> entities) {
+        return getEntities().saveEntitiesCommand(entities);
+    }
+
     default DeleteResult deleteById(@NotNull Class<?> type, @NotNull Object id, @NotNull DeleteMode mode) {
         return getEntities().delete(type, id, mode);
     }
@@ -547,6 +560,231 @@ public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperatio
         @OldChain
         Builder setMicroServiceExchange(MicroServiceExchange exchange);
 
+        /**
+         * Cache the object readers of queries by the shape of their selections,
+         * and the SQL of queries by the shape of their AST, so that the repeated
+         * executions of same query with different arguments do not create the
+         * object readers and render the SQL again.
+         *
+         * <p>The SQL of the queries with joins or sub queries is not cached,
+         * it is still rendered for each execution.</p>
+         *
+         * <p>The cache is disabled by default</p>
+         */
+        @OldChain
+        Builder setQueryReaderCacheEnabled(boolean enabled);
+
+        /**
+         * The max count of the object readers and the max count of the SQL
+         * cached when {@link #setQueryReaderCacheEnabled(boolean)} is true,
+         * arbitrary entries are evicted when the limit is reached.
+         *
+         * <p>The default value is 1024</p>
+         */
+        @OldChain
+        Builder setQueryReaderCacheMaxSize(int maxSize);
+
+        /**
+         * Execute the independent sibling fetcher tasks concurrently,
+         * for example, when an object fetcher fetches `store`, `authors`
+         * and `chapters` of books, the three batched queries are executed
+         * at the same time, the child tasks are always executed after their parents.
+         *
+         * <p>Except the current connection, each concurrent task uses its own
+         * connection opened by the connection manager(or slave connection manager),
+         * so the connection manager must be able to open connections for other threads.
+         * Parallel fetching is automatically ignored when the current connection is in
+         * transaction because other connections cannot see its uncommitted data.</p>
+         *
+         * <p>Global filters and transient resolvers may be invoked by other threads,
+         * so they cannot depend on thread local variables when this switch is enabled.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setParallelFetchingEnabled(boolean enabled);
+
+        /**
+         * Specify the executor of parallel fetching, it is only used when
+         * {@link #setParallelFetchingEnabled(boolean)} or
+         * {@link #setConcurrentPagingEnabled(boolean)} is true.
+         *
+         * <p>If it is not specified, virtual threads are used when the JVM
+         * supports them, otherwise, a cached thread pool of daemon threads is used.
+         * The default executor is created lazily and shared by all sql clients.</p>
+         */
+        @OldChain
+        Builder setParallelFetchingExecutor(java.util.concurrent.Executor executor);
+
+        /**
+         * Memoize the association values loaded by object fetchers
+         * across requests, so that the repeated fetching of same
+         * associations does not query the database again.
+         *
+         * <p>Unlike the association cache, this memo is process-local and
+         * does not require any cache configuration. It only memoizes the
+         * fields without field filter, limit/offset and recursion whose child
+         * fetchers are simple, and the global filters of their target types
+         * must be absent or cacheable. Memoized values are invalidated by
+         * the events of triggers, so the trigger type should be
+         * `TRANSACTION_ONLY`/`BOTH`, or the binlog should be connected;
+         * otherwise, they can be stale until the duration expires.</p>
+         *
+         * <p>The memo is ignored when the current connection is in transaction.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setAssociationMemoEnabled(boolean enabled);
+
+        /**
+         * The max count of the association values memoized when
+         * {@link #setAssociationMemoEnabled(boolean)} is true,
+         * the least recently used values will be evicted.
+         *
+         * <p>The default value is 4096</p>
+         */
+        @OldChain
+        Builder setAssociationMemoMaxSize(int maxSize);
+
+        /**
+         * How long the association value is memoized when
+         * {@link #setAssociationMemoEnabled(boolean)} is true.
+         *
+         * <p>The default value is 1 minute</p>
+         */
+        @OldChain
+        Builder setAssociationMemoDuration(Duration duration);
+
+        /**
+         * Adapt the batch sizes of object fetchers by the observed
+         * rows-per-key and query latency of each fetched association,
+         * within the max in-list size of the dialect.
+         *
+         * <p>Only the default batch sizes specified by
+         * {@link #setDefaultBatchSize(int)} and {@link #setDefaultListBatchSize(int)}
+         * are adapted, the batch sizes specified by object fetchers
+         * are always respected.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setAdaptiveBatchSizeEnabled(boolean enabled);
+
+        /**
+         * When the size of an in-list reaches this threshold,
+         * <ul>
+         *     <li>If the dialect supports array, the whole in-list
+         *     is bound as one array parameter by `= any(?)`,
+         *     or by `unnest` for tuples</li>
+         *     <li>Otherwise, if the dialect supports temporary key table,
+         *     the ids queried by object fetchers and
+         *     {@link Entities#findByIds(Class, Iterable)} are loaded into
+         *     the session-local temporary table by one JDBC batch,
+         *     and the in-list is replaced by sub query</li>
+         *     <li>Otherwise, the in-list is split into chunks by
+         *     {@link org.babyfish.jimmer.sql.dialect.Dialect#getMaxInListSize()}</li>
+         * </ul>
+         *
+         * <p>The default value is 0, that means this feature is disabled</p>
+         */
+        @OldChain
+        Builder setLargeInListThreshold(int threshold);
+
+        /**
+         * Cache the prepared statements of each JDBC connection,
+         * so that the identical SQL executed repeatedly on the same
+         * connection, such as the batch loading of object fetchers,
+         * is not prepared again.
+         *
+         * <p>The cached statements of a connection are closed when the
+         * outermost execution of the connection manager is finished,
+         * so the connection manager is wrapped when this cache is enabled.
+         * Please enable it only when the JDBC driver or connection pool
+         * does not cache statements.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setStatementCacheEnabled(boolean enabled);
+
+        /**
+         * The max count of the cached statements of each connection,
+         * the default value is {@link StatementCache#DEFAULT_MAX_SIZE}
+         */
+        @OldChain
+        Builder setStatementCacheMaxSize(int maxSize);
+
+        /**
+         * Execute the count query and the data query of
+         * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchPage(int, int)}
+         * concurrently, the data query speculatively uses the requested
+         * offset and its rows are discarded if the offset exceeds the count.
+         *
+         * <p>The count query uses another connection opened by the slave
+         * connection manager(or connection manager) in the executor of
+         * {@link org.babyfish.jimmer.sql.runtime.JSqlClientImplementor#getConcurrentPagingExecutor()},
+         * which is the executor specified by
+         * {@link #setParallelFetchingExecutor(java.util.concurrent.Executor)} or the default one.
+         * It is automatically ignored for the queries locking rows and when the
+         * current connection is in transaction(its auto-commit is false), whether the
+         * connection is specified explicitly or not, because other connections
+         * cannot see the uncommitted data. The reverse sorting optimization
+         * is not applied to the concurrent data query.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setConcurrentPagingEnabled(boolean enabled);
+
+        /**
+         * Cache the unlimited row counts of paging queries, keyed by
+         * the rendered count sql and its variables, so that turning
+         * pages does not count the rows again.
+         *
+         * <p>The counts are invalidated by the events of triggers when
+         * the root table is changed, so the trigger type should be
+         * `TRANSACTION_ONLY`/`BOTH`, or the binlog should be connected;
+         * otherwise, they can be stale until the duration expires.
+         * The cache is ignored when the current connection is in transaction.</p>
+         *
+         * <p>The default value is false</p>
+         */
+        @OldChain
+        Builder setCountCacheEnabled(boolean enabled);
+
+        /**
+         * How long the count is cached when {@link #setCountCacheEnabled(boolean)}
+         * is true and no custom count cache is specified.
+         *
+         * <p>The default value is 30 seconds</p>
+         */
+        @OldChain
+        Builder setCountCacheDuration(Duration duration);
+
+        /**
+         * Specify the custom count cache, for example, a shared cache
+         * of multiple services. Non-null value implies
+         * {@link #setCountCacheEnabled(boolean)} is true.
+         */
+        @OldChain
+        Builder setCountCache(CountCache countCache);
+
+        /**
+         * Insert the new objects of save command by multi-row insertion
+         * `insert into ... values(...), (...), ...` rather than JDBC batch,
+         * each statement inserts at most the specified count of rows,
+         * and the count is also limited by {@link Dialect#getMaxVariableCount()}.
+         *
+         * <p>It is ignored if the dialect does not support multi-row insertion,
+         * or the ids are generated by database but the dialect cannot fetch
+         * them for all rows, see {@link Dialect#isMultiInsertionIdFetchable()}.</p>
+         *
+         * <p>The default value is 0, that means multi-row insertion is disabled</p>
+         */
+        @OldChain
+        Builder setMultiRowInsertBatchSize(int size);
+
         JSqlClient build();
     }
 }
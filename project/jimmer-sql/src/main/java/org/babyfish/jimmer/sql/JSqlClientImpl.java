@@ -36,6 +36,8 @@ import org.babyfish.jimmer.sql.event.impl.TriggersImpl;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.AdaptiveBatchSizer;
+import org.babyfish.jimmer.sql.fetcher.impl.AssociationMemo;
 import org.babyfish.jimmer.sql.filter.Filter;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
@@ -51,13 +53,16 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -149,6 +154,24 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final MicroServiceExchange microServiceExchange;
 
+    private final QueryReaderCache queryReaderCache;
+
+    private final java.util.concurrent.Executor parallelFetchingExecutor;
+
+    private final AssociationMemo associationMemo;
+
+    private final AdaptiveBatchSizer adaptiveBatchSizer;
+
+    private final int largeInListThreshold;
+
+    private final StatementCache statementCache;
+
+    private final java.util.concurrent.Executor concurrentPagingExecutor;
+
+    private final CountCache countCache;
+
+    private final int multiRowInsertBatchSize;
+
     private final Loaders loaders = new LoadersImpl(this);
 
     private final ReaderManager readerManager = new ReaderManager(this);
@@ -196,7 +219,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
             DraftPreProcessorManager draftPreProcessorManager,
             DraftInterceptorManager draftInterceptorManager,
             String microServiceName,
-            MicroServiceExchange microServiceExchange
+            MicroServiceExchange microServiceExchange,
+            QueryReaderCache queryReaderCache,
+            java.util.concurrent.Executor parallelFetchingExecutor,
+            AssociationMemo associationMemo,
+            AdaptiveBatchSizer adaptiveBatchSizer,
+            int largeInListThreshold,
+            StatementCache statementCache,
+            java.util.concurrent.Executor concurrentPagingExecutor,
+            CountCache countCache,
+            int multiRowInsertBatchSize
     ) {
         this.connectionManager =
                 connectionManager != null ?
@@ -257,6 +289,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.draftInterceptorManager = draftInterceptorManager;
         this.microServiceName = microServiceName;
         this.microServiceExchange = microServiceExchange;
+        this.queryReaderCache = queryReaderCache;
+        this.parallelFetchingExecutor = parallelFetchingExecutor;
+        this.associationMemo = associationMemo;
+        this.adaptiveBatchSizer = adaptiveBatchSizer;
+        this.largeInListThreshold = largeInListThreshold;
+        this.statementCache = statementCache;
+        this.concurrentPagingExecutor = concurrentPagingExecutor;
+        this.countCache = countCache;
+        this.multiRowInsertBatchSize = multiRowInsertBatchSize;
     }
 
     @Override
@@ -662,7 +703,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 draftPreProcessorManager,
                 draftInterceptorManager,
                 microServiceName,
-                microServiceExchange
+                microServiceExchange,
+                queryReaderCache,
+                parallelFetchingExecutor,
+                associationMemo,
+                adaptiveBatchSizer,
+                largeInListThreshold,
+                statementCache,
+                concurrentPagingExecutor,
+                countCache,
+                multiRowInsertBatchSize
         );
     }
 
@@ -717,7 +767,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 draftPreProcessorManager,
                 draftInterceptorManager,
                 microServiceName,
-                microServiceExchange
+                microServiceExchange,
+                queryReaderCache,
+                parallelFetchingExecutor,
+                associationMemo,
+                adaptiveBatchSizer,
+                largeInListThreshold,
+                statementCache,
+                concurrentPagingExecutor,
+                countCache,
+                multiRowInsertBatchSize
         );
     }
 
@@ -767,7 +826,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 draftPreProcessorManager,
                 draftInterceptorManager,
                 microServiceName,
-                microServiceExchange
+                microServiceExchange,
+                queryReaderCache,
+                parallelFetchingExecutor,
+                associationMemo,
+                adaptiveBatchSizer,
+                largeInListThreshold,
+                statementCache,
+                concurrentPagingExecutor,
+                countCache,
+                multiRowInsertBatchSize
         );
     }
 
@@ -820,7 +888,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 draftPreProcessorManager,
                 draftInterceptorManager,
                 microServiceName,
-                microServiceExchange
+                microServiceExchange,
+                queryReaderCache,
+                parallelFetchingExecutor,
+                associationMemo,
+                adaptiveBatchSizer,
+                largeInListThreshold,
+                statementCache,
+                concurrentPagingExecutor,
+                countCache,
+                multiRowInsertBatchSize
         );
     }
 
@@ -890,6 +967,51 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return microServiceExchange;
     }
 
+    @Override
+    public QueryReaderCache getQueryReaderCache() {
+        return queryReaderCache;
+    }
+
+    @Override
+    public java.util.concurrent.Executor getParallelFetchingExecutor() {
+        return parallelFetchingExecutor;
+    }
+
+    @Override
+    public AssociationMemo getAssociationMemo() {
+        return associationMemo;
+    }
+
+    @Override
+    public AdaptiveBatchSizer getAdaptiveBatchSizer() {
+        return adaptiveBatchSizer;
+    }
+
+    @Override
+    public int getLargeInListThreshold() {
+        return largeInListThreshold;
+    }
+
+    @Override
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    @Override
+    public java.util.concurrent.Executor getConcurrentPagingExecutor() {
+        return concurrentPagingExecutor;
+    }
+
+    @Override
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    @Override
+    public int getMultiRowInsertBatchSize() {
+        return multiRowInsertBatchSize;
+    }
+
     private Boolean createUniqueConstraintUsed(Class<?> type) {
         KeyUniqueConstraint keyUniqueConstraint = type.getAnnotation(KeyUniqueConstraint.class);
         if (keyUniqueConstraint == null) {
@@ -1047,6 +1169,38 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private MicroServiceExchange microServiceExchange;
 
+        private boolean queryReaderCacheEnabled;
+
+        private int queryReaderCacheMaxSize = QueryReaderCache.DEFAULT_MAX_SIZE;
+
+        private boolean parallelFetchingEnabled;
+
+        private java.util.concurrent.Executor parallelFetchingExecutor;
+
+        private boolean associationMemoEnabled;
+
+        private int associationMemoMaxSize = AssociationMemo.DEFAULT_MAX_SIZE;
+
+        private Duration associationMemoDuration = AssociationMemo.DEFAULT_DURATION;
+
+        private boolean adaptiveBatchSizeEnabled;
+
+        private int largeInListThreshold;
+
+        private boolean statementCacheEnabled;
+
+        private int statementCacheMaxSize = StatementCache.DEFAULT_MAX_SIZE;
+
+        private boolean concurrentPagingEnabled;
+
+        private boolean countCacheEnabled;
+
+        private Duration countCacheDuration = DefaultCountCache.DEFAULT_DURATION;
+
+        private CountCache countCache;
+
+        private int multiRowInsertBatchSize;
+
         public BuilderImpl() {}
 
         @Override
@@ -1754,6 +1908,144 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setQueryReaderCacheEnabled(boolean enabled) {
+            this.queryReaderCacheEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setQueryReaderCacheMaxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("`maxSize` must be greater than 0");
+            }
+            this.queryReaderCacheMaxSize = maxSize;
+            return this;
+        }
+
+        @Override
+        public Builder setParallelFetchingEnabled(boolean enabled) {
+            this.parallelFetchingEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setParallelFetchingExecutor(java.util.concurrent.Executor executor) {
+            this.parallelFetchingExecutor = executor;
+            return this;
+        }
+
+        private java.util.concurrent.Executor parallelFetchingExecutor() {
+            java.util.concurrent.Executor executor = this.parallelFetchingExecutor;
+            if (executor != null) {
+                return executor;
+            }
+            // Shared by all the sql clients, so that no threads are leaked
+            // by the sql clients which do not specify executor
+            return DefaultParallelFetchingExecutorHolder.EXECUTOR;
+        }
+
+        @Override
+        public Builder setAssociationMemoEnabled(boolean enabled) {
+            this.associationMemoEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setAssociationMemoMaxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("`maxSize` must be greater than 0");
+            }
+            this.associationMemoMaxSize = maxSize;
+            return this;
+        }
+
+        @Override
+        public Builder setAssociationMemoDuration(Duration duration) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("`duration` must be positive");
+            }
+            this.associationMemoDuration = duration;
+            return this;
+        }
+
+        @Override
+        public Builder setAdaptiveBatchSizeEnabled(boolean enabled) {
+            this.adaptiveBatchSizeEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setLargeInListThreshold(int threshold) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("`threshold` cannot be negative");
+            }
+            this.largeInListThreshold = threshold;
+            return this;
+        }
+
+        @Override
+        public Builder setStatementCacheEnabled(boolean enabled) {
+            this.statementCacheEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setStatementCacheMaxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("`maxSize` must be positive");
+            }
+            this.statementCacheMaxSize = maxSize;
+            return this;
+        }
+
+        @Override
+        public Builder setConcurrentPagingEnabled(boolean enabled) {
+            this.concurrentPagingEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setCountCacheEnabled(boolean enabled) {
+            this.countCacheEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public Builder setCountCacheDuration(Duration duration) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("`duration` must be positive");
+            }
+            this.countCacheDuration = duration;
+            return this;
+        }
+
+        @Override
+        public Builder setCountCache(CountCache countCache) {
+            this.countCache = countCache;
+            this.countCacheEnabled = countCache != null;
+            return this;
+        }
+
+        private CountCache countCache() {
+            if (!countCacheEnabled) {
+                return null;
+            }
+            if (countCache != null) {
+                return countCache;
+            }
+            return new DefaultCountCache(DefaultCountCache.DEFAULT_MAX_SIZE, countCacheDuration);
+        }
+
+        @Override
+        public Builder setMultiRowInsertBatchSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("`size` cannot be negative");
+            }
+            this.multiRowInsertBatchSize = size;
+            return this;
+        }
+
         @Override
         public JSqlClient build() {
             if (!microServiceName.isEmpty() && microServiceExchange == null) {
@@ -1827,9 +2119,25 @@ class JSqlClientImpl implements JSqlClientImplementor {
                                     DefaultTransientResolverProvider.INSTANCE,
                             aopProxyProvider
                     );
+            java.util.concurrent.Executor concurrentExecutor =
+                    parallelFetchingEnabled || concurrentPagingEnabled ?
+                            parallelFetchingExecutor() :
+                            null;
+            StatementCache statementCache =
+                    statementCacheEnabled ?
+                            new StatementCache(statementCacheMaxSize) :
+                            null;
             JSqlClientImplementor sqlClient = new JSqlClientImpl(
-                    connectionManager,
-                    slaveConnectionManager,
+                    statementCache != null ?
+                            statementCache.wrap(
+                                    connectionManager != null ?
+                                            connectionManager :
+                                            ConnectionManager.EXTERNAL_ONLY
+                            ) :
+                            connectionManager,
+                    statementCache != null ?
+                            statementCache.wrap(slaveConnectionManager) :
+                            slaveConnectionManager,
                     dialect,
                     executor,
                     executorContextPrefixes,
@@ -1868,7 +2176,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     new DraftPreProcessorManager(processors),
                     new DraftInterceptorManager(interceptors),
                     microServiceName,
-                    microServiceExchange
+                    microServiceExchange,
+                    queryReaderCacheEnabled ? new QueryReaderCache(queryReaderCacheMaxSize) : null,
+                    parallelFetchingEnabled ? concurrentExecutor : null,
+                    associationMemoEnabled ? new AssociationMemo(associationMemoMaxSize, associationMemoDuration) : null,
+                    adaptiveBatchSizeEnabled ? new AdaptiveBatchSizer() : null,
+                    largeInListThreshold,
+                    statementCache,
+                    concurrentPagingEnabled ? concurrentExecutor : null,
+                    countCache(),
+                    multiRowInsertBatchSize
             );
             CachesImpl.initialize(caches, sqlClient);
             filterManager.initialize(sqlClient);
@@ -1878,6 +2195,14 @@ class JSqlClientImpl implements JSqlClientImplementor {
             if (transactionTriggers != null && transactionTriggers != triggers) {
                 transactionTriggers.initialize(sqlClient);
             }
+            AssociationMemo associationMemo = sqlClient.getAssociationMemo();
+            if (associationMemo != null) {
+                associationMemo.initialize(sqlClient);
+            }
+            CountCache countCache = sqlClient.getCountCache();
+            if (countCache != null) {
+                countCache.initialize(sqlClient);
+            }
             for (Initializer initializer : initializers) {
                 try {
                     initializer.initialize(sqlClient);
@@ -1986,4 +2311,27 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return em;
         }
     }
+
+    private static class DefaultParallelFetchingExecutorHolder {
+
+        static final java.util.concurrent.Executor EXECUTOR = create();
+
+        private static java.util.concurrent.Executor create() {
+            try {
+                // Java 21+, virtual threads
+                Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (java.util.concurrent.Executor) method.invoke(null);
+            } catch (NoSuchMethodException ex) {
+                // Use platform threads for old JVM
+            } catch (ReflectiveOperationException ex) {
+                throw new ExecutionException("Cannot create virtual thread executor for parallel fetching", ex);
+            }
+            AtomicInteger threadNumber = new AtomicInteger();
+            return java.util.concurrent.Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "jimmer-parallel-fetcher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
 }
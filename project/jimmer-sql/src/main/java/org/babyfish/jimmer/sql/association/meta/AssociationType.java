@@ -5,6 +5,7 @@ import org.babyfish.jimmer.impl.util.PropCache;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.meta.impl.AbstractImmutableTypeImpl;
 import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.RowFactory;
 import org.babyfish.jimmer.sql.association.Association;
 import org.babyfish.jimmer.sql.meta.*;
 import org.jetbrains.annotations.NotNull;
@@ -213,6 +214,12 @@ public class AssociationType extends AbstractImmutableTypeImpl {
         throw new UnsupportedOperationException("draftFactory is not supported by AssociationType");
     }
 
+    @Nullable
+    @Override
+    public RowFactory getRowFactory() {
+        return null;
+    }
+
     @Override
     public boolean isAssignableFrom(ImmutableType type) {
         return false;
@@ -16,6 +16,18 @@ public interface Ast {
 
     void renderTo(@NotNull AbstractSqlBuilder<?> builder);
 
+    /**
+     * Collect the shape of this node, that is everything which affects the
+     * rendered SQL except the values of variables, and the variables in the
+     * order they are rendered by {@link #renderTo(AbstractSqlBuilder)}.
+     *
+     * @return false if this node does not support the shape, the SQL of the
+     * statement must be rendered again.
+     */
+    default boolean collectShape(@NotNull AstShapeCollector collector) {
+        return false;
+    }
+
     boolean hasVirtualPredicate();
 
     Ast resolveVirtualPredicate(AstContext ctx);
@@ -0,0 +1,126 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.impl.query.PaginationContextImpl;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the shape and the variables of a statement
+ * by {@link Ast#collectShape(AstShapeCollector)}.
+ *
+ * <p>Two statements with equal shapes are rendered to the same SQL,
+ * so the SQL rendered by the first one can be reused by the second one
+ * with the variables collected from the second one.</p>
+ *
+ * <p>Only the statements whose tables are the root table are supported,
+ * the alias of the root table is always allocated first.</p>
+ */
+public class AstShapeCollector {
+
+    private final AstContext ctx;
+
+    private final TableImplementor<?> rootTable;
+
+    private final List<Object> shape = new ArrayList<>();
+
+    private final List<Object> variables = new ArrayList<>();
+
+    public AstShapeCollector(AstContext ctx, TableImplementor<?> rootTable) {
+        this.ctx = ctx;
+        this.rootTable = rootTable;
+        shape.add(rootTable.getImmutableType());
+    }
+
+    public AstContext getAstContext() {
+        return ctx;
+    }
+
+    public JSqlClientImplementor sqlClient() {
+        return ctx.getSqlClient();
+    }
+
+    public boolean isRootTable(Table<?> table) {
+        if (!(table instanceof TableImplementor<?>) && !(table instanceof TableProxy<?>)) {
+            return false;
+        }
+        return TableProxies.resolve(table, ctx) == rootTable;
+    }
+
+    /**
+     * Add a part of the shape, it must implement `equals` and `hashCode` by value.
+     */
+    public AstShapeCollector add(Object part) {
+        shape.add(part);
+        return this;
+    }
+
+    public boolean ast(Ast ast) {
+        shape.add(ast.getClass());
+        return ast.collectShape(this);
+    }
+
+    public boolean expression(Expression<?> expression) {
+        return ast(Ast.of(expression));
+    }
+
+    /**
+     * Mirror of {@link SqlBuilder#variable(Object)}
+     */
+    public AstShapeCollector variable(Object value) {
+        SqlBuilder builder = new SqlBuilder(ctx);
+        builder.variable(value);
+        return addRendered(builder.build());
+    }
+
+    /**
+     * Mirror of {@link SqlBuilder#rawVariable(Object)}
+     */
+    public AstShapeCollector rawVariable(Object value) {
+        SqlBuilder builder = new SqlBuilder(ctx);
+        builder.rawVariable(value);
+        return addRendered(builder.build());
+    }
+
+    /**
+     * Mirror of the pagination of the dialect, the variables
+     * of pagination are always rendered after the other ones.
+     */
+    public AstShapeCollector pagination(int limit, long offset) {
+        JSqlClientImplementor sqlClient = ctx.getSqlClient();
+        PaginationContextImpl paginationContext = new PaginationContextImpl(
+                sqlClient.getSqlFormatter(),
+                limit,
+                offset,
+                "",
+                Collections.emptyList(),
+                null,
+                false
+        );
+        sqlClient.getDialect().paginate(paginationContext);
+        return addRendered(paginationContext.build());
+    }
+
+    public List<Object> getShape() {
+        return Collections.unmodifiableList(shape);
+    }
+
+    public List<Object> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    private AstShapeCollector addRendered(Tuple3<String, List<Object>, List<Integer>> rendered) {
+        shape.add(rendered.get_1());
+        variables.addAll(rendered.get_2());
+        return this;
+    }
+}
@@ -44,6 +44,16 @@ abstract class ComparisonPredicate extends AbstractPredicate {
         );
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        return ComparisonPredicates.collectCmpShape(
+                operator(),
+                left,
+                right,
+                collector
+        );
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(left) || hasVirtualPredicate(right);
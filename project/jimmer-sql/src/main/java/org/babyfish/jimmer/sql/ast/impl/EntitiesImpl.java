@@ -19,6 +19,7 @@ import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
+import org.babyfish.jimmer.sql.ast.impl.util.LargeKeySets;
 import org.babyfish.jimmer.sql.ast.mutation.BatchEntitySaveCommand;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteCommand;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
@@ -45,6 +46,7 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.Connection;
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class EntitiesImpl implements Entities {
 
@@ -276,6 +278,11 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
+                            CacheLoader.objectLoader(
+                                    sqlClient,
+                                    null,
+                                    (Class<E>) immutableType.getJavaClass()
+                            ),
                             true
                     )
             ).values();
@@ -344,21 +351,23 @@ public class EntitiesImpl implements Entities {
             }
             return entities;
         }
-        ConfigurableRootQuery<?, E> query = Queries.createQuery(
-                sqlClient, immutableType, purpose, FilterLevel.DEFAULT, (q, table) -> {
-                    Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
-                    if (distinctIds.size() == 1) {
-                        q.where(idProp.eq(distinctIds.iterator().next()));
-                    } else {
-                        q.where(idProp.in(distinctIds));
+        try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, purpose)) {
+            ConfigurableRootQuery<?, E> query = Queries.createQuery(
+                    sqlClient, immutableType, purpose, FilterLevel.DEFAULT, (q, table) -> {
+                        Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
+                        if (distinctIds.size() == 1) {
+                            q.where(idProp.eq(distinctIds.iterator().next()));
+                        } else {
+                            q.where(keySets.in(idProp, distinctIds));
+                        }
+                        return q.select(((Table<E>) table).fetch(fetcher));
                     }
-                    return q.select(((Table<E>) table).fetch(fetcher));
-                }
-        );
-        if (forUpdate) {
-            query = query.forUpdate(true);
+            );
+            if (forUpdate) {
+                query = query.forUpdate(true);
+            }
+            return query.execute(con);
         }
-        return query.execute(con);
     }
 
     @SuppressWarnings("unchecked")
@@ -399,6 +408,11 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
+                            CacheLoader.objectLoader(
+                                    sqlClient,
+                                    null,
+                                    (Class<E>) immutableType.getJavaClass()
+                            ),
                             true
                     )
             ).values();
@@ -467,21 +481,23 @@ public class EntitiesImpl implements Entities {
             }
             return entities;
         }
-        ConfigurableRootQuery<?, E> query = Queries.createQuery(
-                sqlClient, immutableType, purpose, FilterLevel.DEFAULT, (q, table) -> {
-                    Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
-                    if (distinctIds.size() == 1) {
-                        q.where(idProp.eq(distinctIds.iterator().next()));
-                    } else {
-                        q.where(idProp.in(distinctIds));
+        try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, purpose)) {
+            ConfigurableRootQuery<?, E> query = Queries.createQuery(
+                    sqlClient, immutableType, purpose, FilterLevel.DEFAULT, (q, table) -> {
+                        Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
+                        if (distinctIds.size() == 1) {
+                            q.where(idProp.eq(distinctIds.iterator().next()));
+                        } else {
+                            q.where(keySets.in(idProp, distinctIds));
+                        }
+                        return q.select(new FetcherSelectionImpl<>(table, fetcher, converter));
                     }
-                    return q.select(new FetcherSelectionImpl<>(table, fetcher, converter));
-                }
-        );
-        if (forUpdate) {
-            query = query.forUpdate(true);
+            );
+            if (forUpdate) {
+                query = query.forUpdate(true);
+            }
+            return query.execute(con);
         }
-        return query.execute(con);
     }
 
     @SuppressWarnings("unchecked")
@@ -657,6 +673,16 @@ public class EntitiesImpl implements Entities {
         return new BatchEntitySaveCommandImpl<>(sqlClient, con, entities);
     }
 
+    @Override
+    public <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Iterator<E> entities) {
+        return new BatchEntitySaveCommandImpl<>(sqlClient, con, entities);
+    }
+
+    @Override
+    public <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Stream<E> entities) {
+        return new BatchEntitySaveCommandImpl<>(sqlClient, con, entities);
+    }
+
     @Override
     public DeleteCommand deleteCommand(
             Class<?> type,
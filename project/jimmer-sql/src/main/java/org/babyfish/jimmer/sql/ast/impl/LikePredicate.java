@@ -94,6 +94,20 @@ class LikePredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        if (pattern.equals("%")) {
+            collector.add(pattern);
+            return true;
+        }
+        collector.add(insensitive).add(negative);
+        if (!collector.expression(expression)) {
+            return false;
+        }
+        collector.rawVariable(pattern);
+        return true;
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(expression);
@@ -232,6 +232,12 @@ public class Literals {
             }
         }
 
+        @Override
+        public boolean collectShape(@NotNull AstShapeCollector collector) {
+            collector.variable(finalValue(collector.sqlClient()));
+            return true;
+        }
+
         private Object finalValue(JSqlClientImplementor sqlClient) {
             if (matchedProp != null) {
                 ScalarProvider<Object, Object> scalarProvider = sqlClient.getScalarProvider(matchedProp);
@@ -26,6 +26,11 @@ public class NotPredicate extends AbstractPredicate {
         renderChild((Ast) predicate, builder);
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        return collector.ast((Ast) predicate);
+    }
+
     @Override
     public int precedence() {
         return ExpressionPrecedences.NOT;
@@ -80,6 +80,12 @@ class NullityPredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        collector.add(negative);
+        return collector.expression(expression);
+    }
+
     @Override
     protected boolean determineHasVirtualPredicate() {
         return hasVirtualPredicate(expression);
@@ -232,6 +232,15 @@ public class PropExpressionImpl<T>
         }
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        if (!collector.isRootTable(table)) {
+            return false;
+        }
+        collector.add(prop).add(deepestProp).add(path).add(rawId);
+        return true;
+    }
+
     private void renderTo(@NotNull BatchSqlBuilder builder) {
         List<ValueGetter> getters = ValueGetter.valueGetters(builder.sqlClient(), this, null);
         if (getters.size() != 1) {
@@ -0,0 +1,155 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The predicate of keyset(seek) pagination, it selects the rows
+ * after the last row of previous slice according to the sort orders.
+ *
+ * <ul>
+ *     <li>If all the orders have same direction and the dialect supports
+ *     tuple comparison, it is rendered as `(k1, k2, ...) > (?, ?, ...)`</li>
+ *     <li>Otherwise, it is expanded to
+ *     `k1 > ? or k1 = ? and k2 > ? or ...`, for one order, it is
+ *     simply `k1 > ?`</li>
+ * </ul>
+ */
+public class SeekPredicate extends AbstractPredicate {
+
+    private final String operator;
+
+    private final List<Expression<?>> keys;
+
+    private final List<Expression<?>> values;
+
+    private SeekPredicate(String operator, List<Expression<?>> keys, List<Expression<?>> values) {
+        this.operator = operator;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * @param orders The sort orders, the last one must be unique
+     * @param values The non-null key values of the last row of previous slice
+     */
+    public static Predicate of(Dialect dialect, List<Order> orders, List<Object> values) {
+        int size = orders.size();
+        if (values.size() != size) {
+            throw new IllegalArgumentException(
+                    "The value count of seek cursor is " +
+                            values.size() +
+                            ", but the order count is " +
+                            size
+            );
+        }
+        List<Expression<?>> keys = new ArrayList<>(size);
+        List<Expression<?>> literals = new ArrayList<>(size);
+        boolean sameMode = true;
+        for (int i = 0; i < size; i++) {
+            Order order = orders.get(i);
+            Object value = values.get(i);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "The keyset pagination does not support null key value, " +
+                                "the value of order expression \"" +
+                                order.getExpression() +
+                                "\" is null"
+                );
+            }
+            Expression<?> literal = Literals.any(value);
+            Literals.bind(literal, order.getExpression());
+            keys.add(order.getExpression());
+            literals.add(literal);
+            sameMode &= order.getOrderMode() == orders.get(0).getOrderMode();
+        }
+        if (size > 1 && sameMode && dialect.isTupleComparisonSupported()) {
+            return new SeekPredicate(
+                    operator(orders.get(0).getOrderMode()),
+                    Collections.unmodifiableList(keys),
+                    Collections.unmodifiableList(literals)
+            );
+        }
+        Predicate[] orPredicates = new Predicate[size];
+        for (int i = 0; i < size; i++) {
+            Predicate[] andPredicates = new Predicate[i + 1];
+            for (int ii = 0; ii < i; ii++) {
+                andPredicates[ii] = new ComparisonPredicate.Eq(keys.get(ii), literals.get(ii));
+            }
+            andPredicates[i] = orders.get(i).getOrderMode() == OrderMode.DESC ?
+                    new ComparisonPredicate.Lt(keys.get(i), literals.get(i)) :
+                    new ComparisonPredicate.Gt(keys.get(i), literals.get(i));
+            orPredicates[i] = Predicate.and(andPredicates);
+        }
+        return Predicate.or(orPredicates);
+    }
+
+    private static String operator(OrderMode orderMode) {
+        return orderMode == OrderMode.DESC ? "<" : ">";
+    }
+
+    @Override
+    public void accept(@NotNull AstVisitor visitor) {
+        for (Expression<?> key : keys) {
+            Ast.of(key).accept(visitor);
+        }
+        for (Expression<?> value : values) {
+            Ast.of(value).accept(visitor);
+        }
+    }
+
+    @Override
+    public void renderTo(@NotNull AbstractSqlBuilder<?> builder) {
+        builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (Expression<?> key : keys) {
+            builder.separator();
+            Ast.of(key).renderTo(builder);
+        }
+        builder.leave();
+        builder.sql(" ").sql(operator).sql(" ");
+        builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (Expression<?> value : values) {
+            builder.separator();
+            Ast.of(value).renderTo(builder);
+        }
+        builder.leave();
+    }
+
+    @Override
+    protected boolean determineHasVirtualPredicate() {
+        return hasVirtualPredicate(keys);
+    }
+
+    @Override
+    protected Ast onResolveVirtualPredicate(AstContext ctx) {
+        return this;
+    }
+
+    @Override
+    public int precedence() {
+        return ExpressionPrecedences.COMPARISON;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operator, keys, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SeekPredicate)) return false;
+        SeekPredicate that = (SeekPredicate) o;
+        return operator.equals(that.operator) && keys.equals(that.keys) && values.equals(that.values);
+    }
+}
@@ -313,6 +313,49 @@ abstract class AbstractEntitySaveCommandImpl
         }
     }
 
+    static class BulkLoadCfg extends Cfg {
+
+        final boolean enabled;
+
+        BulkLoadCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class ShapeMergingCfg extends Cfg {
+
+        final boolean enabled;
+
+        ShapeMergingCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class DiffUpdateCfg extends Cfg {
+
+        final boolean enabled;
+
+        DiffUpdateCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class ChunkSizeCfg extends Cfg {
+
+        final int chunkSize;
+
+        ChunkSizeCfg(Cfg prev, int chunkSize) {
+            super(prev);
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("`chunkSize` must be greater than 0");
+            }
+            this.chunkSize = chunkSize;
+        }
+    }
+
     static final class OptionsImpl implements SaveOptions {
 
         private final JSqlClientImplementor sqlClient;
@@ -369,6 +412,12 @@ abstract class AbstractEntitySaveCommandImpl
 
         private final boolean transactionRequired;
 
+        private final boolean bulkLoadEnabled;
+
+        private final boolean shapeMergingEnabled;
+
+        private final boolean diffUpdateEnabled;
+
         OptionsImpl(Cfg cfg) {
             RootCfg rootCfg = cfg.as(RootCfg.class);
             ConnectionCfg connectionCfg = cfg.as(ConnectionCfg.class);
@@ -390,6 +439,9 @@ abstract class AbstractEntitySaveCommandImpl
                     cfg.as(ConstraintViolationTranslatableCfg.class);
             ExceptionTranslatorCfg exceptionTranslatorCfg = cfg.as(ExceptionTranslatorCfg.class);
             TransactionRequiredCfg transactionRequiredCfg = cfg.as(TransactionRequiredCfg.class);
+            BulkLoadCfg bulkLoadCfg = cfg.as(BulkLoadCfg.class);
+            ShapeMergingCfg shapeMergingCfg = cfg.as(ShapeMergingCfg.class);
+            DiffUpdateCfg diffUpdateCfg = cfg.as(DiffUpdateCfg.class);
 
             assert rootCfg != null;
             this.sqlClient = rootCfg.sqlClient;
@@ -446,6 +498,9 @@ abstract class AbstractEntitySaveCommandImpl
             this.transactionRequired = transactionRequiredCfg != null ?
                     transactionRequiredCfg.required :
                     sqlClient.isMutationTransactionRequired();
+            this.bulkLoadEnabled = bulkLoadCfg != null && bulkLoadCfg.enabled;
+            this.shapeMergingEnabled = shapeMergingCfg != null && shapeMergingCfg.enabled;
+            this.diffUpdateEnabled = diffUpdateCfg != null && diffUpdateCfg.enabled;
         }
 
         @Override
@@ -600,6 +655,21 @@ abstract class AbstractEntitySaveCommandImpl
             return transactionRequired;
         }
 
+        @Override
+        public boolean isBulkLoadEnabled() {
+            return bulkLoadEnabled;
+        }
+
+        @Override
+        public boolean isShapeMergingEnabled() {
+            return shapeMergingEnabled;
+        }
+
+        @Override
+        public boolean isDiffUpdateEnabled() {
+            return diffUpdateEnabled;
+        }
+
         @Override
         public int hashCode() {
             return Objects.hash(
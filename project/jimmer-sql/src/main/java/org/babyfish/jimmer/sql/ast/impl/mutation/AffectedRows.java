@@ -28,4 +28,10 @@ class AffectedRows {
             }
         }
     }
+
+    static void addAll(Map<AffectedTable, Integer> map, Map<AffectedTable, Integer> otherMap) {
+        for (Map.Entry<AffectedTable, Integer> e : otherMap.entrySet()) {
+            map.merge(e.getKey(), e.getValue(), Integer::sum);
+        }
+    }
 }
@@ -17,6 +17,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class BatchEntitySaveCommandImpl<E>
         extends AbstractEntitySaveCommandImpl
@@ -30,6 +31,22 @@ public class BatchEntitySaveCommandImpl<E>
         super(initialCfg(sqlClient, con, entities));
     }
 
+    public BatchEntitySaveCommandImpl(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            Iterator<E> entities
+    ) {
+        super(initialCfg(sqlClient, con, entities));
+    }
+
+    public BatchEntitySaveCommandImpl(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            Stream<E> entities
+    ) {
+        super(initialCfg(sqlClient, con, entities));
+    }
+
     private BatchEntitySaveCommandImpl(Cfg cfg) {
         super(cfg);
     }
@@ -37,26 +54,7 @@ public class BatchEntitySaveCommandImpl<E>
     private static Cfg initialCfg(JSqlClientImplementor sqlClient, Connection con, Iterable<?> entities) {
         ImmutableType type = null;
         for (Object entity : entities) {
-            if (!(entity instanceof ImmutableSpi)) {
-                throw new IllegalArgumentException(
-                        "All the elements of entities must be immutable object"
-                );
-            }
-            if (!((ImmutableSpi) entity).__type().isEntity()) {
-                throw new IllegalArgumentException(
-                        "All the elements must be entity object"
-                );
-            }
-            if (entity instanceof DraftSpi) {
-                throw new IllegalArgumentException("Each element of entity cannot be draft object");
-            }
-            ImmutableType entityType = ((ImmutableSpi) entity).__type();
-            if (type != null && entityType != type) {
-                throw new IllegalArgumentException(
-                        "All the elements of entities must belong to same immutable type"
-                );
-            }
-            type = entityType;
+            type = entityType(entity, type);
         }
         Cfg cfg = new RootCfg(sqlClient, entities);
         if (con != null) {
@@ -65,6 +63,38 @@ public class BatchEntitySaveCommandImpl<E>
         return cfg;
     }
 
+    private static Cfg initialCfg(JSqlClientImplementor sqlClient, Connection con, Object entities) {
+        // The iterator or stream can only be iterated once, its elements are validated when they are saved
+        Cfg cfg = new RootCfg(sqlClient, entities);
+        if (con != null) {
+            cfg = new ConnectionCfg(cfg, con);
+        }
+        return cfg;
+    }
+
+    private static ImmutableType entityType(Object entity, ImmutableType type) {
+        if (!(entity instanceof ImmutableSpi)) {
+            throw new IllegalArgumentException(
+                    "All the elements of entities must be immutable object"
+            );
+        }
+        if (!((ImmutableSpi) entity).__type().isEntity()) {
+            throw new IllegalArgumentException(
+                    "All the elements must be entity object"
+            );
+        }
+        if (entity instanceof DraftSpi) {
+            throw new IllegalArgumentException("Each element of entity cannot be draft object");
+        }
+        ImmutableType entityType = ((ImmutableSpi) entity).__type();
+        if (type != null && entityType != type) {
+            throw new IllegalArgumentException(
+                    "All the elements of entities must belong to same immutable type"
+            );
+        }
+        return entityType;
+    }
+
     @Override
     public BatchEntitySaveCommand<E> setMode(SaveMode mode) {
         return new BatchEntitySaveCommandImpl<>(new ModeCfg(cfg, mode));
@@ -211,6 +241,39 @@ public class BatchEntitySaveCommandImpl<E>
         return new BatchEntitySaveCommandImpl<>(new TransactionRequiredCfg(cfg, required));
     }
 
+    @Override
+    public BatchEntitySaveCommand<E> setBulkLoadEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new BulkLoadCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setShapeMergingEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new ShapeMergingCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setDiffUpdateEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new DiffUpdateCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setChunkSize(int chunkSize) {
+        return new BatchEntitySaveCommandImpl<>(new ChunkSizeCfg(cfg, chunkSize));
+    }
+
+    private int chunkSize() {
+        ChunkSizeCfg chunkSizeCfg = cfg.as(ChunkSizeCfg.class);
+        if (chunkSizeCfg != null) {
+            return chunkSizeCfg.chunkSize;
+        }
+        OptionsImpl options = options();
+        Object argument = options.getArument();
+        if (argument instanceof Iterator<?> || argument instanceof Stream<?>) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        return 0;
+    }
+
     private static <E> Collection<E> entities(OptionsImpl options) {
         Iterable<E> iterable = options.getArument();
         if (iterable instanceof Collection<?>) {
@@ -226,6 +289,22 @@ public class BatchEntitySaveCommandImpl<E>
     @Override
     public BatchSaveResult<E> execute(Connection con, Fetcher<E> fetcher) {
         OptionsImpl options = options();
+        int chunkSize = chunkSize();
+        if (chunkSize != 0) {
+            if (fetcher != null) {
+                throw new IllegalArgumentException(
+                        "The fetcher cannot be specified when the entities are saved by chunks, " +
+                                "because the modified entities are not returned"
+                );
+            }
+            return options
+                    .getSqlClient()
+                    .getConnectionManager()
+                    .execute(
+                            con == null ? options.getConnection() : con,
+                            c -> executeByChunks(c, chunkSize)
+                    );
+        }
         Collection<E> entities = entities(options);
         if (entities.isEmpty()) {
             return new BatchSaveResult<>(Collections.emptyMap(), Collections.emptyList());
@@ -242,6 +321,12 @@ public class BatchEntitySaveCommandImpl<E>
     @Override
     public <V extends View<E>> BatchSaveResult.View<E, V> execute(Connection con, Class<V> viewType) {
         OptionsImpl options = options();
+        if (chunkSize() != 0) {
+            throw new IllegalArgumentException(
+                    "The view type cannot be specified when the entities are saved by chunks, " +
+                            "because the modified entities are not returned"
+            );
+        }
         DtoMetadata<E, V> metadata = DtoMetadata.of(viewType);
         Collection<E> entities = entities(options);
         if (entities.isEmpty()) {
@@ -276,4 +361,63 @@ public class BatchEntitySaveCommandImpl<E>
         );
         return saver.saveAll(entities);
     }
+
+    @SuppressWarnings("unchecked")
+    private BatchSaveResult<E> executeByChunks(Connection con, int chunkSize) {
+
+        OptionsImpl options = options();
+        if (options.isTransactionRequired()) {
+            Executor.validateMutationConnection(con);
+        }
+        Object argument = options.getArument();
+        Iterator<E> itr;
+        if (argument instanceof Stream<?>) {
+            // The stream is owned by the caller, it is consumed but not closed here
+            itr = ((Stream<E>) argument).iterator();
+        } else if (argument instanceof Iterator<?>) {
+            itr = (Iterator<E>) argument;
+        } else {
+            itr = ((Iterable<E>) argument).iterator();
+        }
+        return executeByChunks(con, itr, chunkSize);
+    }
+
+    private BatchSaveResult<E> executeByChunks(Connection con, Iterator<E> itr, int chunkSize) {
+        Map<AffectedTable, Integer> affectedRowCountMap = new LinkedHashMap<>();
+        Map<AffectedTable, Integer> skippedRowCountMap = new LinkedHashMap<>();
+        ImmutableType type = null;
+        List<E> chunk = new ArrayList<>();
+        while (itr.hasNext()) {
+            E entity = itr.next();
+            type = entityType(entity, type);
+            chunk.add(entity);
+            if (chunk.size() >= chunkSize) {
+                saveChunk(con, type, chunk, affectedRowCountMap, skippedRowCountMap);
+                // Release the saved entities and their drafts
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(con, type, chunk, affectedRowCountMap, skippedRowCountMap);
+        }
+        return new BatchSaveResult<>(affectedRowCountMap, skippedRowCountMap, Collections.emptyList());
+    }
+
+    private void saveChunk(
+            Connection con,
+            ImmutableType type,
+            List<E> chunk,
+            Map<AffectedTable, Integer> affectedRowCountMap,
+            Map<AffectedTable, Integer> skippedRowCountMap
+    ) {
+        Saver saver = new Saver(
+                options(),
+                con,
+                type,
+                null
+        );
+        BatchSaveResult<E> result = saver.saveAll(chunk);
+        AffectedRows.addAll(affectedRowCountMap, result.getAffectedRowCountMap());
+        AffectedRows.addAll(skippedRowCountMap, result.getSkippedRowCountMap());
+    }
 }
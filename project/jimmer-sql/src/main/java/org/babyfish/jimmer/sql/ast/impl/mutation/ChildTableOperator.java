@@ -40,9 +40,9 @@ class ChildTableOperator extends AbstractAssociationOperator {
 
     final DisconnectingType disconnectingType;
 
-    private final String tableName;
+    final String tableName;
 
-    private final List<ValueGetter> sourceGetters;
+    final List<ValueGetter> sourceGetters;
 
     final List<ValueGetter> targetGetters;
 
@@ -578,7 +578,7 @@ class ChildTableOperator extends AbstractAssociationOperator {
         }
     }
 
-    private List<ChildTableOperator> subOperators() {
+    List<ChildTableOperator> subOperators() {
         return createSubOperators(
                 ctx.options.getSqlClient(),
                 ctx.path, disconnectingType,
@@ -586,7 +586,7 @@ class ChildTableOperator extends AbstractAssociationOperator {
         );
     }
 
-    private List<MiddleTableOperator> middleTableOperators() {
+    List<MiddleTableOperator> middleTableOperators() {
         return createMiddleTableOperators(
                 ctx.options.getSqlClient(),
                 ctx.path,
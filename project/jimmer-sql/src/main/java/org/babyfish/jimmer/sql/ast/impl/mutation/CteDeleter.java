@@ -0,0 +1,325 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.impl.render.ComparisonPredicates;
+import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.MutationPath;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * Deletes the root objects and all their cascade child rows by one statement
+ * whose data-modifying common table expressions are chained by the deleted ids,
+ * for example
+ *
+ * <pre>{@code
+ * with
+ *     cte_1_ as (delete from BOOK_STORE where ID = ? returning ID),
+ *     cte_2_ as (delete from BOOK where STORE_ID in (select ID from cte_1_) returning ID),
+ *     cte_3_ as (delete from BOOK_AUTHOR_MAPPING where BOOK_ID in (select ID from cte_2_) returning 1)
+ * select (select count(*) from cte_1_), (select count(*) from cte_2_), (select count(*) from cte_3_)
+ * }</pre>
+ *
+ * <p>The ids of child rows are never fetched into JVM, so it can only be used
+ * when triggers are not required. If any part of the cascade cannot be
+ * expressed by this way, such as checking, logical deletion, filtered middle table
+ * or the table modified twice(recursive association), {@link #of} returns null
+ * and the operators must be used.</p>
+ */
+class CteDeleter {
+
+    private final DeleteContext ctx;
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final Set<String> tableNames = new HashSet<>();
+
+    private CteDeleter(DeleteContext ctx) {
+        this.ctx = ctx;
+        this.sqlClient = ctx.options.getSqlClient();
+    }
+
+    @Nullable
+    static CteDeleter of(
+            DeleteContext ctx,
+            List<MiddleTableOperator> middleTableOperators,
+            List<ChildTableOperator> subOperators
+    ) {
+        if (ctx.trigger != null || ctx.isLogicalDeleted()) {
+            return null;
+        }
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        if (!sqlClient.getDialect().isDataModifyingCteSupported()) {
+            return null;
+        }
+        if (middleTableOperators.isEmpty() && subOperators.isEmpty()) {
+            return null;
+        }
+        ImmutableType type = ctx.path.getType();
+        CteDeleter deleter = new CteDeleter(ctx);
+        Node root = deleter.add(
+                null,
+                type.getTableName(sqlClient.getMetadataStrategy()),
+                NodeKind.ROOT,
+                null,
+                ValueGetter.valueGetters(sqlClient, type.getIdProp()),
+                null
+        );
+        if (root == null) {
+            return null;
+        }
+        for (MiddleTableOperator middleTableOperator : middleTableOperators) {
+            if (!deleter.addMiddleTable(root, middleTableOperator)) {
+                return null;
+            }
+        }
+        for (ChildTableOperator subOperator : subOperators) {
+            if (!deleter.addChildTable(root, subOperator)) {
+                return null;
+            }
+        }
+        return deleter;
+    }
+
+    /**
+     * @return The affected row count of root table,
+     * the affected row counts of other tables are added into
+     * the affected row count map of the delete context.
+     */
+    int execute(Collection<Object> ids) {
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        builder.sql("with ").enter(AbstractSqlBuilder.ScopeType.COMMA);
+        for (Node node : nodes) {
+            builder.separator().sql(node.name).sql(" as ").enter(AbstractSqlBuilder.ScopeType.SUB_QUERY);
+            node.render(builder, ids);
+            builder.leave();
+        }
+        builder.leave();
+        builder.sql(" ").enter(AbstractSqlBuilder.ScopeType.SELECT);
+        for (Node node : nodes) {
+            builder.separator().sql("(select count(*) from ").sql(node.name).sql(")");
+        }
+        builder.leave();
+        Tuple3<String, List<Object>, List<Integer>> tuple = builder.build();
+        int[] rowCounts = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        ctx.con,
+                        tuple.get_1(),
+                        tuple.get_2(),
+                        tuple.get_3(),
+                        ExecutionPurpose.command(QueryReason.NONE),
+                        ctx.options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            int[] arr = new int[nodes.size()];
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                if (rs.next()) {
+                                    for (int i = 0; i < arr.length; i++) {
+                                        arr[i] = rs.getInt(i + 1);
+                                    }
+                                }
+                            }
+                            return arr;
+                        }
+                )
+        );
+        int rootRowCount = 0;
+        for (int i = 0; i < rowCounts.length; i++) {
+            Node node = nodes.get(i);
+            switch (node.kind) {
+                case ROOT:
+                    rootRowCount = rowCounts[i];
+                    break;
+                case MIDDLE_TABLE:
+                    AffectedRows.add(ctx.affectedRowCountMap, node.path, rowCounts[i]);
+                    break;
+                default:
+                    AffectedRows.add(ctx.affectedRowCountMap, node.path.getType(), rowCounts[i]);
+                    break;
+            }
+        }
+        return rootRowCount;
+    }
+
+    private boolean addChildTable(Node parent, ChildTableOperator operator) {
+        NodeKind kind;
+        switch (operator.disconnectingType) {
+            case PHYSICAL_DELETE:
+                kind = NodeKind.DELETE;
+                break;
+            case SET_NULL:
+                if (operator.ctx.path.getType().getLogicalDeletedInfo() != null) {
+                    return false;
+                }
+                kind = NodeKind.SET_NULL;
+                break;
+            default:
+                return false;
+        }
+        Node node = add(
+                parent,
+                operator.tableName,
+                kind,
+                operator.sourceGetters,
+                operator.targetGetters,
+                operator.ctx.path
+        );
+        if (node == null) {
+            return false;
+        }
+        if (kind == NodeKind.DELETE) {
+            for (ChildTableOperator subOperator : operator.subOperators()) {
+                if (!addChildTable(node, subOperator)) {
+                    return false;
+                }
+            }
+            for (MiddleTableOperator middleTableOperator : operator.middleTableOperators()) {
+                if (!addMiddleTable(node, middleTableOperator)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean addMiddleTable(Node parent, MiddleTableOperator operator) {
+        if (operator.disconnectingType != DisconnectingType.PHYSICAL_DELETE ||
+                operator.middleTable.getFilterInfo() != null) {
+            return false;
+        }
+        return add(
+                parent,
+                operator.middleTable.getTableName(),
+                NodeKind.MIDDLE_TABLE,
+                operator.sourceGetters,
+                null,
+                operator.path
+        ) != null;
+    }
+
+    private Node add(
+            Node parent,
+            String tableName,
+            NodeKind kind,
+            List<ValueGetter> sourceGetters,
+            List<ValueGetter> idGetters,
+            MutationPath path
+    ) {
+        // The result of modifying the same row twice in one statement is undefined
+        if (!tableNames.add(tableName.toUpperCase())) {
+            return null;
+        }
+        Node node = new Node(
+                "cte_" + (nodes.size() + 1) + '_',
+                parent,
+                tableName,
+                kind,
+                sourceGetters,
+                idGetters,
+                path
+        );
+        nodes.add(node);
+        return node;
+    }
+
+    private enum NodeKind {
+        ROOT,
+        DELETE,
+        SET_NULL,
+        MIDDLE_TABLE
+    }
+
+    private static class Node {
+
+        final String name;
+
+        final Node parent;
+
+        final String tableName;
+
+        final NodeKind kind;
+
+        final List<ValueGetter> sourceGetters;
+
+        final List<ValueGetter> idGetters;
+
+        final MutationPath path;
+
+        Node(
+                String name,
+                Node parent,
+                String tableName,
+                NodeKind kind,
+                List<ValueGetter> sourceGetters,
+                List<ValueGetter> idGetters,
+                MutationPath path
+        ) {
+            this.name = name;
+            this.parent = parent;
+            this.tableName = tableName;
+            this.kind = kind;
+            this.sourceGetters = sourceGetters;
+            this.idGetters = idGetters;
+            this.path = path;
+        }
+
+        void render(SqlBuilder builder, Collection<Object> ids) {
+            if (kind == NodeKind.SET_NULL) {
+                builder.sql("update ").sql(tableName).enter(AbstractSqlBuilder.ScopeType.SET);
+                for (ValueGetter sourceGetter : sourceGetters) {
+                    builder.separator().sql(sourceGetter).sql(" = null");
+                }
+                builder.leave();
+            } else {
+                builder.sql("delete from ").sql(tableName);
+            }
+            builder.enter(AbstractSqlBuilder.ScopeType.WHERE);
+            if (parent == null) {
+                ComparisonPredicates.renderIn(false, idGetters, ids, builder);
+            } else {
+                renderColumns(builder, sourceGetters);
+                builder.sql(" in ").enter(AbstractSqlBuilder.ScopeType.SUB_QUERY);
+                builder.sql("select ");
+                renderColumns(builder, parent.idGetters);
+                builder.sql(" from ").sql(parent.name);
+                builder.leave();
+            }
+            builder.leave();
+            builder.sql(" returning ");
+            if (idGetters != null) {
+                builder.enter(AbstractSqlBuilder.ScopeType.COMMA);
+                for (ValueGetter idGetter : idGetters) {
+                    builder.separator().sql(idGetter);
+                }
+                builder.leave();
+            } else {
+                builder.sql("1");
+            }
+        }
+
+        private static void renderColumns(SqlBuilder builder, List<ValueGetter> getters) {
+            if (getters.size() == 1) {
+                builder.sql(getters.get(0));
+                return;
+            }
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (ValueGetter getter : getters) {
+                builder.separator().sql(getter);
+            }
+            builder.leave();
+        }
+    }
+}
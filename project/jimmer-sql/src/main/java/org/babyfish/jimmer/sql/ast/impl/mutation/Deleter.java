@@ -138,20 +138,26 @@ public class Deleter {
                 prop -> new MiddleTableOperator(saveCtx.prop(prop), ctx.isLogicalDeleted()),
                 backProp -> new MiddleTableOperator(saveCtx.backProp(backProp), ctx.isLogicalDeleted())
         );
-        for (MiddleTableOperator middleTableOperator : middleOperators) {
-            middleTableOperator.disconnect(ids);
-        }
         List<ChildTableOperator> subOperators = AbstractAssociationOperator.createSubOperators(
                 ctx.options.getSqlClient(),
                 ctx.path,
                 ctx.isLogicalDeleted() ? DisconnectingType.LOGICAL_DELETE : DisconnectingType.PHYSICAL_DELETE,
                 backProp -> new ChildTableOperator(ctx.backPropOf(backProp))
         );
-        for (ChildTableOperator subOperator : subOperators) {
-            subOperator.disconnect(ids);
-        }
 
-        int rowCount = executeImpl(ids, rowMap, ctx.getOptions().getExceptionTranslator());
+        int rowCount;
+        CteDeleter cteDeleter = CteDeleter.of(ctx, middleOperators, subOperators);
+        if (cteDeleter != null) {
+            rowCount = cteDeleter.execute(ids);
+        } else {
+            for (MiddleTableOperator middleTableOperator : middleOperators) {
+                middleTableOperator.disconnect(ids);
+            }
+            for (ChildTableOperator subOperator : subOperators) {
+                subOperator.disconnect(ids);
+            }
+            rowCount = executeImpl(ids, rowMap, ctx.getOptions().getExceptionTranslator());
+        }
         if (ctx.trigger != null) {
             ctx.trigger.submit(ctx.options.getSqlClient(), ctx.con);
         }
@@ -425,6 +431,21 @@ public class Deleter {
             public boolean isTransactionRequired() {
                 return options.isTransactionRequired();
             }
+
+            @Override
+            public boolean isBulkLoadEnabled() {
+                return false;
+            }
+
+            @Override
+            public boolean isShapeMergingEnabled() {
+                return false;
+            }
+
+            @Override
+            public boolean isDiffUpdateEnabled() {
+                return false;
+            }
         };
     }
 }
@@ -15,6 +15,7 @@ import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.collection.TypedList;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.meta.*;
 import org.babyfish.jimmer.sql.runtime.*;
@@ -32,7 +33,7 @@ class MiddleTableOperator extends AbstractAssociationOperator {
 
     private static final int[] SINGLE_ERROR_ROW_COUNTS = new int[] {-1};
 
-    private final MutationPath path;
+    final MutationPath path;
 
     private final ExceptionTranslator<Exception> exceptionTranslator;
     
@@ -42,7 +43,7 @@ class MiddleTableOperator extends AbstractAssociationOperator {
 
     final MiddleTable middleTable;
 
-    private final List<ValueGetter> sourceGetters;
+    final List<ValueGetter> sourceGetters;
 
     private final List<ValueGetter> targetGetters;
 
@@ -50,7 +51,7 @@ class MiddleTableOperator extends AbstractAssociationOperator {
 
     private final List<ValueGetter> getters;
 
-    private final DisconnectingType disconnectingType;
+    final DisconnectingType disconnectingType;
 
     private final QueryReason queryReason;
 
@@ -242,6 +243,11 @@ class MiddleTableOperator extends AbstractAssociationOperator {
 
     public final void replace(IdPairs.Retain idPairs) {
         MutationTrigger trigger = this.trigger;
+        if (trigger == null && isSetBasedReplaceable(idPairs)) {
+            disconnectExceptByComplexInPredicate(idPairs);
+            connectBySet(idPairs);
+            return;
+        }
         if (trigger == null && isUpsertUsed()) {
             disconnectExcept(idPairs);
             connectIfNecessary(idPairs);
@@ -481,6 +487,60 @@ class MiddleTableOperator extends AbstractAssociationOperator {
         AffectedRows.add(affectedRowCount, path, rowCount);
     }
 
+    /**
+     * Insert the id pairs which do not exist by one statement,
+     * the id pairs are bound as array parameters by `unnest`
+     */
+    private void connectBySet(IdPairs idPairs) {
+        Set<Tuple2<Object, Object>> idTuples = new LinkedHashSet<>(idPairs.tuples());
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        builder.sql("insert into ").sql(middleTable.getTableName()).enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            builder.separator().sql(getter);
+        }
+        builder.leave();
+        builder.sql(" ").enter(AbstractSqlBuilder.ScopeType.SELECT);
+        for (ValueGetter getter : referenceGetters) {
+            builder.separator().sql("tb_new_.").sql(getter);
+        }
+        for (ValueGetter getter : getters.subList(referenceGetters.size(), getters.size())) {
+            builder.separator().rawVariable(getter.get(null));
+        }
+        builder.leave();
+        builder.sql(" from unnest").enter(AbstractSqlBuilder.ScopeType.LIST);
+        for (ValueGetter getter : referenceGetters) {
+            Object[] arr = new Object[idTuples.size()];
+            int index = 0;
+            for (Tuple2<Object, Object> idTuple : idTuples) {
+                arr[index++] = getter.get(idTuple);
+            }
+            builder.separator().rawVariable(new TypedList<>(getter.metadata().getSqlTypeName(), arr));
+        }
+        builder.leave();
+        builder.sql(" tb_new_").enter(AbstractSqlBuilder.ScopeType.LIST);
+        for (ValueGetter getter : referenceGetters) {
+            builder.separator().sql(getter);
+        }
+        builder.leave();
+        builder.enter(AbstractSqlBuilder.ScopeType.WHERE);
+        builder.sql("not exists ").enter(AbstractSqlBuilder.ScopeType.SUB_QUERY);
+        builder.sql("select * from ").sql(middleTable.getTableName()).sql(" tb_old_");
+        builder.enter(AbstractSqlBuilder.ScopeType.WHERE);
+        for (ValueGetter getter : referenceGetters) {
+            builder.separator()
+                    .sql("tb_old_.")
+                    .sql(getter)
+                    .sql(" = tb_new_.")
+                    .sql(getter);
+        }
+        addFilterPredicate(builder);
+        builder.leave();
+        builder.leave();
+        builder.leave();
+        int rowCount = execute(builder);
+        AffectedRows.add(affectedRowCount, path, rowCount);
+    }
+
     final int[] connectIfNecessary(IdPairs idPairs) {
         if (idPairs.tuples().isEmpty()) {
             return EMPTY_ROW_COUNTS;
@@ -749,6 +809,30 @@ class MiddleTableOperator extends AbstractAssociationOperator {
         }
     }
 
+    /**
+     * The huge id pair set can be replaced by two set-based statements
+     * whose id pairs are bound as array parameters, rather than comparing
+     * with the existing id pairs in JVM or executing one statement for
+     * each id pair.
+     *
+     * <p>Only the dialects supporting both array parameters and tuple
+     * `unnest` are accepted. The temporary key table of
+     * {@link org.babyfish.jimmer.sql.ast.impl.util.LargeKeySets} has only one
+     * key column besides the usage id so that it cannot hold id pairs, other dialects such as
+     * MySQL, SQL Server and SQLite still use the upsert/diff strategy.</p>
+     */
+    private boolean isSetBasedReplaceable(IdPairs idPairs) {
+        if (parent != null || middleTable.getLogicalDeletedInfo() != null) {
+            return false;
+        }
+        Dialect dialect = sqlClient.getDialect();
+        if (!dialect.isArraySupported() || !dialect.isTupleUnnestSupported()) {
+            return false;
+        }
+        int threshold = sqlClient.getLargeInListThreshold();
+        return threshold > 0 && idPairs.tuples().size() >= threshold;
+    }
+
     private boolean isUpsertUsed() {
         Dialect dialect = sqlClient.getDialect();
         return dialect.isUpsertSupported() && trigger == null;
@@ -10,6 +10,7 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.event.Triggers;
 
 import java.sql.Connection;
@@ -53,18 +54,14 @@ public class MutationTrigger {
     public void submit(JSqlClient sqlClient, Connection con) {
         if (!changedList.isEmpty()) {
             Triggers triggers = sqlClient.getTriggers(true);
+            List<MutationTrigger.EntityChangedData> entityDataList = new ArrayList<>();
             for (MutationTrigger.ChangedData changedData : this.changedList) {
                 if (changedData instanceof MutationTrigger.EntityChangedData) {
-                    MutationTrigger.EntityChangedData data = (MutationTrigger.EntityChangedData) changedData;
-                    Internal.requiresNewDraftContext(ctx -> {
-                        triggers.fireEntityTableChange(
-                                toLonely((ImmutableSpi) data.oldEntity),
-                                toLonely((ImmutableSpi) data.newEntity),
-                                con
-                        );
-                        return null;
-                    });
+                    entityDataList.add((MutationTrigger.EntityChangedData) changedData);
                 } else {
+                    // Keep the order of entity events and association events
+                    fireEntityTableChanges(triggers, entityDataList, con);
+                    entityDataList.clear();
                     MutationTrigger.AssociationChangedData data = (MutationTrigger.AssociationChangedData) changedData;
                     if (data.detachedTargetId == null) {
                         triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
@@ -73,7 +70,31 @@ public class MutationTrigger {
                     }
                 }
             }
+            fireEntityTableChanges(triggers, entityDataList, con);
+        }
+    }
+
+    private static void fireEntityTableChanges(
+            Triggers triggers,
+            List<MutationTrigger.EntityChangedData> entityDataList,
+            Connection con
+    ) {
+        if (entityDataList.isEmpty()) {
+            return;
         }
+        Internal.requiresNewDraftContext(ctx -> {
+            List<Tuple2<Object, Object>> rowPairs = new ArrayList<>(entityDataList.size());
+            for (MutationTrigger.EntityChangedData data : entityDataList) {
+                rowPairs.add(
+                        new Tuple2<>(
+                                toLonely((ImmutableSpi) data.oldEntity),
+                                toLonely((ImmutableSpi) data.newEntity)
+                        )
+                );
+            }
+            triggers.fireEntityTableChanges(rowPairs, con, null);
+            return null;
+        });
     }
 
     private interface ChangedData {}
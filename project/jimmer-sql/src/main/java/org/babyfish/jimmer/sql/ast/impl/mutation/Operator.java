@@ -32,7 +32,9 @@ import org.babyfish.jimmer.sql.runtime.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.ZoneId;
 import java.util.*;
 
 class Operator {
@@ -136,17 +138,20 @@ class Operator {
             upsertMask = null;
             conflictProps = Collections.emptyList();
         }
+        List<String> columnNames = new ArrayList<>();
         for (PropertyGetter getter : batch.shape().getGetters()) {
             if (getter.isInsertable(conflictProps, upsertMask)) {
                 builder.separator().sql(getter);
+                columnNames.add(getter.metadata().getColumnName());
             }
         }
         for (PropertyGetter defaultGetter : defaultGetters) {
             if (defaultGetter.isInsertable(conflictProps, upsertMask)) {
                 builder.separator().sql(defaultGetter);
+                columnNames.add(defaultGetter.metadata().getColumnName());
             }
         }
-        builder.leave().sql(" values").enter(BatchSqlBuilder.ScopeType.TUPLE);
+        builder.leave().sql(" values").beginRowValues().enter(BatchSqlBuilder.ScopeType.TUPLE);
         if (sequenceIdGenerator != null) {
             builder.separator()
                     .sql("(")
@@ -171,7 +176,7 @@ class Operator {
                 builder.separator().defaultVariable(defaultGetter);
             }
         }
-        builder.leave();
+        builder.leave().endRowValues();
         if ((identityIdGenerator != null || sequenceIdGenerator != null) &&
             sqlClient.getDialect().isInsertedIdReturningRequired()) {
             builder.sql(" returning ")
@@ -188,7 +193,29 @@ class Operator {
                 trigger.modifyEntityTable(null, draft);
             }
         }
-        int rowCount = execute(builder, batch, false, false);
+        int rowCount = -1;
+        if (ctx.options.isBulkLoadEnabled() &&
+                batch.originalMode() == SaveMode.INSERT_ONLY &&
+                !batch.shape().getIdGetters().isEmpty()) {
+            rowCount = bulkLoad(builder, batch, columnNames);
+        }
+        if (rowCount == -1) {
+            boolean isIdGeneratedByDatabase = identityIdGenerator != null || sequenceIdGenerator != null;
+            int multiRowBatchSize = multiRowBatchSize(builder, batch, isIdGeneratedByDatabase);
+            if (multiRowBatchSize > 1) {
+                rowCount = rowCount(
+                        executeAndGetRowCountsByMultiRow(
+                                builder,
+                                batch.shape(),
+                                batch.entities(),
+                                isIdGeneratedByDatabase,
+                                multiRowBatchSize
+                        )
+                );
+            } else {
+                rowCount = execute(builder, batch, false, false);
+            }
+        }
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
     }
 
@@ -276,7 +303,7 @@ class Operator {
             }
             updatedGetters.add(getter);
         }
-        if (updatedGetters.isEmpty() && !hasOptimisticLock) {
+        if ((updatedGetters.isEmpty() && !hasOptimisticLock) || !hasAssignments(updatedGetters, versionGetter)) {
             fillIds(QueryReason.GET_ID_WHEN_UPDATE_NOTHING, originalKeyObjMap, batch);
             return;
         }
@@ -286,6 +313,19 @@ class Operator {
                 return;
             }
         }
+        if (changedProps != null && ctx.options.isDiffUpdateEnabled()) {
+            diffUpdate(
+                    originalIdObjMap,
+                    originalKeyObjMap != null ?
+                            originalKeyObjMap.getOrDefault(group, Collections.emptyMap()) :
+                            Collections.emptyMap(),
+                    keyProps,
+                    updatedGetters,
+                    userOptimisticLockPredicate,
+                    batch
+            );
+            return;
+        }
         BatchSqlBuilder builder = new BatchSqlBuilder(
                 sqlClient,
                 batch.entities().size() < 2 || ctx.options.isBatchForbidden()
@@ -359,6 +399,122 @@ class Operator {
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount(rowCounts));
     }
 
+    /**
+     * Compare the objects with their original rows, skip the unchanged objects,
+     * and group the changed objects by their changed properties so that each
+     * group is updated by the statement which only sets the changed columns.
+     */
+    private void diffUpdate(
+            Map<Object, ImmutableSpi> originalIdObjMap,
+            Map<Object, ImmutableSpi> originalKeySubMap,
+            Set<ImmutableProp> keyProps,
+            List<PropertyGetter> updatedGetters,
+            Predicate userOptimisticLockPredicate,
+            Batch<DraftSpi> batch
+    ) {
+        Shape shape = batch.shape();
+        PropertyGetter versionGetter = shape.getVersionGetter();
+        boolean hasOptimisticLock = userOptimisticLockPredicate != null || versionGetter != null;
+        PropId idPropId = ctx.path.getType().getIdProp().getId();
+        MutationTrigger trigger = ctx.trigger;
+        Map<Set<ImmutableProp>, EntityList<DraftSpi>> changedEntitiesMap = new LinkedHashMap<>();
+        int skippedCount = 0;
+        for (DraftSpi draft : batch.entities()) {
+            ImmutableSpi oldRow;
+            if (keyProps != null) {
+                oldRow = originalKeySubMap.get(Keys.keyOf(draft, keyProps));
+            } else {
+                oldRow = originalIdObjMap != null ? originalIdObjMap.get(draft.__get(idPropId)) : null;
+            }
+            Set<ImmutableProp> changedProps = changedProps(updatedGetters, oldRow, draft);
+            // The unchanged object is skipped even if it has optimistic lock,
+            // unless its version differs from the original row so that the
+            // update is still executed to report the optimistic lock error.
+            // So the SET clause of each group is never empty
+            if (changedProps.isEmpty() && !isVersionChanged(versionGetter, oldRow, draft)) {
+                skippedCount++;
+                continue;
+            }
+            if (trigger != null) {
+                trigger.modifyEntityTable(oldRow, draft);
+            }
+            changedEntitiesMap
+                    .computeIfAbsent(changedProps, it -> new EntityList<>())
+                    .add(draft);
+        }
+        AffectedRows.add(ctx.skippedRowCountMap, ctx.path.getType(), skippedCount);
+
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        PropertyGetter idGetter = Shape.fullOf(sqlClient, shape.getType().getJavaClass()).getIdGetters().get(0);
+        int rowCount = 0;
+        for (Map.Entry<Set<ImmutableProp>, EntityList<DraftSpi>> e : changedEntitiesMap.entrySet()) {
+            Set<ImmutableProp> changedProps = e.getKey();
+            EntityList<DraftSpi> entities = e.getValue();
+            List<PropertyGetter> changedGetters = new ArrayList<>(changedProps.size());
+            for (PropertyGetter getter : updatedGetters) {
+                if (changedProps.contains(getter.prop())) {
+                    changedGetters.add(getter);
+                }
+            }
+            BatchSqlBuilder builder = new BatchSqlBuilder(
+                    sqlClient,
+                    entities.size() < 2 || ctx.options.isBatchForbidden()
+            );
+            sqlClient.getDialect().update(
+                    new UpdateContextImpl(
+                            builder,
+                            shape,
+                            idGetter,
+                            keyProps,
+                            changedGetters,
+                            userOptimisticLockPredicate,
+                            versionGetter
+                    )
+            );
+            int[] rowCounts = executeAndGetRowCounts(builder, shape, entities, true, false);
+            if (hasOptimisticLock) {
+                int index = 0;
+                for (DraftSpi row : entities) {
+                    if (rowCounts[index++] == 0) {
+                        ctx.throwOptimisticLockError(row);
+                    }
+                }
+            }
+            rowCount += rowCount(rowCounts);
+        }
+        AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
+    }
+
+    private static boolean isVersionChanged(
+            PropertyGetter versionGetter,
+            ImmutableSpi oldRow,
+            ImmutableSpi newRow
+    ) {
+        if (versionGetter == null) {
+            return false;
+        }
+        if (oldRow == null) {
+            return true;
+        }
+        PropId versionPropId = versionGetter.prop().getId();
+        if (!oldRow.__isLoaded(versionPropId)) {
+            return true;
+        }
+        return !Objects.equals(oldRow.__get(versionPropId), newRow.__get(versionPropId));
+    }
+
+    /**
+     * Whether the SET clause rendered by {@link UpdateContextImpl#appendAssignments()}
+     * is not empty
+     */
+    private boolean hasAssignments(List<PropertyGetter> updatedGetters, PropertyGetter versionGetter) {
+        if (versionGetter != null || !updatedGetters.isEmpty()) {
+            return true;
+        }
+        return ctx.path.getType().getVersionProp() != null &&
+                ctx.options.getUnloadedVersionBehavior(ctx.path.getType()) == UnloadedVersionBehavior.INCREASE;
+    }
+
     @SuppressWarnings("unchecked")
     private void fillIds(
             QueryReason queryReason,
@@ -596,6 +752,53 @@ class Operator {
         return changed;
     }
 
+    private Set<ImmutableProp> changedProps(
+            List<PropertyGetter> getters,
+            ImmutableSpi oldRow,
+            ImmutableSpi newRow
+    ) {
+        Set<ImmutableProp> changedProps = new LinkedHashSet<>();
+        for (PropertyGetter getter : getters) {
+            ImmutableProp prop = getter.prop();
+            if (changedProps.contains(prop)) {
+                continue;
+            }
+            if (oldRow == null) {
+                changedProps.add(prop);
+                continue;
+            }
+            PropId propId = prop.getId();
+            boolean isFrozenBackReference = ctx.backReferenceFrozen && prop == ctx.backReferenceProp;
+            if (!oldRow.__isLoaded(propId)) {
+                if (isFrozenBackReference) {
+                    ctx.throwUnloadedFrozenBackReference(ctx.backReferenceProp);
+                }
+                changedProps.add(prop);
+                continue;
+            }
+            Object oldValue = oldRow.__get(propId);
+            Object newValue = newRow.__get(propId);
+            if (oldValue != null && newValue != null && prop.isReference(TargetLevel.PERSISTENT)) {
+                PropId targetIdPropId = prop.getTargetType().getIdProp().getId();
+                oldValue = ((ImmutableSpi) oldValue).__get(targetIdPropId);
+                newValue = ((ImmutableSpi) newValue).__get(targetIdPropId);
+            }
+            boolean same;
+            if (oldValue instanceof BigDecimal && newValue instanceof BigDecimal) {
+                same = ((BigDecimal) oldValue).compareTo((BigDecimal) newValue) == 0;
+            } else {
+                same = Objects.equals(oldValue, newValue);
+            }
+            if (!same) {
+                if (isFrozenBackReference) {
+                    ctx.throwTargetIsNotTransferable(newRow);
+                }
+                changedProps.add(prop);
+            }
+        }
+        return changedProps;
+    }
+
     private int[] executeAndGetRowCounts(
             BatchSqlBuilder builder,
             Shape shape,
@@ -683,12 +886,7 @@ class Operator {
                             tuple.get_3(),
                             ExecutionPurpose.MUTATE,
                             ctx.options.getExceptionTranslator(),
-                            (con, sqlText) -> {
-                                if (shape.getIdGetters().isEmpty()) {
-                                    return con.prepareStatement(sqlText, Statement.RETURN_GENERATED_KEYS);
-                                }
-                                return con.prepareStatement(sqlText);
-                            },
+                            shape.getIdGetters().isEmpty() ? StatementFactory.RETURN_GENERATED_KEYS : null,
                             (stmt, args) -> {
                                 int rowCount;
                                 try {
@@ -778,6 +976,215 @@ class Operator {
         }
     }
 
+    /**
+     * The rows are loaded by the executor under a savepoint if the connection
+     * is in transaction, so the loaded rows are rolled back when the dialect
+     * fails or gives up, and the failure is translated like the multi-row
+     * insertion whose rows are all failed.
+     *
+     * @return The loaded row count, or -1 if the dialect cannot load the rows
+     */
+    private int bulkLoad(
+            BatchSqlBuilder builder,
+            Batch<DraftSpi> batch,
+            List<String> columnNames
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        BatchSqlBuilder.VariableMapper mapper = builder.build().get_2();
+        List<List<Object>> rows = new ArrayList<>(batch.entities().size());
+        for (DraftSpi draft : batch.entities()) {
+            rows.add(mapper.variables(draft));
+        }
+        Dialect.BulkLoadContext bulkLoadContext = new BulkLoadContextImpl(
+                ctx.con,
+                ctx.path.getType().getTableName(sqlClient.getMetadataStrategy()),
+                columnNames,
+                rows,
+                sqlClient.getZoneId()
+        );
+        String sql;
+        try {
+            sql = dialect.getBulkLoadSql(bulkLoadContext);
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot get the bulk load SQL of the table \"" + bulkLoadContext.getTableName() + "\"",
+                    ex
+            );
+        }
+        if (sql == null) {
+            return -1;
+        }
+        Shape shape = batch.shape();
+        long rowCount = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        ctx.con,
+                        sql,
+                        Collections.emptyList(),
+                        null,
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            long loadedCount;
+                            try {
+                                Savepoint savepoint = SavepointManager.set(ctx.con);
+                                try {
+                                    loadedCount = dialect.bulkLoad(stmt, bulkLoadContext);
+                                    if (loadedCount == -1) {
+                                        SavepointManager.rollback(stmt::getConnection, savepoint);
+                                    }
+                                } catch (SQLException ex) {
+                                    SavepointManager.rollback(stmt::getConnection, savepoint);
+                                    throw ex;
+                                } finally {
+                                    SavepointManager.release(stmt::getConnection, savepoint);
+                                }
+                            } catch (SQLException ex) {
+                                Exception translateException = translateMultiRowException(
+                                        ex,
+                                        args,
+                                        shape,
+                                        batch.entities(),
+                                        EMPTY_ROW_COUNTS,
+                                        rows.size()
+                                );
+                                if (translateException instanceof RuntimeException) {
+                                    throw (RuntimeException) translateException;
+                                }
+                                throw new ExecutionException("Cannot execute the DML statement", translateException);
+                            }
+                            return loadedCount;
+                        }
+                )
+        );
+        return rowCount == -1 ? -1 : (int) rowCount;
+    }
+
+    private int multiRowBatchSize(
+            BatchSqlBuilder builder,
+            Batch<DraftSpi> batch,
+            boolean isIdGeneratedByDatabase
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        int batchSize = sqlClient.getMultiRowInsertBatchSize();
+        if (batchSize < 2 || !dialect.isMultiInsertionSupported() || !builder.isMultiRowSupported()) {
+            return 0;
+        }
+        if (isIdGeneratedByDatabase && !dialect.isMultiInsertionIdFetchable()) {
+            return 0;
+        }
+        if (batch.entities().size() < 2 ||
+                ctx.options.isBatchForbidden() ||
+                isForcedOneByOne(batch.shape(), batch.entities())) {
+            return 0;
+        }
+        int variableCount = builder.variableCount();
+        if (variableCount != 0) {
+            batchSize = Math.min(batchSize, dialect.getMaxVariableCount() / variableCount);
+        }
+        return batchSize;
+    }
+
+    private int[] executeAndGetRowCountsByMultiRow(
+            BatchSqlBuilder builder,
+            Shape shape,
+            EntityCollection<DraftSpi> entities,
+            boolean isIdGeneratedByDatabase,
+            int batchSize
+    ) {
+        JSqlClientImplementor sqlClient = builder.sqlClient();
+        Executor executor = sqlClient.getExecutor();
+        BatchSqlBuilder.VariableMapper mapper = builder.build().get_2();
+        Reader<?> idReader = isIdGeneratedByDatabase ?
+                sqlClient.getReader(ctx.path.getType().getIdProp()) :
+                null;
+        List<EntityCollection.Item<DraftSpi>> items = new ArrayList<>(entities.items());
+        int[] rowCounts = new int[items.size()];
+        String fullSql = null;
+        for (int offset = 0; offset < items.size(); offset += batchSize) {
+            List<EntityCollection.Item<DraftSpi>> chunk =
+                    items.subList(offset, Math.min(offset + batchSize, items.size()));
+            String sql;
+            if (chunk.size() == batchSize) {
+                if (fullSql == null) {
+                    fullSql = builder.buildMultiRow(batchSize);
+                }
+                sql = fullSql;
+            } else {
+                sql = builder.buildMultiRow(chunk.size());
+            }
+            List<Object> variables = new ArrayList<>(builder.variableCount() * chunk.size());
+            for (EntityCollection.Item<DraftSpi> item : chunk) {
+                variables.addAll(mapper.variables(item.getEntity()));
+            }
+            int chunkOffset = offset;
+            executor.execute(
+                    new Executor.Args<>(
+                            sqlClient,
+                            ctx.con,
+                            sql,
+                            variables,
+                            null,
+                            ExecutionPurpose.MUTATE,
+                            ctx.options.getExceptionTranslator(),
+                            idReader != null ? StatementFactory.RETURN_GENERATED_KEYS : null,
+                            (stmt, args) -> {
+                                int rowCount;
+                                try {
+                                    Savepoint savepoint = SavepointManager.setIfNeeded(ctx.con, sqlClient);
+                                    try {
+                                        rowCount = stmt.executeUpdate();
+                                    } catch (SQLException ex) {
+                                        SavepointManager.rollback(stmt::getConnection, savepoint);
+                                        throw ex;
+                                    } finally {
+                                        SavepointManager.release(stmt::getConnection, savepoint);
+                                    }
+                                } catch (SQLException ex) {
+                                    Exception translateException = translateMultiRowException(
+                                            ex,
+                                            args,
+                                            shape,
+                                            entities,
+                                            Arrays.copyOf(rowCounts, chunkOffset),
+                                            chunk.size()
+                                    );
+                                    if (translateException instanceof RuntimeException) {
+                                        throw (RuntimeException) translateException;
+                                    }
+                                    throw new ExecutionException("Cannot execute the DML statement", translateException);
+                                }
+                                List<Object> ids = new ArrayList<>(chunk.size());
+                                if (idReader != null) {
+                                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                        while (rs.next()) {
+                                            ids.add(idReader.read(rs, new Reader.Context(null, sqlClient)));
+                                        }
+                                    }
+                                }
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    int itemRowCount = i < rowCount ? 1 : 0;
+                                    rowCounts[chunkOffset + i] = itemRowCount;
+                                    modifyEntity(
+                                            i < ids.size() ? ids.get(i) : null,
+                                            shape,
+                                            chunk.get(i),
+                                            false,
+                                            false,
+                                            itemRowCount
+                                    );
+                                }
+                                return rowCount;
+                            }
+                    )
+            );
+        }
+        return rowCounts;
+    }
+
     private void modifyEntity(
             Object generatedId,
             Shape shape,
@@ -916,6 +1323,46 @@ class Operator {
         return convertFinalException(investigateEx, ctx);
     }
 
+    /**
+     * The failed multi-row statement is reported as {@link BatchUpdateException}
+     * like JDBC batch, the rows of previous statements are succeeded,
+     * and all the rows of the failed statement are marked as failed.
+     */
+    private Exception translateMultiRowException(
+            SQLException ex,
+            Executor.Args<?> args,
+            Shape shape,
+            Collection<? extends DraftSpi> entities,
+            int[] succeededRowCounts,
+            int failedRowCount
+    ) {
+        int[] updateCounts = Arrays.copyOf(succeededRowCounts, succeededRowCounts.length + failedRowCount);
+        Arrays.fill(updateCounts, succeededRowCounts.length, updateCounts.length, Statement.EXECUTE_FAILED);
+        BatchUpdateException bue = new BatchUpdateException(
+                ex.getMessage(),
+                ex.getSQLState(),
+                ex.getErrorCode(),
+                updateCounts,
+                ex
+        );
+        String state = ex.getSQLState();
+        if (state == null || !state.startsWith("23")) {
+            return convertFinalException(bue, args);
+        }
+        EntityInvestigator investigator = new EntityInvestigator(
+                updateCounts,
+                this.ctx.investigator(ctx.options.getSqlClient()),
+                shape,
+                entities,
+                false
+        );
+        Exception investigateEx = investigator.investigate();
+        if (investigateEx == null) {
+            investigateEx = bue;
+        }
+        return convertFinalException(investigateEx, args);
+    }
+
     private Exception convertFinalException(@NotNull Exception ex, @NotNull ExceptionTranslator.Args args) {
         ExceptionTranslator<Exception> translator =
                 this.ctx.options.getExceptionTranslator();
@@ -1305,4 +1752,56 @@ class Operator {
             return this;
         }
     }
+
+    private static class BulkLoadContextImpl implements Dialect.BulkLoadContext {
+
+        private final Connection con;
+
+        private final String tableName;
+
+        private final List<String> columnNames;
+
+        private final List<List<Object>> rows;
+
+        private final ZoneId zoneId;
+
+        BulkLoadContextImpl(
+                Connection con,
+                String tableName,
+                List<String> columnNames,
+                List<List<Object>> rows,
+                ZoneId zoneId
+        ) {
+            this.con = con;
+            this.tableName = tableName;
+            this.columnNames = columnNames;
+            this.rows = rows;
+            this.zoneId = zoneId;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return con;
+        }
+
+        @Override
+        public String getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        @Override
+        public List<List<Object>> getRows() {
+            return rows;
+        }
+
+        @Override
+        public ZoneId getZoneId() {
+            return zoneId;
+        }
+    }
 }
@@ -12,6 +12,7 @@ import org.babyfish.jimmer.sql.KeyUniqueConstraint;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.util.ConcattedIterator;
+import org.babyfish.jimmer.sql.ast.impl.util.IdCollections;
 import org.babyfish.jimmer.sql.ast.impl.value.PropertyGetter;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
@@ -243,7 +244,7 @@ abstract class AbstractPreHandler implements PreHandler {
             if (!keyObjMap.isEmpty()) {
                 Map<Object, ImmutableSpi> idObjMap = this.idObjMap;
                 if (idObjMap == null) {
-                    this.idObjMap = idObjMap = new HashMap<>();
+                    this.idObjMap = idObjMap = IdCollections.newIdMap(ctx.path.getType(), keyObjMap.size());
                 }
                 PropId idPropId = ctx.path.getType().getIdProp().getId();
                 for (Map<Object, ImmutableSpi> subMap : keyObjMap.values()) {
@@ -284,6 +285,18 @@ abstract class AbstractPreHandler implements PreHandler {
             if (ctx.backReferenceFrozen) {
                 fetcherImplementor = fetcherImplementor.add(ctx.backReferenceProp.getName(), IdOnlyFetchType.RAW);
             }
+            if (ctx.options.isDiffUpdateEnabled()) {
+                for (ImmutableProp prop : type.getProps().values()) {
+                    if (prop.isId() || !prop.isColumnDefinition()) {
+                        continue;
+                    }
+                    if (prop.isReference(TargetLevel.PERSISTENT)) {
+                        fetcherImplementor = fetcherImplementor.add(prop.getName(), IdOnlyFetchType.RAW);
+                    } else {
+                        fetcherImplementor = fetcherImplementor.add(prop.getName());
+                    }
+                }
+            }
             this.originalFetcher = oldFetcher = fetcherImplementor;
         }
         return oldFetcher;
@@ -301,6 +314,10 @@ abstract class AbstractPreHandler implements PreHandler {
         }
         JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
         SaveMode saveMode = ctx.options.getMode();
+        if (ctx.options.isDiffUpdateEnabled() &&
+                (saveMode == SaveMode.UPDATE_ONLY || saveMode == SaveMode.UPSERT)) {
+            return QueryReason.DIFF_UPDATE;
+        }
         boolean clearMode = saveMode == SaveMode.INSERT_ONLY || saveMode == SaveMode.UPDATE_ONLY;
         if (!clearMode && !sqlClient.getDialect().isUpsertSupported()) {
             return QueryReason.UPSERT_NOT_SUPPORTED;
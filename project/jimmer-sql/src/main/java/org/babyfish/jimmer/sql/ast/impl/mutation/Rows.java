@@ -6,6 +6,7 @@ import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.impl.util.IdCollections;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
 import org.babyfish.jimmer.sql.ast.query.MutableQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
@@ -33,7 +34,7 @@ class Rows {
             return new HashMap<>();
         }
         PropId idPropId = ctx.path.getType().getIdProp().getId();
-        Map<Object, ImmutableSpi> map = new LinkedHashMap<>((entities.size() * 4 + 2) / 3);
+        Map<Object, ImmutableSpi> map = IdCollections.newIdMap(ctx.path.getType(), entities.size());
         for (ImmutableSpi entity : entities) {
             map.put(entity.__get(idPropId), entity);
         }
@@ -47,7 +48,7 @@ class Rows {
             Collection<? extends ImmutableSpi> rows
     ) {
         PropId idPropId = ctx.path.getType().getIdProp().getId();
-        Set<Object> ids = new LinkedHashSet<>((rows.size() * 4 + 2) / 3);
+        Set<Object> ids = IdCollections.newIdSet(ctx.path.getType(), rows.size());
         for (ImmutableSpi row : rows) {
             if (row.__isLoaded(idPropId)) {
                 ids.add(row.__get(idPropId));
@@ -32,6 +32,8 @@ class SaveContext extends MutationContext {
 
     final Map<AffectedTable, Integer> affectedRowCountMap;
 
+    final Map<AffectedTable, Integer> skippedRowCountMap;
+
     final ImmutableProp backReferenceProp;
 
     final boolean backReferenceFrozen;
@@ -68,6 +70,7 @@ class SaveContext extends MutationContext {
         this.backReferenceProp = null;
         this.backReferenceFrozen = false;
         this.affectedRowCountMap = affectedRowCountMap;
+        this.skippedRowCountMap = new LinkedHashMap<>();
     }
 
     private SaveContext(SaveContext parent, ImmutableProp prop, ImmutableProp backProp) {
@@ -118,6 +121,7 @@ class SaveContext extends MutationContext {
             this.backReferenceFrozen = false;
         }
         this.affectedRowCountMap = parent.affectedRowCountMap;
+        this.skippedRowCountMap = parent.skippedRowCountMap;
     }
 
     private SaveContext(SaveContext base, JSqlClientImplementor sqlClient) {
@@ -127,6 +131,7 @@ class SaveContext extends MutationContext {
         this.fetcher = base.fetcher;
         this.trigger = base.trigger;
         this.affectedRowCountMap = base.affectedRowCountMap;
+        this.skippedRowCountMap = base.skippedRowCountMap;
         this.backReferenceProp = base.backReferenceProp;
         this.backReferenceFrozen = base.backReferenceFrozen;
     }
@@ -58,6 +58,12 @@ public interface SaveOptions {
 
     boolean isTransactionRequired();
 
+    boolean isBulkLoadEnabled();
+
+    boolean isShapeMergingEnabled();
+
+    boolean isDiffUpdateEnabled();
+
     default SaveOptions withMode(SaveMode mode) {
         if (getMode() == mode) {
             return this;
@@ -187,6 +193,21 @@ abstract class AbstractSaveOptionsWrapper implements SaveOptions {
         return raw.isTransactionRequired();
     }
 
+    @Override
+    public boolean isBulkLoadEnabled() {
+        return raw.isBulkLoadEnabled();
+    }
+
+    @Override
+    public boolean isShapeMergingEnabled() {
+        return raw.isShapeMergingEnabled();
+    }
+
+    @Override
+    public boolean isDiffUpdateEnabled() {
+        return raw.isDiffUpdateEnabled();
+    }
+
     private static SaveOptions unwrap(SaveOptions options) {
         if (options instanceof AbstractSaveOptionsWrapper) {
             return unwrap(((AbstractSaveOptionsWrapper)options).raw);
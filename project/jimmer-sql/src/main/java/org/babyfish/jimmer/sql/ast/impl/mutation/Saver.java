@@ -71,6 +71,7 @@ public class Saver {
         }
         return new SimpleSaveResult<>(
                 ctx.affectedRowCountMap,
+                ctx.skippedRowCountMap,
                 entity,
                 newEntity
         );
@@ -105,7 +106,7 @@ public class Saver {
                     )
             );
         }
-        return new BatchSaveResult<>(ctx.affectedRowCountMap, items);
+        return new BatchSaveResult<>(ctx.affectedRowCountMap, ctx.skippedRowCountMap, items);
     }
 
     private void saveAllImpl(List<DraftSpi> drafts) {
@@ -140,14 +141,18 @@ public class Saver {
 
         boolean detach = saveSelf(preHandler);
 
-        for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
-            for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
-                if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
-                    if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
-                        clearAssociations(batch.entities(), prop);
+        if (ctx.options.isShapeMergingEnabled()) {
+            saveMergedPostAssociations(preHandler, detach);
+        } else {
+            for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
+                for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
+                    if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
+                        if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
+                            clearAssociations(batch.entities(), prop);
+                        }
+                        setBackReference(prop, batch);
+                        savePostAssociation(prop, batch.entities(), detach);
                     }
-                    setBackReference(prop, batch);
-                    savePostAssociation(prop, batch, detach);
                 }
             }
         }
@@ -155,6 +160,34 @@ public class Saver {
         fetch(drafts, preHandler.batches());
     }
 
+    /**
+     * Unlike the default behavior which saves the associated objects
+     * of each shape separately, the associated objects of all shapes
+     * are saved together for each association property.
+     */
+    private void saveMergedPostAssociations(PreHandler preHandler, boolean detach) {
+        Map<ImmutableProp, List<Batch<DraftSpi>>> batchesMap = new LinkedHashMap<>();
+        for (Batch<DraftSpi> batch : preHandler.associationBatches()) {
+            for (ImmutableProp prop : batch.shape().getGetterMap().keySet()) {
+                if (isVisitable(prop) && prop.isAssociation(TargetLevel.ENTITY)) {
+                    batchesMap.computeIfAbsent(prop, it -> new ArrayList<>()).add(batch);
+                }
+            }
+        }
+        for (Map.Entry<ImmutableProp, List<Batch<DraftSpi>>> e : batchesMap.entrySet()) {
+            ImmutableProp prop = e.getKey();
+            List<DraftSpi> entities = new ArrayList<>();
+            for (Batch<DraftSpi> batch : e.getValue()) {
+                setBackReference(prop, batch);
+                entities.addAll(batch.entities());
+            }
+            if (ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.VIOLENTLY_REPLACE) {
+                clearAssociations(entities, prop);
+            }
+            savePostAssociation(prop, entities, detach);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void setBackReference(ImmutableProp prop, Batch<DraftSpi> batch) {
         ImmutableProp backProp = prop.getMappedBy();
@@ -201,7 +234,7 @@ public class Saver {
     @SuppressWarnings("unchecked")
     private void savePostAssociation(
             ImmutableProp prop,
-            Batch<DraftSpi> batch,
+            Collection<DraftSpi> entities,
             boolean detachOtherSiblings
     ) {
         Saver targetSaver = new Saver(ctx.prop(prop));
@@ -216,9 +249,9 @@ public class Saver {
             targetSaver.ctx.throwUnstructuredAssociation();
         }
 
-        List<DraftSpi> targets = new ArrayList<>(batch.entities().size());
+        List<DraftSpi> targets = new ArrayList<>(entities.size());
         PropId targetPropId = prop.getId();
-        for (DraftSpi draft : batch.entities()) {
+        for (DraftSpi draft : entities) {
             Object value = draft.__get(targetPropId);
             if (value instanceof List<?>) {
                 targets.addAll((List<DraftSpi>) value);
@@ -232,7 +265,7 @@ public class Saver {
             targetSaver.saveAllImpl(targets);
         }
 
-        updateAssociations(batch, prop, detachOtherSiblings);
+        updateAssociations(entities, prop, detachOtherSiblings);
     }
 
     private void fetch(List<DraftSpi> drafts, Iterable<Batch<DraftSpi>> batches) {
@@ -485,7 +518,7 @@ public class Saver {
         }
     }
 
-    private void updateAssociations(Batch<DraftSpi> batch, ImmutableProp prop, boolean detach) {
+    private void updateAssociations(Collection<DraftSpi> entities, ImmutableProp prop, boolean detach) {
         ChildTableOperator subOperator = null;
         MiddleTableOperator middleTableOperator = null;
         if (prop.isMiddleTableDefinition()) {
@@ -517,7 +550,7 @@ public class Saver {
         if (subOperator == null && middleTableOperator == null) {
             return;
         }
-        IdPairs.Retain retainedIdPairs = IdPairs.retain(batch.entities(), prop);
+        IdPairs.Retain retainedIdPairs = IdPairs.retain(entities, prop);
         if (subOperator != null && detach && ctx.options.getAssociatedMode(prop) == AssociatedSaveMode.REPLACE) {
             subOperator.disconnectExcept(retainedIdPairs, true);
         }
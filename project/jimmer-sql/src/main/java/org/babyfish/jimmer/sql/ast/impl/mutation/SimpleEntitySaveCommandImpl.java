@@ -198,6 +198,21 @@ public class SimpleEntitySaveCommandImpl<E>
         return new SimpleEntitySaveCommandImpl<>(new TransactionRequiredCfg(cfg, required));
     }
 
+    @Override
+    public SimpleEntitySaveCommand<E> setBulkLoadEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new BulkLoadCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setShapeMergingEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new ShapeMergingCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setDiffUpdateEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new DiffUpdateCfg(cfg, enabled));
+    }
+
     @Override
     public SimpleSaveResult<E> execute(Connection con, Fetcher<E> fetcher) {
         SaveOptions options = options();
@@ -4,6 +4,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.AstShapeCollector;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
@@ -62,9 +63,21 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         try {
             Selection<?> idOnlySelection = idOnlyPropExprByOffset();
             if (idOnlySelection != null) {
-                baseQuery.accept(visitor, Collections.singletonList(idOnlySelection), false);
+                baseQuery.accept(
+                        visitor,
+                        Collections.singletonList(idOnlySelection),
+                        false,
+                        data.seekPredicate,
+                        data.seekOrders
+                );
             } else {
-                baseQuery.accept(visitor, data.oldSelections, data.withoutSortingAndPaging);
+                baseQuery.accept(
+                        visitor,
+                        data.oldSelections,
+                        data.withoutSortingAndPaging,
+                        data.seekPredicate,
+                        data.seekOrders
+                );
                 for (Selection<?> selection : data.selections) {
                     Ast.from(selection, visitor.getAstContext()).accept(visitor);
                 }
@@ -123,6 +136,53 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         return this;
     }
 
+    /**
+     * Mirror of {@link #renderTo(AbstractSqlBuilder)}, only the queries which
+     * do not use the tables except the root table are supported.
+     */
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        if (data.oldSelections != null || data.seekPredicate != null || data.seekOrders != null) {
+            return false;
+        }
+        if (!collector.isRootTable(baseQuery.getTableImplementor())) {
+            return false;
+        }
+        boolean paging = !data.withoutSortingAndPaging && (data.offset != 0 || data.limit != Integer.MAX_VALUE);
+        if (paging && idOnlyPropExprByOffset() != null) {
+            return false;
+        }
+        AstContext astContext = collector.getAstContext();
+        astContext.pushStatement(getBaseQuery());
+        try {
+            collector
+                    .add(data.distinct)
+                    .add(data.hint)
+                    .add(data.forUpdate)
+                    .add(data.selections.size());
+            for (Selection<?> selection : data.selections) {
+                if (selection instanceof TableSelection || selection instanceof Table<?>) {
+                    if (!(selection instanceof Table<?>) || !collector.isRootTable((Table<?>) selection)) {
+                        return false;
+                    }
+                    collector.add(TableSelection.class);
+                } else if (!collector.ast(Ast.from(selection, astContext))) {
+                    return false;
+                }
+            }
+            if (!baseQuery.collectShape(collector, data.withoutSortingAndPaging, data.reverseSorting)) {
+                return false;
+            }
+            if (paging) {
+                collector.pagination(data.limit, data.offset);
+            }
+            // The joined tables created by the global filters are rendered too
+            return baseQuery.getTableImplementor().isEmpty(null);
+        } finally {
+            astContext.popStatement();
+        }
+    }
+
     private void renderWithoutPaging(SqlBuilder builder, PropExpressionImplementor<?> idPropExpr) {
         builder.enter(data.distinct ? SqlBuilder.ScopeType.SELECT_DISTINCT : SqlBuilder.ScopeType.SELECT);
         if (data.hint != null) {
@@ -164,7 +224,13 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
             }
         }
         builder.leave();
-        baseQuery.renderTo(builder, data.withoutSortingAndPaging, data.reverseSorting);
+        baseQuery.renderTo(
+                builder,
+                data.withoutSortingAndPaging,
+                data.reverseSorting,
+                data.seekPredicate,
+                data.seekOrders
+        );
     }
 
     private PropExpressionImplementor<?> idOnlyPropExprByOffset() {
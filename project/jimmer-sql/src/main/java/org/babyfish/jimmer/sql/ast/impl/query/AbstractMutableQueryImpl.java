@@ -15,6 +15,7 @@ import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -221,9 +222,12 @@ public abstract class AbstractMutableQueryImpl
     void accept(
             AstVisitor visitor,
             List<Selection<?>> overriddenSelections,
-            boolean withoutSortingAndPaging
+            boolean withoutSortingAndPaging,
+            @Nullable Predicate seekPredicate,
+            @Nullable List<Order> seekOrders
     ) {
         visitor.visitStatement(this);
+        List<Order> orders = seekOrders != null ? seekOrders : this.orders;
         List<Predicate> havingPredicates = this.havingPredicates;
         if (groupByExpressions.isEmpty() && !havingPredicates.isEmpty()) {
             throw new IllegalStateException(
@@ -235,6 +239,9 @@ public abstract class AbstractMutableQueryImpl
         for (Predicate predicate : unfrozenPredicates()) {
             ((Ast)predicate).accept(visitor);
         }
+        if (seekPredicate != null) {
+            ((Ast)seekPredicate).accept(visitor);
+        }
         for (Expression<?> expression : groupByExpressions) {
             ((Ast)expression).accept(visitor);
         }
@@ -260,9 +267,19 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
-    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
+    void renderTo(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            @Nullable Predicate seekPredicate,
+            @Nullable List<Order> seekOrders
+    ) {
 
         Predicate predicate = getPredicate(builder.getAstContext());
+        if (seekPredicate != null) {
+            predicate = predicate != null ? Predicate.and(predicate, seekPredicate) : seekPredicate;
+        }
+        List<Order> orders = seekOrders != null ? seekOrders : this.orders;
         Predicate havingPredicate = getHavingPredicate(builder.getAstContext());
 
         TableImplementor<?> tableImplementor = getTableImplementor();
@@ -312,6 +329,36 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
+    /**
+     * Mirror of {@link #renderTo(SqlBuilder, boolean, boolean, Predicate, List)}
+     * without seek predicate and seek orders
+     */
+    boolean collectShape(
+            AstShapeCollector collector,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder
+    ) {
+        if (!groupByExpressions.isEmpty() || !havingPredicates.isEmpty()) {
+            return false;
+        }
+        if (withoutSortingAndPaging && !orders.isEmpty()) {
+            return false;
+        }
+        Predicate predicate = getPredicate(collector.getAstContext());
+        collector.add(predicate != null);
+        if (predicate != null && !collector.ast((Ast) predicate)) {
+            return false;
+        }
+        collector.add(reverseOrder).add(orders.size());
+        for (Order order : orders) {
+            collector.add(order.getOrderMode()).add(order.getNullOrderMode());
+            if (!collector.expression(order.getExpression())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected boolean isGroupByClauseUsed() {
         return !this.groupByExpressions.isEmpty();
     }
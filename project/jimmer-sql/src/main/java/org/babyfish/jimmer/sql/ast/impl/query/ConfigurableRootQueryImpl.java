@@ -1,11 +1,17 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.SeekSlice;
 import org.babyfish.jimmer.Slice;
+import org.babyfish.jimmer.sql.ast.ComparableExpression;
 import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.AstShapeCollector;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.impl.SeekPredicate;
+import org.babyfish.jimmer.sql.ast.impl.TupleImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
@@ -15,7 +21,10 @@ import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.fetcher.impl.JoinFetchFieldVisitor;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.CountCache;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.QueryReaderCache;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 import org.jetbrains.annotations.NotNull;
@@ -24,13 +33,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -80,7 +93,54 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         if (offset > Long.MAX_VALUE - pageSize) {
             throw new IllegalArgumentException("offset is too big");
         }
-        long total = fetchUnlimitedCount(con);
+        return getSqlClient()
+                .getSlaveConnectionManager(getData().forUpdate)
+                .execute(con, c -> fetchPageImpl(pageIndex, pageSize, offset, c, pageFactory));
+    }
+
+    private <P> P fetchPageImpl(
+            int pageIndex,
+            int pageSize,
+            long offset,
+            Connection con,
+            PageFactory<R, P> pageFactory
+    ) {
+        ConfigurableRootQueryImpl<T, Long> countQuery = countQuery();
+        Tuple3<String, List<Object>, List<Integer>> countSqlResult = countQuery.preExecute(
+                new SqlBuilder(new AstContext(getSqlClient()))
+        );
+        Long cachedTotal = countQuery.cachedCount(con, countSqlResult);
+        if (cachedTotal == null) {
+            java.util.concurrent.Executor executor = concurrentPagingExecutor(con);
+            if (executor != null) {
+                CompletableFuture<Long> future = CompletableFuture.supplyAsync(
+                        () -> getSqlClient()
+                                .getSlaveConnectionManager(false)
+                                .execute(c -> countQuery.selectCount(c, countSqlResult)),
+                        executor
+                );
+                List<R> rows = limit(pageSize, offset).execute(con);
+                long total;
+                try {
+                    total = future.join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) ex.getCause();
+                    }
+                    throw ex;
+                }
+                if (offset >= total) {
+                    // Discard the speculative rows
+                    rows = Collections.emptyList();
+                }
+                return pageFactory.create(
+                        rows,
+                        total,
+                        PageSource.of(pageIndex, pageSize, getBaseQuery())
+                );
+            }
+        }
+        long total = cachedTotal != null ? cachedTotal : countQuery.selectCount(con, countSqlResult);
         if (offset >= total) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info(
@@ -148,6 +208,163 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         return new Slice<>(rows.subList(0, rows.size() - 1), offset == 0, false);
     }
 
+    @Override
+    public long fetchUnlimitedCount(Connection con) {
+        ConfigurableRootQueryImpl<T, Long> countQuery = countQuery();
+        return getSqlClient()
+                .getSlaveConnectionManager(getData().forUpdate)
+                .execute(con, c -> {
+                    Tuple3<String, List<Object>, List<Integer>> sqlResult = countQuery.preExecute(
+                            new SqlBuilder(new AstContext(getSqlClient()))
+                    );
+                    Long cachedCount = countQuery.cachedCount(c, sqlResult);
+                    return cachedCount != null ? cachedCount : countQuery.selectCount(c, sqlResult);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConfigurableRootQueryImpl<T, Long> countQuery() {
+        return (ConfigurableRootQueryImpl<T, Long>) reselect((q, t) -> q.select(Expression.rowCount()))
+                .withoutSortingAndPaging();
+    }
+
+    private Long cachedCount(Connection con, Tuple3<String, List<Object>, List<Integer>> sqlResult) {
+        CountCache countCache = getSqlClient().getCountCache();
+        if (countCache == null || isInTransaction(con)) {
+            return null;
+        }
+        return countCache.get(
+                getBaseQuery().getTable().getImmutableType(),
+                sqlResult.get_1(),
+                sqlResult.get_2()
+        );
+    }
+
+    private long selectCount(Connection con, Tuple3<String, List<Object>, List<Integer>> sqlResult) {
+        JSqlClientImplementor sqlClient = getSqlClient();
+        List<Long> rows = Selectors.select(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                getData().selections,
+                getBaseQuery().getPurpose()
+        );
+        long count = rows.get(0);
+        CountCache countCache = sqlClient.getCountCache();
+        if (countCache != null && !isInTransaction(con)) {
+            countCache.put(
+                    getBaseQuery().getTable().getImmutableType(),
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    count
+            );
+        }
+        return count;
+    }
+
+    private java.util.concurrent.Executor concurrentPagingExecutor(Connection con) {
+        java.util.concurrent.Executor executor = getSqlClient().getConcurrentPagingExecutor();
+        if (executor == null || getData().forUpdate) {
+            return null;
+        }
+        if (isInTransaction(con)) {
+            // Other connections cannot see the uncommitted data of current transaction
+            LOGGER.debug("Concurrent paging is ignored because the current connection is in transaction");
+            return null;
+        }
+        return executor;
+    }
+
+    private static boolean isInTransaction(Connection con) {
+        try {
+            return !con.getAutoCommit();
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot determine whether the current connection is in transaction",
+                    ex
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public SeekSlice<R> fetchSeek(@Nullable String afterCursor, int pageSize, @Nullable Connection con) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize cannot be less than 1");
+        }
+        TypedQueryData data = getData();
+        if (data.selections.size() != 1) {
+            throw new IllegalStateException("The keyset pagination only supports the query which selects one object");
+        }
+        if (data.reverseSorting || data.withoutSortingAndPaging) {
+            throw new IllegalStateException(
+                    "The keyset pagination does not support the query " +
+                            "with reversed sorting or without sorting"
+            );
+        }
+        List<Order> orders = seekOrders();
+        if (orders.size() > 8) {
+            // One selected object and at most 8 keys can be read as tuple
+            throw new IllegalStateException("The keyset pagination supports at most 8 sort orders, including id");
+        }
+        List<Selection<?>> keySelections = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (!(order.getExpression() instanceof ComparableExpression<?>)) {
+                throw new IllegalStateException(
+                        "The keyset pagination requires comparable sort expression, but \"" +
+                                order.getExpression() +
+                                "\" is not"
+                );
+            }
+            keySelections.add(order.getExpression());
+        }
+        Predicate seekPredicate = null;
+        if (afterCursor != null) {
+            seekPredicate = SeekPredicate.of(
+                    getSqlClient().getDialect(),
+                    orders,
+                    SeekCursors.decode(afterCursor, orders)
+            );
+        }
+        List<TupleImplementor> tuples = (List<TupleImplementor>) (List<?>) new ConfigurableRootQueryImpl<T, Object>(
+                data.seek(keySelections, seekPredicate, orders).limit(pageSize + 1, 0),
+                getBaseQuery()
+        ).execute(con);
+        int size = Math.min(tuples.size(), pageSize);
+        List<R> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add((R) tuples.get(i).get(0));
+        }
+        String nextCursor = null;
+        if (tuples.size() > pageSize) {
+            TupleImplementor last = tuples.get(pageSize - 1);
+            List<Object> values = new ArrayList<>(orders.size());
+            for (int i = 1; i < last.size(); i++) {
+                values.add(last.get(i));
+            }
+            nextCursor = SeekCursors.encode(values);
+        }
+        return new SeekSlice<>(rows, afterCursor == null, nextCursor);
+    }
+
+    private List<Order> seekOrders() {
+        MutableRootQueryImpl<T> baseQuery = getBaseQuery();
+        List<Order> orders = baseQuery.getOrders();
+        Table<?> table = baseQuery.getTable();
+        Expression<?> idExpr = table.get(table.getImmutableType().getIdProp());
+        for (Order order : orders) {
+            if (order.getExpression().equals(idExpr)) {
+                return orders;
+            }
+        }
+        List<Order> seekOrders = new ArrayList<>(orders.size() + 1);
+        seekOrders.addAll(orders);
+        seekOrders.add(new Order(idExpr, OrderMode.ASC, NullOrderMode.UNSPECIFIED));
+        return seekOrders;
+    }
+
     @Override
     public <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -358,11 +575,54 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        TypedQueryData data = getData();
+        if (data.limit == 0) {
+            return block.apply(Stream.empty());
+        }
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        int finalBatchSize = batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize();
+        return sqlClient.getSlaveConnectionManager(getData().forUpdate).execute(con, newConn ->
+                streamImpl(newConn, finalBatchSize, block)
+        );
+    }
+
+    private <X> X streamImpl(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                getData().selections,
+                getBaseQuery().getPurpose(),
+                batchSize,
+                block
+        );
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         if (!getBaseQuery().isFrozen()) {
             getBaseQuery().applyVirtualPredicates(builder.getAstContext());
             getBaseQuery().applyGlobalFilters(builder.getAstContext(), getBaseQuery().getContext().getFilterLevel(), getData().selections);
         }
+        QueryReaderCache queryReaderCache = getBaseQuery().getSqlClient().getQueryReaderCache();
+        if (queryReaderCache != null) {
+            AstShapeCollector collector = new AstShapeCollector(
+                    builder.getAstContext(),
+                    getBaseQuery().getTableImplementor()
+            );
+            if (collectShape(collector)) {
+                return queryReaderCache.sql(collector, () -> render(builder));
+            }
+        }
+        return render(builder);
+    }
+
+    private Tuple3<String, List<Object>, List<Integer>> render(SqlBuilder builder) {
         UseTableVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
         visitor.allocateAliases();
@@ -192,6 +192,12 @@ public class ConfigurableSubQueryImpl<R>
         builder.leave();
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        // The alias of sub query table depends on the outer query
+        return false;
+    }
+
     @Override
     public int precedence() {
         return 0;
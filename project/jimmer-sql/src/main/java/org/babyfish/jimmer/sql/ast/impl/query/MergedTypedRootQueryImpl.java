@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -147,6 +148,29 @@ public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>
         );
     }
 
+    @Override
+    public <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        int finalBatchSize = batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize();
+        return sqlClient.getSlaveConnectionManager(isForUpdate).execute(con, newConn ->
+                streamImpl(newConn, finalBatchSize, block)
+        );
+    }
+
+    private <X> X streamImpl(Connection con, int batchSize, Function<Stream<R>, X> block) {
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                selections,
+                ExecutionPurpose.QUERY,
+                batchSize,
+                block
+        );
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         UseTableVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
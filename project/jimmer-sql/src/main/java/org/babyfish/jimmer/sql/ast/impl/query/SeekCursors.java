@@ -0,0 +1,69 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.query.Order;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The cursor of keyset pagination is the base64url encoded
+ * json array of the sort key values of last row.
+ */
+class SeekCursors {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private SeekCursors() {}
+
+    static String encode(List<Object> values) {
+        byte[] bytes;
+        try {
+            bytes = MAPPER.writeValueAsBytes(values);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(
+                    "Cannot serialize the key values " + values + " of keyset pagination",
+                    ex
+            );
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static List<Object> decode(String cursor, List<Order> orders) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Illegal seek cursor \"" + cursor + "\"", ex);
+        }
+        if (!(node instanceof ArrayNode) || node.size() != orders.size()) {
+            throw new IllegalArgumentException(
+                    "Illegal seek cursor \"" +
+                            cursor +
+                            "\", it does not match the sort orders of the query"
+            );
+        }
+        List<Object> values = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Class<?> type = ((ExpressionImplementor<?>) orders.get(i).getExpression()).getType();
+            try {
+                values.add(MAPPER.treeToValue(node.get(i), type));
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(
+                        "Illegal seek cursor \"" +
+                                cursor +
+                                "\", cannot convert its value to \"" +
+                                type.getName() +
+                                "\"",
+                        ex
+                );
+            }
+        }
+        return values;
+    }
+}
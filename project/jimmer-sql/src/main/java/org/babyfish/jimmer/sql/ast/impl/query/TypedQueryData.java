@@ -1,16 +1,19 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
+import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -39,6 +42,10 @@ class TypedQueryData {
 
     final String hint;
 
+    final Predicate seekPredicate;
+
+    final List<Order> seekOrders;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -54,6 +61,8 @@ class TypedQueryData {
         reverseSortOptimizationEnabled = null;
         forUpdate = false;
         hint = null;
+        seekPredicate = null;
+        seekOrders = null;
     }
 
     private TypedQueryData(
@@ -66,7 +75,9 @@ class TypedQueryData {
             boolean reverseSorting,
             Boolean reverseSortOptimizationEnabled,
             boolean forUpdate,
-            String hint
+            String hint,
+            Predicate seekPredicate,
+            List<Order> seekOrders
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -78,6 +89,8 @@ class TypedQueryData {
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
         this.forUpdate = forUpdate;
         this.hint = hint;
+        this.seekPredicate = seekPredicate;
+        this.seekOrders = seekOrders;
     }
 
     public TypedQueryData reselect(List<Selection<?>> selections) {
@@ -91,7 +104,9 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -106,7 +121,9 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -121,7 +138,9 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -136,7 +155,9 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -151,7 +172,9 @@ class TypedQueryData {
                 true,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -166,7 +189,9 @@ class TypedQueryData {
                 reverseSorting,
                 enabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -181,7 +206,9 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 true,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
         );
     }
 
@@ -209,7 +236,33 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                seekPredicate,
+                seekOrders
+        );
+    }
+
+    public TypedQueryData seek(
+            List<Selection<?>> keySelections,
+            Predicate seekPredicate,
+            List<Order> seekOrders
+    ) {
+        List<Selection<?>> newSelections = new ArrayList<>(selections.size() + keySelections.size());
+        newSelections.addAll(selections);
+        newSelections.addAll(keySelections);
+        return new TypedQueryData(
+                processSelections(newSelections),
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                reverseSortOptimizationEnabled,
+                forUpdate,
+                hint,
+                seekPredicate,
+                Collections.unmodifiableList(seekOrders)
         );
     }
 
@@ -27,6 +27,12 @@ public class BatchSqlBuilder extends AbstractSqlBuilder<BatchSqlBuilder> {
 
     private final JSqlClientImplementor sqlClient;
 
+    private int rowValuesStart = -1;
+
+    private int rowValuesEnd = -1;
+
+    private int rowValuesVariableCount;
+
     public BatchSqlBuilder(JSqlClientImplementor sqlClient) {
         this(sqlClient, true);
     }
@@ -129,6 +135,67 @@ public class BatchSqlBuilder extends AbstractSqlBuilder<BatchSqlBuilder> {
         return variable(PropertyGetter.propertyGetters(sqlClient, prop).get(0));
     }
 
+    /**
+     * Mark the start of the values tuple of one row,
+     * all the variables must be rendered after it.
+     */
+    public BatchSqlBuilder beginRowValues() {
+        if (!templateVariables.isEmpty()) {
+            throw new IllegalStateException(
+                    "Internal bug: the row values must contain all the variables"
+            );
+        }
+        rowValuesStart = builder.length();
+        return this;
+    }
+
+    /**
+     * Mark the end of the values tuple of one row,
+     * no variable can be rendered after it.
+     */
+    public BatchSqlBuilder endRowValues() {
+        if (rowValuesStart == -1) {
+            throw new IllegalStateException("Internal bug: `beginRowValues` is not called");
+        }
+        rowValuesEnd = builder.length();
+        rowValuesVariableCount = templateVariables.size();
+        return this;
+    }
+
+    public boolean isMultiRowSupported() {
+        return rowValuesEnd != -1 && rowValuesVariableCount == templateVariables.size();
+    }
+
+    public int variableCount() {
+        return templateVariables.size();
+    }
+
+    /**
+     * Build the sql whose row values tuple is repeated, such as
+     * `insert into T(A, B) values(?, ?), (?, ?), (?, ?)`,
+     * its variables are the concatenation of
+     * {@link VariableMapper#variables(Object)} of each row.
+     */
+    public String buildMultiRow(int rowCount) {
+        if (scopeManager.current != null) {
+            throw new IllegalStateException("Internal bug: Did not leave all scopes");
+        }
+        if (!isMultiRowSupported()) {
+            throw new IllegalStateException("Internal bug: The row values are not marked");
+        }
+        String sql = builder.toString();
+        String rowValues = sql.substring(rowValuesStart, rowValuesEnd);
+        StringBuilder multiRowBuilder = new StringBuilder(
+                sql.length() + (rowValues.length() + 2) * (rowCount - 1)
+        );
+        multiRowBuilder.append(sql, 0, rowValuesEnd);
+        for (int i = 1; i < rowCount; i++) {
+            multiRowBuilder.append(", ").append(rowValues);
+        }
+        multiRowBuilder.append(sql, rowValuesEnd, sql.length());
+        return multiRowBuilder.toString();
+    }
+
     public Tuple3<String, VariableMapper, List<Integer>> build() {
         if (scopeManager.current != null) {
             throw new IllegalStateException("Internal bug: Did not leave all scopes");
@@ -64,6 +64,44 @@ public class ComparisonPredicates {
         ((Ast) right).renderTo(builder);
     }
 
+    /**
+     * Mirror of {@link #renderCmp(String, Expression, Expression, AbstractSqlBuilder)}
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean collectCmpShape(
+            String operator,
+            Expression<?> left,
+            Expression<?> right,
+            AstShapeCollector collector
+    ) {
+        if (left instanceof LiteralExpressionImplementor<?> && right instanceof PropExpressionImplementor<?>) {
+            return collectCmpShape(REVERSED_OP_MAP.get(operator), right, left, collector);
+        }
+        collector.add(operator);
+        if (left instanceof PropExpressionImplementor<?> && right instanceof LiteralExpressionImplementor<?>) {
+            PropExpressionImplementor<?> propExpressionImplementor = (PropExpressionImplementor<?>) left;
+            if (propExpressionImplementor.getProp().isColumnDefinition()) {
+                if (!collector.expression(left)) {
+                    return false;
+                }
+                Object value = ((LiteralExpressionImplementor<?>) right).getValue();
+                List<ValueGetter> valueGetters =
+                        ValueGetter.valueGetters(collector.sqlClient(), (Expression<Object>) left, value);
+                boolean eqOrNe = "=".equals(operator) || "<>".equals(operator);
+                for (ValueGetter getter : valueGetters) {
+                    Object v = getter.get(value);
+                    if (isNull(v) && eqOrNe) {
+                        collector.add(null);
+                    } else {
+                        collector.rawVariable(v);
+                    }
+                }
+                return true;
+            }
+        }
+        return collector.expression(left) && collector.expression(right);
+    }
+
     public static void renderCmp(
             String operator,
             List<ValueGetter> getters,
@@ -326,7 +364,11 @@ public class ComparisonPredicates {
             builder.leave();
             return;
         }
-        if (getters.size() == 1 && dialect.isAnyEqualityOfArraySupported()) {
+        int largeInListThreshold = sqlClient.getLargeInListThreshold();
+        boolean large = largeInListThreshold > 0 && values.size() >= largeInListThreshold;
+        if (getters.size() == 1 && (
+                dialect.isAnyEqualityOfArraySupported() || large && dialect.isArraySupported()
+        )) {
             ValueGetter getter = getters.get(0);
             String sqlType = getter.metadata().getSqlTypeName();
             Object[] arr = new Object[values.size()];
@@ -344,6 +386,27 @@ public class ComparisonPredicates {
             }
             return;
         }
+        if (getters.size() > 1 && large && dialect.isArraySupported() && dialect.isTupleUnnestSupported()) {
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (ValueGetter getter : getters) {
+                builder.separator().sql(getter);
+            }
+            builder.leave();
+            builder.sql(negative ? " not in " : " in ")
+                    .enter(AbstractSqlBuilder.ScopeType.SUB_QUERY)
+                    .sql("select * from unnest")
+                    .enter(AbstractSqlBuilder.ScopeType.LIST);
+            for (ValueGetter getter : getters) {
+                Object[] arr = new Object[values.size()];
+                int index = 0;
+                for (Object value : values) {
+                    arr[index++] = nonNull(getter.get(value));
+                }
+                builder.separator().rawVariable(new TypedList<>(getter.metadata().getSqlTypeName(), arr));
+            }
+            builder.leave().leave();
+            return;
+        }
         InList<?> inList = new InList<>(values, sqlClient.isInListPaddingEnabled(), dialect.getMaxInListSize());
         if (getters.size() == 1) {
             ValueGetter getter = getters.get(0);
@@ -4,6 +4,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.sql.ast.PropExpression;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.AstShapeCollector;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
@@ -193,6 +194,20 @@ public class FetcherSelectionImpl<T> implements FetcherSelection<T>, Ast {
         }.visit(fetcher);
     }
 
+    @Override
+    public boolean collectShape(@NotNull AstShapeCollector collector) {
+        if (embeddedPropExpression != null || !collector.isRootTable(table)) {
+            return false;
+        }
+        for (Field field : fetcher.getFieldMap().values()) {
+            if (JoinFetchFieldVisitor.isJoinField(field, collector.sqlClient())) {
+                return false;
+            }
+        }
+        collector.add(fetcher);
+        return true;
+    }
+
     private void renderEmbedded(
             ImmutableProp embeddedRawReferenceProp,
             EmbeddedColumns columns,
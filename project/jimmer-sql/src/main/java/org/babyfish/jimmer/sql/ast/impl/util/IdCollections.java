@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+
+import java.util.*;
+
+/**
+ * Create the collections of ids, the primitive-specialized
+ * {@link LongSet}/{@link LongObjectMap} are chosen automatically
+ * when the id of the entity type is `long` or `int`.
+ */
+public class IdCollections {
+
+    private IdCollections() {}
+
+    public static Set<Object> newIdSet(ImmutableType type, int capacity) {
+        Class<?> idClass = idClass(type);
+        if (idClass == Long.class) {
+            return new LongSet(false, capacity);
+        }
+        if (idClass == Integer.class) {
+            return new LongSet(true, capacity);
+        }
+        return new LinkedHashSet<>((capacity * 4 + 2) / 3);
+    }
+
+    /**
+     * Create the id set of the specified ids, null is ignored
+     * because it is not a valid id.
+     */
+    public static Set<Object> toIdSet(ImmutableType type, Collection<?> ids) {
+        Set<Object> set = newIdSet(type, ids.size());
+        for (Object id : ids) {
+            if (id != null) {
+                set.add(id);
+            }
+        }
+        return set;
+    }
+
+    public static <V> Map<Object, V> newIdMap(ImmutableType type, int capacity) {
+        Class<?> idClass = idClass(type);
+        if (idClass == Long.class) {
+            return new LongObjectMap<>(false, capacity);
+        }
+        if (idClass == Integer.class) {
+            return new LongObjectMap<>(true, capacity);
+        }
+        return new LinkedHashMap<>((capacity * 4 + 2) / 3);
+    }
+
+    private static Class<?> idClass(ImmutableType type) {
+        ImmutableProp idProp = type.getIdProp();
+        if (idProp == null) {
+            return null;
+        }
+        return Classes.boxTypeOf(idProp.getReturnClass());
+    }
+}
@@ -0,0 +1,167 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+
+import java.sql.Connection;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the in-list predicates of huge key sets,
+ * please see {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setLargeInListThreshold(int)}.
+ *
+ * <ul>
+ *     <li>If the dialect supports array, the normal in-list predicate is returned,
+ *     it will be rendered as one array parameter.</li>
+ *     <li>Otherwise, if the dialect supports temporary key table, the keys are loaded
+ *     into that table by the executor of the sql client, and the returned predicate
+ *     selects them by sub query.</li>
+ *     <li>Otherwise, the normal in-list predicate is returned.</li>
+ * </ul>
+ *
+ * <p>Each usage of the temporary table is identified by a unique {@code USAGE_ID},
+ * so the nested or interleaved queries of one connection never see the keys
+ * of each other. The rows of this object are deleted by {@link #close()},
+ * so it must be closed after the query using the predicates is executed.</p>
+ */
+public class LargeKeySets implements AutoCloseable {
+
+    private static final String TABLE_NAME_PREFIX = "JIMMER_KEYS_";
+
+    private static final AtomicLong USAGE_ID_SEQUENCE = new AtomicLong();
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Connection con;
+
+    private final ExecutionPurpose purpose;
+
+    // Table name -> usage ids, only for the used temporary tables
+    private Map<String, List<Long>> usageIdMap;
+
+    private LargeKeySets(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            ExecutionPurpose purpose
+    ) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.purpose = purpose;
+    }
+
+    public static LargeKeySets of(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            ExecutionPurpose purpose
+    ) {
+        return new LargeKeySets(sqlClient, con, purpose);
+    }
+
+    public Predicate in(Expression<Object> expression, Collection<?> keys) {
+        int threshold = sqlClient.getLargeInListThreshold();
+        Dialect dialect = sqlClient.getDialect();
+        if (threshold == 0 || keys.size() < threshold || dialect.isArraySupported()) {
+            return expression.in(keys);
+        }
+        List<ValueGetter> getters = ValueGetter.valueGetters(sqlClient, expression, null);
+        if (getters.size() != 1) {
+            return expression.in(keys);
+        }
+        ValueGetter getter = getters.get(0);
+        Class<?> keyType = Classes.boxTypeOf(getter.metadata().getSqlType());
+        String sqlTypeName = getter.metadata().getSqlTypeName();
+        if (sqlTypeName == null) {
+            sqlTypeName = dialect.sqlType(keyType);
+            if (sqlTypeName == null) {
+                return expression.in(keys);
+            }
+        }
+        // One table per column type, because the column type
+        // of a session-local table cannot be changed later
+        String tableName = dialect.temporaryKeyTableName(
+                TABLE_NAME_PREFIX + sqlTypeName.toUpperCase().replaceAll("[^A-Z0-9]+", "_")
+        );
+        String ddl = dialect.temporaryKeyTableDDL(tableName, keyType, sqlTypeName);
+        if (ddl == null) {
+            return expression.in(keys);
+        }
+        List<List<Object>> rows = new ArrayList<>(keys.size());
+        long usageId = USAGE_ID_SEQUENCE.incrementAndGet();
+        for (Object key : keys) {
+            Object value = getter.get(key);
+            if (value == null || value instanceof DbLiteral.DbNull) {
+                throw new IllegalArgumentException(
+                        "The \"in\" predicate does not accept nulls, " +
+                                "please use \"nullableIn\" predicate to handle nulls"
+                );
+            }
+            rows.add(Arrays.<Object>asList(usageId, value));
+        }
+        execute(ddl, Collections.emptyList());
+        if (usageIdMap == null) {
+            usageIdMap = new LinkedHashMap<>();
+        }
+        // Register it before inserting, so that the partially inserted rows are deleted too
+        usageIdMap.computeIfAbsent(tableName, it -> new ArrayList<>()).add(usageId);
+        try (Executor.BatchContext batchContext = sqlClient
+                .getExecutor()
+                .executeBatch(
+                        con,
+                        "insert into " + tableName + "(USAGE_ID, KEY_VALUE) values(?, ?)",
+                        null,
+                        purpose,
+                        sqlClient
+                )
+        ) {
+            for (List<Object> row : rows) {
+                batchContext.add(row);
+            }
+            batchContext.execute((ex, args) -> ex);
+        }
+        return Predicate.sql(
+                "%e in (select KEY_VALUE from " + tableName + " where USAGE_ID = %v)",
+                ctx -> ctx.expression(expression).value(usageId)
+        );
+    }
+
+    @Override
+    public void close() {
+        Map<String, List<Long>> usageIdMap = this.usageIdMap;
+        if (usageIdMap == null) {
+            return;
+        }
+        this.usageIdMap = null;
+        for (Map.Entry<String, List<Long>> e : usageIdMap.entrySet()) {
+            for (Long usageId : e.getValue()) {
+                execute(
+                        "delete from " + e.getKey() + " where USAGE_ID = ?",
+                        Collections.singletonList(usageId)
+                );
+            }
+        }
+    }
+
+    private void execute(String sql, List<Object> variables) {
+        sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sql,
+                        variables,
+                        null,
+                        purpose,
+                        null,
+                        null,
+                        (stmt, args) -> stmt.execute()
+                )
+        );
+    }
+}
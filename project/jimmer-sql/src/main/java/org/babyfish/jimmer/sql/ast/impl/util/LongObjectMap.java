@@ -0,0 +1,428 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Insertion-ordered map whose keys are `long` or `int` ids.
+ *
+ * <p>Keys are stored in a `long[]` with an open-addressing index,
+ * so there is no hash node per entry and no boxed key is kept.
+ * It implements `Map&lt;Object, V&gt;` so that it can replace the
+ * `LinkedHashMap` of ids, however, all the keys must be `Long`
+ * (or `Integer` if it is created for `int` ids).</p>
+ */
+public final class LongObjectMap<V> extends AbstractMap<Object, V> {
+
+    private static final Object REMOVED = new Object();
+
+    private final boolean intKey;
+
+    // Dense arrays in insertion order, removed value is `REMOVED`
+    private long[] keys;
+
+    private Object[] values;
+
+    // Dense index + 1, 0 means empty slot
+    private int[] table;
+
+    private int count;
+
+    private int size;
+
+    private int modCount;
+
+    private EntrySet entrySet;
+
+    private KeySet keySet;
+
+    public LongObjectMap(boolean intKey) {
+        this(intKey, 8);
+    }
+
+    public LongObjectMap(boolean intKey, int capacity) {
+        this.intKey = intKey;
+        int denseCapacity = Math.max(capacity, 4);
+        this.keys = new long[denseCapacity];
+        this.values = new Object[denseCapacity];
+        this.table = new int[tableCapacity(denseCapacity)];
+    }
+
+    public boolean isIntKey() {
+        return intKey;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isKey(key) && indexOf(toLong(key)) != -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        if (!isKey(key)) {
+            return null;
+        }
+        int index = indexOf(toLong(key));
+        return index != -1 ? (V) values[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = indexOf(key);
+        return index != -1 ? (V) values[index] : null;
+    }
+
+    @Override
+    public V put(Object key, V value) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException(
+                    "The key `" +
+                            key +
+                            "` is not `" +
+                            (intKey ? "int" : "long") +
+                            "`"
+            );
+        }
+        return put(toLong(key), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int index = indexOf(key);
+        if (index != -1) {
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (count == keys.length) {
+            grow();
+        }
+        index = count++;
+        keys[index] = key;
+        values[index] = value;
+        int[] tab = table;
+        int mask = tab.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (tab[slot] == 0) {
+                tab[slot] = index + 1;
+                break;
+            }
+        }
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!isKey(key)) {
+            return null;
+        }
+        int index = indexOf(toLong(key));
+        if (index == -1) {
+            return null;
+        }
+        return removeAt(index);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, count, null);
+        Arrays.fill(table, 0);
+        count = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<Object, V>> entrySet() {
+        EntrySet es = entrySet;
+        if (es == null) {
+            this.entrySet = es = new EntrySet();
+        }
+        return es;
+    }
+
+    @NotNull
+    @Override
+    public Set<Object> keySet() {
+        KeySet ks = keySet;
+        if (ks == null) {
+            this.keySet = ks = new KeySet();
+        }
+        return ks;
+    }
+
+    private boolean isKey(Object key) {
+        return intKey ? key instanceof Integer : key instanceof Long;
+    }
+
+    private static long toLong(Object key) {
+        return ((Number) key).longValue();
+    }
+
+    private Object boxKey(long key) {
+        return intKey ? (Object) (int) key : (Object) key;
+    }
+
+    private int indexOf(long key) {
+        int[] tab = table;
+        int mask = tab.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = tab[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            // Removed entries are kept in the table until next rehash
+            if (keys[index] == key && values[index] != REMOVED) {
+                return index;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeAt(int index) {
+        V oldValue = (V) values[index];
+        values[index] = REMOVED;
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    private void grow() {
+        // Compact the removed entries, and enlarge the arrays only if necessary
+        int newCapacity = size * 2 >= keys.length ? keys.length * 2 : keys.length;
+        long[] newKeys = new long[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int[] newTable = new int[tableCapacity(newCapacity)];
+        int mask = newTable.length - 1;
+        int newCount = 0;
+        for (int i = 0; i < count; i++) {
+            Object value = values[i];
+            if (value != REMOVED) {
+                long key = keys[i];
+                newKeys[newCount] = key;
+                newValues[newCount] = value;
+                for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                    if (newTable[slot] == 0) {
+                        newTable[slot] = newCount + 1;
+                        break;
+                    }
+                }
+                newCount++;
+            }
+        }
+        this.keys = newKeys;
+        this.values = newValues;
+        this.table = newTable;
+        this.count = newCount;
+    }
+
+    private static int tableCapacity(int denseCapacity) {
+        // Load factor is 0.5
+        int capacity = Integer.highestOneBit(denseCapacity) << 1;
+        return capacity < denseCapacity * 2 ? capacity << 1 : capacity;
+    }
+
+    private static int hash(long key) {
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Object, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LongObjectMap.this.clear();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Entry<Object, V>> iterator() {
+            return new Itr<Entry<Object, V>>() {
+                @Override
+                Entry<Object, V> get(int index) {
+                    return new EntryImpl(index);
+                }
+            };
+        }
+    }
+
+    private class KeySet extends AbstractSet<Object> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+            LongObjectMap.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            LongObjectMap.this.clear();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Object> iterator() {
+            return new Itr<Object>() {
+                @Override
+                Object get(int index) {
+                    return boxKey(keys[index]);
+                }
+            };
+        }
+    }
+
+    private abstract class Itr<T> implements Iterator<T> {
+
+        private int modCount = LongObjectMap.this.modCount;
+
+        private int nextIndex = -1;
+
+        private int lastIndex = -1;
+
+        Itr() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < count;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != LongObjectMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextIndex >= count) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = nextIndex;
+            advance();
+            return get(lastIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == -1) {
+                throw new IllegalStateException();
+            }
+            if (modCount != LongObjectMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastIndex);
+            lastIndex = -1;
+            modCount = LongObjectMap.this.modCount;
+        }
+
+        abstract T get(int index);
+
+        private void advance() {
+            int index = nextIndex + 1;
+            while (index < count && values[index] == REMOVED) {
+                index++;
+            }
+            nextIndex = index;
+        }
+    }
+
+    private class EntryImpl implements Entry<Object, V> {
+
+        private final long key;
+
+        private int index;
+
+        // The arrays are replaced by `grow()`, the index must be found again
+        private Object[] values;
+
+        EntryImpl(int index) {
+            this.key = keys[index];
+            this.index = index;
+            this.values = LongObjectMap.this.values;
+        }
+
+        @Override
+        public Object getKey() {
+            return boxKey(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            int index = index();
+            return index != -1 ? (V) values[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V setValue(V value) {
+            int index = index();
+            if (index == -1 || values[index] == REMOVED) {
+                throw new IllegalStateException("The entry has been removed");
+            }
+            Object oldValue = values[index];
+            values[index] = value;
+            return (V) oldValue;
+        }
+
+        private int index() {
+            if (values != LongObjectMap.this.values) {
+                index = indexOf(key);
+                values = LongObjectMap.this.values;
+            }
+            return index != -1 && values[index] != REMOVED ? index : -1;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry<?, ?>)) return false;
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) &&
+                    Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
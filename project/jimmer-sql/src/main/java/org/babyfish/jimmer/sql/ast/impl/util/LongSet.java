@@ -0,0 +1,69 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * Insertion-ordered set of `long` or `int` ids,
+ * it can replace the `LinkedHashSet` of ids.
+ *
+ * @see LongObjectMap
+ */
+public final class LongSet extends AbstractSet<Object> {
+
+    private final LongObjectMap<Boolean> map;
+
+    public LongSet(boolean intKey) {
+        this.map = new LongObjectMap<>(intKey);
+    }
+
+    public LongSet(boolean intKey, int capacity) {
+        this.map = new LongObjectMap<>(intKey, capacity);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    public boolean contains(long value) {
+        return map.get(value) != null;
+    }
+
+    @Override
+    public boolean add(Object o) {
+        return map.put(o, Boolean.TRUE) == null;
+    }
+
+    public boolean add(long value) {
+        return map.put(value, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return map.remove(o) != null;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Object> iterator() {
+        return map.keySet().iterator();
+    }
+}
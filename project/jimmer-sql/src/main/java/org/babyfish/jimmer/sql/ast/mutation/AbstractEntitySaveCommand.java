@@ -214,4 +214,57 @@ public interface AbstractEntitySaveCommand {
 
     @NewChain
     AbstractEntitySaveCommand setTransactionRequired(boolean required);
+
+    @NewChain
+    AbstractEntitySaveCommand setBulkLoadEnabled();
+
+    /**
+     * Insert the objects of {@link SaveMode#INSERT_ONLY} by the native
+     * bulk load protocol of database, such as `COPY ... FROM STDIN`
+     * of PostgreSQL and `LOAD DATA LOCAL INFILE` of MySQL, the objects
+     * must have ids because the generated ids cannot be returned.
+     *
+     * <p>The constraint violation errors are not translated,
+     * and the objects are inserted by JDBC batch if the dialect
+     * or the JDBC driver does not support bulk load.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setBulkLoadEnabled(boolean enabled);
+
+    /**
+     * Equivalent to {@code setShapeMergingEnabled(true)}.
+     *
+     * @see #setShapeMergingEnabled(boolean)
+     */
+    @NewChain
+    AbstractEntitySaveCommand setShapeMergingEnabled();
+
+    /**
+     * The objects of same level are grouped by their shapes,
+     * by default, the associated objects of each group are saved
+     * separately, so the statement count grows with the count of groups.
+     *
+     * <p>If it is enabled, for each association property, the associated
+     * objects of all groups are saved together, so that their statements
+     * are executed by same JDBC batches and the count of round-trips grows
+     * with the depth of object trees rather than the count of groups.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setShapeMergingEnabled(boolean enabled);
+
+    @NewChain
+    AbstractEntitySaveCommand setDiffUpdateEnabled();
+
+    /**
+     * Compare the objects to be updated with their original rows,
+     * the unchanged objects are not updated, and the changed objects
+     * are updated by the statements which only set the changed columns.
+     *
+     * <p>The original rows must be queried before update, the count of
+     * the skipped objects can be got by
+     * {@link MutationResult#getSkippedRowCountMap()}. Objects with
+     * optimistic lock are never skipped.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setDiffUpdateEnabled(boolean enabled);
 }
@@ -12,8 +12,18 @@ public class AbstractMutationResult implements MutationResult {
 
     protected final Map<AffectedTable, Integer> affectedRowCountMap;
 
+    protected final Map<AffectedTable, Integer> skippedRowCountMap;
+
     public AbstractMutationResult(Map<AffectedTable, Integer> affectedRowCountMap) {
+        this(affectedRowCountMap, Collections.emptyMap());
+    }
+
+    public AbstractMutationResult(
+            Map<AffectedTable, Integer> affectedRowCountMap,
+            Map<AffectedTable, Integer> skippedRowCountMap
+    ) {
         this.affectedRowCountMap = Collections.unmodifiableMap(affectedRowCountMap);
+        this.skippedRowCountMap = Collections.unmodifiableMap(skippedRowCountMap);
         int totalAffectedRowCount = 0;
         for (Integer affectedRowCount : affectedRowCountMap.values()) {
             totalAffectedRowCount += affectedRowCount;
@@ -51,4 +61,15 @@ public class AbstractMutationResult implements MutationResult {
     public int getAffectedRowCount(ImmutableProp prop) {
         return getAffectedRowCount(AffectedTable.of(prop));
     }
+
+    @Override
+    public Map<AffectedTable, Integer> getSkippedRowCountMap() {
+        return skippedRowCountMap;
+    }
+
+    @Override
+    public int getSkippedRowCount(Class<?> entityType) {
+        Integer skippedRowCount = skippedRowCountMap.get(AffectedTable.of(entityType));
+        return skippedRowCount != null ? skippedRowCount : 0;
+    }
 }
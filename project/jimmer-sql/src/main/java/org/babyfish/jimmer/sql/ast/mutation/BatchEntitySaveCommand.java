@@ -17,6 +17,8 @@ public interface BatchEntitySaveCommand<E>
         extends Executable<BatchSaveResult<E>>,
         AbstractEntitySaveCommand {
 
+    int DEFAULT_CHUNK_SIZE = 1000;
+
     @NewChain
     @Override
     BatchEntitySaveCommand<E> setMode(SaveMode mode);
@@ -274,6 +276,49 @@ public interface BatchEntitySaveCommand<E>
     @Override
     BatchEntitySaveCommand<E> setTransactionRequired(boolean required);
 
+    @Override
+    default BatchEntitySaveCommand<E> setBulkLoadEnabled() {
+        return setBulkLoadEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setBulkLoadEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setShapeMergingEnabled() {
+        return setShapeMergingEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setShapeMergingEnabled(boolean enabled);
+
+    @Override
+    default BatchEntitySaveCommand<E> setDiffUpdateEnabled() {
+        return setDiffUpdateEnabled(true);
+    }
+
+    @Override
+    BatchEntitySaveCommand<E> setDiffUpdateEnabled(boolean enabled);
+
+    /**
+     * Save the entities chunk by chunk, each chunk is saved by the
+     * complete save semantics, and is released after it is saved.
+     *
+     * <p>If it is specified, the entities are iterated only once and never
+     * held together, so that unbounded inputs can be saved with bounded
+     * memory. However, the items of the returned result are always empty,
+     * only the affected row counts of all chunks are aggregated, and
+     * neither fetcher nor view type can be specified.</p>
+     *
+     * <p>The entities created by {@link SaveCommandCreator#saveEntitiesCommand(java.util.Iterator)}
+     * are saved by chunks even if this option is not specified,
+     * the default chunk size is {@link #DEFAULT_CHUNK_SIZE}</p>
+     *
+     * @param chunkSize The count of root entities of each chunk, must be positive
+     */
+    @NewChain
+    BatchEntitySaveCommand<E> setChunkSize(int chunkSize);
+
     default BatchSaveResult<E> execute() {
         return execute(null, (Fetcher<E>) null);
     }
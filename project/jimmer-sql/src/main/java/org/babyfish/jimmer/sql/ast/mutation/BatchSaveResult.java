@@ -13,7 +13,15 @@ public class BatchSaveResult<E> extends AbstractMutationResult {
             Map<AffectedTable, Integer> affectedRowMap,
             List<Item<E>> items
     ) {
-        super(affectedRowMap);
+        this(affectedRowMap, Collections.emptyMap(), items);
+    }
+
+    public BatchSaveResult(
+            Map<AffectedTable, Integer> affectedRowMap,
+            Map<AffectedTable, Integer> skippedRowMap,
+            List<Item<E>> items
+    ) {
+        super(affectedRowMap, skippedRowMap);
         this.items = Collections.unmodifiableList(items);
     }
 
@@ -56,7 +64,7 @@ public class BatchSaveResult<E> extends AbstractMutationResult {
             );
             viewItems.add(viewItem);
         }
-        return new View<>(affectedRowCountMap, viewItems);
+        return new View<>(affectedRowCountMap, skippedRowCountMap, viewItems);
     }
 
     public static class Item<E> implements MutationResultItem<E> {
@@ -94,8 +102,12 @@ public class BatchSaveResult<E> extends AbstractMutationResult {
     public static class View<E, V extends org.babyfish.jimmer.View<E>> extends BatchSaveResult<E> {
 
         @SuppressWarnings("unchecked")
-        View(Map<AffectedTable, Integer> affectedRowMap, List<ViewItem<E, V>> items) {
-            super(affectedRowMap, (List<BatchSaveResult.Item<E>>) (List<?>) items);
+        View(
+                Map<AffectedTable, Integer> affectedRowMap,
+                Map<AffectedTable, Integer> skippedRowMap,
+                List<ViewItem<E, V>> items
+        ) {
+            super(affectedRowMap, skippedRowMap, (List<BatchSaveResult.Item<E>>) (List<?>) items);
         }
 
         @SuppressWarnings("unchecked")
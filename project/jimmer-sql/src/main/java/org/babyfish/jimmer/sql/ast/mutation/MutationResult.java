@@ -18,4 +18,13 @@ public interface MutationResult {
     int getAffectedRowCount(TypedProp.Association<?, ?> associationProp);
 
     int getAffectedRowCount(ImmutableProp prop);
+
+    /**
+     * The rows which are not updated because they are
+     * same with the original rows, it is always empty
+     * unless the diff update of save command is enabled.
+     */
+    Map<AffectedTable, Integer> getSkippedRowCountMap();
+
+    int getSkippedRowCount(Class<?> entityType);
 }
\ No newline at end of file
@@ -54,6 +54,16 @@ public enum QueryReason {
      */
     INTERCEPTOR,
 
+    /**
+     * The diff update of save command is enabled, the original rows
+     * must be queried to find the unchanged objects which need not
+     * be updated and the changed columns of other objects.
+     *
+     * <p>No handling is required for this situation, as this is
+     * precisely what you need.</p>
+     */
+    DIFF_UPDATE,
+
     /**
      * Associated objects with only {@link org.babyfish.jimmer.sql.Id} properties
      * are not cascade-saved and merely serve as dependencies for the current entity.
@@ -4,7 +4,9 @@ import org.babyfish.jimmer.Input;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SaveCommandCreator {
 
@@ -16,6 +18,28 @@ public interface SaveCommandCreator {
 
     <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Iterable<E> entities);
 
+    /**
+     * Create batch save command for unbounded inputs,
+     * the entities are iterated only once and saved chunk by chunk.
+     *
+     * @see BatchEntitySaveCommand#setChunkSize(int)
+     */
+    <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Iterator<E> entities);
+
+    /**
+     * Create batch save command for unbounded inputs,
+     * the entities are iterated only once and saved chunk by chunk.
+     *
+     * <p>The stream is consumed but not closed by the command,
+     * if it holds resources, for example, it reads a file,
+     * please close it by the caller.</p>
+     *
+     * @see BatchEntitySaveCommand#setChunkSize(int)
+     */
+    default <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Stream<E> entities) {
+        return saveEntitiesCommand(entities.iterator());
+    }
+
     default <E> BatchEntitySaveCommand<E> saveInputsCommand(Iterable<? extends Input<E>> inputs) {
         List<E> entities = inputs instanceof Collection<?> ?
                 new ArrayList<>(((Collection<?>)inputs).size()) :
@@ -271,6 +271,30 @@ public interface SimpleEntitySaveCommand<E>
     @Override
     SimpleEntitySaveCommand<E> setTransactionRequired(boolean required);
 
+    @Override
+    default SimpleEntitySaveCommand<E> setBulkLoadEnabled() {
+        return setBulkLoadEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setBulkLoadEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setShapeMergingEnabled() {
+        return setShapeMergingEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setShapeMergingEnabled(boolean enabled);
+
+    @Override
+    default SimpleEntitySaveCommand<E> setDiffUpdateEnabled() {
+        return setDiffUpdateEnabled(true);
+    }
+
+    @Override
+    SimpleEntitySaveCommand<E> setDiffUpdateEnabled(boolean enabled);
+
     default SimpleSaveResult<E> execute() {
         return execute(null, (Fetcher<E>) null);
     }
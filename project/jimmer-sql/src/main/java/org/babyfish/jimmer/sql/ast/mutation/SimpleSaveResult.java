@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.mutation;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -16,7 +17,16 @@ public class SimpleSaveResult<E> extends AbstractMutationResult implements Mutat
             E originalEntity,
             E modifiedEntity
     ) {
-        super(affectedRowCountMap);
+        this(affectedRowCountMap, Collections.emptyMap(), originalEntity, modifiedEntity);
+    }
+
+    public SimpleSaveResult(
+            Map<AffectedTable, Integer> affectedRowCountMap,
+            Map<AffectedTable, Integer> skippedRowCountMap,
+            E originalEntity,
+            E modifiedEntity
+    ) {
+        super(affectedRowCountMap, skippedRowCountMap);
         this.originalEntity = originalEntity;
         this.modifiedEntity = modifiedEntity;
     }
@@ -66,6 +76,7 @@ public class SimpleSaveResult<E> extends AbstractMutationResult implements Mutat
     ) {
         return new View<>(
                 affectedRowCountMap,
+                skippedRowCountMap,
                 originalEntity,
                 modifiedEntity,
                 converter.apply(modifiedEntity)
@@ -78,11 +89,12 @@ public class SimpleSaveResult<E> extends AbstractMutationResult implements Mutat
 
         View(
                 Map<AffectedTable, Integer> affectedRowCountMap,
+                Map<AffectedTable, Integer> skippedRowCountMap,
                 E originalEntity,
                 E modifiedEntity,
                 V modifiedView
         ) {
-            super(affectedRowCountMap, originalEntity, modifiedEntity);
+            super(affectedRowCountMap, skippedRowCountMap, originalEntity, modifiedEntity);
             this.modifiedView = modifiedView;
         }
 
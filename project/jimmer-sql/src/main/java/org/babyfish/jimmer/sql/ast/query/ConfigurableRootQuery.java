@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.query;
 
 import org.babyfish.jimmer.Page;
+import org.babyfish.jimmer.SeekSlice;
 import org.babyfish.jimmer.Slice;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.ast.Expression;
@@ -84,6 +85,28 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
         return fetchSlice(limit, offset, null);
     }
 
+    /**
+     * Keyset(seek) pagination.
+     *
+     * <p>Unlike {@link #fetchSlice(int, int, Connection)}, the rows after
+     * the last row of previous slice are located by the sort orders of
+     * current query, not by offset, so deep pages are as cheap as the first
+     * page if the sort orders are covered by index. The id is appended as the
+     * last sort order to break ties if it is not sorted by current query.</p>
+     *
+     * <p>The current query must select only one object, and the values of
+     * sort orders cannot be null.</p>
+     *
+     * @param afterCursor The {@link SeekSlice#getNextCursor()} of previous slice,
+     *                    null means the first slice
+     * @param pageSize The max row count of the slice
+     */
+    SeekSlice<R> fetchSeek(@Nullable String afterCursor, int pageSize, @Nullable Connection con);
+
+    default SeekSlice<R> fetchSeek(@Nullable String afterCursor, int pageSize) {
+        return fetchSeek(afterCursor, pageSize, null);
+    }
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
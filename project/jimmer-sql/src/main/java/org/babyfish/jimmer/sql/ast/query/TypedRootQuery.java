@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -118,4 +119,22 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    /**
+     * Read the rows lazily by a cursor, like {@link #forEach(Connection, int, Consumer)},
+     * but allows the caller to use the stream API.
+     *
+     * <p>The stream is only valid inside the block because
+     * the cursor is closed when the block returns, please
+     * do not return the stream itself.</p>
+     */
+    default <X> X stream(Function<Stream<R>, X> block) {
+        return stream(null, -1, block);
+    }
+
+    default <X> X stream(Connection con, Function<Stream<R>, X> block) {
+        return stream(con, -1, block);
+    }
+
+    <X> X stream(Connection con, int batchSize, Function<Stream<R>, X> block);
 }
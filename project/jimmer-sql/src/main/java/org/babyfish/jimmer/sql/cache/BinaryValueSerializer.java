@@ -0,0 +1,582 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The compact binary format of remote cache values.
+ *
+ * <p>Each value starts with a magic byte and the fingerprint of
+ * the metadata of the cached type or property, then</p>
+ * <ul>
+ *     <li>Object is written as its loaded properties indexed by property ids,
+ *     not property names</li>
+ *     <li>Integral values, including ids and the elements of id lists,
+ *     are written as var-ints</li>
+ *     <li>Other well-known scalar values are written by their compact binary forms,
+ *     the unknown scalar values are still written as JSON</li>
+ * </ul>
+ *
+ * <p>The value whose fingerprint is different, for example, it is written by
+ * another version of application during rolling deployment, is treated as cache missing.
+ * The JSON value is still readable, so that the format can be switched from JSON to binary
+ * without clearing remote cache.</p>
+ */
+public class BinaryValueSerializer<T> extends ValueSerializer<T> {
+
+    // 0xB7 is neither ASCII nor the leading byte of UTF-8 character,
+    // so it never be the first byte of JSON
+    private static final byte MAGIC = (byte) 0xB7;
+
+    private static final int HEADER_SIZE = 5;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte CHAR = 9;
+    private static final byte STRING = 10;
+    private static final byte UUID_ = 11;
+    private static final byte BIG_INTEGER = 12;
+    private static final byte BIG_DECIMAL = 13;
+    private static final byte BYTES = 14;
+    private static final byte ENUM = 15;
+    private static final byte LOCAL_DATE = 16;
+    private static final byte LOCAL_DATE_TIME = 17;
+    private static final byte INSTANT = 18;
+    private static final byte LIST = 19;
+    private static final byte OBJECT = 20;
+    private static final byte JSON = 21;
+
+    private final ImmutableType type;
+
+    private final ImmutableProp prop;
+
+    private final int fingerprint;
+
+    private final Map<ImmutableType, List<ImmutableProp>> propsMap = new ConcurrentHashMap<>();
+
+    public BinaryValueSerializer(@NotNull ImmutableType type) {
+        this(type, null, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop) {
+        this(null, prop, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper) {
+        this(type, null, mapper);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper) {
+        this(null, prop, mapper);
+    }
+
+    private BinaryValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
+        super(type, prop, mapper);
+        this.type = type;
+        this.prop = prop;
+        this.fingerprint = fingerprint();
+    }
+
+    static boolean isBinary(byte[] value) {
+        return value != null && value.length != 0 && value[0] == MAGIC;
+    }
+
+    @NotNull
+    @Override
+    public byte[] serialize(T value) {
+        if (value == null) {
+            return super.serialize(null);
+        }
+        Output out = new Output();
+        out.write(MAGIC);
+        out.writeFixedInt(fingerprint);
+        if (type != null) {
+            writeObject(out, (ImmutableSpi) value);
+        } else {
+            writeValue(out, value);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(byte[] value) {
+        if (!isBinary(value)) {
+            return deserializeJson(value);
+        }
+        if (!isDeserializable(value)) {
+            throw new SerializationException(
+                    new IllegalArgumentException(
+                            "The binary value is written by the different metadata of \"" +
+                                    (type != null ? type : prop) +
+                                    "\""
+                    )
+            );
+        }
+        Input in = new Input(value, HEADER_SIZE);
+        if (type != null) {
+            return (T) readObject(in, type);
+        }
+        return (T) readValue(in);
+    }
+
+    @Override
+    protected boolean isDeserializable(@NotNull byte[] value) {
+        if (!isBinary(value)) {
+            return true;
+        }
+        return value.length >= HEADER_SIZE && new Input(value, 1).readFixedInt() == fingerprint;
+    }
+
+    private void writeObject(Output out, ImmutableSpi spi) {
+        for (ImmutableProp prop : props(spi.__type())) {
+            PropId propId = prop.getId();
+            if (spi.__isLoaded(propId) && spi.__isVisible(propId)) {
+                out.writeVarInt(propId.asIndex() + 1);
+                writeProp(out, prop, spi.__get(propId));
+            }
+        }
+        out.writeVarInt(0);
+    }
+
+    private void writeProp(Output out, ImmutableProp prop, Object value) {
+        if (value == null) {
+            out.write(NULL);
+        } else if (!prop.isAssociation(TargetLevel.OBJECT)) {
+            writeScalar(out, value);
+        } else if (prop.isReferenceList(TargetLevel.OBJECT)) {
+            List<?> list = (List<?>) value;
+            out.write(LIST);
+            out.writeVarInt(list.size());
+            for (Object e : list) {
+                writeTarget(out, (ImmutableSpi) e);
+            }
+        } else {
+            writeTarget(out, (ImmutableSpi) value);
+        }
+    }
+
+    private void writeTarget(Output out, ImmutableSpi target) {
+        if (target == null) {
+            out.write(NULL);
+        } else {
+            out.write(OBJECT);
+            writeObject(out, target);
+        }
+    }
+
+    private void writeValue(Output out, Object value) {
+        if (value instanceof List<?> && prop.isReferenceList(TargetLevel.OBJECT)) {
+            List<?> list = (List<?>) value;
+            out.write(LIST);
+            out.writeVarInt(list.size());
+            for (Object e : list) {
+                writeScalar(out, e);
+            }
+        } else {
+            writeScalar(out, value);
+        }
+    }
+
+    private void writeScalar(Output out, Object value) {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.write(INT);
+            out.writeZigZag((Integer) value);
+        } else if (value instanceof Long) {
+            out.write(LONG);
+            out.writeZigZag((Long) value);
+        } else if (value instanceof String) {
+            out.write(STRING);
+            out.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof UUID) {
+            UUID uuid = (UUID) value;
+            out.write(UUID_);
+            out.writeFixedLong(uuid.getMostSignificantBits());
+            out.writeFixedLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Short) {
+            out.write(SHORT);
+            out.writeZigZag((Short) value);
+        } else if (value instanceof Byte) {
+            out.write(BYTE);
+            out.write((Byte) value);
+        } else if (value instanceof Character) {
+            out.write(CHAR);
+            out.writeVarLong((Character) value);
+        } else if (value instanceof Float) {
+            out.write(FLOAT);
+            out.writeFixedInt(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Double) {
+            out.write(DOUBLE);
+            out.writeFixedLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.write(BIG_DECIMAL);
+            out.writeZigZag(decimal.scale());
+            out.writeBytes(decimal.unscaledValue().toByteArray());
+        } else if (value instanceof BigInteger) {
+            out.write(BIG_INTEGER);
+            out.writeBytes(((BigInteger) value).toByteArray());
+        } else if (value instanceof byte[]) {
+            out.write(BYTES);
+            out.writeBytes((byte[]) value);
+        } else if (value instanceof Enum<?>) {
+            out.write(ENUM);
+            out.writeBytes(((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+        } else if (value.getClass() == LocalDate.class) {
+            out.write(LOCAL_DATE);
+            out.writeZigZag(((LocalDate) value).toEpochDay());
+        } else if (value.getClass() == LocalDateTime.class) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            out.write(LOCAL_DATE_TIME);
+            out.writeZigZag(dateTime.toLocalDate().toEpochDay());
+            out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+        } else if (value.getClass() == Instant.class) {
+            Instant instant = (Instant) value;
+            out.write(INSTANT);
+            out.writeZigZag(instant.getEpochSecond());
+            out.writeVarLong(instant.getNano());
+        } else {
+            out.write(JSON);
+            try {
+                out.writeBytes(mapper.writeValueAsBytes(value));
+            } catch (JsonProcessingException ex) {
+                throw new SerializationException(ex);
+            }
+        }
+    }
+
+    private ImmutableSpi readObject(Input in, ImmutableType type) {
+        List<ImmutableProp> props = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (int index = in.readVarInt(); index != 0; index = in.readVarInt()) {
+            ImmutableProp prop = type.getProp(PropId.byIndex(index - 1));
+            props.add(prop);
+            values.add(readProp(in, prop));
+        }
+        return (ImmutableSpi) Internal.produce(type, null, draft -> {
+            DraftSpi spi = (DraftSpi) draft;
+            int size = props.size();
+            for (int i = 0; i < size; i++) {
+                spi.__set(props.get(i).getId(), values.get(i));
+            }
+        });
+    }
+
+    private Object readProp(Input in, ImmutableProp prop) {
+        byte tag = in.read();
+        if (!prop.isAssociation(TargetLevel.OBJECT)) {
+            return readScalar(in, tag, prop.getReturnClass(), prop.getGenericType());
+        }
+        if (tag == LIST) {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readTarget(in, in.read(), prop));
+            }
+            return list;
+        }
+        return readTarget(in, tag, prop);
+    }
+
+    private ImmutableSpi readTarget(Input in, byte tag, ImmutableProp prop) {
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != OBJECT) {
+            throw new SerializationException(
+                    new IllegalArgumentException("Illegal binary tag " + tag + " of \"" + prop + "\"")
+            );
+        }
+        return readObject(in, prop.getTargetType());
+    }
+
+    private Object readValue(Input in) {
+        byte tag = in.read();
+        boolean isEntity = prop.isAssociation(TargetLevel.ENTITY);
+        Class<?> elementClass = isEntity ?
+                prop.getTargetType().getIdProp().getElementClass() :
+                prop.getElementClass();
+        if (tag == LIST) {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readScalar(in, in.read(), elementClass, elementClass));
+            }
+            return list;
+        }
+        if (!isEntity) {
+            // The whole value of scalar property may be written as json,
+            // such as `List<Long>`, so its generic type is required
+            return readScalar(in, tag, prop.getReturnClass(), prop.getGenericType());
+        }
+        return readScalar(in, tag, elementClass, elementClass);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readScalar(Input in, byte tag, Class<?> expectedClass, Type genericType) {
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case BYTE:
+                return in.read();
+            case SHORT:
+                return (short) in.readZigZag();
+            case INT:
+                return (int) in.readZigZag();
+            case LONG:
+                return in.readZigZag();
+            case FLOAT:
+                return Float.intBitsToFloat(in.readFixedInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case CHAR:
+                return (char) in.readVarLong();
+            case STRING:
+                return new String(in.readBytes(), StandardCharsets.UTF_8);
+            case UUID_:
+                return new UUID(in.readFixedLong(), in.readFixedLong());
+            case BIG_INTEGER:
+                return new BigInteger(in.readBytes());
+            case BIG_DECIMAL: {
+                int scale = (int) in.readZigZag();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            }
+            case BYTES:
+                return in.readBytes();
+            case ENUM:
+                return Enum.valueOf(
+                        (Class<Enum>) expectedClass,
+                        new String(in.readBytes(), StandardCharsets.UTF_8)
+                );
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readZigZag());
+            case LOCAL_DATE_TIME: {
+                LocalDate date = LocalDate.ofEpochDay(in.readZigZag());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+            }
+            case INSTANT: {
+                long seconds = in.readZigZag();
+                return Instant.ofEpochSecond(seconds, in.readVarLong());
+            }
+            case JSON: {
+                JavaType javaType = mapper.getTypeFactory().constructType(genericType);
+                try {
+                    return mapper.readValue(in.readBytes(), javaType);
+                } catch (IOException ex) {
+                    throw new SerializationException(ex);
+                }
+            }
+            default:
+                throw new SerializationException(
+                        new IllegalArgumentException("Illegal binary tag " + tag)
+                );
+        }
+    }
+
+    private List<ImmutableProp> props(ImmutableType type) {
+        return propsMap.computeIfAbsent(type, BinaryValueSerializer::serializableProps);
+    }
+
+    private static List<ImmutableProp> serializableProps(ImmutableType type) {
+        List<ImmutableProp> props = new ArrayList<>();
+        for (ImmutableProp prop : type.getProps().values()) {
+            // View properties and java/kotlin formula properties are derived by other properties
+            if (prop.isView() || (prop.isFormula() && prop.getSqlTemplate() == null)) {
+                continue;
+            }
+            props.add(prop);
+        }
+        return Collections.unmodifiableList(props);
+    }
+
+    private int fingerprint() {
+        StringBuilder builder = new StringBuilder();
+        if (type != null) {
+            appendType(builder, type, new HashSet<>());
+        } else {
+            builder.append(prop).append(':');
+            if (prop.isAssociation(TargetLevel.ENTITY)) {
+                builder
+                        .append(prop.isReferenceList(TargetLevel.OBJECT) ? "list:" : "reference:")
+                        .append(prop.getTargetType().getIdProp().getElementClass().getName());
+            } else {
+                builder.append(prop.getGenericType().getTypeName());
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(builder.toString().getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static void appendType(StringBuilder builder, ImmutableType type, Set<ImmutableType> handledTypes) {
+        builder.append(type);
+        if (!handledTypes.add(type)) {
+            return;
+        }
+        builder.append('{');
+        for (ImmutableProp prop : serializableProps(type)) {
+            builder
+                    .append(prop.getId().asIndex())
+                    .append(':')
+                    .append(prop.getName())
+                    .append(':')
+                    .append(prop.getGenericType().getTypeName());
+            if (prop.isAssociation(TargetLevel.OBJECT)) {
+                builder.append(':');
+                appendType(builder, prop.getTargetType(), handledTypes);
+            }
+            builder.append(';');
+        }
+        builder.append('}');
+    }
+
+    private static class Output extends ByteArrayOutputStream {
+
+        Output() {
+            super(64);
+        }
+
+        void write(byte b) {
+            super.write(b);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                super.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            super.write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedInt(int value) {
+            super.write(value >>> 24);
+            super.write(value >>> 16);
+            super.write(value >>> 8);
+            super.write(value);
+        }
+
+        void writeFixedLong(long value) {
+            writeFixedInt((int) (value >>> 32));
+            writeFixedInt((int) value);
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            super.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] bytes;
+
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        byte read() {
+            if (position >= bytes.length) {
+                throw new SerializationException(
+                        new IllegalArgumentException("Unexpected end of binary value")
+                );
+            }
+            return bytes[position++];
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException(
+                    new IllegalArgumentException("Malformed var-int of binary value")
+            );
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readFixedInt() {
+            return ((read() & 0xFF) << 24) |
+                    ((read() & 0xFF) << 16) |
+                    ((read() & 0xFF) << 8) |
+                    (read() & 0xFF);
+        }
+
+        long readFixedLong() {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        byte[] readBytes() {
+            int length = readVarInt();
+            if (length < 0 || length > bytes.length - position) {
+                throw new SerializationException(
+                        new IllegalArgumentException("Unexpected end of binary value")
+                );
+            }
+            byte[] arr = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return arr;
+        }
+    }
+}
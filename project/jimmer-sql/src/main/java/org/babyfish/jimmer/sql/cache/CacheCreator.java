@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.cache;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.LoadingCoalescer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -131,6 +132,88 @@ public interface CacheCreator {
             @Nullable Duration remoteDuration
     );
 
+    /**
+     * Set the format of values stored in remote cache.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * @param format The serialization format, {@link SerializationFormat#JSON} is used by default
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withSerializationFormat(@NotNull SerializationFormat format);
+
+    /**
+     * Coalesce the concurrent loading of missed keys in the current JVM,
+     * so that a hot key expired at the same time is loaded from database only once.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * @param coalescer The coalescer shared by all created caches,
+     *                  it can be used to read the statistics.
+     *                  null means no coalescing, that is the default behavior.
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withLoadingCoalescer(@Nullable LoadingCoalescer coalescer);
+
+    @NewChain
+    @NotNull
+    default CacheCreator withoutLoadingCoalescer() {
+        return withLoadingCoalescer(null);
+    }
+
+    /**
+     * Reload the values of all caches in background
+     * before or after they expire.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * @param policy The refresh policy, null means no background refresh
+     * @return The created new object
+     * @see #withRefreshPolicyProvider(CacheRefreshPolicyProvider)
+     */
+    @NewChain
+    @NotNull
+    default CacheCreator withRefreshPolicy(@Nullable CacheRefreshPolicy policy) {
+        return withRefreshPolicyProvider(
+                policy != null ? CacheRefreshPolicyProvider.of(policy) : null
+        );
+    }
+
+    /**
+     * Reload the values of caches in background before or after they expire,
+     * the refresh policy of each type or property is decided by the provider.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>Currently, it affects the local caches and the remote caches of
+     * objects and non-multi-view properties</p>
+     *
+     * @param provider The provider of refresh policies, null means no background refresh
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withRefreshPolicyProvider(@Nullable CacheRefreshPolicyProvider provider);
+
+    /**
+     * Split the large multi-get/multi-set operations of remote caches
+     * into batches and execute them in parallel.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * <p>Currently, it affects the remote caches of objects and non-multi-view properties</p>
+     *
+     * @param policy The batch policy, null means each operation is executed as a whole
+     * @return The created new object
+     */
+    @NewChain
+    @NotNull
+    CacheCreator withRemoteBatchPolicy(@Nullable RemoteBatchPolicy policy);
+
     <K, V> Cache<K, V> createForObject(ImmutableType type);
 
     <K, V> Cache<K, V> createForProp(ImmutableProp prop, boolean multiView);
@@ -15,10 +15,28 @@ public class CacheEnvironment<K, V> {
 
     private final CacheLoader<K, V> loader;
 
+    private final CacheLoader<K, V> backgroundLoader;
+
+    public CacheEnvironment(
+            JSqlClient sqlClient,
+            Connection connection,
+            CacheLoader<K, V> loader,
+            boolean requiresNewDraftContext) {
+        this(sqlClient, connection, loader, null, requiresNewDraftContext);
+    }
+
+    /**
+     * @param backgroundLoader The loader which can be used by other threads
+     *                         after the current operation, so it cannot
+     *                         depend on the current connection.
+     *                         It is used to reload values in background,
+     *                         please view {@link CacheRefreshPolicy} to know more.
+     */
     public CacheEnvironment(
             JSqlClient sqlClient,
             Connection connection,
             CacheLoader<K, V> loader,
+            @Nullable CacheLoader<K, V> backgroundLoader,
             boolean requiresNewDraftContext) {
         this.sqlClient = Objects.requireNonNull(sqlClient, "sqlClient cannot be null");
         this.connection = Objects.requireNonNull(connection, "connection cannot be null");
@@ -26,6 +44,9 @@ public class CacheEnvironment<K, V> {
                 Objects.requireNonNull(loader, "loader cannot be null"),
                 requiresNewDraftContext
         );
+        this.backgroundLoader = backgroundLoader != null ?
+                CacheLoaderWrapper.wrap(backgroundLoader, requiresNewDraftContext) :
+                null;
     }
 
     @NotNull
@@ -43,9 +64,14 @@ public class CacheEnvironment<K, V> {
         return loader;
     }
 
+    @Nullable
+    public CacheLoader<K, V> getBackgroundLoader() {
+        return backgroundLoader;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(sqlClient, connection, loader);
+        return Objects.hash(sqlClient, connection, loader, backgroundLoader);
     }
 
     @Override
@@ -55,7 +81,8 @@ public class CacheEnvironment<K, V> {
         CacheEnvironment<?, ?> that = (CacheEnvironment<?, ?>) o;
         return sqlClient.equals(that.sqlClient) &&
                 connection.equals(that.connection) &&
-                Objects.equals(loader, that.loader);
+                Objects.equals(loader, that.loader) &&
+                Objects.equals(backgroundLoader, that.backgroundLoader);
     }
 
     @Override
@@ -64,6 +91,7 @@ public class CacheEnvironment<K, V> {
                 "sqlClient=" + sqlClient +
                 ", connection=" + connection +
                 ", loader=" + loader +
+                ", backgroundLoader=" + backgroundLoader +
                 '}';
     }
 }
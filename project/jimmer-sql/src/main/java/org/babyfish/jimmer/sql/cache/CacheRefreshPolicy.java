@@ -0,0 +1,150 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Reload cached values in background so that the expiration
+ * of cached values does not cause synchronous database loading.
+ *
+ * <ul>
+ *     <li>Refresh-ahead: The value accessed during the last
+ *     {@link #getRefreshAheadDuration()} before its expiration
+ *     is reloaded in background, the current value is still returned.</li>
+ *     <li>Stale-while-revalidate: The value accessed during
+ *     {@link #getStaleDuration()} after its expiration is still
+ *     returned while it is reloaded in background.</li>
+ * </ul>
+ *
+ * <p>For each key, there is at most one background reload in the current JVM.
+ * The reload goes through the rest part of cache chain, so that the value
+ * of local cache is refreshed from remote cache if possible.</p>
+ *
+ * <p>If the loader of current cache operation cannot be used by other threads,
+ * for example, the loader of association cache depends on the current JDBC connection,
+ * refresh-ahead is skipped, and the stale values are reloaded by the current thread
+ * while other threads still get the old value during the reload.</p>
+ *
+ * <p>The invalidation of {@link CacheTracker} deletes the values
+ * and discards the results of the in-flight reloads of them.</p>
+ *
+ * @see CacheCreator#withRefreshPolicy(CacheRefreshPolicy)
+ * @see CacheRefreshPolicyProvider
+ */
+public final class CacheRefreshPolicy {
+
+    private final Duration refreshAheadDuration;
+
+    private final Duration staleDuration;
+
+    private final Executor executor;
+
+    private CacheRefreshPolicy(
+            Duration refreshAheadDuration,
+            Duration staleDuration,
+            Executor executor
+    ) {
+        this.refreshAheadDuration = refreshAheadDuration;
+        this.staleDuration = staleDuration;
+        this.executor = executor;
+    }
+
+    /**
+     * Create refresh policy.
+     *
+     * @param refreshAheadDuration The duration before expiration
+     *                             in which the accessed values are reloaded,
+     *                             null or zero means no refresh-ahead
+     * @param staleDuration The duration after expiration in which
+     *                      the accessed expired values are still returned,
+     *                      null or zero means no stale-while-revalidate
+     * @param executor The executor to reload values in background,
+     *                 the reloading blocks its thread by database access,
+     *                 so a dedicated and bounded executor is recommended
+     *                 rather than {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    public static CacheRefreshPolicy of(
+            @Nullable Duration refreshAheadDuration,
+            @Nullable Duration staleDuration,
+            @NotNull Executor executor
+    ) {
+        if (refreshAheadDuration == null) {
+            refreshAheadDuration = Duration.ZERO;
+        } else if (refreshAheadDuration.isNegative()) {
+            throw new IllegalArgumentException("refreshAheadDuration cannot be negative");
+        }
+        if (staleDuration == null) {
+            staleDuration = Duration.ZERO;
+        } else if (staleDuration.isNegative()) {
+            throw new IllegalArgumentException("staleDuration cannot be negative");
+        }
+        if (refreshAheadDuration.isZero() && staleDuration.isZero()) {
+            throw new IllegalArgumentException(
+                    "At least one of refreshAheadDuration and staleDuration must be positive"
+            );
+        }
+        return new CacheRefreshPolicy(
+                refreshAheadDuration,
+                staleDuration,
+                Objects.requireNonNull(executor, "executor cannot be null")
+        );
+    }
+
+    @NotNull
+    public Duration getRefreshAheadDuration() {
+        return refreshAheadDuration;
+    }
+
+    @NotNull
+    public Duration getStaleDuration() {
+        return staleDuration;
+    }
+
+    @NotNull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Get the elapsed time after writing, when it is reached,
+     * the accessed value should be reloaded.
+     *
+     * <p>The refresh-ahead duration is limited to the half of
+     * the expiration duration to avoid reloading the values
+     * immediately after they are written.</p>
+     */
+    @NotNull
+    public Duration refreshAfter(@NotNull Duration duration) {
+        Duration refreshAfter = duration.minus(refreshAheadDuration);
+        Duration minRefreshAfter = duration.dividedBy(2);
+        return refreshAfter.compareTo(minRefreshAfter) < 0 ? minRefreshAfter : refreshAfter;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(refreshAheadDuration, staleDuration, executor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheRefreshPolicy that = (CacheRefreshPolicy) o;
+        return refreshAheadDuration.equals(that.refreshAheadDuration) &&
+                staleDuration.equals(that.staleDuration) &&
+                executor.equals(that.executor);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheRefreshPolicy{" +
+                "refreshAheadDuration=" + refreshAheadDuration +
+                ", staleDuration=" + staleDuration +
+                ", executor=" + executor +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Decide the refresh policy of the cache of each type or property.
+ *
+ * @see CacheCreator#withRefreshPolicyProvider(CacheRefreshPolicyProvider)
+ */
+public interface CacheRefreshPolicyProvider {
+
+    /**
+     * @return The refresh policy of object cache, null means no background refresh
+     */
+    @Nullable
+    CacheRefreshPolicy typePolicy(@NotNull ImmutableType type);
+
+    /**
+     * @return The refresh policy of property cache, null means no background refresh
+     */
+    @Nullable
+    CacheRefreshPolicy propPolicy(@NotNull ImmutableProp prop);
+
+    /**
+     * Use same refresh policy for the caches of all types and properties
+     */
+    static CacheRefreshPolicyProvider of(@NotNull CacheRefreshPolicy policy) {
+        Objects.requireNonNull(policy, "policy cannot be null");
+        return new CacheRefreshPolicyProvider() {
+            @Override
+            public CacheRefreshPolicy typePolicy(@NotNull ImmutableType type) {
+                return policy;
+            }
+            @Override
+            public CacheRefreshPolicy propPolicy(@NotNull ImmutableProp prop) {
+                return policy;
+            }
+        };
+    }
+}
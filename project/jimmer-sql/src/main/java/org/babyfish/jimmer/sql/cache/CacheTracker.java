@@ -12,6 +12,18 @@ public interface CacheTracker {
 
     void addInvalidateListener(InvalidationListener listener);
 
+    /**
+     * Add the listener which only cares about the invalidations of the specified type,
+     * including the invalidations of the properties declared by that type.
+     *
+     * <p>The listener may still receive the events of other types, the type is
+     * a hint which allows the tracker with channel sharding to only subscribe
+     * the channels of the types cached by the current JVM.</p>
+     */
+    default void addInvalidateListener(InvalidationListener listener, ImmutableType type) {
+        addInvalidateListener(listener);
+    }
+
     void removeInvalidateListener(InvalidationListener listener);
 
     void addReconnectListener(ReconnectListener listener);
@@ -0,0 +1,119 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Split the large multi-get/multi-set operations of remote value caches
+ * into batches and execute them in parallel.
+ *
+ * <ul>
+ *     <li>If {@link #isSlotAware()} is true, the keys are grouped by the hash slot
+ *     of redis cluster, so that each MGET/SET only accesses one slot.</li>
+ *     <li>The keys of one batch are no more than {@link #getMaxBatchSize()},
+ *     one batch may contain the groups of many slots, it is executed
+ *     by one pipeline if the remote cache supports it.</li>
+ *     <li>If some batches of multi-get are not completed in {@link #getTimeout()}
+ *     or failed, their keys are treated as cache misses and the results of
+ *     other batches are still used. The timeout or failed batches of multi-set
+ *     are ignored because the values can be loaded again.</li>
+ * </ul>
+ *
+ * @see CacheCreator#withRemoteBatchPolicy(RemoteBatchPolicy)
+ */
+public final class RemoteBatchPolicy {
+
+    private final int maxBatchSize;
+
+    private final Duration timeout;
+
+    private final boolean slotAware;
+
+    private final Executor executor;
+
+    private RemoteBatchPolicy(int maxBatchSize, Duration timeout, boolean slotAware, Executor executor) {
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.slotAware = slotAware;
+        this.executor = executor;
+    }
+
+    /**
+     * Create batch policy.
+     *
+     * @param maxBatchSize The max count of keys of each batch
+     * @param timeout The max time to wait for all the batches, null means no timeout
+     * @param slotAware Whether to group the keys by the hash slot of redis cluster
+     * @param executor The executor to execute the batches when there are more
+     *                 than one batch, a bounded executor managed by the application
+     *                 is recommended. If it rejects a batch, the batch is
+     *                 executed by the current thread.
+     */
+    public static RemoteBatchPolicy of(
+            int maxBatchSize,
+            @Nullable Duration timeout,
+            boolean slotAware,
+            @NotNull Executor executor
+    ) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout must be null or positive");
+        }
+        return new RemoteBatchPolicy(
+                maxBatchSize,
+                timeout,
+                slotAware,
+                Objects.requireNonNull(executor, "executor cannot be null")
+        );
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Nullable
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean isSlotAware() {
+        return slotAware;
+    }
+
+    @NotNull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxBatchSize, timeout, slotAware, executor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RemoteBatchPolicy that = (RemoteBatchPolicy) o;
+        return maxBatchSize == that.maxBatchSize &&
+                slotAware == that.slotAware &&
+                Objects.equals(timeout, that.timeout) &&
+                executor.equals(that.executor);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteBatchPolicy{" +
+                "maxBatchSize=" + maxBatchSize +
+                ", timeout=" + timeout +
+                ", slotAware=" + slotAware +
+                ", executor=" + executor +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package org.babyfish.jimmer.sql.cache;
+
+/**
+ * The format of values stored in remote cache.
+ *
+ * @see CacheCreator#withSerializationFormat(SerializationFormat)
+ */
+public enum SerializationFormat {
+
+    /**
+     * Values are serialized by jackson, this is the default behavior.
+     */
+    JSON,
+
+    /**
+     * Values are serialized by the compact binary format
+     * driven by the metadata of immutable types.
+     *
+     * <p>The JSON values written by other applications can still be read,
+     * so the remote cache does not need to be cleared
+     * when the format is changed from {@link #JSON} to it.</p>
+     *
+     * @see BinaryValueSerializer
+     */
+    BINARY
+}
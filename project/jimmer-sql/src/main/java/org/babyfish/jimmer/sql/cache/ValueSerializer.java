@@ -22,9 +22,9 @@ public class ValueSerializer<T> {
 
     private static final byte[] NULL_BYTES = "<null>".getBytes(StandardCharsets.UTF_8);
 
-    private final ObjectMapper mapper;
+    final ObjectMapper mapper;
 
-    private final JavaType valueType;
+    final JavaType valueType;
 
     public ValueSerializer(@NotNull ImmutableType type) {
         this(type, null, null);
@@ -42,7 +42,7 @@ public class ValueSerializer<T> {
         this(null, prop, mapper);
     }
 
-    private ValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
+    ValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
         if ((type == null) == (prop == null)) {
             throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
         }
@@ -74,6 +74,34 @@ public class ValueSerializer<T> {
         }
     }
 
+    /**
+     * Create serializer for object cache by the specified format
+     */
+    public static <T> ValueSerializer<T> of(
+            @NotNull ImmutableType type,
+            ObjectMapper mapper,
+            @NotNull SerializationFormat format
+    ) {
+        if (format == SerializationFormat.BINARY) {
+            return new BinaryValueSerializer<>(type, mapper);
+        }
+        return new ValueSerializer<>(type, mapper);
+    }
+
+    /**
+     * Create serializer for association cache or calculated cache by the specified format
+     */
+    public static <T> ValueSerializer<T> of(
+            @NotNull ImmutableProp prop,
+            ObjectMapper mapper,
+            @NotNull SerializationFormat format
+    ) {
+        if (format == SerializationFormat.BINARY) {
+            return new BinaryValueSerializer<>(prop, mapper);
+        }
+        return new ValueSerializer<>(prop, mapper);
+    }
+
     @NotNull
     public byte[] serialize(T value) {
         if (value == null) {
@@ -105,6 +133,28 @@ public class ValueSerializer<T> {
     }
 
     public T deserialize(byte[] value) {
+        if (BinaryValueSerializer.isBinary(value)) {
+            throw new SerializationException(
+                    new IllegalArgumentException(
+                            "The value is written by binary format which cannot be read by json format"
+                    )
+            );
+        }
+        return deserializeJson(value);
+    }
+
+    /**
+     * Whether the value can be read by this serializer.
+     *
+     * <p>The unreadable value, for example, the value written by other format or
+     * the binary value written by another version of entity metadata during rolling deployment,
+     * is ignored by the deserialization of map and treated as cache missing.</p>
+     */
+    protected boolean isDeserializable(@NotNull byte[] value) {
+        return !BinaryValueSerializer.isBinary(value);
+    }
+
+    final T deserializeJson(byte[] value) {
         if (value == null || value.length == 0 || Arrays.equals(value, NULL_BYTES)) {
             return null;
         }
@@ -119,7 +169,10 @@ public class ValueSerializer<T> {
     public <K> Map<K, T> deserialize(@NotNull Map<K, byte[]> map) {
         Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K, byte[]> e : map.entrySet()) {
-            deserializedMap.put(e.getKey(), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (isReadable(byteArr)) {
+                deserializedMap.put(e.getKey(), deserialize(byteArr));
+            }
         }
         return deserializedMap;
     }
@@ -128,7 +181,10 @@ public class ValueSerializer<T> {
     public <K1, K2> Map<K2, T> deserialize(@NotNull Map<K1, byte[]> map, @NotNull Function<K1, K2> keyMapper) {
         Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (isReadable(byteArr)) {
+                deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(byteArr));
+            }
         }
         return deserializedMap;
     }
@@ -141,10 +197,14 @@ public class ValueSerializer<T> {
         while (keyItr.hasNext() && byteArrItr.hasNext()) {
             K key = keyItr.next();
             byte[] byteArr = byteArrItr.next();
-            if (byteArr != null) {
+            if (byteArr != null && isReadable(byteArr)) {
                 deserializedMap.put(key, deserialize(byteArr));
             }
         }
         return deserializedMap;
     }
+
+    private boolean isReadable(byte[] value) {
+        return value == null || value.length == 0 || Arrays.equals(value, NULL_BYTES) || isDeserializable(value);
+    }
 }
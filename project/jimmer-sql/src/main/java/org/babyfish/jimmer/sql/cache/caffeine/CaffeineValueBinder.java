@@ -7,6 +7,7 @@ import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.impl.Utils;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.chain.CacheChain;
 import org.babyfish.jimmer.sql.cache.chain.LoadingBinder;
@@ -18,6 +19,10 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K> implements LoadingBinder<K, V> {
@@ -28,38 +33,62 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     private final Duration duration;
 
+    private final CacheRefreshPolicy refreshPolicy;
+
+    // Key -> Token of the reload which is refreshing the key
+    private final ConcurrentMap<K, Object> refreshingMap;
+
     // Caffeine does not support null value, use `Ref` as a wrapper
     private LoadingCache<K, Ref<V>> loadingCache;
 
+    private CacheChain<K, V> chain;
+
     protected CaffeineValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             int maximumSize,
             @NotNull Duration duration
+    ) {
+        this(type, prop, tracker, maximumSize, duration, null);
+    }
+
+    protected CaffeineValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            int maximumSize,
+            @NotNull Duration duration,
+            @Nullable CacheRefreshPolicy refreshPolicy
     ) {
         super(type, prop, tracker);
         this.maximumSize = maximumSize;
         this.duration = duration;
+        this.refreshPolicy = refreshPolicy;
+        this.refreshingMap = refreshPolicy != null ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
     public void initialize(CacheChain<K, V> chain) {
-        loadingCache = Caffeine
+        Caffeine<Object, Object> builder = Caffeine
                 .newBuilder()
-                .maximumSize(maximumSize)
-                .expireAfterWrite(duration)
+                .maximumSize(maximumSize);
+        if (refreshPolicy != null) {
+            // The value is kept during the stale duration after its logical expiration,
+            // `refreshAfterWrite` of caffeine is not used because it cannot skip
+            // refresh-ahead when the loader cannot be used by other threads
+            builder.expireAfterWrite(duration.plus(refreshPolicy.getStaleDuration()));
+        } else {
+            builder.expireAfterWrite(duration);
+        }
+        this.chain = chain;
+        loadingCache = builder
                 .build(
                         new CacheLoader<K, Ref<V>>() {
 
                             @Override
                             public Ref<V> load(@NotNull K key) {
-                                Map<K, V> map = chain.loadAll(Collections.singleton(key));
-                                V value = map.get(key);
-                                if (value != null || map.containsKey(key)) {
-                                    return Ref.of(value);
-                                }
-                                return null;
+                                return loadImpl(key);
                             }
 
                             @SuppressWarnings("unchecked")
@@ -85,6 +114,15 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
                                 return loadAll((Collection<K>)keys);
                             }
 
+                            private Ref<V> loadImpl(K key) {
+                                Map<K, V> map = chain.loadAll(Collections.singleton(key));
+                                V value = map.get(key);
+                                if (value != null || map.containsKey(key)) {
+                                    return Ref.of(value);
+                                }
+                                return null;
+                            }
+
                             private Map<K, Ref<V>> loadAllImpl(Collection<K> keys) {
                                 Map<K, V> map = chain.loadAll(keys);
                                 return map
@@ -108,16 +146,121 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         for (Map.Entry<K, Ref<V>> e : map.entrySet()) {
             convertedMap.put(e.getKey(), e.getValue().getValue());
         }
+        if (refreshPolicy != null) {
+            refresh(convertedMap);
+        }
         return convertedMap;
     }
 
+    private void refresh(Map<K, V> loadedMap) {
+        long refreshAfterMillis = refreshPolicy.refreshAfter(duration).toMillis();
+        long durationMillis = duration.toMillis();
+        Set<K> refreshKeys = new LinkedHashSet<>();
+        Set<K> staleKeys = new LinkedHashSet<>();
+        for (K key : loadedMap.keySet()) {
+            long age = ageMillis(key);
+            if (age >= refreshAfterMillis) {
+                refreshKeys.add(key);
+                if (age >= durationMillis) {
+                    staleKeys.add(key);
+                }
+            }
+        }
+        CacheChain<K, V> detachedChain = chain.detach();
+        if (detachedChain == null) {
+            // The loader of current operation cannot be used by other threads,
+            // refreshing the values which are not stale blocks the current
+            // thread for nothing, so refresh-ahead is skipped
+            refreshKeys = staleKeys;
+        }
+        if (refreshKeys.isEmpty()) {
+            return;
+        }
+        Object token = new Object();
+        Set<K> refreshingKeys = new LinkedHashSet<>();
+        for (K key : refreshKeys) {
+            // At most one reload for each key
+            if (refreshingMap.putIfAbsent(key, token) == null) {
+                refreshingKeys.add(key);
+            }
+        }
+        if (refreshingKeys.isEmpty()) {
+            return;
+        }
+        if (detachedChain == null) {
+            // Reload the stale values by current thread,
+            // other threads still get the old values
+            try {
+                reload(chain, refreshingKeys, token, loadedMap);
+            } finally {
+                release(refreshingKeys, token);
+            }
+            return;
+        }
+        try {
+            refreshPolicy.getExecutor().execute(() -> {
+                try {
+                    reload(detachedChain, refreshingKeys, token, null);
+                } catch (RuntimeException | Error ex) {
+                    LOGGER.warn("Failed to refresh the cached values of " + this, ex);
+                } finally {
+                    release(refreshingKeys, token);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            release(refreshingKeys, token);
+        }
+    }
+
+    private void reload(CacheChain<K, V> chain, Set<K> keys, Object token, @Nullable Map<K, V> loadedMap) {
+        Map<K, V> map = chain.loadAll(keys);
+        for (K key : keys) {
+            // If the key is deleted during reloading, the reloaded value may be stale
+            if (refreshingMap.get(key) != token) {
+                continue;
+            }
+            if (map.containsKey(key)) {
+                V value = map.get(key);
+                loadingCache.put(key, Ref.of(value));
+                if (loadedMap != null) {
+                    loadedMap.put(key, value);
+                }
+            } else {
+                loadingCache.invalidate(key);
+            }
+        }
+    }
+
+    private void release(Set<K> keys, Object token) {
+        for (K key : keys) {
+            refreshingMap.remove(key, token);
+        }
+    }
+
+    private long ageMillis(K key) {
+        return loadingCache
+                .policy()
+                .expireAfterWrite()
+                .map(expiration -> expiration.ageOf(key, TimeUnit.MILLISECONDS).orElse(0L))
+                .orElse(0L);
+    }
+
     @Override
     public void deleteAllImpl(Collection<K> keys) {
+        if (refreshingMap != null) {
+            // Discard the results of the in-flight reloads
+            for (K key : keys) {
+                refreshingMap.remove(key);
+            }
+        }
         loadingCache.invalidateAll(keys);
     }
 
     @Override
     protected void invalidateAll() {
+        if (refreshingMap != null) {
+            refreshingMap.clear();
+        }
         loadingCache.invalidateAll();
     }
 
@@ -142,6 +285,7 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         private CacheTracker tracker;
         private int maximumSize = 100;
         private Duration duration = Duration.ofMinutes(1);
+        private CacheRefreshPolicy refreshPolicy;
 
         public Builder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -163,13 +307,19 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             return this;
         }
 
+        public Builder<K, V> refreshPolicy(CacheRefreshPolicy refreshPolicy) {
+            this.refreshPolicy = refreshPolicy;
+            return this;
+        }
+
         public CaffeineValueBinder<K, V> build() {
             return new CaffeineValueBinder<>(
                     type,
                     prop,
                     tracker,
                     maximumSize,
-                    duration
+                    duration,
+                    refreshPolicy
             );
         }
     }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.cache.chain;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
@@ -11,6 +12,21 @@ public interface CacheChain<K, V> {
     @NotNull
     Map<K, V> loadAll(@NotNull Collection<K> keys);
 
+    /**
+     * Get a chain which can be used by other threads after the current
+     * cache operation, it is used to reload values in background.
+     *
+     * <p>It can only be called during the current cache operation,
+     * for example, by {@link LoadingBinder#getAll(Collection)}.</p>
+     *
+     * @return The detached chain or null if the loader of the current
+     * cache operation cannot be used by other threads
+     */
+    @Nullable
+    default CacheChain<K, V> detach() {
+        return null;
+    }
+
     interface Parameterized<K, V> {
 
         @NotNull
@@ -15,6 +15,8 @@ public class ChainCacheBuilder<K, V> {
 
     private final Binder.TrackingMode trackingMode = Binder.TrackingMode.NONE;
 
+    private LoadingCoalescer coalescer;
+
     public ChainCacheBuilder<K, V> add(LoadingBinder<K, V> binder) {
         if (binder != null) {
             if (Boolean.TRUE.equals(hasParameterizedBinder)) {
@@ -58,6 +60,19 @@ public class ChainCacheBuilder<K, V> {
         return this;
     }
 
+    /**
+     * Coalesce the concurrent loading of missed keys in the current JVM.
+     *
+     * <p>It is ignored by the cache with parameterized binders because
+     * the values loaded by different filter parameters cannot be shared.</p>
+     *
+     * @param coalescer The coalescer, null means no coalescing
+     */
+    public ChainCacheBuilder<K, V> coalesce(LoadingCoalescer coalescer) {
+        this.coalescer = coalescer;
+        return this;
+    }
+
     private void validateNewBinder(Binder<K> binder) {
         if (binder instanceof LockedBinder) {
             this.hasLockableBinder = true;
@@ -103,6 +118,6 @@ public class ChainCacheBuilder<K, V> {
         if (hasParameterizedBinder) {
             return new ParameterizedChainCacheImpl<>(binders);
         }
-        return new ChainCacheImpl<>(binders);
+        return new ChainCacheImpl<>(binders, coalescer);
     }
 }
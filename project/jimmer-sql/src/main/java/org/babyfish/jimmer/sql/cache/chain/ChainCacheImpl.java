@@ -5,29 +5,47 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 class ChainCacheImpl<K, V> implements Cache<K, V> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChainCacheImpl.class);
+
     private static final ThreadLocal<CacheLoader<?, ?>> LOADER_LOCAL =
         new ThreadLocal<>();
 
+    private static final ThreadLocal<CacheLoader<?, ?>> BACKGROUND_LOADER_LOCAL =
+            new ThreadLocal<>();
+
     protected final ImmutableType type;
 
     protected final ImmutableProp prop;
 
     protected final Node<K, V> node;
 
-    @SuppressWarnings("unchecked")
+    private final LoadingCoalescer coalescer;
+
     public ChainCacheImpl(List<Binder<K>> binders) {
+        this(binders, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ChainCacheImpl(List<Binder<K>> binders, LoadingCoalescer coalescer) {
         if (binders.isEmpty()) {
             throw new IllegalArgumentException("binders cannot be empty");
         }
+        this.coalescer = coalescer;
         ImmutableType cacheType = null;
         ImmutableProp cacheProp = null;
         Node<K, V> node = this.createTailNode();
@@ -66,7 +84,11 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     @NotNull
     @Override
     public Map<K, V> getAll(@NotNull Collection<K> keys, @NotNull CacheEnvironment<K, V> env) {
-        return usingCacheLoading(env.getLoader(), () -> node.loadAll(keys));
+        return usingCacheLoading(
+                env.getLoader(),
+                env.getBackgroundLoader(),
+                () -> node.loadAll(keys)
+        );
     }
 
     @Override
@@ -79,7 +101,7 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         if (binder instanceof LoadingBinder<?, ?>) {
             return new LoadingNode<>((LoadingBinder<K, V>) binder, next);
         }
-        return new SimpleNode<>((SimpleBinder<K, V>) binder, next);
+        return new SimpleNode<>((SimpleBinder<K, V>) binder, next, coalescer);
     }
 
     protected TailNode<K, V> createTailNode() {
@@ -87,7 +109,30 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     }
 
     protected interface Node<K, V> extends CacheChain<K, V> {
+
         void deleteAll(@NotNull Collection<K> keys, Object reason);
+
+        /**
+         * Load values and collect the keys whose returned values are stale,
+         * the previous nodes must not save them as fresh values.
+         */
+        @NotNull
+        default Map<K, V> loadAllWithStaleKeys(@NotNull Collection<K> keys, @NotNull Set<K> staleKeys) {
+            return loadAll(keys);
+        }
+
+        @Override
+        default @Nullable CacheChain<K, V> detach() {
+            CacheLoader<?, ?> backgroundLoader = BACKGROUND_LOADER_LOCAL.get();
+            if (backgroundLoader == null) {
+                return null;
+            }
+            return keys -> usingCacheLoading(
+                    backgroundLoader,
+                    backgroundLoader,
+                    () -> loadAll(keys)
+            );
+        }
     }
 
     private static class LoadingNode<K, V> implements Node<K, V> {
@@ -121,49 +166,176 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
         protected final Node<K, V> next;
 
+        private final LoadingCoalescer coalescer;
+
+        private final ConcurrentMap<K, LoadingCoalescer.Flight<K, V>> flights;
+
+        private final CacheRefreshPolicy refreshPolicy;
+
+        // Key -> Token of the reload which is refreshing the key
+        private final ConcurrentMap<K, Object> refreshingMap;
+
         protected SimpleNode(SimpleBinder<K, V> binder, Node<K, V> next) {
+            this(binder, next, null);
+        }
+
+        protected SimpleNode(SimpleBinder<K, V> binder, Node<K, V> next, LoadingCoalescer coalescer) {
             this.binder = binder;
             this.next = next;
+            this.coalescer = coalescer;
+            this.flights = coalescer != null ? new ConcurrentHashMap<>() : null;
+            this.refreshPolicy = binder.refreshPolicy();
+            this.refreshingMap = refreshPolicy != null ? new ConcurrentHashMap<>() : null;
         }
 
         @NotNull
         @Override
         public Map<K, V> loadAll(@NotNull Collection<K> keys) {
-            Map<K, V> map = binder.getAll(keys);
+            return loadAllWithStaleKeys(keys, new HashSet<>());
+        }
+
+        @NotNull
+        @Override
+        public Map<K, V> loadAllWithStaleKeys(@NotNull Collection<K> keys, @NotNull Set<K> staleKeysOfResult) {
+            Set<K> refreshKeys = refreshPolicy != null ? new LinkedHashSet<>() : null;
+            Set<K> staleKeys = refreshPolicy != null ? new HashSet<>() : null;
+            Map<K, V> map = refreshKeys != null ?
+                    binder.getAllWithRefreshKeys(keys, refreshKeys, staleKeys) :
+                    binder.getAll(keys);
             if (map.size() < keys.size()) {
-                if (binder instanceof LockedBinder<?, ?>) {
-                    LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
-                    Set<K> missedKeys = missedKeys(keys, map);
-                    try {
-                        lockedBinder.locker().locking(
-                                lockedBinder.unwrap(),
-                                missedKeys,
-                                lockedBinder.waitDuration(),
-                                lockedBinder.leaseDuration(),
-                                locked -> {
-                                    loadAllForNext(missedKeys, map, locked);
-                                }
-                        );
-                    } catch (ExecutionException ex) {
-                        throw ex;
-                    } catch (Exception ex) {
-                        throw new ExecutionException(
-                                "Failed to load missed data and update cache",
-                                ex
-                        );
-                    }
+                Set<K> missedKeys = missedKeys(keys, map);
+                if (coalescer != null) {
+                    coalescer.loadAll(flights, missedKeys, map, staleKeysOfResult, this::loadMissedKeys);
                 } else {
-                    loadAllForNext(missedKeys(keys, map), map, true);
+                    loadMissedKeys(missedKeys, map, staleKeysOfResult);
                 }
             }
+            if (refreshKeys != null && !refreshKeys.isEmpty()) {
+                refresh(refreshKeys, staleKeys, map);
+                // The stale values reloaded by current thread have been removed
+                staleKeysOfResult.addAll(staleKeys);
+            }
             return map;
         }
 
+        /**
+         * @param staleKeys The keys whose values have been stale,
+         *                  the keys reloaded by the current thread are removed from it
+         */
+        private void refresh(Set<K> keys, Set<K> staleKeys, Map<K, V> loadedMap) {
+            @SuppressWarnings("unchecked")
+            CacheLoader<K, V> backgroundLoader = (CacheLoader<K, V>) BACKGROUND_LOADER_LOCAL.get();
+            if (backgroundLoader == null) {
+                // The loader of current operation cannot be used by other threads,
+                // refreshing the values which are not stale blocks the current
+                // thread for nothing, so refresh-ahead is skipped
+                keys = new LinkedHashSet<>(staleKeys);
+            }
+            Object token = new Object();
+            Set<K> refreshingKeys = new LinkedHashSet<>();
+            for (K key : keys) {
+                // At most one reload for each key
+                if (refreshingMap.putIfAbsent(key, token) == null) {
+                    refreshingKeys.add(key);
+                }
+            }
+            if (refreshingKeys.isEmpty()) {
+                return;
+            }
+            if (backgroundLoader == null) {
+                // Reload the stale values by current thread,
+                // other threads still get the old values
+                try {
+                    staleKeys.removeAll(reload(refreshingKeys, token, loadedMap));
+                } finally {
+                    release(refreshingKeys, token);
+                }
+                return;
+            }
+            try {
+                refreshPolicy.getExecutor().execute(() -> {
+                    try {
+                        usingCacheLoading(backgroundLoader, backgroundLoader, () -> {
+                            reload(refreshingKeys, token, null);
+                            return null;
+                        });
+                    } catch (RuntimeException | Error ex) {
+                        LOGGER.warn("Failed to refresh the cached values of " + binder, ex);
+                    } finally {
+                        release(refreshingKeys, token);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                release(refreshingKeys, token);
+            }
+        }
+
+        /**
+         * @return The refreshed keys
+         */
+        private Set<K> reload(Set<K> keys, Object token, @Nullable Map<K, V> loadedMap) {
+            Set<K> staleKeysFromNext = new HashSet<>();
+            Map<K, V> mapFromNext = next.loadAllWithStaleKeys(keys, staleKeysFromNext);
+            Map<K, V> refreshedMap = new HashMap<>((keys.size() * 4 + 2) / 3);
+            for (K key : keys) {
+                // If the key is deleted during reloading, the reloaded value may be stale,
+                // and the stale value of next node must not be saved as fresh value
+                if (refreshingMap.get(key) == token && !staleKeysFromNext.contains(key)) {
+                    refreshedMap.put(key, mapFromNext.get(key));
+                }
+            }
+            if (!refreshedMap.isEmpty()) {
+                binder.setAll(refreshedMap);
+                if (loadedMap != null) {
+                    loadedMap.putAll(refreshedMap);
+                }
+            }
+            return refreshedMap.keySet();
+        }
+
+        private void release(Set<K> keys, Object token) {
+            for (K key : keys) {
+                refreshingMap.remove(key, token);
+            }
+        }
+
+        private void loadMissedKeys(Set<K> missedKeys, Map<K, V> loadedMap, Set<K> staleKeys) {
+            if (binder instanceof LockedBinder<?, ?>) {
+                LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
+                try {
+                    lockedBinder.locker().locking(
+                            lockedBinder.unwrap(),
+                            missedKeys,
+                            lockedBinder.waitDuration(),
+                            lockedBinder.leaseDuration(),
+                            locked -> {
+                                loadAllForNext(missedKeys, loadedMap, staleKeys, locked);
+                            }
+                    );
+                } catch (ExecutionException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new ExecutionException(
+                            "Failed to load missed data and update cache",
+                            ex
+                    );
+                }
+            } else {
+                loadAllForNext(missedKeys, loadedMap, staleKeys, true);
+            }
+        }
+
         @Override
         public void deleteAll(@NotNull Collection<K> keys, Object reason) {
             if (keys.isEmpty()) {
                 return;
             }
+            if (refreshingMap != null) {
+                // Discard the results of the in-flight reloads
+                for (K key : keys) {
+                    refreshingMap.remove(key);
+                }
+            }
             if (binder instanceof LockedBinder<?, ?>) {
                 LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
                 try {
@@ -206,9 +378,11 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         private void loadAllForNext(
                 Collection<K> missedKeys,
                 Map<K, V> loadedMap,
+                Set<K> staleKeys,
                 boolean updateBinder
         ) {
-            Map<K, V> mapFromNext = next.loadAll(missedKeys);
+            Set<K> staleKeysFromNext = new HashSet<>();
+            Map<K, V> mapFromNext = next.loadAllWithStaleKeys(missedKeys, staleKeysFromNext);
             if (mapFromNext.size() < missedKeys.size()) {
                 mapFromNext = new HashMap<>(mapFromNext);
                 if (updateBinder) {
@@ -220,9 +394,20 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
                 }
             }
             if (updateBinder) {
-                binder.setAll(mapFromNext);
+                if (staleKeysFromNext.isEmpty()) {
+                    binder.setAll(mapFromNext);
+                } else {
+                    // The stale values are returned but never saved as fresh values,
+                    // they are loaded from next node again after it refreshes them
+                    Map<K, V> freshMap = new HashMap<>(mapFromNext);
+                    freshMap.keySet().removeAll(staleKeysFromNext);
+                    if (!freshMap.isEmpty()) {
+                        binder.setAll(freshMap);
+                    }
+                }
             }
             loadedMap.putAll(mapFromNext);
+            staleKeys.addAll(staleKeysFromNext);
         }
     }
 
@@ -243,20 +428,35 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     protected static <R> R usingCacheLoading(
             CacheLoader<?, ?> loader,
             Supplier<R> block
+    ) {
+        return usingCacheLoading(loader, null, block);
+    }
+
+    protected static <R> R usingCacheLoading(
+            CacheLoader<?, ?> loader,
+            CacheLoader<?, ?> backgroundLoader,
+            Supplier<R> block
     ) {
         if (loader == null) {
             throw new IllegalArgumentException("loader cannot be null");
         }
         CacheLoader<?, ?> oldLoader = LOADER_LOCAL.get();
+        CacheLoader<?, ?> oldBackgroundLoader = BACKGROUND_LOADER_LOCAL.get();
         LOADER_LOCAL.set(loader);
+        BACKGROUND_LOADER_LOCAL.set(backgroundLoader);
         try {
             return block.get();
         } finally {
-            if (oldLoader != null) {
-                LOADER_LOCAL.set(oldLoader);
-            } else {
-                LOADER_LOCAL.remove();
-            }
+            restore(LOADER_LOCAL, oldLoader);
+            restore(BACKGROUND_LOADER_LOCAL, oldBackgroundLoader);
+        }
+    }
+
+    private static void restore(ThreadLocal<CacheLoader<?, ?>> local, CacheLoader<?, ?> oldLoader) {
+        if (oldLoader != null) {
+            local.set(oldLoader);
+        } else {
+            local.remove();
         }
     }
 
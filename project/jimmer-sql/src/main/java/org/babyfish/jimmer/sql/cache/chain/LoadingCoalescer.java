@@ -0,0 +1,246 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process single-flight for cache misses.
+ *
+ * <p>When some keys are missed by a binder of chain cache and
+ * other threads of the current JVM are already loading them,
+ * the current thread waits for those in-flight loads and shares
+ * their results instead of querying the next binder or database again.
+ * The keys which are not in flight are loaded by the current thread
+ * and the results are shared with other threads.</p>
+ *
+ * <p>Unlike {@link org.babyfish.jimmer.sql.cache.CacheLocker},
+ * it does not require any remote lock service, but it only
+ * coalesces the requests of the current JVM.</p>
+ *
+ * <p>One coalescer can be shared by many caches, the in-flight loads
+ * are isolated by caches and the statistics are accumulated.</p>
+ */
+public class LoadingCoalescer {
+
+    private final Duration waitDuration;
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder loadedKeyCount = new LongAdder();
+
+    private final LongAdder coalescedRequestCount = new LongAdder();
+
+    private final LongAdder coalescedKeyCount = new LongAdder();
+
+    private final LongAdder timeoutKeyCount = new LongAdder();
+
+    /**
+     * @param waitDuration The max time to wait for the in-flight loads of other threads,
+     *                     null means waiting until those loads are completed.
+     *                     The keys whose loads are not completed in time are loaded
+     *                     by the current thread.
+     */
+    public LoadingCoalescer(@Nullable Duration waitDuration) {
+        if (waitDuration != null && (waitDuration.isNegative() || waitDuration.isZero())) {
+            throw new IllegalArgumentException("waitDuration must be null or positive");
+        }
+        this.waitDuration = waitDuration;
+    }
+
+    @Nullable
+    public Duration getWaitDuration() {
+        return waitDuration;
+    }
+
+    /**
+     * The count of loads started by the current JVM, including the loads
+     * caused by timeout or the failures of other threads
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * The count of keys loaded by the loads of {@link #getLoadCount()}
+     */
+    public long getLoadedKeyCount() {
+        return loadedKeyCount.sum();
+    }
+
+    /**
+     * The count of requests which wait for the in-flight loads of other threads
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequestCount.sum();
+    }
+
+    /**
+     * The count of keys which are not loaded again because they are in flight
+     */
+    public long getCoalescedKeyCount() {
+        return coalescedKeyCount.sum();
+    }
+
+    /**
+     * The count of keys whose in-flight loads are not completed in time
+     * or failed, so that they are loaded again by the waiting threads.
+     */
+    public long getTimeoutKeyCount() {
+        return timeoutKeyCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "LoadingCoalescer{" +
+                "waitDuration=" + waitDuration +
+                ", loadCount=" + loadCount.sum() +
+                ", loadedKeyCount=" + loadedKeyCount.sum() +
+                ", coalescedRequestCount=" + coalescedRequestCount.sum() +
+                ", coalescedKeyCount=" + coalescedKeyCount.sum() +
+                ", timeoutKeyCount=" + timeoutKeyCount.sum() +
+                '}';
+    }
+
+    /**
+     * @param flights The in-flight loads of one cache node
+     * @param keys The missed keys
+     * @param loadedMap The map to accept the loaded values
+     * @param staleKeys The set to accept the keys whose loaded values are stale
+     * @param loader The loader which loads some keys, puts the values into
+     *               the map of its second argument and puts the keys of
+     *               stale values into the set of its third argument
+     */
+    <K, V> void loadAll(
+            ConcurrentMap<K, Flight<K, V>> flights,
+            Set<K> keys,
+            Map<K, V> loadedMap,
+            Set<K> staleKeys,
+            Loader<K, V> loader
+    ) {
+        Thread currentThread = Thread.currentThread();
+        Flight<K, V> ownFlight = new Flight<>(currentThread);
+        Set<K> ownKeys = new LinkedHashSet<>();
+        Map<Flight<K, V>, Set<K>> otherFlightMap = new LinkedHashMap<>();
+        for (K key : keys) {
+            Flight<K, V> flight = flights.putIfAbsent(key, ownFlight);
+            if (flight == null) {
+                ownKeys.add(key);
+            } else if (flight.owner == currentThread) {
+                // Reentrant loading by the current thread, waiting for itself causes deadlock
+                ownKeys.add(key);
+            } else {
+                otherFlightMap.computeIfAbsent(flight, it -> new LinkedHashSet<>()).add(key);
+            }
+        }
+        if (!ownKeys.isEmpty()) {
+            try {
+                Map<K, V> map = new HashMap<>();
+                Set<K> ownStaleKeys = new HashSet<>();
+                load(ownKeys, map, ownStaleKeys, loader);
+                loadedMap.putAll(map);
+                staleKeys.addAll(ownStaleKeys);
+                // Completing the future publishes the stale keys to the waiting threads
+                ownFlight.staleKeys = ownStaleKeys;
+                ownFlight.future.complete(map);
+            } catch (RuntimeException | Error ex) {
+                ownFlight.future.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                for (K key : ownKeys) {
+                    flights.remove(key, ownFlight);
+                }
+            }
+        }
+        if (!otherFlightMap.isEmpty()) {
+            Set<K> unsharedKeys = await(otherFlightMap, loadedMap, staleKeys);
+            if (!unsharedKeys.isEmpty()) {
+                timeoutKeyCount.add(unsharedKeys.size());
+                load(unsharedKeys, loadedMap, staleKeys, loader);
+            }
+        }
+    }
+
+    private <K, V> void load(
+            Set<K> keys,
+            Map<K, V> loadedMap,
+            Set<K> staleKeys,
+            Loader<K, V> loader
+    ) {
+        loadCount.increment();
+        loadedKeyCount.add(keys.size());
+        loader.load(keys, loadedMap, staleKeys);
+    }
+
+    private <K, V> Set<K> await(
+            Map<Flight<K, V>, Set<K>> flightMap,
+            Map<K, V> loadedMap,
+            Set<K> staleKeys
+    ) {
+        coalescedRequestCount.increment();
+        long deadline = waitDuration != null ?
+                System.nanoTime() + waitDuration.toNanos() :
+                0L;
+        Set<K> unsharedKeys = new LinkedHashSet<>();
+        for (Map.Entry<Flight<K, V>, Set<K>> e : flightMap.entrySet()) {
+            Set<K> keys = e.getValue();
+            Map<K, V> map;
+            try {
+                if (waitDuration != null) {
+                    map = e.getKey().future.get(
+                            Math.max(deadline - System.nanoTime(), 0L),
+                            TimeUnit.NANOSECONDS
+                    );
+                } else {
+                    map = e.getKey().future.get();
+                }
+            } catch (TimeoutException | java.util.concurrent.ExecutionException ex) {
+                // The failure of other thread may be caused by its own transaction,
+                // so the keys are loaded again by the current thread
+                unsharedKeys.addAll(keys);
+                continue;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionException(
+                        "Interrupted while waiting for the in-flight loading of cache",
+                        ex
+                );
+            }
+            coalescedKeyCount.add(keys.size());
+            Set<K> flightStaleKeys = e.getKey().staleKeys;
+            for (K key : keys) {
+                if (map.containsKey(key)) {
+                    loadedMap.put(key, map.get(key));
+                    if (flightStaleKeys.contains(key)) {
+                        staleKeys.add(key);
+                    }
+                }
+            }
+        }
+        return unsharedKeys;
+    }
+
+    interface Loader<K, V> {
+        void load(Set<K> keys, Map<K, V> loadedMap, Set<K> staleKeys);
+    }
+
+    static class Flight<K, V> {
+
+        final Thread owner;
+
+        final CompletableFuture<Map<K, V>> future = new CompletableFuture<>();
+
+        Set<K> staleKeys = Collections.emptySet();
+
+        Flight(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -3,12 +3,14 @@ package org.babyfish.jimmer.sql.cache.chain;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheLocker;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 
 class LockedSimpleBinder<K, V> implements SimpleBinder<K, V>, LockedBinder<K, V> {
 
@@ -81,6 +83,16 @@ class LockedSimpleBinder<K, V> implements SimpleBinder<K, V>, LockedBinder<K, V>
         return raw.getAll(keys);
     }
 
+    @Override
+    public Map<K, V> getAllWithRefreshKeys(Collection<K> keys, Set<K> refreshKeys, Set<K> staleKeys) {
+        return raw.getAllWithRefreshKeys(keys, refreshKeys, staleKeys);
+    }
+
+    @Override
+    public @Nullable CacheRefreshPolicy refreshPolicy() {
+        return raw.refreshPolicy();
+    }
+
     @Override
     public void setAll(Map<K, V> map) {
         raw.setAll(map);
@@ -1,14 +1,37 @@
 package org.babyfish.jimmer.sql.cache.chain;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.SortedMap;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
 
 public interface SimpleBinder<K, V> extends Binder<K> {
 
     Map<K, V> getAll(Collection<K> keys);
 
+    /**
+     * Get values and collect the keys whose values should be reloaded
+     * in background according to {@link #refreshPolicy()}.
+     *
+     * @param keys The keys to be queried
+     * @param refreshKeys The collection to accept the keys whose values
+     *                    are about to expire or have been stale
+     * @param staleKeys The collection to accept the keys whose values
+     *                  have been stale, they must be added into
+     *                  {@code refreshKeys} too
+     */
+    default Map<K, V> getAllWithRefreshKeys(Collection<K> keys, Set<K> refreshKeys, Set<K> staleKeys) {
+        return getAll(keys);
+    }
+
+    /**
+     * @return The refresh policy, null means values are never reloaded in background
+     */
+    @Nullable
+    default CacheRefreshPolicy refreshPolicy() {
+        return null;
+    }
+
     void setAll(Map<K, V> map);
 
     void deleteAll(Collection<K> keys, Object reason);
@@ -45,6 +45,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(type))
                 .add(redisValueBinder(type))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
@@ -59,6 +60,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(prop))
                 .add(redisValueBinder(prop))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
@@ -48,6 +48,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(type))
                 .add(redisValueBinder(type))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
@@ -62,6 +63,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
         return new ChainCacheBuilder<K, V>()
                 .add(caffeineValueBinder(prop))
                 .add(redisValueBinder(prop))
+                .coalesce(args().loadingCoalescer)
                 .build();
     }
 
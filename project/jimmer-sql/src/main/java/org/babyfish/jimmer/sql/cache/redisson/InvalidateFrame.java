@@ -0,0 +1,367 @@
+package org.babyfish.jimmer.sql.cache.redisson;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary frame which contains the merged invalidations
+ * of many {@link CacheTracker.InvalidateEvent}s.
+ *
+ * <pre>
+ * frame   := magic(1) version(1) flags(1) payload
+ * payload := trackerId(16) varint(entryCount) entry*
+ * entry   := string(typeName) string(propName | "") idKind(1) ids
+ * </pre>
+ *
+ * <p>Long and int ids are sorted and written as zig-zag deltas, so that
+ * the ids of bulk update which are usually continuous only take one or
+ * two bytes per id. The payload is deflated when it is not less than
+ * the compression threshold.</p>
+ */
+class InvalidateFrame {
+
+    private static final byte MAGIC = (byte) 'J';
+
+    private static final byte VERSION = 1;
+
+    private static final byte DEFLATED = 1;
+
+    private static final byte LONG_IDS = 1;
+
+    private static final byte INT_IDS = 2;
+
+    private static final byte STRING_IDS = 3;
+
+    private static final byte UUID_IDS = 4;
+
+    private static final byte JSON_IDS = 5;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final UUID trackerId;
+
+    private final List<CacheTracker.InvalidateEvent> events;
+
+    private InvalidateFrame(UUID trackerId, List<CacheTracker.InvalidateEvent> events) {
+        this.trackerId = trackerId;
+        this.events = events;
+    }
+
+    @NotNull
+    UUID getTrackerId() {
+        return trackerId;
+    }
+
+    @NotNull
+    List<CacheTracker.InvalidateEvent> getEvents() {
+        return events;
+    }
+
+    static byte[] encode(
+            UUID trackerId,
+            Collection<CacheTracker.InvalidateEvent> events,
+            int compressionThreshold
+    ) {
+        Output out = new Output();
+        out.writeFixedLong(trackerId.getMostSignificantBits());
+        out.writeFixedLong(trackerId.getLeastSignificantBits());
+        out.writeVarLong(events.size());
+        for (CacheTracker.InvalidateEvent event : events) {
+            ImmutableProp prop = event.getProp();
+            out.writeString(event.getType().toString());
+            out.writeString(prop != null ? prop.getName() : "");
+            writeIds(out, event.getType().getIdProp(), event.getIds());
+        }
+        byte[] payload = out.toByteArray();
+        boolean deflated = payload.length >= compressionThreshold;
+        if (deflated) {
+            payload = deflate(payload);
+        }
+        byte[] frame = new byte[payload.length + 3];
+        frame[0] = MAGIC;
+        frame[1] = VERSION;
+        frame[2] = deflated ? DEFLATED : 0;
+        System.arraycopy(payload, 0, frame, 3, payload.length);
+        return frame;
+    }
+
+    static InvalidateFrame decode(byte[] frame) {
+        if (frame.length < 3 || frame[0] != MAGIC) {
+            throw new SerializationException(
+                    new IllegalArgumentException("Illegal invalidation frame")
+            );
+        }
+        if (frame[1] != VERSION) {
+            throw new SerializationException(
+                    new IllegalArgumentException(
+                            "Unsupported version " + frame[1] + " of invalidation frame"
+                    )
+            );
+        }
+        byte[] payload = Arrays.copyOfRange(frame, 3, frame.length);
+        if ((frame[2] & DEFLATED) != 0) {
+            payload = inflate(payload);
+        }
+        Input in = new Input(payload);
+        UUID trackerId = new UUID(in.readFixedLong(), in.readFixedLong());
+        int entryCount = (int) in.readVarLong();
+        List<CacheTracker.InvalidateEvent> events = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            ImmutableType type = resolveType(in.readString());
+            String propName = in.readString();
+            Collection<?> ids = readIds(in, type.getIdProp());
+            if (propName.isEmpty()) {
+                events.add(new CacheTracker.InvalidateEvent(type, ids));
+            } else {
+                events.add(new CacheTracker.InvalidateEvent(type.getProp(propName), ids));
+            }
+        }
+        return new InvalidateFrame(trackerId, Collections.unmodifiableList(events));
+    }
+
+    private static void writeIds(Output out, ImmutableProp idProp, Collection<?> ids) {
+        Class<?> idClass = Classes.boxTypeOf(idProp.getReturnClass());
+        if (idClass == Long.class || idClass == Integer.class) {
+            long[] arr = new long[ids.size()];
+            int index = 0;
+            for (Object id : ids) {
+                arr[index++] = ((Number) id).longValue();
+            }
+            Arrays.sort(arr);
+            out.write(idClass == Long.class ? LONG_IDS : INT_IDS);
+            out.writeVarLong(arr.length);
+            long prev = 0;
+            for (long id : arr) {
+                out.writeZigZag(id - prev);
+                prev = id;
+            }
+        } else if (idClass == String.class) {
+            out.write(STRING_IDS);
+            out.writeVarLong(ids.size());
+            for (Object id : ids) {
+                out.writeString((String) id);
+            }
+        } else if (idClass == UUID.class) {
+            out.write(UUID_IDS);
+            out.writeVarLong(ids.size());
+            for (Object id : ids) {
+                UUID uuid = (UUID) id;
+                out.writeFixedLong(uuid.getMostSignificantBits());
+                out.writeFixedLong(uuid.getLeastSignificantBits());
+            }
+        } else {
+            out.write(JSON_IDS);
+            try {
+                out.writeBytes(MAPPER.writeValueAsBytes(ids));
+            } catch (IOException ex) {
+                throw new SerializationException(ex);
+            }
+        }
+    }
+
+    private static Collection<?> readIds(Input in, ImmutableProp idProp) {
+        byte kind = in.read();
+        switch (kind) {
+            case LONG_IDS:
+            case INT_IDS: {
+                int size = (int) in.readVarLong();
+                List<Object> ids = new ArrayList<>(size);
+                long prev = 0;
+                for (int i = 0; i < size; i++) {
+                    prev += in.readZigZag();
+                    ids.add(kind == LONG_IDS ? (Object) prev : (Object) (int) prev);
+                }
+                return ids;
+            }
+            case STRING_IDS: {
+                int size = (int) in.readVarLong();
+                List<Object> ids = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ids.add(in.readString());
+                }
+                return ids;
+            }
+            case UUID_IDS: {
+                int size = (int) in.readVarLong();
+                List<Object> ids = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ids.add(new UUID(in.readFixedLong(), in.readFixedLong()));
+                }
+                return ids;
+            }
+            case JSON_IDS: {
+                JavaType javaType = MAPPER.getTypeFactory().constructCollectionType(
+                        List.class,
+                        Classes.boxTypeOf(idProp.getReturnClass())
+                );
+                try {
+                    return MAPPER.readValue(in.readBytes(), javaType);
+                } catch (IOException ex) {
+                    throw new SerializationException(ex);
+                }
+            }
+            default:
+                throw new SerializationException(
+                        new IllegalArgumentException("Illegal id kind " + kind + " of invalidation frame")
+                );
+        }
+    }
+
+    private static ImmutableType resolveType(String typeName) {
+        Class<?> javaType;
+        try {
+            javaType = Class.forName(typeName, true, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(
+                    "Cannot resolve the type name \"" +
+                            typeName +
+                            "\""
+            );
+        }
+        return ImmutableType.get(javaType);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(bytes.length / 2 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bout, deflater)) {
+            out.write(bytes);
+        } catch (IOException ex) {
+            throw new SerializationException(ex);
+        } finally {
+            deflater.end();
+        }
+        return bout.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(bytes.length * 4);
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buf = new byte[1024];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                bout.write(buf, 0, len);
+            }
+        } catch (IOException ex) {
+            throw new SerializationException(ex);
+        }
+        return bout.toByteArray();
+    }
+
+    private static class Output extends ByteArrayOutputStream {
+
+        Output() {
+            super(256);
+        }
+
+        void write(byte b) {
+            super.write(b);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                super.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            super.write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                super.write((int) (value >>> shift));
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            super.write(bytes, 0, bytes.length);
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] bytes;
+
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte read() {
+            if (position >= bytes.length) {
+                throw new SerializationException(
+                        new IllegalArgumentException("Unexpected end of invalidation frame")
+                );
+            }
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException(
+                    new IllegalArgumentException("Malformed var-int of invalidation frame")
+            );
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            if (length < 0 || length > bytes.length - position) {
+                throw new SerializationException(
+                        new IllegalArgumentException("Unexpected end of invalidation frame")
+                );
+            }
+            byte[] arr = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return arr;
+        }
+
+        String readString() {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,22 +1,119 @@
 package org.babyfish.jimmer.sql.cache.redisson;
 
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheTracker;
+import org.jetbrains.annotations.Nullable;
+import org.redisson.api.RPatternTopic;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.listener.BaseStatusListener;
 import org.redisson.api.listener.MessageListener;
+import org.redisson.api.listener.PatternMessageListener;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class RedissonCacheTracker extends AbstractCacheTracker {
+/**
+ * Cache tracker based on redis pub/sub.
+ *
+ * <p>The tracker created by the constructor publishes one JSON message
+ * for each invalidation event.</p>
+ *
+ * <p>The tracker created by {@link #newBuilder(RedissonClient)} collects
+ * the invalidation events of a short time window, which usually covers
+ * the whole transaction of a bulk update, merges the ids by (type, prop)
+ * and publishes compact binary frames. Optionally, the frames can be
+ * published to the channels of types so that each JVM only subscribes
+ * the channels of the types it caches.</p>
+ *
+ * <p>Both kinds of trackers still accept the JSON messages published by
+ * the old trackers so that the applications can be upgraded one by one.
+ * Whenever any channel is resubscribed, the {@code ReconnectListener}s are
+ * notified so that the caches which may have missed some messages are cleared.</p>
+ */
+public class RedissonCacheTracker extends AbstractCacheTracker implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedissonCacheTracker.class);
 
     private static final String CHANNEL = "_jimmer_:invalidate";
 
+    private static final String FRAME_CHANNEL = "_jimmer_:invalidate:frame";
+
+    private static final long RETRY_DELAY_MILLIS = 1000L;
+
     private final UUID trackerId = UUID.randomUUID();
 
+    private final RedissonClient redissonClient;
+
     private final RTopic topic;
 
+    private final boolean framed;
+
+    private final long batchWindowMillis;
+
+    private final int maxBatchSize;
+
+    private final int compressionThreshold;
+
+    private final boolean sharded;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object bufferLock = new Object();
+
+    // Guarded by `bufferLock`, null prop key means object cache
+    private Map<ImmutableType, Map<ImmutableProp, Set<Object>>> bufferMap = new LinkedHashMap<>();
+
+    // Guarded by `bufferLock`
+    private int bufferedIdCount;
+
+    // Guarded by `bufferLock`
+    private boolean flushScheduled;
+
+    // Guarded by `this`
+    private RTopic frameTopic;
+
+    // Guarded by `this`
+    private RPatternTopic framePatternTopic;
+
+    // Guarded by `this`
+    private final Map<ImmutableType, RTopic> typeTopicMap = new HashMap<>();
+
     public RedissonCacheTracker(RedissonClient redissonClient) {
+        this(redissonClient, null);
+    }
+
+    private RedissonCacheTracker(RedissonClient redissonClient, Builder builder) {
+        this.redissonClient = redissonClient;
+        if (builder != null) {
+            framed = true;
+            batchWindowMillis = builder.batchWindow.toMillis();
+            maxBatchSize = builder.maxBatchSize;
+            compressionThreshold = builder.compressionThreshold;
+            sharded = builder.sharded;
+        } else {
+            framed = false;
+            batchWindowMillis = 0L;
+            maxBatchSize = 0;
+            compressionThreshold = 0;
+            sharded = false;
+        }
+        if (batchWindowMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jimmer-cache-tracker-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            scheduler = null;
+        }
         topic = redissonClient.getTopic(CHANNEL);
         topic.addListener(InvalidateMessage.class, new MessageListener<InvalidateMessage>() {
             @Override
@@ -32,16 +129,315 @@ public class RedissonCacheTracker extends AbstractCacheTracker {
                 firer().reconnect();
             }
         });
+        if (framed && !sharded) {
+            synchronized (this) {
+                frameTopic = subscribe(FRAME_CHANNEL, false);
+            }
+        }
+    }
+
+    public static Builder newBuilder(RedissonClient redissonClient) {
+        return new Builder(redissonClient);
+    }
+
+    /**
+     * Publish the buffered invalidations immediately.
+     *
+     * <p>If the publishing fails, the invalidations which have not been
+     * published are merged back into the buffer and published by the
+     * next flush, so that they are not lost.</p>
+     */
+    public void flush() {
+        Map<ImmutableType, Map<ImmutableProp, Set<Object>>> map;
+        synchronized (bufferLock) {
+            if (bufferMap.isEmpty()) {
+                return;
+            }
+            map = bufferMap;
+            bufferMap = new LinkedHashMap<>();
+            bufferedIdCount = 0;
+        }
+        try {
+            publishFrames(map);
+        } catch (RuntimeException | Error ex) {
+            restore(map);
+            throw ex;
+        }
+    }
+
+    /**
+     * Publish the buffered invalidations and stop the background flushing
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush();
     }
 
     @Override
     protected void publishInvalidationEvent(InvalidateEvent event) {
-        topic.publish(
-                new InvalidateMessage(
-                        trackerId,
-                        event
-                )
-        );
+        if (!framed) {
+            topic.publish(
+                    new InvalidateMessage(
+                            trackerId,
+                            event
+                    )
+            );
+            return;
+        }
+        boolean flushNow;
+        synchronized (bufferLock) {
+            Set<Object> ids = bufferMap
+                    .computeIfAbsent(event.getType(), it -> new LinkedHashMap<>())
+                    .computeIfAbsent(event.getProp(), it -> new LinkedHashSet<>());
+            for (Object id : event.getIds()) {
+                if (ids.add(id)) {
+                    bufferedIdCount++;
+                }
+            }
+            flushNow = scheduler == null || scheduler.isShutdown() || bufferedIdCount >= maxBatchSize;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::scheduledFlush, batchWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void onInvalidateListenerAdded(@Nullable ImmutableType type) {
+        if (!sharded) {
+            return;
+        }
+        synchronized (this) {
+            if (framePatternTopic != null) {
+                return;
+            }
+            if (type == null) {
+                // The listener cares about all types, so the pattern
+                // subscription replaces the subscriptions of types
+                framePatternTopic = redissonClient.getPatternTopic(
+                        FRAME_CHANNEL + ":*",
+                        ByteArrayCodec.INSTANCE
+                );
+                framePatternTopic.addListener(byte[].class, new PatternMessageListener<byte[]>() {
+                    @Override
+                    public void onMessage(CharSequence pattern, CharSequence channel, byte[] msg) {
+                        onFrame(msg);
+                    }
+                });
+                AtomicBoolean subscribed = new AtomicBoolean();
+                framePatternTopic.addListener(new PatternStatusListener() {
+                    @Override
+                    public void onPSubscribe(String pattern) {
+                        if (!subscribed.compareAndSet(false, true)) {
+                            firer().reconnect();
+                        }
+                    }
+                    @Override
+                    public void onPUnsubscribe(String pattern) {}
+                });
+                for (RTopic typeTopic : typeTopicMap.values()) {
+                    typeTopic.removeAllListeners();
+                }
+                typeTopicMap.clear();
+            } else if (!typeTopicMap.containsKey(type)) {
+                typeTopicMap.put(type, subscribe(channel(type), true));
+            }
+        }
+    }
+
+    private RTopic subscribe(String channel, boolean ignoreFirstSubscription) {
+        RTopic topic = redissonClient.getTopic(channel, ByteArrayCodec.INSTANCE);
+        topic.addListener(byte[].class, new MessageListener<byte[]>() {
+            @Override
+            public void onMessage(CharSequence channel, byte[] msg) {
+                onFrame(msg);
+            }
+        });
+        // The first subscription of the channel created for new listener
+        // does not cause reconnect, nothing has been cached by that listener
+        AtomicBoolean subscribed = new AtomicBoolean(!ignoreFirstSubscription);
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                if (!subscribed.compareAndSet(false, true)) {
+                    firer().reconnect();
+                }
+            }
+        });
+        return topic;
+    }
+
+    private void scheduledFlush() {
+        synchronized (bufferLock) {
+            flushScheduled = false;
+        }
+        try {
+            flush();
+        } catch (RuntimeException | Error ex) {
+            LOGGER.error(
+                    "Failed to publish the buffered cache invalidations, " +
+                            "they will be published by next flush",
+                    ex
+            );
+        }
+    }
+
+    /**
+     * Merge the invalidations failed to be published back into the buffer
+     * and schedule a retry if the background flushing is still running
+     */
+    private void restore(Map<ImmutableType, Map<ImmutableProp, Set<Object>>> map) {
+        synchronized (bufferLock) {
+            for (Map.Entry<ImmutableType, Map<ImmutableProp, Set<Object>>> e : map.entrySet()) {
+                Map<ImmutableProp, Set<Object>> propIdsMap =
+                        bufferMap.computeIfAbsent(e.getKey(), it -> new LinkedHashMap<>());
+                for (Map.Entry<ImmutableProp, Set<Object>> e2 : e.getValue().entrySet()) {
+                    Set<Object> ids = propIdsMap.computeIfAbsent(e2.getKey(), it -> new LinkedHashSet<>());
+                    for (Object id : e2.getValue()) {
+                        if (ids.add(id)) {
+                            bufferedIdCount++;
+                        }
+                    }
+                }
+            }
+            if (scheduler != null && !scheduler.isShutdown() && !flushScheduled) {
+                flushScheduled = true;
+                try {
+                    scheduler.schedule(this::scheduledFlush, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException ex) {
+                    flushScheduled = false;
+                }
+            }
+        }
+    }
+
+    private void publishFrames(Map<ImmutableType, Map<ImmutableProp, Set<Object>>> map) {
+        if (sharded) {
+            Iterator<Map.Entry<ImmutableType, Map<ImmutableProp, Set<Object>>>> itr = map.entrySet().iterator();
+            while (itr.hasNext()) {
+                Map.Entry<ImmutableType, Map<ImmutableProp, Set<Object>>> e = itr.next();
+                List<InvalidateEvent> events = new ArrayList<>();
+                addEvents(e.getKey(), e.getValue(), events);
+                redissonClient
+                        .getTopic(channel(e.getKey()), ByteArrayCodec.INSTANCE)
+                        .publish(InvalidateFrame.encode(trackerId, events, compressionThreshold));
+                // The published types are not restored if the subsequent publishing fails
+                itr.remove();
+            }
+        } else {
+            List<InvalidateEvent> events = new ArrayList<>();
+            for (Map.Entry<ImmutableType, Map<ImmutableProp, Set<Object>>> e : map.entrySet()) {
+                addEvents(e.getKey(), e.getValue(), events);
+            }
+            RTopic frameTopic;
+            synchronized (this) {
+                frameTopic = this.frameTopic;
+            }
+            frameTopic.publish(InvalidateFrame.encode(trackerId, events, compressionThreshold));
+        }
+    }
+
+    private void onFrame(byte[] msg) {
+        InvalidateFrame frame = InvalidateFrame.decode(msg);
+        if (!frame.getTrackerId().equals(trackerId)) { // "Eq" means same JVM
+            for (InvalidateEvent event : frame.getEvents()) {
+                firer().invalidate(event);
+            }
+        }
+    }
+
+    private static void addEvents(
+            ImmutableType type,
+            Map<ImmutableProp, Set<Object>> propIdsMap,
+            List<InvalidateEvent> events
+    ) {
+        for (Map.Entry<ImmutableProp, Set<Object>> e : propIdsMap.entrySet()) {
+            ImmutableProp prop = e.getKey();
+            if (prop != null) {
+                events.add(new InvalidateEvent(prop, e.getValue()));
+            } else {
+                events.add(new InvalidateEvent(type, e.getValue()));
+            }
+        }
+    }
+
+    private static String channel(ImmutableType type) {
+        return FRAME_CHANNEL + ':' + type;
     }
 
+    public static class Builder {
+
+        private final RedissonClient redissonClient;
+
+        private Duration batchWindow = Duration.ofMillis(20);
+
+        private int maxBatchSize = 10000;
+
+        private int compressionThreshold = 1024;
+
+        private boolean sharded;
+
+        Builder(RedissonClient redissonClient) {
+            this.redissonClient = Objects.requireNonNull(redissonClient, "redissonClient cannot be null");
+        }
+
+        /**
+         * The time window to collect invalidations before publishing,
+         * zero means publishing each invalidation immediately.
+         * The default value is 20 milliseconds.
+         */
+        public Builder batchWindow(Duration batchWindow) {
+            if (batchWindow == null || batchWindow.isNegative()) {
+                throw new IllegalArgumentException("batchWindow must be zero or positive");
+            }
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * When the count of collected ids reaches this value,
+         * they are published before the end of the time window.
+         * The default value is 10000.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * The frame whose payload size in bytes is not less than
+         * this value is compressed. The default value is 1024.
+         */
+        public Builder compressionThreshold(int compressionThreshold) {
+            if (compressionThreshold < 0) {
+                throw new IllegalArgumentException("compressionThreshold cannot be negative");
+            }
+            this.compressionThreshold = compressionThreshold;
+            return this;
+        }
+
+        /**
+         * Whether to publish the invalidations of each type to its own channel,
+         * so that each JVM only receives the invalidations of the types it caches.
+         *
+         * <p>All the JVMs sharing the redis must use same value.</p>
+         */
+        public Builder sharded(boolean sharded) {
+            this.sharded = sharded;
+            return this;
+        }
+
+        public RedissonCacheTracker build() {
+            return new RedissonCacheTracker(redissonClient, this);
+        }
+    }
 }
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.cache.CacheCreator;
 import org.babyfish.jimmer.sql.cache.CacheLocker;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicyProvider;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.RemoteBatchPolicy;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
+import org.babyfish.jimmer.sql.cache.chain.LoadingCoalescer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -81,6 +85,42 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         );
     }
 
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withSerializationFormat(@NotNull SerializationFormat format) {
+        return newCacheCreator(
+                new SerializationFormat_(cfg, format)
+        );
+    }
+
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withLoadingCoalescer(@Nullable LoadingCoalescer coalescer) {
+        return newCacheCreator(
+                new LoadingCoalescer_(cfg, coalescer)
+        );
+    }
+
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withRefreshPolicyProvider(@Nullable CacheRefreshPolicyProvider provider) {
+        return newCacheCreator(
+                new RefreshPolicyProvider_(cfg, provider)
+        );
+    }
+
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withRemoteBatchPolicy(@Nullable RemoteBatchPolicy policy) {
+        return newCacheCreator(
+                new RemoteBatchPolicy_(cfg, policy)
+        );
+    }
+
     @SuppressWarnings("unchecked")
     protected final <A extends Args> A args() {
         Args args = this.args;
@@ -233,6 +273,46 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         }
     }
 
+    private static class SerializationFormat_ extends Cfg {
+
+        final SerializationFormat format;
+
+        SerializationFormat_(Cfg prev, SerializationFormat format) {
+            super(prev);
+            this.format = Objects.requireNonNull(format, "format cannot be null");
+        }
+    }
+
+    private static class LoadingCoalescer_ extends Cfg {
+
+        final LoadingCoalescer coalescer;
+
+        LoadingCoalescer_(Cfg prev, LoadingCoalescer coalescer) {
+            super(prev);
+            this.coalescer = coalescer;
+        }
+    }
+
+    private static class RefreshPolicyProvider_ extends Cfg {
+
+        final CacheRefreshPolicyProvider provider;
+
+        RefreshPolicyProvider_(Cfg prev, CacheRefreshPolicyProvider provider) {
+            super(prev);
+            this.provider = provider;
+        }
+    }
+
+    private static class RemoteBatchPolicy_ extends Cfg {
+
+        final RemoteBatchPolicy policy;
+
+        RemoteBatchPolicy_(Cfg prev, RemoteBatchPolicy policy) {
+            super(prev);
+            this.policy = policy;
+        }
+    }
+
     protected static class Args {
 
         public final Duration duration;
@@ -255,6 +335,14 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         public final int multiViewLocalCacheMaximumSize;
         public final Duration multiViewLocalCacheDuration;
 
+        public final SerializationFormat serializationFormat;
+
+        public final LoadingCoalescer loadingCoalescer;
+
+        public final CacheRefreshPolicyProvider refreshPolicyProvider;
+
+        public final RemoteBatchPolicy remoteBatchPolicy;
+
         protected Args(Cfg cfg) {
 
             RemoteDuration remoteDuration = cfg.as(RemoteDuration.class);
@@ -319,6 +407,21 @@ public abstract class AbstractCacheCreator implements CacheCreator {
                                 multiViewProperties.localDuration :
                                 this.localCacheDuration;
             }
+
+            SerializationFormat_ serializationFormat_ = cfg.as(SerializationFormat_.class);
+            this.serializationFormat =
+                    serializationFormat_ != null ?
+                            serializationFormat_.format :
+                            SerializationFormat.JSON;
+
+            LoadingCoalescer_ loadingCoalescer_ = cfg.as(LoadingCoalescer_.class);
+            this.loadingCoalescer = loadingCoalescer_ != null ? loadingCoalescer_.coalescer : null;
+
+            RefreshPolicyProvider_ refreshPolicyProvider_ = cfg.as(RefreshPolicyProvider_.class);
+            this.refreshPolicyProvider = refreshPolicyProvider_ != null ? refreshPolicyProvider_.provider : null;
+
+            RemoteBatchPolicy_ remoteBatchPolicy_ = cfg.as(RemoteBatchPolicy_.class);
+            this.remoteBatchPolicy = remoteBatchPolicy_ != null ? remoteBatchPolicy_.policy : null;
         }
     }
 }
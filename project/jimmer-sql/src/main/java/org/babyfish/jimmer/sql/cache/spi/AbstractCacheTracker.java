@@ -1,7 +1,9 @@
 package org.babyfish.jimmer.sql.cache.spi;
 
 import net.bytebuddy.implementation.bytecode.Throw;
+import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -20,6 +22,15 @@ public abstract class AbstractCacheTracker implements CacheTracker {
     public void addInvalidateListener(InvalidationListener listener) {
         if (listener != null) {
             invalidationListeners.add(listener);
+            onInvalidateListenerAdded(null);
+        }
+    }
+
+    @Override
+    public void addInvalidateListener(InvalidationListener listener, ImmutableType type) {
+        if (listener != null) {
+            invalidationListeners.add(listener);
+            onInvalidateListenerAdded(type);
         }
     }
 
@@ -56,6 +67,13 @@ public abstract class AbstractCacheTracker implements CacheTracker {
 
     protected abstract void publishInvalidationEvent(InvalidateEvent event);
 
+    /**
+     * Called after an invalidation listener is added.
+     *
+     * @param type The type cared by the listener, null means all types
+     */
+    protected void onInvalidateListenerAdded(@Nullable ImmutableType type) {}
+
     private class FirerImpl implements Firer {
 
         @Override
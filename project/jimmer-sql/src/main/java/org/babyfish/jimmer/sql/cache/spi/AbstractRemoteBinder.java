@@ -5,8 +5,10 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.babyfish.jimmer.jackson.ImmutableModule;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
 import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.NotNull;
@@ -31,6 +33,16 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
 
     final ValueSerializer<V> valueSerializer;
 
+    final CacheRefreshPolicy refreshPolicy;
+
+    private final long staleMillis;
+
+    // The value whose age is not less than it should be refreshed
+    final long refreshAfterMillis;
+
+    // The value whose age is not less than it may have been stale
+    final long staleAfterMillis;
+
     AbstractRemoteBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
@@ -39,6 +51,52 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             Duration duration,
             int randomPercent
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                SerializationFormat.JSON
+        );
+    }
+
+    AbstractRemoteBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat,
+                null
+        );
+    }
+
+    AbstractRemoteBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @Nullable CacheRefreshPolicy refreshPolicy
     ) {
         super(type, prop, tracker);
         if (objectMapper != null) {
@@ -66,10 +124,25 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         long millis = duration.toMillis();
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
+        if (serializationFormat == null) {
+            serializationFormat = SerializationFormat.JSON;
+        }
         if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, objectMapper);
+            valueSerializer = ValueSerializer.of(type, objectMapper, serializationFormat);
+        } else {
+            valueSerializer = ValueSerializer.of(prop, objectMapper, serializationFormat);
+        }
+        this.refreshPolicy = refreshPolicy;
+        if (refreshPolicy != null) {
+            // The remote value is kept during the stale duration after its logical expiration,
+            // the random logical expiration is not less than `minMillis`
+            staleMillis = refreshPolicy.getStaleDuration().toMillis();
+            refreshAfterMillis = refreshPolicy.refreshAfter(Duration.ofMillis(minMills)).toMillis();
+            staleAfterMillis = minMills;
         } else {
-            valueSerializer = new ValueSerializer<>(prop, objectMapper);
+            staleMillis = 0L;
+            refreshAfterMillis = 0L;
+            staleAfterMillis = 0L;
         }
     }
 
@@ -94,7 +167,7 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
     }
 
     protected long nextExpireMillis() {
-        return ThreadLocalRandom.current().nextLong(minMills, maxMillis);
+        return ThreadLocalRandom.current().nextLong(minMills, maxMillis) + staleMillis;
     }
 
     String serializedKey(K key) {
@@ -117,6 +190,7 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         protected RemoteKeyPrefixProvider keyPrefixProvider;
         protected Duration duration = Duration.ofMinutes(30);
         protected int randomPercent = 30;
+        protected SerializationFormat serializationFormat = SerializationFormat.JSON;
 
         protected AbstractBuilder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -152,5 +226,11 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             this.randomPercent = randomPercent;
             return (B)this;
         }
+
+        @SuppressWarnings("unchecked")
+        public B serializationFormat(SerializationFormat serializationFormat) {
+            this.serializationFormat = serializationFormat;
+            return (B)this;
+        }
     }
 }
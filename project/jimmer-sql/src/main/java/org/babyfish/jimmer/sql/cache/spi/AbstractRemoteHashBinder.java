@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
 import org.babyfish.jimmer.sql.exception.SerializationException;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.Nullable;
@@ -30,6 +31,28 @@ public abstract class AbstractRemoteHashBinder<K, V>
         super(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent);
     }
 
+    protected AbstractRemoteHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat
+    ) {
+        super(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat
+        );
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
         return getAll(keys, Collections.emptySortedMap());
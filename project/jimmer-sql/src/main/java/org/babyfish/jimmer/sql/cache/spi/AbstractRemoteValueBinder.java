@@ -3,18 +3,28 @@ package org.babyfish.jimmer.sql.cache.spi;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheRefreshPolicy;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.RemoteBatchPolicy;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.SerializationFormat;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public abstract class AbstractRemoteValueBinder<K, V>
         extends AbstractRemoteBinder<K, V> {
 
+    // 0xB8 is neither ASCII nor the leading byte of UTF-8 character,
+    // and it is not the magic byte of binary format, so it never be
+    // the first byte of the value written by `ValueSerializer`
+    private static final byte TIMESTAMP_MAGIC = (byte) 0xB8;
+
+    private static final int TIMESTAMP_HEADER_SIZE = 9;
+
+    protected final RemoteBatchPolicy batchPolicy;
+
     protected AbstractRemoteValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
@@ -27,20 +37,211 @@ public abstract class AbstractRemoteValueBinder<K, V>
         super(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent);
     }
 
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat
+    ) {
+        super(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat
+        );
+    }
+
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @Nullable CacheRefreshPolicy refreshPolicy
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat,
+                refreshPolicy,
+                null
+        );
+    }
+
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable SerializationFormat serializationFormat,
+            @Nullable CacheRefreshPolicy refreshPolicy,
+            @Nullable RemoteBatchPolicy batchPolicy
+    ) {
+        super(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                keyPrefixProvider,
+                duration,
+                randomPercent,
+                serializationFormat,
+                refreshPolicy
+        );
+        this.batchPolicy = batchPolicy;
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
-        Collection<String> redisKeys = serializedKeys(keys);
-        List<byte[]> values = read(redisKeys);
-        return valueSerializer.deserialize(keys, values);
+        return valueSerializer.deserialize(keys, unwrap(readValues(keys), null));
+    }
+
+    @Override
+    public final Map<K, V> getAllWithRefreshKeys(Collection<K> keys, Set<K> refreshKeys, Set<K> staleKeys) {
+        if (refreshPolicy == null) {
+            return getAll(keys);
+        }
+        List<byte[]> values = readValues(keys);
+        long[] writeMillisArr = new long[values.size()];
+        Map<K, V> map = valueSerializer.deserialize(keys, unwrap(values, writeMillisArr));
+        long now = System.currentTimeMillis();
+        Iterator<K> itr = keys.iterator();
+        for (int i = 0; i < writeMillisArr.length && itr.hasNext(); i++) {
+            K key = itr.next();
+            long writeMillis = writeMillisArr[i];
+            // Zero means that the value does not exist or is written without timestamp
+            if (writeMillis == 0L || !map.containsKey(key)) {
+                continue;
+            }
+            long age = now - writeMillis;
+            if (age >= refreshAfterMillis) {
+                refreshKeys.add(key);
+                if (age >= staleAfterMillis) {
+                    staleKeys.add(key);
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public final CacheRefreshPolicy refreshPolicy() {
+        return refreshPolicy;
     }
 
     @Override
     public final void setAll(Map<K, V> map) {
         Map<String, byte[]> convertedMap = valueSerializer.serialize(map, this::serializedKey);
-        write(convertedMap);
+        if (refreshPolicy != null) {
+            // The write time is saved with the value so that the values to be
+            // refreshed can be known without querying their time to live
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, byte[]> e : convertedMap.entrySet()) {
+                e.setValue(wrap(e.getValue(), now));
+            }
+        }
+        if (batchPolicy != null) {
+            RemoteBatches.write(convertedMap, batchPolicy, this::writeBatch);
+        } else {
+            write(convertedMap);
+        }
     }
 
     protected abstract List<byte[]> read(Collection<String> keys);
 
     protected abstract void write(Map<String, byte[]> map);
+
+    /**
+     * Read one batch of {@link RemoteBatchPolicy}, the keys of each
+     * group belong to one hash slot if the policy is slot aware.
+     *
+     * <p>By default, each group is read by {@link #read(Collection)},
+     * the remote cache supporting pipeline should override it to
+     * read all the groups by one round trip.</p>
+     *
+     * @return The values of each group in order
+     */
+    protected List<List<byte[]>> readBatch(List<List<String>> keyGroups) {
+        List<List<byte[]>> valueGroups = new ArrayList<>(keyGroups.size());
+        for (List<String> keyGroup : keyGroups) {
+            valueGroups.add(read(keyGroup));
+        }
+        return valueGroups;
+    }
+
+    /**
+     * Write one batch of {@link RemoteBatchPolicy}, the keys of each
+     * map belong to one hash slot if the policy is slot aware.
+     *
+     * <p>By default, each map is written by {@link #write(Map)},
+     * the remote cache supporting pipeline should override it to
+     * write all the maps by one round trip.</p>
+     */
+    protected void writeBatch(List<Map<String, byte[]>> maps) {
+        for (Map<String, byte[]> map : maps) {
+            write(map);
+        }
+    }
+
+    private List<byte[]> readValues(Collection<K> keys) {
+        Collection<String> redisKeys = serializedKeys(keys);
+        if (batchPolicy != null) {
+            return RemoteBatches.read(new ArrayList<>(redisKeys), batchPolicy, this::readBatch);
+        }
+        return read(redisKeys);
+    }
+
+    private static byte[] wrap(byte[] value, long writeMillis) {
+        byte[] arr = new byte[TIMESTAMP_HEADER_SIZE + value.length];
+        arr[0] = TIMESTAMP_MAGIC;
+        for (int i = 8; i >= 1; --i) {
+            arr[i] = (byte) writeMillis;
+            writeMillis >>>= 8;
+        }
+        System.arraycopy(value, 0, arr, TIMESTAMP_HEADER_SIZE, value.length);
+        return arr;
+    }
+
+    /**
+     * Remove the write time from the values written with refresh policy,
+     * the value written without refresh policy is returned directly.
+     */
+    private static List<byte[]> unwrap(List<byte[]> values, long[] writeMillisArr) {
+        List<byte[]> unwrappedValues = new ArrayList<>(values.size());
+        int index = 0;
+        for (byte[] value : values) {
+            if (value != null && value.length >= TIMESTAMP_HEADER_SIZE && value[0] == TIMESTAMP_MAGIC) {
+                if (writeMillisArr != null) {
+                    long writeMillis = 0L;
+                    for (int i = 1; i <= 8; i++) {
+                        writeMillis = (writeMillis << 8) | (value[i] & 0xFFL);
+                    }
+                    writeMillisArr[index] = writeMillis;
+                }
+                value = Arrays.copyOfRange(value, TIMESTAMP_HEADER_SIZE, value.length);
+            }
+            unwrappedValues.add(value);
+            index++;
+        }
+        return unwrappedValues;
+    }
 }
@@ -21,7 +21,10 @@ public abstract class AbstractTrackingConsumerBinder<K> extends AbstractBinder<K
     ) {
         super(type, prop);
         if (tracker != null) {
-            tracker.addInvalidateListener(new InvalidateListenerImpl());
+            tracker.addInvalidateListener(
+                    new InvalidateListenerImpl(),
+                    type != null ? type : prop.getDeclaringType()
+            );
             tracker.addReconnectListener(new ReconnectListenerImpl());
         }
     }
@@ -0,0 +1,52 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The hash slot of redis cluster, CRC16(XMODEM) of the key
+ * or its hash tag modulo 16384.
+ */
+public final class RedisSlots {
+
+    public static final int SLOT_COUNT = 16384;
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private RedisSlots() {}
+
+    public static int slot(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int end = bytes.length;
+        // Only the first non-empty hash tag "{...}" is hashed
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '{') {
+                for (int j = i + 1; j < bytes.length; j++) {
+                    if (bytes[j] == '}') {
+                        if (j > i + 1) {
+                            start = i + 1;
+                            end = j;
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+        }
+        return crc % SLOT_COUNT;
+    }
+}
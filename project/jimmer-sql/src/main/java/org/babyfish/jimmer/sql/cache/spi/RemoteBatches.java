@@ -0,0 +1,248 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import org.babyfish.jimmer.sql.cache.RemoteBatchPolicy;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The engine of {@link RemoteBatchPolicy}
+ */
+class RemoteBatches {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteBatches.class);
+
+    private RemoteBatches() {}
+
+    /**
+     * @param keys The keys to be read
+     * @param policy The batch policy
+     * @param reader Read the values of key groups of one batch,
+     *               the keys of each group belong to one slot
+     *               if the policy is slot aware
+     * @return The values in the order of keys, the values of
+     * timeout or failed batches are null
+     */
+    static List<byte[]> read(
+            List<String> keys,
+            RemoteBatchPolicy policy,
+            Function<List<List<String>>, List<List<byte[]>>> reader
+    ) {
+        List<List<List<String>>> batches = batches(keys, policy);
+        Map<String, byte[]> valueMap = new HashMap<>((keys.size() * 4 + 2) / 3);
+        int missedKeyCount = 0;
+        if (batches.size() == 1) {
+            // The only batch is executed by current thread, the timeout
+            // is decided by the command timeout of remote cache client
+            List<List<String>> batch = batches.get(0);
+            List<List<byte[]>> valueGroups;
+            try {
+                valueGroups = reader.apply(batch);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Failed to execute the batch of remote cache", ex);
+                valueGroups = null;
+            }
+            if (valueGroups != null) {
+                collect(batch, valueGroups, valueMap);
+            } else {
+                missedKeyCount += keyCount(batch);
+            }
+        } else {
+            List<Future<List<List<byte[]>>>> futures = new ArrayList<>(batches.size());
+            for (List<List<String>> batch : batches) {
+                FutureTask<List<List<byte[]>>> task = new FutureTask<>(() -> reader.apply(batch));
+                execute(policy, task);
+                futures.add(task);
+            }
+            long deadline = deadline(policy);
+            for (int i = 0; i < batches.size(); i++) {
+                List<List<String>> batch = batches.get(i);
+                List<List<byte[]>> valueGroups = await(futures.get(i), deadline);
+                if (valueGroups != null) {
+                    collect(batch, valueGroups, valueMap);
+                } else {
+                    missedKeyCount += keyCount(batch);
+                }
+            }
+        }
+        if (missedKeyCount != 0) {
+            LOGGER.warn(
+                    "{} of {} keys are treated as cache misses because " +
+                            "their read batches are timeout or failed",
+                    missedKeyCount,
+                    keys.size()
+            );
+        }
+        List<byte[]> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(valueMap.get(key));
+        }
+        return values;
+    }
+
+    /**
+     * @param map The key/value map to be written
+     * @param policy The batch policy
+     * @param writer Write the maps of one batch,
+     *               the keys of each map belong to one slot
+     *               if the policy is slot aware
+     */
+    static void write(
+            Map<String, byte[]> map,
+            RemoteBatchPolicy policy,
+            Consumer<List<Map<String, byte[]>>> writer
+    ) {
+        List<List<List<String>>> batches = batches(map.keySet(), policy);
+        List<List<Map<String, byte[]>>> mapBatches = new ArrayList<>(batches.size());
+        for (List<List<String>> batch : batches) {
+            List<Map<String, byte[]>> maps = new ArrayList<>(batch.size());
+            for (List<String> group : batch) {
+                Map<String, byte[]> groupMap = new LinkedHashMap<>((group.size() * 4 + 2) / 3);
+                for (String key : group) {
+                    groupMap.put(key, map.get(key));
+                }
+                maps.add(groupMap);
+            }
+            mapBatches.add(maps);
+        }
+        if (mapBatches.size() == 1) {
+            try {
+                writer.accept(mapBatches.get(0));
+            } catch (RuntimeException ex) {
+                LOGGER.warn(
+                        "{} keys may not be cached because their write batch is failed",
+                        map.size(),
+                        ex
+                );
+            }
+            return;
+        }
+        List<Future<Boolean>> futures = new ArrayList<>(mapBatches.size());
+        for (List<Map<String, byte[]>> maps : mapBatches) {
+            FutureTask<Boolean> task = new FutureTask<>(() -> writer.accept(maps), Boolean.TRUE);
+            execute(policy, task);
+            futures.add(task);
+        }
+        long deadline = deadline(policy);
+        int ignoredKeyCount = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            if (await(futures.get(i), deadline) == null) {
+                ignoredKeyCount += keyCount(batches.get(i));
+            }
+        }
+        if (ignoredKeyCount != 0) {
+            LOGGER.warn(
+                    "{} of {} keys may not be cached because " +
+                            "their write batches are timeout or failed",
+                    ignoredKeyCount,
+                    map.size()
+            );
+        }
+    }
+
+    /**
+     * Split keys to batches, each batch is a list of key groups.
+     * The keys of each group belong to one slot if the policy is slot aware,
+     * and the key count of each batch is no more than max batch size.
+     */
+    static List<List<List<String>>> batches(Collection<String> keys, RemoteBatchPolicy policy) {
+        int maxBatchSize = policy.getMaxBatchSize();
+        Collection<List<String>> groups;
+        if (policy.isSlotAware()) {
+            Map<Integer, List<String>> slotMap = new TreeMap<>();
+            for (String key : keys) {
+                slotMap.computeIfAbsent(RedisSlots.slot(key), it -> new ArrayList<>()).add(key);
+            }
+            groups = slotMap.values();
+        } else {
+            groups = Collections.singletonList(new ArrayList<>(keys));
+        }
+        List<List<List<String>>> batches = new ArrayList<>();
+        List<List<String>> batch = new ArrayList<>();
+        int batchSize = 0;
+        for (List<String> group : groups) {
+            int offset = 0;
+            while (offset < group.size()) {
+                if (batchSize == maxBatchSize) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                    batchSize = 0;
+                }
+                int size = Math.min(group.size() - offset, maxBatchSize - batchSize);
+                batch.add(group.subList(offset, offset + size));
+                batchSize += size;
+                offset += size;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void execute(RemoteBatchPolicy policy, FutureTask<?> task) {
+        try {
+            policy.getExecutor().execute(task);
+        } catch (RejectedExecutionException ex) {
+            // The bounded executor is saturated, execute the batch by current thread
+            task.run();
+        }
+    }
+
+    private static long deadline(RemoteBatchPolicy policy) {
+        return policy.getTimeout() != null ?
+                System.nanoTime() + policy.getTimeout().toNanos() :
+                0L;
+    }
+
+    /**
+     * @return The result of future, or null if it is timeout or failed
+     */
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            if (deadline != 0L) {
+                return future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            }
+            return future.get();
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return null;
+        } catch (java.util.concurrent.ExecutionException ex) {
+            LOGGER.warn("Failed to execute the batch of remote cache", ex.getCause());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(
+                    "Interrupted while waiting for the batches of remote cache",
+                    ex
+            );
+        }
+    }
+
+    private static void collect(
+            List<List<String>> batch,
+            List<List<byte[]>> valueGroups,
+            Map<String, byte[]> valueMap
+    ) {
+        for (int i = 0; i < batch.size(); i++) {
+            Iterator<String> keyItr = batch.get(i).iterator();
+            Iterator<byte[]> valueItr = valueGroups.get(i).iterator();
+            while (keyItr.hasNext() && valueItr.hasNext()) {
+                valueMap.put(keyItr.next(), valueItr.next());
+            }
+        }
+    }
+
+    private static int keyCount(List<List<String>> batch) {
+        int count = 0;
+        for (List<String> group : batch) {
+            count += group.size();
+        }
+        return count;
+    }
+}
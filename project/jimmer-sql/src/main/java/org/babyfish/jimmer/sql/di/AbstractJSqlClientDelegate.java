@@ -23,6 +23,8 @@ import org.babyfish.jimmer.sql.event.binlog.BinLog;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.AdaptiveBatchSizer;
+import org.babyfish.jimmer.sql.fetcher.impl.AssociationMemo;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
@@ -41,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public abstract class AbstractJSqlClientDelegate implements JSqlClientImplementor {
 
@@ -181,6 +184,16 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().saveEntitiesCommand(entities);
     }
 
+    @Override
+    public <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Iterator<E> entities) {
+        return sqlClient().saveEntitiesCommand(entities);
+    }
+
+    @Override
+    public <E> BatchEntitySaveCommand<E> saveEntitiesCommand(Stream<E> entities) {
+        return sqlClient().saveEntitiesCommand(entities);
+    }
+
     @Override
     public <E> BatchEntitySaveCommand<E> saveInputsCommand(Iterable<? extends Input<E>> inputs) {
         return sqlClient().saveInputsCommand(inputs);
@@ -656,6 +669,51 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getMicroServiceExchange();
     }
 
+    @Override
+    public QueryReaderCache getQueryReaderCache() {
+        return sqlClient().getQueryReaderCache();
+    }
+
+    @Override
+    public java.util.concurrent.Executor getParallelFetchingExecutor() {
+        return sqlClient().getParallelFetchingExecutor();
+    }
+
+    @Override
+    public AssociationMemo getAssociationMemo() {
+        return sqlClient().getAssociationMemo();
+    }
+
+    @Override
+    public AdaptiveBatchSizer getAdaptiveBatchSizer() {
+        return sqlClient().getAdaptiveBatchSizer();
+    }
+
+    @Override
+    public int getLargeInListThreshold() {
+        return sqlClient().getLargeInListThreshold();
+    }
+
+    @Override
+    public StatementCache getStatementCache() {
+        return sqlClient().getStatementCache();
+    }
+
+    @Override
+    public java.util.concurrent.Executor getConcurrentPagingExecutor() {
+        return sqlClient().getConcurrentPagingExecutor();
+    }
+
+    @Override
+    public CountCache getCountCache() {
+        return sqlClient().getCountCache();
+    }
+
+    @Override
+    public int getMultiRowInsertBatchSize() {
+        return sqlClient().getMultiRowInsertBatchSize();
+    }
+
     @Override
     public JSqlClientImplementor caches(Consumer<CacheDisableConfig> block) {
         return sqlClient().caches(block);
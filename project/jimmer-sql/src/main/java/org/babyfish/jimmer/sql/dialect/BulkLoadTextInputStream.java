@@ -0,0 +1,186 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The text format shared by `COPY ... FROM STDIN` of PostgreSQL
+ * and `LOAD DATA` of MySQL: the columns are separated by tab,
+ * the rows are terminated by newline, null is `\N`, and
+ * the special characters are escaped by backslash.
+ *
+ * <p>The rows are encoded one by one when the driver reads
+ * the stream, so the whole payload is never held in memory.</p>
+ */
+class BulkLoadTextInputStream extends InputStream {
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private static final DateTimeFormatter OFFSET_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSxxx");
+
+    private final Iterator<List<Object>> rowItr;
+
+    private final Function<Object, String> formatter;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private byte[] buf = EMPTY_BYTES;
+
+    private int pos;
+
+    /**
+     * @param formatter Convert non-null value to text, the values must be
+     *                  checked by {@link #isSupported(List, Predicate)}
+     */
+    BulkLoadTextInputStream(List<List<Object>> rows, Function<Object, String> formatter) {
+        this.rowItr = rows.iterator();
+        this.formatter = formatter;
+    }
+
+    /**
+     * Check the values before anything is sent,
+     * so that the caller can fall back to JDBC batch
+     */
+    static boolean isSupported(List<List<Object>> rows, Predicate<Object> supported) {
+        for (List<Object> row : rows) {
+            for (Object value : row) {
+                if (value == null || value instanceof DbLiteral.DbNull) {
+                    continue;
+                }
+                if (value instanceof DbLiteral || !supported.test(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Format the temporal value which is an instant by the configured
+     * zone instead of the default zone of JVM, like the readers do.
+     *
+     * @param withOffset Whether the offset of the zone is appended
+     * @return The text, or null if the value is not an instant
+     */
+    static String instantText(Object value, ZoneId zoneId, boolean withOffset) {
+        Instant instant;
+        if (value instanceof Timestamp) {
+            instant = ((Timestamp) value).toInstant();
+        } else if (value instanceof java.util.Date &&
+                !(value instanceof java.sql.Date) &&
+                !(value instanceof java.sql.Time)) {
+            instant = ((java.util.Date) value).toInstant();
+        } else if (value instanceof Instant) {
+            instant = (Instant) value;
+        } else if (value instanceof OffsetDateTime) {
+            instant = ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            instant = ((ZonedDateTime) value).toInstant();
+        } else {
+            return null;
+        }
+        ZonedDateTime dateTime = instant.atZone(zoneId);
+        return withOffset ?
+                OFFSET_DATE_TIME_FORMATTER.format(dateTime) :
+                LOCAL_DATE_TIME_FORMATTER.format(dateTime);
+    }
+
+    static String localDateTimeText(LocalDateTime value) {
+        return LOCAL_DATE_TIME_FORMATTER.format(value);
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return buf[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int size = Math.min(len, buf.length - pos);
+        System.arraycopy(buf, pos, b, off, size);
+        pos += size;
+        return size;
+    }
+
+    @Override
+    public int available() {
+        return buf.length - pos;
+    }
+
+    private boolean fill() {
+        while (pos == buf.length) {
+            if (!rowItr.hasNext()) {
+                return false;
+            }
+            buf = encode(rowItr.next());
+            pos = 0;
+        }
+        return true;
+    }
+
+    private byte[] encode(List<Object> row) {
+        StringBuilder builder = this.builder;
+        builder.setLength(0);
+        boolean addTab = false;
+        for (Object value : row) {
+            if (addTab) {
+                builder.append('\t');
+            } else {
+                addTab = true;
+            }
+            if (value == null || value instanceof DbLiteral.DbNull) {
+                builder.append("\\N");
+            } else {
+                appendEscaped(builder, formatter.apply(value));
+            }
+        }
+        builder.append('\n');
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendEscaped(StringBuilder builder, String text) {
+        int size = text.length();
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    builder.append(c);
+                    break;
+            }
+        }
+    }
+}
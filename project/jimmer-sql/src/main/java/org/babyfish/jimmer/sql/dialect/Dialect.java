@@ -10,10 +10,13 @@ import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -54,6 +57,55 @@ public interface Dialect extends SqlTypeStrategy {
 
     default boolean isMultiInsertionSupported() { return true; }
 
+    /**
+     * Whether the ids generated by database can be fetched for all the rows
+     * of multi-row insertion `insert into ... values(...), (...)`,
+     * in the order of the rows.
+     *
+     * <p>By default, it is true only if the inserted ids are returned by
+     * `returning` clause({@link #isInsertedIdReturningRequired()}).
+     * H2, MySQL and Postgres return all the ids. SQL Server and SQLite
+     * only return the id of last row by `getGeneratedKeys()`, and Oracle
+     * does not support multi-row insertion, so they are excluded.</p>
+     */
+    default boolean isMultiInsertionIdFetchable() {
+        return isInsertedIdReturningRequired();
+    }
+
+    /**
+     * The max count of JDBC parameters of one statement,
+     * it limits the row count of multi-row insertion.
+     */
+    default int getMaxVariableCount() {
+        return 32767;
+    }
+
+    /**
+     * The SQL of the native bulk load protocol of database,
+     * such as `COPY ... FROM STDIN` of PostgreSQL.
+     *
+     * @return The SQL executed by {@link #bulkLoad(PreparedStatement, BulkLoadContext)},
+     * or null if the rows cannot be loaded in this way, for example, the JDBC driver
+     * does not support it or some values cannot be converted to text, so that the
+     * caller inserts the rows by JDBC batch.
+     */
+    @Nullable
+    default String getBulkLoadSql(BulkLoadContext ctx) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Load the rows by the statement of {@link #getBulkLoadSql(BulkLoadContext)},
+     * it is called by {@link org.babyfish.jimmer.sql.runtime.Executor} under a savepoint
+     * if the connection is in transaction.
+     *
+     * @return The loaded row count, or -1 if the rows cannot be loaded by this statement,
+     * the caller rolls back to the savepoint and inserts the rows by JDBC batch.
+     */
+    default long bulkLoad(PreparedStatement stmt, BulkLoadContext ctx) throws SQLException {
+        return -1;
+    }
+
     default boolean isArraySupported() { return false; }
 
     default boolean isAnyEqualityOfArraySupported() {
@@ -123,6 +175,49 @@ public interface Dialect extends SqlTypeStrategy {
         return 1000;
     }
 
+    /**
+     * Whether the huge tuple in-list can be bound as several array parameters,
+     * such as `(a, b) in (select * from unnest(?, ?))`
+     */
+    default boolean isTupleUnnestSupported() {
+        return false;
+    }
+
+    /**
+     * Whether the DML statements can be used as common table expressions
+     * and return the affected rows, such as
+     * `with tb_1_ as (delete from ... returning ID) delete from ... where ... in (select ID from tb_1_)`
+     *
+     * <p>If it is supported, the cascade deletion without triggers
+     * can be executed by one statement.</p>
+     */
+    default boolean isDataModifyingCteSupported() {
+        return false;
+    }
+
+    /**
+     * Get the DDL of the session-local temporary table whose primary key is composed of
+     * the `bigint` column `USAGE_ID` and the key column `KEY_VALUE`, it is used to bind
+     * huge in-list when array is not supported. `USAGE_ID` distinguishes the keys of
+     * different queries sharing one connection.
+     *
+     * <p>The DDL will be executed repeatedly, so it must be able to ignore the existing table.</p>
+     *
+     * @param tableName The table name returned by {@link #temporaryKeyTableName(String)}
+     * @param keyType The boxed jdbc type of keys, scalar provider has been applied
+     * @param sqlTypeName The sql type of the key column, such as `bigint` or `uuid`
+     * @return The DDL or null if the temporary key table is not supported
+     * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setLargeInListThreshold(int)
+     */
+    @Nullable
+    default String temporaryKeyTableDDL(String tableName, Class<?> keyType, String sqlTypeName) {
+        return null;
+    }
+
+    default String temporaryKeyTableName(String name) {
+        return name;
+    }
+
     @Override
     default String arrayTypeSuffix() {
         return "[]";
@@ -196,6 +291,26 @@ public interface Dialect extends SqlTypeStrategy {
         UpdateContext appendId();
     }
 
+    interface BulkLoadContext {
+
+        Connection getConnection();
+
+        String getTableName();
+
+        List<String> getColumnNames();
+
+        /**
+         * The JDBC values of each row, in the order of {@link #getColumnNames()}
+         */
+        List<List<Object>> getRows();
+
+        /**
+         * The zone of the temporal values,
+         * see {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setZoneId(ZoneId)}
+         */
+        ZoneId getZoneId();
+    }
+
     interface UpsertContext {
 
         boolean hasUpdatedColumns();
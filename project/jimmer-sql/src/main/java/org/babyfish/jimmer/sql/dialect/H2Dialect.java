@@ -34,6 +34,11 @@ public class H2Dialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isTupleUnnestSupported() {
+        return true;
+    }
+
     @Override
     public String arrayTypeSuffix() {
         return " array";
@@ -220,4 +225,9 @@ public class H2Dialect extends DefaultDialect {
         }
         builder.sql(")");
     }
+
+    @Override
+    public boolean isMultiInsertionIdFetchable() {
+        return true;
+    }
 }
@@ -6,8 +6,14 @@ import org.babyfish.jimmer.sql.ast.impl.ExpressionPrecedences;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.*;
@@ -15,6 +21,24 @@ import java.util.UUID;
 
 public abstract class MySqlStyleDialect extends DefaultDialect {
 
+    private static final Class<?> MYSQL_STATEMENT_CLASS;
+
+    private static final Method SET_LOCAL_INFILE_INPUT_STREAM_METHOD;
+
+    static {
+        Class<?> statementClass;
+        Method method;
+        try {
+            statementClass = Class.forName("com.mysql.cj.jdbc.JdbcStatement");
+            method = statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException ex) {
+            statementClass = null;
+            method = null;
+        }
+        MYSQL_STATEMENT_CLASS = statementClass;
+        SET_LOCAL_INFILE_INPUT_STREAM_METHOD = method;
+    }
+
     public void paginate(PaginationContext ctx) {
         ctx.origin().space().sql("limit ").variable(ctx.getOffset()).sql(", ").variable(ctx.getLimit());
     }
@@ -263,4 +287,112 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
         builder.ast(expressionAst, 0);
         builder.sql(")").sql(op);
     }
+
+    @Override
+    public String temporaryKeyTableDDL(String tableName, Class<?> keyType, String sqlTypeName) {
+        // Primary key of string requires length
+        String sqlType = keyType == String.class ? "varchar(255)" : sqlTypeName;
+        return "create temporary table if not exists " +
+                tableName +
+                "(USAGE_ID bigint not null, KEY_VALUE " +
+                sqlType +
+                " not null, primary key(USAGE_ID, KEY_VALUE))";
+    }
+
+    @Override
+    public boolean isMultiInsertionIdFetchable() {
+        return true;
+    }
+
+    /**
+     * Load the rows by `LOAD DATA LOCAL INFILE` of MySQL Connector/J,
+     * the connection property `allowLoadLocalInfile` must be true
+     * and the server variable `local_infile` must be enabled.
+     */
+    @Override
+    public String getBulkLoadSql(BulkLoadContext ctx) {
+        if (SET_LOCAL_INFILE_INPUT_STREAM_METHOD == null ||
+                !BulkLoadTextInputStream.isSupported(ctx.getRows(), MySqlStyleDialect::isBulkLoadSupported)) {
+            return null;
+        }
+        return "load data local infile 'jimmer_bulk_load' into table " +
+                ctx.getTableName() +
+                " character set utf8mb4(" +
+                String.join(", ", ctx.getColumnNames()) +
+                ")";
+    }
+
+    /**
+     * The duplicated rows are ignored by `LOAD DATA LOCAL` rather than
+     * raising error, so the loaded row count is compared with the count of
+     * rows, `SQLIntegrityConstraintViolationException` is raised if some
+     * rows are ignored, so that the caller rolls back to its savepoint
+     * and reports the duplicated rows like JDBC batch.
+     *
+     * <p>The instants are formatted as the local date time of the configured zone.</p>
+     */
+    @Override
+    public long bulkLoad(PreparedStatement stmt, BulkLoadContext ctx) throws SQLException {
+        if (!stmt.isWrapperFor(MYSQL_STATEMENT_CLASS)) {
+            return -1;
+        }
+        ZoneId zoneId = ctx.getZoneId();
+        try {
+            SET_LOCAL_INFILE_INPUT_STREAM_METHOD.invoke(
+                    stmt.unwrap(MYSQL_STATEMENT_CLASS),
+                    new BulkLoadTextInputStream(ctx.getRows(), value -> bulkLoadText(value, zoneId))
+            );
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new SQLException("Cannot set the local infile input stream of MySQL statement", ex);
+        }
+        long rowCount = stmt.executeLargeUpdate();
+        int expectedRowCount = ctx.getRows().size();
+        if (rowCount < expectedRowCount) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Only " +
+                            rowCount +
+                            " of " +
+                            expectedRowCount +
+                            " rows are loaded into the table \"" +
+                            ctx.getTableName() +
+                            "\", the duplicated rows are ignored by `LOAD DATA LOCAL`",
+                    "23000",
+                    1062
+            );
+        }
+        return rowCount;
+    }
+
+    private static boolean isBulkLoadSupported(Object value) {
+        return value instanceof Boolean ||
+                value instanceof BigDecimal ||
+                value instanceof String ||
+                value instanceof Number ||
+                value instanceof Character ||
+                value instanceof UUID ||
+                value instanceof java.util.Date ||
+                value instanceof LocalDate ||
+                value instanceof LocalTime ||
+                value instanceof LocalDateTime ||
+                value instanceof OffsetDateTime ||
+                value instanceof ZonedDateTime ||
+                value instanceof Instant;
+    }
+
+    private static String bulkLoadText(Object value, ZoneId zoneId) {
+        String instantText = BulkLoadTextInputStream.instantText(value, zoneId, false);
+        if (instantText != null) {
+            return instantText;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof LocalDateTime) {
+            return BulkLoadTextInputStream.localDateTimeText((LocalDateTime) value);
+        }
+        return value.toString();
+    }
 }
@@ -8,8 +8,11 @@ import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
+import org.postgresql.PGConnection;
 import org.postgresql.util.PGobject;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.*;
@@ -81,6 +84,16 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isTupleUnnestSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isDataModifyingCteSupported() {
+        return true;
+    }
+
     @Override
     public String arrayTypeSuffix() {
         return "[]";
@@ -174,6 +187,14 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    /**
+     * The `returning` clause returns the ids of all rows in order
+     */
+    @Override
+    public boolean isMultiInsertionIdFetchable() {
+        return true;
+    }
+
     @Override
     public boolean isUpsertSupported() {
         return true;
@@ -449,4 +470,85 @@ public class PostgresDialect extends DefaultDialect {
         builder.ast(otherAst, 0);
         builder.sql(")").sql(op);
     }
+
+    @Override
+    public String getBulkLoadSql(BulkLoadContext ctx) throws SQLException {
+        if (!ctx.getConnection().isWrapperFor(PGConnection.class) ||
+                !BulkLoadTextInputStream.isSupported(ctx.getRows(), PostgresDialect::isBulkLoadSupported)) {
+            return null;
+        }
+        return copySql(ctx);
+    }
+
+    /**
+     * The instants are formatted with the offset of the configured zone,
+     * PostgreSQL ignores the offset for the columns without time zone.
+     */
+    @Override
+    public long bulkLoad(PreparedStatement stmt, BulkLoadContext ctx) throws SQLException {
+        String sql = copySql(ctx);
+        ZoneId zoneId = ctx.getZoneId();
+        InputStream in = new BulkLoadTextInputStream(ctx.getRows(), value -> bulkLoadText(value, zoneId));
+        try {
+            return stmt.getConnection().unwrap(PGConnection.class).getCopyAPI().copyIn(sql, in);
+        } catch (IOException ex) {
+            throw new SQLException("Cannot execute \"" + sql + "\"", ex);
+        }
+    }
+
+    private static String copySql(BulkLoadContext ctx) {
+        return "copy " +
+                ctx.getTableName() +
+                "(" +
+                String.join(", ", ctx.getColumnNames()) +
+                ") from stdin";
+    }
+
+    private static boolean isBulkLoadSupported(Object value) {
+        return value instanceof Boolean ||
+                value instanceof BigDecimal ||
+                value instanceof byte[] ||
+                value instanceof PGobject ||
+                value instanceof String ||
+                value instanceof Number ||
+                value instanceof Character ||
+                value instanceof UUID ||
+                value instanceof java.util.Date ||
+                value instanceof LocalDate ||
+                value instanceof LocalTime ||
+                value instanceof LocalDateTime ||
+                value instanceof OffsetDateTime ||
+                value instanceof ZonedDateTime ||
+                value instanceof Instant;
+    }
+
+    private static String bulkLoadText(Object value, ZoneId zoneId) {
+        String instantText = BulkLoadTextInputStream.instantText(value, zoneId, true);
+        if (instantText != null) {
+            return instantText;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "t" : "f";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            StringBuilder builder = new StringBuilder(2 + bytes.length * 2);
+            builder.append("\\x");
+            for (byte b : bytes) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        }
+        if (value instanceof PGobject) {
+            return ((PGobject) value).getValue();
+        }
+        if (value instanceof LocalDateTime) {
+            return BulkLoadTextInputStream.localDateTimeText((LocalDateTime) value);
+        }
+        return value.toString();
+    }
 }
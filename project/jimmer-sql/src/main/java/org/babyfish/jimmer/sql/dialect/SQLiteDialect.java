@@ -337,4 +337,18 @@ public class SQLiteDialect extends DefaultDialect {
         }
         return Timestamp.valueOf(text);
     }
+
+    @Override
+    public String temporaryKeyTableDDL(String tableName, Class<?> keyType, String sqlTypeName) {
+        return "create temp table if not exists " +
+                tableName +
+                "(USAGE_ID bigint not null, KEY_VALUE " +
+                sqlTypeName +
+                " not null, primary key(USAGE_ID, KEY_VALUE))";
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 999;
+    }
 }
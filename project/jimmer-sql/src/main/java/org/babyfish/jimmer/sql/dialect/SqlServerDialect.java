@@ -198,4 +198,27 @@ public class SqlServerDialect extends DefaultDialect {
         builder.ast(otherAst, 0);
         builder.sql(")").sql(op);
     }
+
+    @Override
+    public String temporaryKeyTableDDL(String tableName, Class<?> keyType, String sqlTypeName) {
+        // Primary key of string requires length
+        String sqlType = keyType == String.class ? "varchar(255)" : sqlTypeName;
+        return "if object_id('tempdb.." +
+                tableName +
+                "') is null create table " +
+                tableName +
+                "(USAGE_ID bigint not null, KEY_VALUE " +
+                sqlType +
+                " not null, primary key(USAGE_ID, KEY_VALUE))";
+    }
+
+    @Override
+    public String temporaryKeyTableName(String name) {
+        return "#" + name;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 2000;
+    }
 }
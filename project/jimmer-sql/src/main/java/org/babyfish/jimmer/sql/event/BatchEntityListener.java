@@ -0,0 +1,58 @@
+package org.babyfish.jimmer.sql.event;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * The entity listener which receives the entity events
+ * of one mutation together, rather than one by one.
+ *
+ * <p>The events of the same object are coalesced, only one event
+ * whose old entity is the first old entity and whose new entity
+ * is the last new entity is delivered; if an object is inserted
+ * and then deleted by the same mutation, no event is delivered.</p>
+ *
+ * <p>Only the events fired by the mutation statements of jimmer are
+ * delivered together, the events fired by
+ * {@link Triggers#fireEntityTableChange(Object, Object, java.sql.Connection, Object)}
+ * are delivered one by one.</p>
+ *
+ * @param <E> The entity type
+ */
+public interface BatchEntityListener<E> extends EntityListener<E> {
+
+    void onChanges(List<EntityEvent<E>> events);
+
+    @Override
+    default void onChange(EntityEvent<E> e) {
+        onChanges(Collections.singletonList(e));
+    }
+
+    /**
+     * @return The executor to deliver the events asynchronously,
+     * or null to deliver them on the current thread.
+     *
+     * <p>The events of binlog triggers are received after the transaction
+     * is committed, so they are delivered by this executor immediately.
+     * The events of transaction triggers are fired before commit, they are
+     * delivered by this executor after the transaction is committed and
+     * discarded if it is rolled back. This requires that the connection
+     * manager is a {@link org.babyfish.jimmer.sql.transaction.TxConnectionManager}
+     * which supports
+     * {@link org.babyfish.jimmer.sql.transaction.TxConnectionManager#registerAfterCommit(java.sql.Connection, Runnable)},
+     * otherwise they are delivered on the mutation thread before commit,
+     * please see {@link org.babyfish.jimmer.sql.event.TriggerType}.</p>
+     *
+     * <p>If the events are delivered by this executor, the exceptions raised
+     * by this listener cannot affect the mutation or the binlog consumer, and
+     * the connection of the events should not be used because it may have
+     * been released.</p>
+     */
+    @Nullable
+    default Executor getExecutor() {
+        return null;
+    }
+}
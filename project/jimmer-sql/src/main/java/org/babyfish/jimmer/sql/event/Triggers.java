@@ -4,8 +4,10 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 
 import java.sql.Connection;
+import java.util.List;
 
 public interface Triggers {
 
@@ -49,6 +51,19 @@ public interface Triggers {
 
     void fireEntityTableChange(Object oldRow, Object newRow, Connection con, Object reason);
 
+    /**
+     * Fire the changes of entity table together,
+     * so that the instances of {@link BatchEntityListener}
+     * can receive them by one invocation.
+     *
+     * @param rowPairs The pairs of old row and new row
+     */
+    default void fireEntityTableChanges(List<Tuple2<Object, Object>> rowPairs, Connection con, Object reason) {
+        for (Tuple2<Object, Object> rowPair : rowPairs) {
+            fireEntityTableChange(rowPair.get_1(), rowPair.get_2(), con, reason);
+        }
+    }
+
     default void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con) {
         fireMiddleTableDelete(prop, sourceId, targetId, con, null);
     }
@@ -6,16 +6,19 @@ import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.event.*;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.*;
 
 public class TriggersImpl implements Triggers {
 
@@ -156,13 +159,7 @@ public class TriggersImpl implements Triggers {
         Throwable throwable = null;
         if (!listeners.isEmpty()) {
             for (EntityListener<ImmutableSpi> listener : listeners) {
-                try {
-                    listener.onChange(event);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable =ex;
-                    }
-                }
+                throwable = fireEntityEvent(listener, event, throwable);
             }
         }
         throwable = fireAssociationEventByEntityEvent(event, throwable);
@@ -174,6 +171,49 @@ public class TriggersImpl implements Triggers {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void fireEntityTableChanges(List<Tuple2<Object, Object>> rowPairs, Connection con, Object reason) {
+        Map<BatchEntityListener<ImmutableSpi>, List<EntityEvent<ImmutableSpi>>> batchMap = new LinkedHashMap<>();
+        Throwable throwable = null;
+        for (Tuple2<Object, Object> rowPair : rowPairs) {
+            Object oldRow = rowPair.get_1();
+            Object newRow = rowPair.get_2();
+            if (oldRow == null && newRow == null) {
+                continue;
+            }
+            if (oldRow != null && !(oldRow instanceof ImmutableSpi)) {
+                throw new IllegalArgumentException("oldRow must be immutable");
+            }
+            if (newRow != null && !(newRow instanceof ImmutableSpi)) {
+                throw new IllegalArgumentException("newRow must be immutable");
+            }
+            EntityEvent<ImmutableSpi> event = new EntityEvent<>((ImmutableSpi) oldRow, (ImmutableSpi) newRow, con, reason);
+            for (EntityListener<ImmutableSpi> listener : entityListeners(event.getImmutableType())) {
+                if (listener instanceof BatchEntityListener<?>) {
+                    batchMap
+                            .computeIfAbsent((BatchEntityListener<ImmutableSpi>) listener, it -> new ArrayList<>())
+                            .add(event);
+                } else {
+                    throwable = fireEntityEvent(listener, event, throwable);
+                }
+            }
+            throwable = fireAssociationEventByEntityEvent(event, throwable);
+        }
+        for (Map.Entry<BatchEntityListener<ImmutableSpi>, List<EntityEvent<ImmutableSpi>>> e : batchMap.entrySet()) {
+            List<EntityEvent<ImmutableSpi>> events = coalesce(e.getValue(), con, reason);
+            if (!events.isEmpty()) {
+                throwable = fireEntityEvents(e.getKey(), events, throwable);
+            }
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
+
     @Override
     public void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
         ImmutableProp mappedBy = prop.getMappedBy();
@@ -279,13 +319,7 @@ public class TriggersImpl implements Triggers {
             Throwable throwable = null;
             EntityEvent<ImmutableSpi> e = EntityEvent.evict(type, sourceId, con, reason);
             for (EntityListener<ImmutableSpi> listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
+                throwable = fireEntityEvent(listener, e, throwable);
             }
             throwable = fireAssociationEventByEntityEvent(e, throwable);
             if (throwable instanceof RuntimeException) {
@@ -325,6 +359,120 @@ public class TriggersImpl implements Triggers {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Throwable fireEntityEvent(
+            EntityListener<ImmutableSpi> listener,
+            EntityEvent<ImmutableSpi> event,
+            Throwable throwable
+    ) {
+        if (listener instanceof BatchEntityListener<?>) {
+            return fireEntityEvents(
+                    (BatchEntityListener<ImmutableSpi>) listener,
+                    Collections.singletonList(event),
+                    throwable
+            );
+        }
+        try {
+            listener.onChange(event);
+        } catch (RuntimeException | Error ex) {
+            if (throwable == null) {
+                throwable = ex;
+            }
+        }
+        return throwable;
+    }
+
+    private Throwable fireEntityEvents(
+            BatchEntityListener<ImmutableSpi> listener,
+            List<EntityEvent<ImmutableSpi>> events,
+            Throwable throwable
+    ) {
+        List<EntityEvent<ImmutableSpi>> unmodifiableEvents = Collections.unmodifiableList(events);
+        Executor executor = listener.getExecutor();
+        try {
+            if (executor == null) {
+                listener.onChanges(unmodifiableEvents);
+            } else if (!transaction) {
+                executor.execute(() -> listener.onChanges(unmodifiableEvents));
+            } else if (!executeAfterCommit(events.get(0).getConnection(), executor, () -> listener.onChanges(unmodifiableEvents))) {
+                // The transaction events are fired before commit, if they cannot
+                // be delivered after commit, they are delivered by current thread,
+                // otherwise the listener may see the changes which will be rolled back
+                listener.onChanges(unmodifiableEvents);
+            }
+        } catch (RuntimeException | Error ex) {
+            if (throwable == null) {
+                throwable = ex;
+            }
+        }
+        return throwable;
+    }
+
+    /**
+     * Execute the task by the executor after the transaction of the connection
+     * is committed, or immediately if the connection is not in transaction.
+     *
+     * @return Whether the task is scheduled, false means that the commit of
+     * the connection cannot be known so that the task is not executed.
+     */
+    private boolean executeAfterCommit(Connection con, Executor executor, Runnable task) {
+        if (con == null) {
+            return false;
+        }
+        Runnable dispatch = () -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run();
+            }
+        };
+        try {
+            if (con.getAutoCommit()) {
+                dispatch.run();
+                return true;
+            }
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot get the auto commit mode of connection", ex);
+        }
+        ConnectionManager connectionManager = sqlClient().getConnectionManager();
+        return connectionManager instanceof TxConnectionManager &&
+                ((TxConnectionManager) connectionManager).registerAfterCommit(con, dispatch);
+    }
+
+    /**
+     * Merge the events of same object,
+     * the old entity of the first event and
+     * the new entity of the last event are kept.
+     */
+    private static List<EntityEvent<ImmutableSpi>> coalesce(
+            List<EntityEvent<ImmutableSpi>> events,
+            Connection con,
+            Object reason
+    ) {
+        if (events.size() < 2) {
+            return events;
+        }
+        Map<Tuple2<ImmutableType, Object>, EntityEvent<ImmutableSpi>> eventMap = new LinkedHashMap<>();
+        for (EntityEvent<ImmutableSpi> event : events) {
+            Tuple2<ImmutableType, Object> key = new Tuple2<>(event.getImmutableType(), event.getId());
+            EntityEvent<ImmutableSpi> prevEvent = eventMap.get(key);
+            if (prevEvent == null) {
+                eventMap.put(key, event);
+            } else if (prevEvent.getOldEntity() == null && event.getNewEntity() == null) {
+                eventMap.remove(key);
+            } else {
+                eventMap.put(
+                        key,
+                        new EntityEvent<>(prevEvent.getOldEntity(), event.getNewEntity(), con, reason)
+                );
+            }
+        }
+        if (eventMap.size() == events.size()) {
+            return events;
+        }
+        return new ArrayList<>(eventMap.values());
+    }
+
     private List<EntityListener<ImmutableSpi>> entityListeners(ImmutableType type) {
         List<EntityListener<ImmutableSpi>> listeners = new ArrayList<>(globalEntityListeners);
         Map<ImmutableType, CopyOnWriteArrayList<EntityListener<ImmutableSpi>>> map =
@@ -0,0 +1,217 @@
+package org.babyfish.jimmer.sql.fetcher.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides the batch sizes of fetcher tasks by the observed
+ * rows-per-key and query latency of each fetch path.
+ *
+ * <p>Only the fields without explicit batch size are adapted. Cheap lookups
+ * such as many-to-one associations grow towards the max in-list size of
+ * the dialect, while heavy one-to-many/many-to-many associations shrink so
+ * that each query returns about {@link #TARGET_ROWS} rows and takes about
+ * {@link #TARGET_LATENCY_MILLIS} milliseconds.</p>
+ *
+ * <p>This sizer is disabled by default, please enable it by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setAdaptiveBatchSizeEnabled(boolean)}.
+ * The current decisions can be observed by {@link #getDecisions()}.</p>
+ */
+public class AdaptiveBatchSizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveBatchSizer.class);
+
+    public static final int TARGET_ROWS = 1024;
+
+    public static final long TARGET_LATENCY_MILLIS = 50;
+
+    private static final long TARGET_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(TARGET_LATENCY_MILLIS);
+
+    // Use default batch size until there are enough samples
+    private static final int WARM_UP_SAMPLE_COUNT = 3;
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final Map<FetchPath, Stat> statMap = new ConcurrentHashMap<>();
+
+    int batchSize(FetchPath path, int defaultSize, int maxSize) {
+        Stat stat = statMap.get(path);
+        if (stat == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        return stat.batchSize(defaultSize, maxSize);
+    }
+
+    void record(FetchPath path, int keyCount, int rowCount, long nanos, int defaultSize, int maxSize) {
+        if (keyCount < 1) {
+            return;
+        }
+        Stat stat = statMap.computeIfAbsent(path, Stat::new);
+        stat.record(keyCount, rowCount, nanos, defaultSize, maxSize);
+    }
+
+    public List<Decision> getDecisions() {
+        List<Decision> decisions = new ArrayList<>(statMap.size());
+        for (Stat stat : statMap.values()) {
+            decisions.add(stat.decision());
+        }
+        return decisions;
+    }
+
+    public void clear() {
+        statMap.clear();
+    }
+
+    private static class Stat {
+
+        private final FetchPath path;
+
+        private final Lock lock = new ReentrantLock();
+
+        private long sampleCount;
+
+        private double rowsPerKey;
+
+        private double nanosPerKey;
+
+        private int batchSize;
+
+        Stat(FetchPath path) {
+            this.path = path;
+        }
+
+        int batchSize(int defaultSize, int maxSize) {
+            lock.lock();
+            try {
+                if (batchSize == 0) {
+                    return Math.min(defaultSize, maxSize);
+                }
+                return Math.min(batchSize, maxSize);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void record(int keyCount, int rowCount, long nanos, int defaultSize, int maxSize) {
+            double currentRowsPerKey = (double) rowCount / keyCount;
+            double currentNanosPerKey = (double) nanos / keyCount;
+            int oldBatchSize;
+            int newBatchSize;
+            lock.lock();
+            try {
+                if (sampleCount++ == 0) {
+                    rowsPerKey = currentRowsPerKey;
+                    nanosPerKey = currentNanosPerKey;
+                } else {
+                    rowsPerKey += (currentRowsPerKey - rowsPerKey) * SMOOTHING_FACTOR;
+                    nanosPerKey += (currentNanosPerKey - nanosPerKey) * SMOOTHING_FACTOR;
+                }
+                if (sampleCount < WARM_UP_SAMPLE_COUNT) {
+                    return;
+                }
+                oldBatchSize = batchSize != 0 ? batchSize : Math.min(defaultSize, maxSize);
+                newBatchSize = decide(oldBatchSize, maxSize);
+                batchSize = newBatchSize;
+            } finally {
+                lock.unlock();
+            }
+            if (oldBatchSize != newBatchSize && LOGGER.isDebugEnabled()) {
+                LOGGER.debug(
+                        "The batch size of \"{}\" is changed from {} to {}",
+                        path,
+                        oldBatchSize,
+                        newBatchSize
+                );
+            }
+        }
+
+        private int decide(int oldBatchSize, int maxSize) {
+            double size = TARGET_ROWS / Math.max(rowsPerKey, 1D);
+            if (nanosPerKey > 0) {
+                size = Math.min(size, TARGET_LATENCY_NANOS / nanosPerKey);
+            }
+            // At most double or halve once, so that one abnormal query cannot shake the decision
+            size = Math.max(Math.min(size, oldBatchSize * 2D), oldBatchSize / 2D);
+            return (int) Math.max(1, Math.min(size, maxSize));
+        }
+
+        Decision decision() {
+            lock.lock();
+            try {
+                return new Decision(
+                        path.toString(),
+                        batchSize,
+                        sampleCount,
+                        rowsPerKey,
+                        nanosPerKey / 1_000_000D
+                );
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public static class Decision {
+
+        private final String path;
+
+        private final int batchSize;
+
+        private final long sampleCount;
+
+        private final double rowsPerKey;
+
+        private final double millisPerKey;
+
+        Decision(String path, int batchSize, long sampleCount, double rowsPerKey, double millisPerKey) {
+            this.path = path;
+            this.batchSize = batchSize;
+            this.sampleCount = sampleCount;
+            this.rowsPerKey = rowsPerKey;
+            this.millisPerKey = millisPerKey;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return The adapted batch size,
+         * or 0 if it is still the default batch size.
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getSampleCount() {
+            return sampleCount;
+        }
+
+        public double getRowsPerKey() {
+            return rowsPerKey;
+        }
+
+        public double getMillisPerKey() {
+            return millisPerKey;
+        }
+
+        @Override
+        public String toString() {
+            return "Decision{" +
+                    "path='" + path + '\'' +
+                    ", batchSize=" + batchSize +
+                    ", sampleCount=" + sampleCount +
+                    ", rowsPerKey=" + rowsPerKey +
+                    ", millisPerKey=" + millisPerKey +
+                    '}';
+        }
+    }
+}
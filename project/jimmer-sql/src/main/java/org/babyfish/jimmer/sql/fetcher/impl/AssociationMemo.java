@@ -0,0 +1,581 @@
+package org.babyfish.jimmer.sql.fetcher.impl;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.event.AssociationEvent;
+import org.babyfish.jimmer.sql.event.EntityEvent;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.event.Triggers;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.Field;
+import org.babyfish.jimmer.sql.filter.CacheableFilter;
+import org.babyfish.jimmer.sql.filter.Filter;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-local memo of the association values loaded by object fetchers,
+ * shared by all the requests of one sql client.
+ *
+ * <p>The {@link FetchingCache} of each request only avoids duplicated loading
+ * inside that request, this memo lets the next requests reuse the loaded
+ * association values until they are evicted by size, expired by duration,
+ * or invalidated by the entity/association events of {@link Triggers}.</p>
+ *
+ * <p>Like the association cache, a field is memoized only when it has no
+ * field filter, no limit/offset, no recursion, and its global filter is
+ * either absent or a {@link CacheableFilter} whose parameters become part of
+ * the key. The child fetcher must be simple so that the memoized objects are
+ * fully loaded and never modified by later fetcher tasks. Nothing is read
+ * from or written into this memo when the current connection is in transaction.</p>
+ *
+ * <p>This memo is disabled by default, please enable it by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setAssociationMemoEnabled(boolean)}.
+ * If the database can be modified without triggers, for example,
+ * the trigger type is `BINLOG_ONLY` but binlog is not connected, the
+ * memoized values may be stale within the configured duration.</p>
+ *
+ * <p>The entries are indexed by the source key and the ids of the memoized
+ * target objects, so each event only evicts the affected entries. The events
+ * of transaction triggers are raised before commit, the affected keys and
+ * target ids are also remembered for the configured duration and the values
+ * loaded for them are not memoized again within that period, so that a
+ * concurrent request cannot re-memoize the value read before commit.</p>
+ */
+public class AssociationMemo {
+
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    public static final Duration DEFAULT_DURATION = Duration.ofMinutes(1);
+
+    private final int maxSize;
+
+    private final long durationNanos;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Map<Key, Entry> entryMap;
+
+    private final Map<ImmutableProp, Map<Object, Set<Key>>> sourceIndexMap = new HashMap<>();
+
+    private final Map<ImmutableType, Map<Object, Set<Key>>> targetIndexMap = new HashMap<>();
+
+    private final Map<ImmutableType, Set<ImmutableProp>> filteredPropMap = new HashMap<>();
+
+    // Insertion order is also the expiration order
+    private final Map<Mark, Long> tombstoneMap = new LinkedHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public AssociationMemo(int maxSize, Duration duration) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("`maxSize` must be greater than 0");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("`duration` must be positive");
+        }
+        this.maxSize = maxSize;
+        this.durationNanos = duration.toNanos();
+        this.entryMap = new LinkedHashMap<Key, Entry>((maxSize * 4 + 2) / 3, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > AssociationMemo.this.maxSize) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public void initialize(JSqlClientImplementor sqlClient) {
+        Triggers triggers = sqlClient.getTriggers();
+        triggers.addEntityListener(this::onEntityChange);
+        triggers.addAssociationListener(this::onAssociationChange);
+        if (sqlClient.getTriggerType() == TriggerType.BOTH) {
+            Triggers transactionTriggers = sqlClient.getTriggers(true);
+            transactionTriggers.addEntityListener(this::onEntityChange);
+            transactionTriggers.addAssociationListener(this::onAssociationChange);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entryMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entryMap.clear();
+            sourceIndexMap.clear();
+            targetIndexMap.clear();
+            tombstoneMap.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The scope of the field in current request,
+     * or null if this field cannot be memoized.
+     */
+    Scope scope(JSqlClientImplementor sqlClient, Field field) {
+        ImmutableProp prop = field.getProp();
+        if (!prop.isAssociation(TargetLevel.PERSISTENT) || prop.isRemote()) {
+            return null;
+        }
+        if (field.getFilter() != null ||
+                field.getLimit() != Integer.MAX_VALUE ||
+                field.getOffset() != 0 ||
+                field.getRecursionStrategy() != null) {
+            return null;
+        }
+        Fetcher<?> childFetcher = field.getChildFetcher();
+        if (childFetcher != null && (
+                !((FetcherImplementor<?>) childFetcher).__isSimpleFetcher() ||
+                        FetcherUtil.hasReferenceFilter(childFetcher.getImmutableType(), sqlClient))
+        ) {
+            return null;
+        }
+        Filter<?> filter = sqlClient.getFilters().getTargetFilter(prop);
+        Map<String, Object> parameters = null;
+        if (filter instanceof CacheableFilter<?>) {
+            parameters = ((CacheableFilter<?>) filter).getParameters();
+        } else if (filter != null) {
+            return null;
+        }
+        return new Scope(field, filter, parameters);
+    }
+
+    Object get(Scope scope, Object key) {
+        Key memoKey = new Key(scope, key);
+        Object value = null;
+        lock.lock();
+        try {
+            Entry entry = entryMap.get(memoKey);
+            if (entry != null) {
+                if (entry.expiredTime - System.nanoTime() > 0) {
+                    value = entry.value;
+                } else {
+                    remove(memoKey);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (value != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    void put(Scope scope, Object key, Object value) {
+        if (!isResolved(value)) {
+            return;
+        }
+        Key memoKey = new Key(scope, key);
+        List<Mark> targets = targets(value);
+        long now = System.nanoTime();
+        Entry entry = new Entry(value, now + durationNanos, targets);
+        ImmutableProp prop = scope.field.getProp();
+        lock.lock();
+        try {
+            if (!tombstoneMap.isEmpty()) {
+                purgeTombstones(now);
+                if (tombstoneMap.containsKey(new Mark(prop, null)) ||
+                        tombstoneMap.containsKey(new Mark(prop, key))) {
+                    return;
+                }
+                for (Mark target : targets) {
+                    if (tombstoneMap.containsKey(target)) {
+                        return;
+                    }
+                }
+            }
+            remove(memoKey);
+            entryMap.put(memoKey, entry);
+            index(sourceIndexMap, prop, key, memoKey);
+            for (Mark target : targets) {
+                index(targetIndexMap, (ImmutableType) target.owner, target.id, memoKey);
+            }
+            if (scope.filter != null) {
+                filteredPropMap
+                        .computeIfAbsent(prop.getTargetType(), it -> new LinkedHashSet<>())
+                        .add(prop);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onEntityChange(EntityEvent<?> e) {
+        ImmutableType type = e.getImmutableType();
+        boolean inTransaction = e.getConnection() != null;
+        lock.lock();
+        try {
+            evictTarget(type, e.getId(), inTransaction);
+            for (ImmutableProp prop : type.getProps().values()) {
+                ImmutableProp inverseProp = prop.getOpposite();
+                if (inverseProp == null ||
+                        !prop.isColumnDefinition() ||
+                        !prop.isReference(TargetLevel.PERSISTENT)) {
+                    continue;
+                }
+                // The parent objects whose inverse list contains/contained current object
+                if (e.isEvict()) {
+                    evictProp(inverseProp, inTransaction);
+                    continue;
+                }
+                Object oldEntity = e.getOldEntity();
+                Object newEntity = e.getNewEntity();
+                if (!isParentLoaded(oldEntity, prop) || !isParentLoaded(newEntity, prop)) {
+                    evictProp(inverseProp, inTransaction);
+                    continue;
+                }
+                Object oldParentId = parentId(oldEntity, prop);
+                Object newParentId = parentId(newEntity, prop);
+                if (oldParentId != null) {
+                    evictSource(inverseProp, oldParentId, inTransaction);
+                }
+                if (newParentId != null && !newParentId.equals(oldParentId)) {
+                    evictSource(inverseProp, newParentId, inTransaction);
+                }
+            }
+            // The visibility of objects filtered by global filters may be changed
+            for (Map.Entry<ImmutableType, Set<ImmutableProp>> mapEntry : filteredPropMap.entrySet()) {
+                ImmutableType targetType = mapEntry.getKey();
+                if (targetType.isAssignableFrom(type) || type.isAssignableFrom(targetType)) {
+                    for (ImmutableProp filteredProp : mapEntry.getValue()) {
+                        evictProp(filteredProp, inTransaction);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAssociationChange(AssociationEvent e) {
+        ImmutableProp changedProp = e.getImmutableProp();
+        ImmutableProp oppositeProp = changedProp.getOpposite();
+        boolean inTransaction = e.getConnection() != null;
+        lock.lock();
+        try {
+            evictSource(changedProp, e.getSourceId(), inTransaction);
+            if (oppositeProp != null) {
+                if (e.getDetachedTargetId() != null) {
+                    evictSource(oppositeProp, e.getDetachedTargetId(), inTransaction);
+                }
+                if (e.getAttachedTargetId() != null) {
+                    evictSource(oppositeProp, e.getAttachedTargetId(), inTransaction);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictSource(ImmutableProp prop, Object key, boolean inTransaction) {
+        Map<Object, Set<Key>> keyMap = sourceIndexMap.get(prop);
+        Set<Key> keys = keyMap != null ? keyMap.get(key) : null;
+        if (keys != null) {
+            removeAll(keys);
+        }
+        if (inTransaction) {
+            addTombstone(new Mark(prop, key));
+        }
+    }
+
+    private void evictProp(ImmutableProp prop, boolean inTransaction) {
+        Map<Object, Set<Key>> keyMap = sourceIndexMap.get(prop);
+        if (keyMap != null) {
+            for (Set<Key> keys : new ArrayList<>(keyMap.values())) {
+                removeAll(keys);
+            }
+        }
+        if (inTransaction) {
+            addTombstone(new Mark(prop, null));
+        }
+    }
+
+    private void evictTarget(ImmutableType type, Object id, boolean inTransaction) {
+        Map<Object, Set<Key>> keyMap = targetIndexMap.get(type);
+        Set<Key> keys = keyMap != null ? keyMap.get(id) : null;
+        if (keys != null) {
+            removeAll(keys);
+        }
+        if (inTransaction) {
+            addTombstone(new Mark(type, id));
+        }
+    }
+
+    private void removeAll(Set<Key> keys) {
+        // Copy it because `remove` modifies the index
+        for (Key key : keys.toArray(new Key[0])) {
+            remove(key);
+        }
+    }
+
+    private void remove(Key key) {
+        Entry entry = entryMap.remove(key);
+        if (entry != null) {
+            unindex(key, entry);
+        }
+    }
+
+    private void unindex(Key key, Entry entry) {
+        unindex(sourceIndexMap, key.scope.field.getProp(), key.raw, key);
+        for (Mark target : entry.targets) {
+            unindex(targetIndexMap, (ImmutableType) target.owner, target.id, key);
+        }
+    }
+
+    private void addTombstone(Mark mark) {
+        long now = System.nanoTime();
+        purgeTombstones(now);
+        tombstoneMap.remove(mark);
+        tombstoneMap.put(mark, now + durationNanos);
+    }
+
+    private void purgeTombstones(long now) {
+        Iterator<Long> itr = tombstoneMap.values().iterator();
+        while (itr.hasNext() && itr.next() - now <= 0) {
+            itr.remove();
+        }
+    }
+
+    private static <O> void index(Map<O, Map<Object, Set<Key>>> indexMap, O owner, Object id, Key key) {
+        indexMap
+                .computeIfAbsent(owner, it -> new HashMap<>())
+                .computeIfAbsent(id, it -> new HashSet<>())
+                .add(key);
+    }
+
+    private static <O> void unindex(Map<O, Map<Object, Set<Key>>> indexMap, O owner, Object id, Key key) {
+        Map<Object, Set<Key>> keyMap = indexMap.get(owner);
+        if (keyMap == null) {
+            return;
+        }
+        Set<Key> keys = keyMap.get(id);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keyMap.remove(id);
+            if (keyMap.isEmpty()) {
+                indexMap.remove(owner);
+            }
+        }
+    }
+
+    private static List<Mark> targets(Object value) {
+        if (value instanceof ImmutableSpi) {
+            return Collections.singletonList(target((ImmutableSpi) value));
+        }
+        if (value instanceof List<?>) {
+            List<?> list = (List<?>) value;
+            List<Mark> targets = new ArrayList<>(list.size());
+            for (Object e : list) {
+                if (e instanceof ImmutableSpi) {
+                    targets.add(target((ImmutableSpi) e));
+                }
+            }
+            return targets;
+        }
+        return Collections.emptyList();
+    }
+
+    private static Mark target(ImmutableSpi spi) {
+        ImmutableType type = spi.__type();
+        return new Mark(type, spi.__get(type.getIdProp().getId()));
+    }
+
+    private static boolean isParentLoaded(Object entity, ImmutableProp prop) {
+        return entity == null || ((ImmutableSpi) entity).__isLoaded(prop.getId());
+    }
+
+    private static Object parentId(Object entity, ImmutableProp prop) {
+        if (entity == null) {
+            return null;
+        }
+        ImmutableSpi parent = (ImmutableSpi) ((ImmutableSpi) entity).__get(prop.getId());
+        if (parent == null) {
+            return null;
+        }
+        PropId parentIdPropId = prop.getTargetType().getIdProp().getId();
+        return parent.__get(parentIdPropId);
+    }
+
+    private static boolean isResolved(Object value) {
+        if (value instanceof DraftSpi) {
+            return false;
+        }
+        if (value instanceof List<?>) {
+            for (Object e : (List<?>) value) {
+                if (e instanceof DraftSpi) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "AssociationMemo{" +
+                "maxSize=" + maxSize +
+                ", duration=" + getDuration() +
+                ", size=" + size() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                '}';
+    }
+
+    static class Scope {
+
+        final Field field;
+
+        final Filter<?> filter;
+
+        private final Map<String, Object> parameters;
+
+        private final int hash;
+
+        private Scope(Field field, Filter<?> filter, Map<String, Object> parameters) {
+            this.field = field.resolveRecursion();
+            this.filter = filter;
+            this.parameters = parameters != null && !parameters.isEmpty() ?
+                    new TreeMap<>(parameters) :
+                    null;
+            int h = this.field.hashCode();
+            h = h * 31 + System.identityHashCode(filter);
+            h = h * 31 + Objects.hashCode(this.parameters);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Scope other = (Scope) o;
+            return hash == other.hash &&
+                    filter == other.filter &&
+                    field.equals(other.field) &&
+                    Objects.equals(parameters, other.parameters);
+        }
+
+        @Override
+        public String toString() {
+            return "Scope{" +
+                    "field=" + field +
+                    ", filter=" + filter +
+                    ", parameters=" + parameters +
+                    '}';
+        }
+    }
+
+    private static class Key {
+
+        final Scope scope;
+
+        final Object raw;
+
+        Key(Scope scope, Object raw) {
+            this.scope = scope;
+            this.raw = raw;
+        }
+
+        @Override
+        public int hashCode() {
+            return scope.hash * 31 + raw.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return scope.equals(other.scope) && raw.equals(other.raw);
+        }
+    }
+
+    private static class Entry {
+
+        final Object value;
+
+        final long expiredTime;
+
+        final List<Mark> targets;
+
+        Entry(Object value, long expiredTime, List<Mark> targets) {
+            this.value = value;
+            this.expiredTime = expiredTime;
+            this.targets = targets;
+        }
+    }
+
+    /**
+     * The source key of a prop, the whole prop(id is null),
+     * or the id of a target type
+     */
+    private static class Mark {
+
+        final Object owner;
+
+        final Object id;
+
+        Mark(Object owner, Object id) {
+            this.owner = owner;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return owner.hashCode() * 31 + Objects.hashCode(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Mark other = (Mark) o;
+            return owner.equals(other.owner) && Objects.equals(id, other.id);
+        }
+    }
+}
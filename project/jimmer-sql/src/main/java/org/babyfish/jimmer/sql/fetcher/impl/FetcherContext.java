@@ -5,22 +5,39 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 
 class FetcherContext {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(FetcherContext.class);
+
     private static final ThreadLocal<FetcherContext> FETCHER_CONTEXT_LOCAL = new ThreadLocal<>();
 
+    /*
+     * Marks the threads which are loading data for parallel fetcher tasks,
+     * the fetcher contexts created by them are always executed sequentially
+     * so that the parallel executor is never waited by its own worker threads.
+     */
+    private static final ThreadLocal<Boolean> PARALLEL_WORKER_LOCAL = new ThreadLocal<>();
+
     private final JSqlClientImplementor sqlClient;
 
     private final Connection con;
 
-    private final FetchingCache cache = new FetchingCache();
+    private final FetchingCache cache;
 
     private final Map<FetchedField, FetcherTask> taskMap = new LinkedHashMap<>();
 
@@ -46,6 +63,12 @@ class FetcherContext {
     private FetcherContext(JSqlClientImplementor sqlClient, Connection con) {
         this.sqlClient = sqlClient;
         this.con = con;
+        AssociationMemo memo = sqlClient.getAssociationMemo();
+        if (memo != null && isInTransaction()) {
+            // The uncommitted data of current transaction cannot be shared with other requests
+            memo = null;
+        }
+        this.cache = new FetchingCache(sqlClient, memo);
     }
 
     public void addAll(FetchPath path, Fetcher<?> fetcher, Collection<@Nullable DraftSpi> drafts) {
@@ -124,6 +147,11 @@ class FetcherContext {
     }
 
     public void execute() {
+        Executor executor = parallelExecutor();
+        if (executor != null) {
+            executeInParallel(executor);
+            return;
+        }
         while (!taskMap.isEmpty()) {
             Iterator<Map.Entry<FetchedField, FetcherTask>> itr = taskMap.entrySet().iterator();
             Map.Entry<FetchedField, FetcherTask> e = itr.next();
@@ -133,6 +161,112 @@ class FetcherContext {
         }
     }
 
+    /**
+     * Execute the independent sibling tasks concurrently.
+     *
+     * <p>In each round, every task takes its next batch, one batch is loaded
+     * by the current thread with the current connection and the others are
+     * loaded by the parallel executor with their own connections. After all
+     * the batches are loaded, they are completed by the current thread, so
+     * the child tasks created by them are always executed by later rounds.</p>
+     */
+    private void executeInParallel(Executor executor) {
+        while (!taskMap.isEmpty()) {
+            List<FetcherTask.Batch> batches = new ArrayList<>(taskMap.size());
+            for (FetcherTask task : new ArrayList<>(taskMap.values())) {
+                FetcherTask.Batch batch = task.nextBatch();
+                if (batch != null) {
+                    batches.add(batch);
+                }
+            }
+            loadBatches(batches, executor);
+            for (FetcherTask.Batch batch : batches) {
+                batch.complete();
+            }
+            taskMap.values().removeIf(FetcherTask::isCompleted);
+        }
+    }
+
+    private void loadBatches(List<FetcherTask.Batch> batches, Executor executor) {
+        int size = batches.size();
+        if (size == 0) {
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(size - 1);
+        ConnectionManager connectionManager = sqlClient.getSlaveConnectionManager(false);
+        for (FetcherTask.Batch batch : batches.subList(1, size)) {
+            futures.add(
+                    CompletableFuture.runAsync(() -> {
+                        PARALLEL_WORKER_LOCAL.set(Boolean.TRUE);
+                        try {
+                            connectionManager.execute(null, newCon -> {
+                                batch.load(newCon);
+                                return null;
+                            });
+                        } finally {
+                            PARALLEL_WORKER_LOCAL.remove();
+                        }
+                    }, executor)
+            );
+        }
+        RuntimeException exception = null;
+        try {
+            batches.get(0).load(con);
+        } catch (RuntimeException ex) {
+            exception = ex;
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException ex) {
+                if (exception == null) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        exception = (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        exception = new ExecutionException(
+                                "Failed to load data by parallel fetcher task",
+                                cause
+                        );
+                    }
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Nullable
+    private Executor parallelExecutor() {
+        Executor executor = sqlClient.getParallelFetchingExecutor();
+        if (executor == null || PARALLEL_WORKER_LOCAL.get() != null) {
+            return null;
+        }
+        if (sqlClient.getSlaveConnectionManager(false) == ConnectionManager.EXTERNAL_ONLY) {
+            return null;
+        }
+        if (isInTransaction()) {
+            // Other connections cannot see the uncommitted data of current transaction
+            LOGGER.debug("Parallel fetching is ignored because the current connection is in transaction");
+            return null;
+        }
+        return executor;
+    }
+
+    private boolean isInTransaction() {
+        try {
+            return !con.getAutoCommit();
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot determine whether the current connection is in transaction",
+                    ex
+            );
+        }
+    }
+
     private static class FetchedField {
 
         final FetchPath path;
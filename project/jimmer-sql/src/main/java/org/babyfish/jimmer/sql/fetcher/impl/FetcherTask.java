@@ -8,6 +8,7 @@ import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.ast.impl.util.IdCollections;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
@@ -25,11 +26,17 @@ class FetcherTask {
 
     private final Field field;
 
-    private final int batchSize;
+    private final int fixedBatchSize;
+
+    private final Connection con;
+
+    private final FetchPath path;
+
+    private final FetchPath fieldPath;
 
     private final DataLoader dataLoader;
 
-    private Map<Object, TaskData> pendingMap = new LinkedHashMap<>();
+    private Map<Object, TaskData> pendingMap;
 
     public FetcherTask(
             FetchingCache cache,
@@ -41,7 +48,11 @@ class FetcherTask {
         this.cache = cache;
         this.sqlClient = sqlClient;
         this.field = field;
-        this.batchSize = determineBatchSize();
+        this.con = con;
+        this.path = path;
+        this.fieldPath = FetchPath.of(path, field.getProp());
+        this.fixedBatchSize = field.getBatchSize();
+        this.pendingMap = newKeyMap(8);
         this.dataLoader = new DataLoader(sqlClient, con, path, field);
     }
 
@@ -66,9 +77,30 @@ class FetcherTask {
     }
 
     public boolean execute() {
+        Batch batch = nextBatch();
+        if (batch != null) {
+            batch.load(null);
+            batch.complete();
+        }
+        return pendingMap.isEmpty();
+    }
+
+    public boolean isCompleted() {
+        return pendingMap.isEmpty();
+    }
+
+    /**
+     * Take the next batch of pending keys, the keys which have been
+     * cached are resolved immediately.
+     *
+     * @return The batch must be loaded from database,
+     * or null if there is nothing to load.
+     */
+    public Batch nextBatch() {
         if (pendingMap.isEmpty()) {
-            return true;
+            return null;
         }
+        int batchSize = batchSize();
         Map<Object, TaskData> handledMap;
         if (pendingMap.size() > batchSize) {
             Iterator<Map.Entry<Object, TaskData>> itr =
@@ -78,7 +110,7 @@ class FetcherTask {
                 handledMap = Collections.singletonMap(e.getKey(), e.getValue());
                 itr.remove();
             } else {
-                handledMap = new LinkedHashMap<>((batchSize * 4 + 2) / 3);
+                handledMap = newKeyMap(batchSize);
                 for (int i = batchSize; i > 0; --i) {
                     Map.Entry<Object, TaskData> e = itr.next();
                     handledMap.put(e.getKey(), e.getValue());
@@ -87,7 +119,7 @@ class FetcherTask {
             }
         } else {
             handledMap = this.pendingMap;
-            pendingMap = new LinkedHashMap<>();
+            pendingMap = newKeyMap(8);
         }
         Iterator<Map.Entry<Object, TaskData>> handledEntryItr =
                 handledMap.entrySet().iterator();
@@ -102,21 +134,10 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
-            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
-                TaskData taskData = e.getValue();
-                Object value = loadedMap.get(taskData.getDrafts().get(0));
-                afterLoad(taskData, value, true);
-            }
+        if (handledMap.isEmpty()) {
+            return null;
         }
-        return pendingMap.isEmpty();
+        return new Batch(handledMap);
     }
 
     private boolean isLoaded(DraftSpi draft) {
@@ -188,15 +209,57 @@ class FetcherTask {
         }
     }
 
-    private int determineBatchSize() {
-        int size = field.getBatchSize();
-        if (size == 0) {
-            if (field.getProp().isReferenceList(TargetLevel.PERSISTENT)) {
-                return sqlClient.getDefaultListBatchSize();
+    /*
+     * The keys are ids of owners unless the property is based on foreign key,
+     * so primitive-specialized map can be used for `long`/`int` ids
+     */
+    private Map<Object, TaskData> newKeyMap(int capacity) {
+        ImmutableProp prop = field.getProp();
+        if (prop.isColumnDefinition()) {
+            return new LinkedHashMap<>((capacity * 4 + 2) / 3);
+        }
+        return IdCollections.newIdMap(field.getEntityType(), capacity);
+    }
+
+    private int batchSize() {
+        if (fixedBatchSize != 0) {
+            return fixedBatchSize;
+        }
+        AdaptiveBatchSizer sizer = sqlClient.getAdaptiveBatchSizer();
+        if (sizer == null) {
+            return defaultBatchSize();
+        }
+        return sizer.batchSize(fieldPath, defaultBatchSize(), sqlClient.getDialect().getMaxInListSize());
+    }
+
+    private int defaultBatchSize() {
+        if (field.getProp().isReferenceList(TargetLevel.PERSISTENT)) {
+            return sqlClient.getDefaultListBatchSize();
+        }
+        return sqlClient.getDefaultBatchSize();
+    }
+
+    private void recordBatch(int keyCount, Map<ImmutableSpi, ?> loadedMap, long nanos) {
+        AdaptiveBatchSizer sizer = sqlClient.getAdaptiveBatchSizer();
+        if (sizer == null || fixedBatchSize != 0) {
+            return;
+        }
+        int rowCount = 0;
+        for (Object value : loadedMap.values()) {
+            if (value instanceof List<?>) {
+                rowCount += ((List<?>) value).size();
+            } else if (value != null) {
+                rowCount++;
             }
-            return sqlClient.getDefaultBatchSize();
         }
-        return size;
+        sizer.record(
+                fieldPath,
+                keyCount,
+                rowCount,
+                nanos,
+                defaultBatchSize(),
+                sqlClient.getDialect().getMaxInListSize()
+        );
     }
 
     private void setDraftProp(DraftSpi draft, Object value, Field field) {
@@ -230,6 +293,52 @@ class FetcherTask {
         }
     }
 
+    /**
+     * A batch of keys which must be loaded from database.
+     *
+     * <p>{@link #load(Connection)} only reads the source objects so that it can
+     * be executed by other threads with other connections, however,
+     * {@link #complete()} modifies the drafts and the fetching cache so that it
+     * must be executed by the thread which owns the fetcher context.</p>
+     */
+    class Batch {
+
+        private final Map<Object, TaskData> handledMap;
+
+        private Map<ImmutableSpi, ?> loadedMap;
+
+        private Batch(Map<Object, TaskData> handledMap) {
+            this.handledMap = handledMap;
+        }
+
+        public void load(Connection con) {
+            DataLoader dataLoader = con == null || con == FetcherTask.this.con ?
+                    FetcherTask.this.dataLoader :
+                    new DataLoader(sqlClient, con, path, field);
+            long start = System.nanoTime();
+            loadedMap = dataLoader.load(
+                    handledMap
+                            .values()
+                            .stream()
+                            .map(it -> it.getDrafts().get(0))
+                            .collect(Collectors.toList())
+            );
+            recordBatch(handledMap.size(), loadedMap, System.nanoTime() - start);
+        }
+
+        public void complete() {
+            Map<ImmutableSpi, ?> loadedMap = this.loadedMap;
+            if (loadedMap == null) {
+                throw new IllegalStateException("The batch has not been loaded");
+            }
+            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
+                TaskData taskData = e.getValue();
+                Object value = loadedMap.get(taskData.getDrafts().get(0));
+                afterLoad(taskData, value, true);
+            }
+        }
+    }
+
     private static class TaskData {
 
         private final Object key;
@@ -114,7 +114,7 @@ public class FetcherUtil {
         });
     }
 
-    private static boolean hasReferenceFilter(ImmutableType type, JSqlClientImplementor sqlClient) {
+    static boolean hasReferenceFilter(ImmutableType type, JSqlClientImplementor sqlClient) {
         for (ImmutableProp prop : type.getSelectableReferenceProps().values()) {
             if (sqlClient.getFilters().getTargetFilter(prop) != null) {
                 return true;
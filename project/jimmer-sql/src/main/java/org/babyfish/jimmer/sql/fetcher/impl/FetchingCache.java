@@ -5,6 +5,8 @@ import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.fetcher.Field;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,7 +16,20 @@ public class FetchingCache {
 
     private static final Object NULL = new Object();
 
-    private final Map<FieldKey, Map<Object, Object>> map = new HashMap<>();
+    private final JSqlClientImplementor sqlClient;
+
+    private final AssociationMemo memo;
+
+    private final Map<FieldKey, FieldCache> map = new HashMap<>();
+
+    /**
+     * @param memo The cross-request memo behind this cache,
+     *             null means this cache only works for the current request.
+     */
+    public FetchingCache(JSqlClientImplementor sqlClient, @Nullable AssociationMemo memo) {
+        this.sqlClient = sqlClient;
+        this.memo = memo;
+    }
 
     public Object createKey(Field field, ImmutableSpi owner) {
         ImmutableProp prop = field.getProp();
@@ -29,20 +44,47 @@ public class FetchingCache {
     }
 
     public Object get(Field field, Object key) {
-        Map<Object, Object> subMap = map.get(new FieldKey((field)));
-        if (subMap == null) {
-            return null;
+        FieldCache fieldCache = map.get(new FieldKey((field)));
+        Object value = null;
+        if (fieldCache != null) {
+            value = fieldCache.valueMap.get(key);
+        }
+        if (value == null && memo != null) {
+            if (fieldCache == null) {
+                fieldCache = fieldCache(field);
+            }
+            AssociationMemo.Scope scope = fieldCache.memoScope;
+            if (scope != null) {
+                value = memo.get(scope, rawKey(key));
+                if (value != null) {
+                    fieldCache.valueMap.put(key, value);
+                }
+            }
         }
-        Object value = subMap.get(key);
         return value != NULL ? value : null;
     }
 
     public void put(Field field, Object key, Object value) {
-        Map<Object, Object> subMap = map.computeIfAbsent(
+        FieldCache fieldCache = fieldCache(field);
+        Object wrappedValue = value != null ? value : NULL;
+        fieldCache.valueMap.put(key, wrappedValue);
+        AssociationMemo.Scope scope = fieldCache.memoScope;
+        if (scope != null) {
+            memo.put(scope, rawKey(key), wrappedValue);
+        }
+    }
+
+    private FieldCache fieldCache(Field field) {
+        return map.computeIfAbsent(
                 new FieldKey((field)),
-                it -> new HashMap<>()
+                it -> new FieldCache(
+                        memo != null ? memo.scope(sqlClient, field) : null
+                )
         );
-        subMap.put(key, value != null ? value : NULL);
+    }
+
+    private static Object rawKey(Object key) {
+        return key instanceof ForeignKey ? ((ForeignKey) key).raw : key;
     }
 
     public static Object unwrap(Object value) {
@@ -80,6 +122,21 @@ public class FetchingCache {
         }
     }
 
+    private static class FieldCache {
+
+        final Map<Object, Object> valueMap = new HashMap<>();
+
+        /*
+         * The scope of cross-request memo, it is decided once per request
+         * because the parameters of global filter may be changed
+         */
+        final AssociationMemo.Scope memoScope;
+
+        FieldCache(AssociationMemo.Scope memoScope) {
+            this.memoScope = memoScope;
+        }
+    }
+
     private static class ForeignKey {
 
         private final Object raw;
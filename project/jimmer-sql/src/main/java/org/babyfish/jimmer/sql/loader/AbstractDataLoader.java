@@ -17,6 +17,8 @@ import org.babyfish.jimmer.sql.ast.impl.query.MergedTypedRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.util.IdCollections;
+import org.babyfish.jimmer.sql.ast.impl.util.LargeKeySets;
 import org.babyfish.jimmer.sql.ast.query.MutableQuery;
 import org.babyfish.jimmer.sql.ast.query.Sortable;
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
@@ -293,9 +295,7 @@ public abstract class AbstractDataLoader {
         if (!remote && !useCache(fkCache, parameters)) {
             return loadParentsDirectly(sources);
         }
-        Map<Object, Object> fkMap = new LinkedHashMap<>(
-                (sources.size() * 4 + 2) / 3
-        );
+        Map<Object, Object> fkMap = IdCollections.newIdMap(prop.getDeclaringType(), sources.size());
         Collection<Object> missedFkSourceIds;
         missedFkSourceIds = new ArrayList<>();
         for (ImmutableSpi source : sources) {
@@ -335,7 +335,7 @@ public abstract class AbstractDataLoader {
                         fkMap,
                         Utils.toMap(
                                 this::toTargetId,
-                                findTargets(new LinkedHashSet<>(fkMap.values()))
+                                findTargets(toTargetIdSet(fkMap.values()))
                         )
                 );
         return Utils.joinCollectionAndMap(sources, this::toSourceId, targetMap);
@@ -344,9 +344,7 @@ public abstract class AbstractDataLoader {
     private Map<ImmutableSpi, ImmutableSpi> loadParentsDirectly(
             Collection<ImmutableSpi> sources
     ) {
-        Map<Object, Object> fkMap = new LinkedHashMap<>(
-                (sources.size() * 4 + 2) / 3
-        );
+        Map<Object, Object> fkMap = IdCollections.newIdMap(prop.getDeclaringType(), sources.size());
         Collection<Object> missedFkSourceIds = new ArrayList<>();
         for (ImmutableSpi source : sources) {
             if (source.__isLoaded(prop.getId())) {
@@ -451,7 +449,7 @@ public abstract class AbstractDataLoader {
         }
         Map<Object, ImmutableSpi> targetMap = Utils.toMap(
                 this::toTargetId,
-                findTargets(new LinkedHashSet<>(idMap.values()))
+                findTargets(toTargetIdSet(idMap.values()))
         );
         return Utils.joinCollectionAndMap(
                 sources,
@@ -586,19 +584,21 @@ public abstract class AbstractDataLoader {
             }).execute(con);
             return Utils.toMap(sourceId, targetIds);
         }
-        List<Tuple2<Object, Object>> tuples = Queries
-                .createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, source) -> {
-                    Expression<Object> pkExpr = source.get(sourceIdProp);
-                    Table<?> targetTable = source.join(prop);
-                    Expression<Object> fkExpr = source.getAssociatedId(prop);
-                    q.where(pkExpr.in(sourceIds));
-                    q.where(fkExpr.isNotNull());
-                    applyPropFilter(q, targetTable, sourceIds);
-                    applyGlobalFilter(q, targetTable);
-                    applyDefaultOrder(q, targetTable);
-                    return q.select(pkExpr, fkExpr);
-                }).execute(con);
-        return Tuple2.toMap(tuples);
+        try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, ExecutionPurpose.LOAD)) {
+            List<Tuple2<Object, Object>> tuples = Queries
+                    .createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, source) -> {
+                        Expression<Object> pkExpr = source.get(sourceIdProp);
+                        Table<?> targetTable = source.join(prop);
+                        Expression<Object> fkExpr = source.getAssociatedId(prop);
+                        q.where(keySets.in(pkExpr, sourceIds));
+                        q.where(fkExpr.isNotNull());
+                        applyPropFilter(q, targetTable, sourceIds);
+                        applyGlobalFilter(q, targetTable);
+                        applyDefaultOrder(q, targetTable);
+                        return q.select(pkExpr, fkExpr);
+                    }).execute(con);
+            return Tuple2.toMap(tuples);
+        }
     }
 
     private List<Tuple2<Object, Object>> querySourceTargetIdPairs(Collection<Object> sourceIds) {
@@ -633,15 +633,17 @@ public abstract class AbstractDataLoader {
                 }
                 return new MergedTypedRootQueryImpl<>(sqlClient, "union all", queries).execute(con);
             }
-            return Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
-                Expression<Object> sourceIdExpr = association.sourceId();
-                Expression<Object> targetIdExpr = association.targetId();
-                q.where(sourceIdExpr.in(sourceIds));
-                applyPropFilter(q, association.target(), sourceIds);
-                applyGlobalFilter(q, association.target());
-                applyDefaultOrder(q, association.target());
-                return q.select(sourceIdExpr, targetIdExpr);
-            }).execute(con);
+            try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, ExecutionPurpose.LOAD)) {
+                return Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
+                    Expression<Object> sourceIdExpr = association.sourceId();
+                    Expression<Object> targetIdExpr = association.targetId();
+                    q.where(keySets.in(sourceIdExpr, sourceIds));
+                    applyPropFilter(q, association.target(), sourceIds);
+                    applyGlobalFilter(q, association.target());
+                    applyDefaultOrder(q, association.target());
+                    return q.select(sourceIdExpr, targetIdExpr);
+                }).execute(con);
+            }
         }
         return executeTupleQuery(sourceIds, target -> target.get(targetIdProp.getName()));
     }
@@ -655,16 +657,18 @@ public abstract class AbstractDataLoader {
 
     @SuppressWarnings("unchecked")
     private List<ImmutableSpi> queryTargets(Collection<Object> targetIds) {
-        return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
-            Expression<Object> idExpr = target.get(targetIdProp.getName());
-            q.where(idExpr.in(targetIds));
-            applyPropFilter(q, target, targetIds);
-            applyGlobalFilter(q, target);
-            applyDefaultOrder(q, target);
-            return q.select(
-                    new FetcherSelectionImpl<>((Table<ImmutableSpi>)target, path, fetcher)
-            );
-        }).execute(con);
+        try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, ExecutionPurpose.LOAD)) {
+            return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
+                Expression<Object> idExpr = target.get(targetIdProp.getName());
+                q.where(keySets.in(idExpr, targetIds));
+                applyPropFilter(q, target, targetIds);
+                applyGlobalFilter(q, target);
+                applyDefaultOrder(q, target);
+                return q.select(
+                        new FetcherSelectionImpl<>((Table<ImmutableSpi>)target, path, fetcher)
+                );
+            }).execute(con);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -700,14 +704,16 @@ public abstract class AbstractDataLoader {
             }
             return new MergedTypedRootQueryImpl<>(sqlClient, "union all", queries).execute(con);
         }
-        return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
-            Expression<Object> sourceIdExpr = target.inverseGetAssociatedId(prop);
-            q.where(sourceIdExpr.in(sourceIds));
-            applyPropFilter(q, target, sourceIds);
-            applyGlobalFilter(q, target);
-            applyDefaultOrder(q, target);
-            return q.select(sourceIdExpr, (Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
-        }).execute(con);
+        try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, ExecutionPurpose.LOAD)) {
+            return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
+                Expression<Object> sourceIdExpr = target.inverseGetAssociatedId(prop);
+                q.where(keySets.in(sourceIdExpr, sourceIds));
+                applyPropFilter(q, target, sourceIds);
+                applyGlobalFilter(q, target);
+                applyDefaultOrder(q, target);
+                return q.select(sourceIdExpr, (Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
+            }).execute(con);
+        }
     }
 
     private void applyGlobalFilter(Sortable sortable, Table<?> table) {
@@ -771,13 +777,18 @@ public abstract class AbstractDataLoader {
     }
 
     private Set<Object> toSourceIds(Collection<ImmutableSpi> sources) {
-        Set<Object> sourceIds = new LinkedHashSet<>((sources.size() * 4 + 2) / 3);
+        Set<Object> sourceIds = IdCollections.newIdSet(prop.getDeclaringType(), sources.size());
         for (ImmutableSpi source : sources) {
             sourceIds.add(toSourceId(source));
         }
         return sourceIds;
     }
 
+    private Set<Object> toTargetIdSet(Collection<Object> targetIds) {
+        // The value of cache can be null if the source has no target
+        return IdCollections.toIdSet(prop.getTargetType(), targetIds);
+    }
+
     private Object toTargetId(ImmutableSpi target) {
         if (target == null) {
             return null;
@@ -928,15 +939,17 @@ public abstract class AbstractDataLoader {
         if (noFilter) {
             targets = findTargets(targetIds);
         } else {
-            targets = Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
-                Expression<Object> pkExpr = target.get(targetIdProp.getName());
-                q.where(pkExpr.in(targetIds));
-                applyPropFilter(q, target, map.keySet());
-                applyGlobalFilter(q, target);
-                return q.select(
-                        new FetcherSelectionImpl<>((Table<ImmutableSpi>)target, path, fetcher)
-                );
-            }).execute(con);
+            try (LargeKeySets keySets = LargeKeySets.of(sqlClient, con, ExecutionPurpose.LOAD)) {
+                targets = Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, FilterLevel.IGNORE_ALL, (q, target) -> {
+                    Expression<Object> pkExpr = target.get(targetIdProp.getName());
+                    q.where(keySets.in(pkExpr, targetIds));
+                    applyPropFilter(q, target, map.keySet());
+                    applyGlobalFilter(q, target);
+                    return q.select(
+                            new FetcherSelectionImpl<>((Table<ImmutableSpi>)target, path, fetcher)
+                    );
+                }).execute(con);
+            }
         }
 
         if (targets.isEmpty()) {
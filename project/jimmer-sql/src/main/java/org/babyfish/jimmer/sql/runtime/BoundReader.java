@@ -0,0 +1,26 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The reader of selections whose columns are bound to absolute
+ * indices when it is created, it never uses the column counter of
+ * {@link Reader.Context}, so the counter need not be reset for each row.
+ */
+final class BoundReader implements Reader<Object> {
+
+    private final Reader<?> raw;
+
+    BoundReader(Reader<?> raw) {
+        this.raw = raw;
+    }
+
+    @Override
+    public Object read(ResultSet rs, Context ctx) throws SQLException {
+        return raw.read(rs, ctx);
+    }
+
+    @Override
+    public void skip(Context ctx) {}
+}
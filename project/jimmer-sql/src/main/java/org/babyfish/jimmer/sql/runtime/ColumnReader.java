@@ -0,0 +1,55 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reader whose value is stored in exactly one column.
+ *
+ * <p>Unlike {@link Reader#read(ResultSet, Context)}, which asks
+ * {@link Context#col()} for the next column, the column index
+ * can be bound in advance, so that the readers of the selections
+ * whose columns are known when they are created read them by
+ * absolute indices without counting.</p>
+ */
+interface ColumnReader<T> extends Reader<T> {
+
+    T read(ResultSet rs, Context ctx, int col) throws SQLException;
+
+    /**
+     * Create a reader which always reads the column {@code col}
+     * and never uses the column counter of {@link Context}
+     */
+    default Reader<T> bind(int col) {
+        ColumnReader<T> reader = this;
+        return new Reader<T>() {
+            @Override
+            public void skip(Context ctx) {}
+
+            @Override
+            public T read(ResultSet rs, Context ctx) throws SQLException {
+                return reader.read(rs, ctx, col);
+            }
+        };
+    }
+
+    /**
+     * The primitive extractors read the value without boxing,
+     * like JDBC, the caller must check {@link ResultSet#wasNull()}
+     */
+    interface OfInt extends ColumnReader<Integer> {
+        int readInt(ResultSet rs, int col) throws SQLException;
+    }
+
+    interface OfLong extends ColumnReader<Long> {
+        long readLong(ResultSet rs, int col) throws SQLException;
+    }
+
+    interface OfDouble extends ColumnReader<Double> {
+        double readDouble(ResultSet rs, int col) throws SQLException;
+    }
+
+    interface OfBoolean extends ColumnReader<Boolean> {
+        boolean readBoolean(ResultSet rs, int col) throws SQLException;
+    }
+}
@@ -0,0 +1,30 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Cache of the unlimited row counts of paging queries,
+ * please see {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setCountCache(CountCache)}.
+ *
+ * <p>The key is the rendered count sql and its variables, and the
+ * {@code rootType} is the entity type of the query root, implementations
+ * should invalidate the counts of a type when it is changed.</p>
+ *
+ * @see DefaultCountCache
+ */
+public interface CountCache {
+
+    @Nullable
+    Long get(ImmutableType rootType, String sql, List<Object> variables);
+
+    void put(ImmutableType rootType, String sql, List<Object> variables, long count);
+
+    /**
+     * Invoked when the sql client is created,
+     * the implementation can register the listeners of triggers here.
+     */
+    default void initialize(JSqlClientImplementor sqlClient) {}
+}
@@ -0,0 +1,231 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.event.AssociationEvent;
+import org.babyfish.jimmer.sql.event.EntityEvent;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.event.Triggers;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-local {@link CountCache}, the counts are evicted by size,
+ * expired by duration, or invalidated by the events of {@link Triggers}.
+ *
+ * <p>When an entity of the root type is changed, or an association whose
+ * declaring type or target type is the root type is changed, all the counts
+ * of that root type are invalidated. The counts whose queries are filtered
+ * by the joined tables are not invalidated by the changes of those tables,
+ * so they can be stale within the duration.</p>
+ */
+public class DefaultCountCache implements CountCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    public static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+
+    private final int maxSize;
+
+    private final long durationNanos;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Map<Key, Entry> entryMap;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public DefaultCountCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_DURATION);
+    }
+
+    public DefaultCountCache(int maxSize, Duration duration) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("`maxSize` must be greater than 0");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("`duration` must be positive");
+        }
+        this.maxSize = maxSize;
+        this.durationNanos = duration.toNanos();
+        this.entryMap = new LinkedHashMap<Key, Entry>((maxSize * 4 + 2) / 3, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > DefaultCountCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public void initialize(JSqlClientImplementor sqlClient) {
+        Triggers triggers = sqlClient.getTriggers();
+        triggers.addEntityListener(this::onEntityChange);
+        triggers.addAssociationListener(this::onAssociationChange);
+        if (sqlClient.getTriggerType() == TriggerType.BOTH) {
+            Triggers transactionTriggers = sqlClient.getTriggers(true);
+            transactionTriggers.addEntityListener(this::onEntityChange);
+            transactionTriggers.addAssociationListener(this::onAssociationChange);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entryMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entryMap.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    public Long get(ImmutableType rootType, String sql, List<Object> variables) {
+        Key key = new Key(rootType, sql, variables);
+        Long count = null;
+        lock.lock();
+        try {
+            Entry entry = entryMap.get(key);
+            if (entry != null) {
+                if (entry.expiredTime - System.nanoTime() > 0) {
+                    count = entry.count;
+                } else {
+                    entryMap.remove(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (count != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return count;
+    }
+
+    @Override
+    public void put(ImmutableType rootType, String sql, List<Object> variables, long count) {
+        Entry entry = new Entry(count, System.nanoTime() + durationNanos);
+        lock.lock();
+        try {
+            entryMap.put(new Key(rootType, sql, variables), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onEntityChange(EntityEvent<?> e) {
+        evict(e.getImmutableType());
+    }
+
+    private void onAssociationChange(AssociationEvent e) {
+        ImmutableProp prop = e.getImmutableProp();
+        evict(prop.getDeclaringType());
+        evict(prop.getTargetType());
+    }
+
+    private void evict(ImmutableType type) {
+        lock.lock();
+        try {
+            entryMap.keySet().removeIf(key ->
+                    key.rootType.isAssignableFrom(type) || type.isAssignableFrom(key.rootType)
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultCountCache{" +
+                "maxSize=" + maxSize +
+                ", duration=" + getDuration() +
+                ", size=" + size() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                '}';
+    }
+
+    private static class Key {
+
+        final ImmutableType rootType;
+
+        private final String sql;
+
+        private final Object[] variables;
+
+        private final int hash;
+
+        Key(ImmutableType rootType, String sql, List<Object> variables) {
+            this.rootType = rootType;
+            this.sql = sql;
+            // Compared by content, array variables such as `any(?)` parameters
+            // or binary values must not be compared by identity
+            this.variables = variables.toArray();
+            int h = rootType.hashCode();
+            h = h * 31 + sql.hashCode();
+            h = h * 31 + Arrays.deepHashCode(this.variables);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return hash == other.hash &&
+                    rootType == other.rootType &&
+                    sql.equals(other.sql) &&
+                    Arrays.deepEquals(variables, other.variables);
+        }
+    }
+
+    private static class Entry {
+
+        final long count;
+
+        final long expiredTime;
+
+        Entry(long count, long expiredTime) {
+            this.count = count;
+            this.expiredTime = expiredTime;
+        }
+    }
+}
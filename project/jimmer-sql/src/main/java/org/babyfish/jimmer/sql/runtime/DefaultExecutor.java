@@ -52,12 +52,30 @@ public class DefaultExecutor implements Executor {
         String sql = args.sql;
         List<Object> variables = args.variables;
         JSqlClientImplementor sqlClient = args.sqlClient;
-        try (PreparedStatement stmt = args.statementFactory != null ?
-                args.statementFactory.preparedStatement(args.con, sql) :
-                args.con.prepareStatement(sql)
-        ) {
-            setParameters(stmt, variables, sqlClient);
-            return args.block.apply(stmt, args);
+        StatementCache statementCache = args.closingCursorId == null ? sqlClient.getStatementCache() : null;
+        int generatedKeys = generatedKeys(args.statementFactory);
+        try {
+            PreparedStatement cachedStmt = statementCache != null && generatedKeys != -1 ?
+                    statementCache.acquire(args.con, sql, generatedKeys) :
+                    null;
+            if (cachedStmt != null) {
+                boolean reusable = false;
+                try {
+                    setParameters(cachedStmt, variables, sqlClient);
+                    R result = args.block.apply(cachedStmt, args);
+                    reusable = true;
+                    return result;
+                } finally {
+                    statementCache.release(args.con, sql, generatedKeys, cachedStmt, reusable);
+                }
+            }
+            try (PreparedStatement stmt = args.statementFactory != null ?
+                    args.statementFactory.preparedStatement(args.con, sql) :
+                    args.con.prepareStatement(sql)
+            ) {
+                setParameters(stmt, variables, sqlClient);
+                return args.block.apply(stmt, args);
+            }
         } catch (Exception ex) {
             ExceptionTranslator<Exception> exceptionTranslator =
                     (ExceptionTranslator<Exception>) args.getExceptionTranslator();
@@ -80,6 +98,17 @@ public class DefaultExecutor implements Executor {
         }
     }
 
+    private static int generatedKeys(@Nullable StatementFactory statementFactory) {
+        if (statementFactory == null) {
+            return StatementCache.NO_GENERATED_KEYS;
+        }
+        if (statementFactory == StatementFactory.RETURN_GENERATED_KEYS) {
+            return StatementCache.RETURN_GENERATED_KEYS;
+        }
+        // Unknown factory, the statement cannot be cached
+        return -1;
+    }
+
     @Override
     public BatchContext executeBatch(
             @NotNull Connection con,
@@ -106,6 +135,13 @@ public class DefaultExecutor implements Executor {
 
         private final String sql;
 
+        private final Connection con;
+
+        @Nullable
+        private final StatementCache statementCache;
+
+        private final int generatedKeys;
+
         private final PreparedStatement statement;
 
         @Nullable
@@ -119,6 +155,8 @@ public class DefaultExecutor implements Executor {
 
         private int batchCount;
 
+        private boolean failed;
+
         private List<Runnable> executedListeners;
 
         BatchContextImpl(
@@ -130,17 +168,34 @@ public class DefaultExecutor implements Executor {
                 JSqlClientImplementor sqlClient
         ) {
             savepoint = SavepointManager.setIfNeeded(con, sqlClient);
+            StatementCache statementCache = sqlClient.getStatementCache();
+            int generatedKeys = StatementCache.NO_GENERATED_KEYS;
             PreparedStatement statement;
             try {
                 if (generatedIdProp != null) {
                     IdGenerator idGenerator = sqlClient.getIdGenerator(generatedIdProp.getDeclaringType().getJavaClass());
                     if (idGenerator instanceof SequenceIdGenerator) {
-                        statement = con.prepareStatement(sql, new int[]{1});
+                        generatedKeys = StatementCache.RETURN_FIRST_COLUMN;
                     } else {
-                        statement = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                        generatedKeys = StatementCache.RETURN_GENERATED_KEYS;
+                    }
+                }
+                statement = statementCache != null ?
+                        statementCache.acquire(con, sql, generatedKeys) :
+                        null;
+                if (statement == null) {
+                    statementCache = null;
+                    switch (generatedKeys) {
+                        case StatementCache.RETURN_FIRST_COLUMN:
+                            statement = con.prepareStatement(sql, new int[]{1});
+                            break;
+                        case StatementCache.RETURN_GENERATED_KEYS:
+                            statement = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                            break;
+                        default:
+                            statement = con.prepareStatement(sql);
+                            break;
                     }
-                } else {
-                    statement = con.prepareStatement(sql);
                 }
             } catch (SQLException ex) {
                 throw new ExecutionException(
@@ -151,6 +206,9 @@ public class DefaultExecutor implements Executor {
             this.purpose = purpose;
             this.executorContext = executorContext;
             this.sql = sql;
+            this.con = con;
+            this.statementCache = statementCache;
+            this.generatedKeys = generatedKeys;
             this.statement = statement;
             this.generatedIdProp = generatedIdProp;
             this.sqlClient = sqlClient;
@@ -183,6 +241,7 @@ public class DefaultExecutor implements Executor {
                 statement.addBatch();
                 batchCount++;
             } catch (Exception ex) {
+                failed = true;
                 throw new ExecutionException(
                         "Cannot add batch into the batch SQL statement: " +
                         sql +
@@ -198,6 +257,7 @@ public class DefaultExecutor implements Executor {
             try {
                 return statement.executeBatch();
             } catch (SQLException ex) {
+                failed = true;
                 SavepointManager.rollback(statement::getConnection, savepoint);
                 if (exceptionTranslator != null) {
                     Exception translatedException = exceptionTranslator.apply(ex, this);
@@ -269,7 +329,11 @@ public class DefaultExecutor implements Executor {
                 try {
                     SavepointManager.release(statement::getConnection, savepoint);
                 } finally {
-                    statement.close();
+                    if (statementCache != null) {
+                        statementCache.release(con, sql, generatedKeys, statement, !failed);
+                    } else {
+                        statement.close();
+                    }
                 }
             } catch (SQLException ex) {
                 throw new ExecutionException(
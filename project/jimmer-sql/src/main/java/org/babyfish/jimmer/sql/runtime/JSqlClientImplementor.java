@@ -13,6 +13,8 @@ import org.babyfish.jimmer.sql.di.StrategyProvider;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
+import org.babyfish.jimmer.sql.fetcher.impl.AdaptiveBatchSizer;
+import org.babyfish.jimmer.sql.fetcher.impl.AssociationMemo;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
@@ -114,6 +116,31 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     MicroServiceExchange getMicroServiceExchange();
 
+    @Nullable
+    QueryReaderCache getQueryReaderCache();
+
+    @Nullable
+    java.util.concurrent.Executor getParallelFetchingExecutor();
+
+    @Nullable
+    AssociationMemo getAssociationMemo();
+
+    @Nullable
+    AdaptiveBatchSizer getAdaptiveBatchSizer();
+
+    int getLargeInListThreshold();
+
+    @Nullable
+    StatementCache getStatementCache();
+
+    @Nullable
+    java.util.concurrent.Executor getConcurrentPagingExecutor();
+
+    @Nullable
+    CountCache getCountCache();
+
+    int getMultiRowInsertBatchSize();
+
     @Override
     JSqlClientImplementor caches(Consumer<CacheDisableConfig> block);
 
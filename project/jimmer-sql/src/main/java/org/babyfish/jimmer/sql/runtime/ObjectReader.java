@@ -5,11 +5,14 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.RowFactory;
+import org.babyfish.jimmer.runtime.RowValues;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +40,20 @@ class ObjectReader implements Reader<Object> {
     @Nullable
     private final List<PropId> hiddenPropsIds;
 
+    @Nullable
+    private final RowFactory rowFactory;
+
+    private final PropId[] rowPropIds;
+
+    @Nullable
+    private final ColumnReader<?>[] columnReaders;
+
+    @Nullable
+    private final byte[] columnKinds;
+
+    // The absolute index of the first column, 0 means unbound
+    private final int startCol;
+
     ObjectReader(
             ImmutableType type,
             Reader<?> idReader,
@@ -62,10 +79,82 @@ class ObjectReader implements Reader<Object> {
         this.idViewBasePropIds = idViewBasePropIds.toArray(EMPTY_PROP_IDS);
         this.shownPropIds = shownPropIds;
         this.hiddenPropsIds = hiddenPropsIds;
+
+        // The row factory creates the final immutable object without draft,
+        // it cannot be used when some properties need to be shown or hidden
+        PropId[] rowPropIds = new PropId[this.nonIdPropIds.length + 1];
+        rowPropIds[0] = type.getIdProp().getId();
+        System.arraycopy(this.nonIdPropIds, 0, rowPropIds, 1, this.nonIdPropIds.length);
+        RowFactory rowFactory = type.getRowFactory();
+        if (rowFactory != null && (
+                !idViewPropIds.isEmpty() ||
+                        shownPropIds != null ||
+                        hiddenPropsIds != null ||
+                        Arrays.stream(rowPropIds).anyMatch(it -> it.asIndex() == -1))
+        ) {
+            rowFactory = null;
+        }
+        this.rowFactory = rowFactory;
+        this.rowPropIds = rowPropIds;
+
+        // If every property is read from one column, bind the column offsets
+        // once here instead of counting columns for each row
+        ColumnReader<?>[] columnReaders = new ColumnReader[rowPropIds.length];
+        for (int i = 0; i < columnReaders.length; i++) {
+            Reader<?> reader = i == 0 ? idReader : this.nonIdReaders[i - 1];
+            if (!(reader instanceof ColumnReader<?>)) {
+                columnReaders = null;
+                break;
+            }
+            columnReaders[i] = (ColumnReader<?>) reader;
+        }
+        this.columnReaders = columnReaders;
+        this.columnKinds = columnReaders != null ? ColumnValues.kinds(columnReaders) : null;
+        this.startCol = 0;
+    }
+
+    private ObjectReader(ObjectReader base, int startCol) {
+        this.type = base.type;
+        this.idReader = base.idReader;
+        this.nonIdPropIds = base.nonIdPropIds;
+        this.nonIdReaders = base.nonIdReaders;
+        this.idViewPropIds = base.idViewPropIds;
+        this.idViewBasePropIds = base.idViewBasePropIds;
+        this.shownPropIds = base.shownPropIds;
+        this.hiddenPropsIds = base.hiddenPropsIds;
+        this.rowFactory = base.rowFactory;
+        this.rowPropIds = base.rowPropIds;
+        this.columnReaders = base.columnReaders;
+        this.columnKinds = base.columnKinds;
+        this.startCol = startCol;
+    }
+
+    /**
+     * The count of columns if every property is read from one column,
+     * otherwise -1
+     */
+    int width() {
+        return columnReaders != null ? columnReaders.length : -1;
+    }
+
+    /**
+     * Create a reader whose columns start from the absolute index {@code startCol}
+     * and which never uses the column counter of {@link Context}
+     */
+    ObjectReader bind(int startCol) {
+        if (columnReaders == null) {
+            throw new IllegalStateException(
+                    "The reader of \"" + type + "\" cannot be bound because some properties are not read from one column"
+            );
+        }
+        return new ObjectReader(this, startCol);
     }
 
     @Override
     public void skip(Context ctx) {
+        if (startCol != 0) {
+            return;
+        }
         idReader.skip(ctx);
         for (Reader<?> reader : nonIdReaders) {
             reader.skip(ctx);
@@ -74,20 +163,30 @@ class ObjectReader implements Reader<Object> {
 
     @Override
     public Object read(ResultSet rs, Context ctx) throws SQLException {
-        Object id = idReader.read(rs, ctx);
-        if (id == null) {
-            for (Reader<?> reader : nonIdReaders) {
-                reader.skip(ctx);
+        RowValues values;
+        if (columnReaders != null) {
+            int col = startCol;
+            if (col == 0) {
+                col = ctx.col();
+                ctx.addCol(columnReaders.length - 1);
             }
+            values = ColumnValues.read(rs, ctx, columnReaders, columnKinds, col);
+        } else {
+            Object[] arr = readSequentially(rs, ctx);
+            values = arr != null ? RowValues.of(arr) : null;
+        }
+        if (values == null) {
             return null;
         }
+        if (rowFactory != null) {
+            return rowFactory.create(rowPropIds, values);
+        }
         DraftSpi spi = (DraftSpi) type.getDraftFactory().apply(ctx.draftContext(), null);
-        spi.__set(type.getIdProp().getId(), id);
+        spi.__set(type.getIdProp().getId(), values.get(0));
         try {
-            int size = nonIdReaders.length;
+            int size = nonIdPropIds.length;
             for (int i = 0; i < size; i++) {
-                Object value = nonIdReaders[i].read(rs, ctx);
-                spi.__set(nonIdPropIds[i], value);
+                spi.__set(nonIdPropIds[i], values.get(i + 1));
             }
             for (int i = idViewBasePropIds.length - 1; i >= 0; i--) {
                 spi.__show(idViewPropIds[i], true);
@@ -108,4 +207,194 @@ class ObjectReader implements Reader<Object> {
         }
         return ctx.resolve(spi);
     }
+
+    private Object[] readSequentially(ResultSet rs, Context ctx) throws SQLException {
+        Object id = idReader.read(rs, ctx);
+        if (id == null) {
+            for (Reader<?> reader : nonIdReaders) {
+                reader.skip(ctx);
+            }
+            return null;
+        }
+        int size = nonIdReaders.length;
+        Object[] values = new Object[size + 1];
+        values[0] = id;
+        for (int i = 0; i < size; i++) {
+            values[i + 1] = nonIdReaders[i].read(rs, ctx);
+        }
+        return values;
+    }
+
+    /**
+     * The values of the columns read in the order of columns,
+     * the values of int, long, double and boolean columns
+     * read by the primitive extractors are stored without boxing.
+     */
+    private static class ColumnValues implements RowValues {
+
+        private static final byte OBJECT = 0;
+
+        private static final byte INT = 1;
+
+        private static final byte LONG = 2;
+
+        private static final byte DOUBLE = 3;
+
+        private static final byte BOOLEAN = 4;
+
+        // Marks the primitive value which is stored in `primitives`
+        private static final Object PRIMITIVE = new Object();
+
+        private final byte[] kinds;
+
+        private final Object[] objects;
+
+        private long[] primitives;
+
+        private boolean wasNull;
+
+        private ColumnValues(byte[] kinds) {
+            this.kinds = kinds;
+            this.objects = new Object[kinds.length];
+        }
+
+        static byte[] kinds(ColumnReader<?>[] columnReaders) {
+            byte[] kinds = new byte[columnReaders.length];
+            for (int i = 0; i < kinds.length; i++) {
+                ColumnReader<?> reader = columnReaders[i];
+                if (reader instanceof ColumnReader.OfInt) {
+                    kinds[i] = INT;
+                } else if (reader instanceof ColumnReader.OfLong) {
+                    kinds[i] = LONG;
+                } else if (reader instanceof ColumnReader.OfDouble) {
+                    kinds[i] = DOUBLE;
+                } else if (reader instanceof ColumnReader.OfBoolean) {
+                    kinds[i] = BOOLEAN;
+                }
+            }
+            return kinds;
+        }
+
+        static ColumnValues read(
+                ResultSet rs,
+                Context ctx,
+                ColumnReader<?>[] columnReaders,
+                byte[] kinds,
+                int col
+        ) throws SQLException {
+            ColumnValues values = new ColumnValues(kinds);
+            values.readColumn(rs, ctx, columnReaders[0], 0, col);
+            if (values.objects[0] == null) {
+                return null;
+            }
+            int size = columnReaders.length;
+            for (int i = 1; i < size; i++) {
+                values.readColumn(rs, ctx, columnReaders[i], i, col + i);
+            }
+            return values;
+        }
+
+        private void readColumn(
+                ResultSet rs,
+                Context ctx,
+                ColumnReader<?> reader,
+                int index,
+                int col
+        ) throws SQLException {
+            long primitive;
+            switch (kinds[index]) {
+                case INT:
+                    primitive = ((ColumnReader.OfInt) reader).readInt(rs, col);
+                    break;
+                case LONG:
+                    primitive = ((ColumnReader.OfLong) reader).readLong(rs, col);
+                    break;
+                case DOUBLE:
+                    primitive = Double.doubleToRawLongBits(
+                            ((ColumnReader.OfDouble) reader).readDouble(rs, col)
+                    );
+                    break;
+                case BOOLEAN:
+                    primitive = ((ColumnReader.OfBoolean) reader).readBoolean(rs, col) ? 1L : 0L;
+                    break;
+                default:
+                    objects[index] = reader.read(rs, ctx, col);
+                    return;
+            }
+            if (rs.wasNull()) {
+                return;
+            }
+            long[] arr = primitives;
+            if (arr == null) {
+                primitives = arr = new long[kinds.length];
+            }
+            arr[index] = primitive;
+            objects[index] = PRIMITIVE;
+        }
+
+        @Override
+        public Object get(int index) {
+            Object value = objects[index];
+            wasNull = value == null;
+            if (value != PRIMITIVE) {
+                return value;
+            }
+            long primitive = primitives[index];
+            switch (kinds[index]) {
+                case INT:
+                    return (int) primitive;
+                case LONG:
+                    return primitive;
+                case DOUBLE:
+                    return Double.longBitsToDouble(primitive);
+                default:
+                    return primitive != 0L;
+            }
+        }
+
+        @Override
+        public int getInt(int index) {
+            if (objects[index] == PRIMITIVE && kinds[index] == INT) {
+                wasNull = false;
+                return (int) primitives[index];
+            }
+            Object value = get(index);
+            return value != null ? (Integer) value : 0;
+        }
+
+        @Override
+        public long getLong(int index) {
+            if (objects[index] == PRIMITIVE && kinds[index] == LONG) {
+                wasNull = false;
+                return primitives[index];
+            }
+            Object value = get(index);
+            return value != null ? (Long) value : 0L;
+        }
+
+        @Override
+        public double getDouble(int index) {
+            if (objects[index] == PRIMITIVE && kinds[index] == DOUBLE) {
+                wasNull = false;
+                return Double.longBitsToDouble(primitives[index]);
+            }
+            Object value = get(index);
+            return value != null ? (Double) value : 0D;
+        }
+
+        @Override
+        public boolean getBoolean(int index) {
+            if (objects[index] == PRIMITIVE && kinds[index] == BOOLEAN) {
+                wasNull = false;
+                return primitives[index] != 0L;
+            }
+            Object value = get(index);
+            return value != null && (Boolean) value;
+        }
+
+        @Override
+        public boolean wasNull() {
+            return wasNull;
+        }
+    }
 }
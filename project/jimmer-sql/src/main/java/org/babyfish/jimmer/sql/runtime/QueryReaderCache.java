@@ -0,0 +1,249 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.ast.impl.AstShapeCollector;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the object readers and the SQL of root queries.
+ *
+ * <p>The object reader of a query is the {@link Reader} tree which maps
+ * the JDBC result set to the selected objects. It only depends on the
+ * shape of the selections (selected types, properties and fetchers)
+ * and the dialect, never on the values of the query parameters, so
+ * the repeated executions of a repository method with different
+ * arguments share one reader.</p>
+ *
+ * <p>The SQL of a query is cached by the shape of its AST collected by
+ * {@link org.babyfish.jimmer.sql.ast.impl.Ast#collectShape(AstShapeCollector)}
+ * after the global filters and virtual predicates are applied, so the
+ * queries affected by different filters never share the SQL. The variables
+ * are collected with the shape for each execution, only the SQL and the
+ * positions of variables are reused. The queries whose shape cannot be
+ * collected, for example, the queries with joins or sub queries,
+ * are rendered for each execution.</p>
+ *
+ * <p>This cache is disabled by default, please enable it by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setQueryReaderCacheEnabled(boolean)}</p>
+ */
+public class QueryReaderCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final SqlEntry UNCACHEABLE_SQL_ENTRY = new SqlEntry(null, null, 0);
+
+    private final int maxSize;
+
+    private final ConcurrentMap<Key, Reader<?>> readerMap = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Key, SqlEntry> sqlMap = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong sqlHitCount = new AtomicLong();
+
+    private final AtomicLong sqlMissCount = new AtomicLong();
+
+    public QueryReaderCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("`maxSize` must be greater than 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return readerMap.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int sqlSize() {
+        return sqlMap.size();
+    }
+
+    public long getSqlHitCount() {
+        return sqlHitCount.get();
+    }
+
+    public long getSqlMissCount() {
+        return sqlMissCount.get();
+    }
+
+    public void clear() {
+        readerMap.clear();
+        sqlMap.clear();
+    }
+
+    Reader<?> reader(JSqlClientImplementor sqlClient, List<Selection<?>> selections) {
+        List<Object> shapes = new ArrayList<>(selections.size());
+        for (Selection<?> selection : selections) {
+            shapes.add(Readers.shape(selection));
+        }
+        Key key = new Key(sqlClient, shapes);
+        Reader<?> reader = readerMap.get(key);
+        if (reader != null) {
+            hitCount.incrementAndGet();
+            return reader;
+        }
+        evictIfNecessary(readerMap);
+        boolean[] created = new boolean[1];
+        reader = readerMap.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return Readers.createReaderWithoutCache(sqlClient, selections);
+        });
+        if (created[0]) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return reader;
+    }
+
+    /**
+     * Get the SQL of the query whose shape has been collected,
+     * or render and cache it if it is absent.
+     *
+     * @param collector The collector which has collected the shape
+     *                  and the variables of the query
+     * @param renderer Render the SQL of the query
+     */
+    public Tuple3<String, List<Object>, List<Integer>> sql(
+            AstShapeCollector collector,
+            Supplier<Tuple3<String, List<Object>, List<Integer>>> renderer
+    ) {
+        JSqlClientImplementor sqlClient = collector.sqlClient();
+        List<Object> parts = new ArrayList<>(collector.getShape().size() + 2);
+        parts.add(sqlClient.getSqlFormatter());
+        parts.add(sqlClient.getMetadataStrategy());
+        parts.addAll(collector.getShape());
+        Key key = new Key(sqlClient, parts);
+        List<Object> variables = collector.getVariables();
+        SqlEntry entry = sqlMap.get(key);
+        if (entry == null) {
+            evictIfNecessary(sqlMap);
+            List<Tuple3<String, List<Object>, List<Integer>>> rendered = new ArrayList<>(1);
+            entry = sqlMap.computeIfAbsent(key, k -> {
+                Tuple3<String, List<Object>, List<Integer>> result = renderer.get();
+                rendered.add(result);
+                return SqlEntry.of(result, variables);
+            });
+            if (!rendered.isEmpty()) {
+                sqlMissCount.incrementAndGet();
+                return rendered.get(0);
+            }
+        }
+        if (entry.sql == null || entry.variableCount != variables.size()) {
+            sqlMissCount.incrementAndGet();
+            return renderer.get();
+        }
+        sqlHitCount.incrementAndGet();
+        return new Tuple3<>(entry.sql, new ArrayList<>(variables), entry.variablePositions);
+    }
+
+    private void evictIfNecessary(Map<Key, ?> map) {
+        // Approximate bound without global lock, evict arbitrary entries
+        Iterator<Key> itr = map.keySet().iterator();
+        while (map.size() >= maxSize && itr.hasNext()) {
+            itr.next();
+            itr.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryReaderCache{" +
+                "maxSize=" + maxSize +
+                ", size=" + size() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", sqlSize=" + sqlSize() +
+                ", sqlHitCount=" + sqlHitCount +
+                ", sqlMissCount=" + sqlMissCount +
+                '}';
+    }
+
+    private static class Key {
+
+        private final Class<?> dialectType;
+
+        private final List<Object> parts;
+
+        private final int hash;
+
+        Key(JSqlClientImplementor sqlClient, List<Object> parts) {
+            this.dialectType = sqlClient.getDialect().getClass();
+            this.parts = parts;
+            this.hash = dialectType.hashCode() * 31 + parts.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return hash == other.hash &&
+                    dialectType == other.dialectType &&
+                    parts.equals(other.parts);
+        }
+    }
+
+    private static class SqlEntry {
+
+        final String sql;
+
+        final List<Integer> variablePositions;
+
+        final int variableCount;
+
+        private SqlEntry(String sql, List<Integer> variablePositions, int variableCount) {
+            this.sql = sql;
+            this.variablePositions = variablePositions;
+            this.variableCount = variableCount;
+        }
+
+        static SqlEntry of(
+                Tuple3<String, List<Object>, List<Integer>> rendered,
+                List<Object> collectedVariables
+        ) {
+            List<Object> renderedVariables = rendered.get_2();
+            if (renderedVariables.size() != collectedVariables.size()) {
+                return UNCACHEABLE_SQL_ENTRY;
+            }
+            for (int i = renderedVariables.size() - 1; i >= 0; --i) {
+                if (!Objects.deepEquals(renderedVariables.get(i), collectedVariables.get(i))) {
+                    // The shape does not mirror the rendering, never reuse the SQL
+                    return UNCACHEABLE_SQL_ENTRY;
+                }
+            }
+            List<Integer> positions = rendered.get_3();
+            return new SqlEntry(
+                    rendered.get_1(),
+                    positions != null ? Collections.unmodifiableList(new ArrayList<>(positions)) : null,
+                    renderedVariables.size()
+            );
+        }
+    }
+}
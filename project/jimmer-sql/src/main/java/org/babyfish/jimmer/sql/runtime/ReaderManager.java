@@ -8,8 +8,10 @@ import org.babyfish.jimmer.impl.util.TypeCache;
 import org.babyfish.jimmer.meta.EmbeddedLevel;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.RowFactory;
 import org.babyfish.jimmer.sql.Serialized;
 import org.babyfish.jimmer.sql.association.Association;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
@@ -69,7 +71,7 @@ public class ReaderManager {
                 return new FixedEmbeddedReader(prop.getTargetType(), this);
             }
             if (prop.isReference(TargetLevel.ENTITY)) {
-                return new ReferenceReader(prop, this);
+                return ReferenceReader.of(prop, this);
             }
             return scalarReader(prop);
         } else if (prop.getDeclaringType().isEmbeddable()) {
@@ -177,6 +179,12 @@ public class ReaderManager {
                 reader = unknownSqlTypeReader(sqlType, scalarProvider, sqlClient.getDialect());
             }
         }
+        if (reader instanceof ColumnReader<?>) {
+            return new CustomizedColumnReader<>(
+                    (ScalarProvider<Object, Object>) scalarProvider,
+                    (ColumnReader<Object>) reader
+            );
+        }
         return new CustomizedScalarReader<>(
                 (ScalarProvider<Object, Object>) scalarProvider,
                 (Reader<Object>) reader
@@ -215,7 +223,13 @@ public class ReaderManager {
         return reader;
     }
 
-    private static abstract class SingleColumnReader<T> implements Reader<T> {
+    private static abstract class SingleColumnReader<T> implements ColumnReader<T> {
+
+        @Override
+        public T read(ResultSet rs, Context ctx) throws SQLException {
+            return read(rs, ctx, ctx.col());
+        }
+
         @Override
         public void skip(Context ctx) {
             ctx.col();
@@ -225,196 +239,201 @@ public class ReaderManager {
     private static class ByteArrayReader extends SingleColumnReader<byte[]> {
 
         @Override
-        public byte[] read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getBytes(ctx.col());
+        public byte[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getBytes(col);
         }
     }
 
     private static class BoxedByteArrayReader extends SingleColumnReader<Byte[]> {
 
         @Override
-        public Byte[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Byte[].class);
+        public Byte[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Byte[].class);
         }
     }
 
     private static class ByteListReader extends SingleColumnReader<List<Byte>> {
 
         @Override
-        public List<Byte> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Byte[].class));
+        public List<Byte> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Byte[].class));
         }
     }
 
     private static class ShortArrayReader extends SingleColumnReader<short[]> {
 
         @Override
-        public short[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Short[].class));
+        public short[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, col, Short[].class));
         }
     }
 
     private static class BoxedShortArrayReader extends SingleColumnReader<Short[]> {
 
         @Override
-        public Short[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Short[].class);
+        public Short[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Short[].class);
         }
     }
 
     private static class ShortListReader extends SingleColumnReader<List<Short>> {
 
         @Override
-        public List<Short> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Short[].class));
+        public List<Short> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Short[].class));
         }
     }
 
     private static class IntArrayReader extends SingleColumnReader<int[]> {
 
         @Override
-        public int[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Integer[].class));
+        public int[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, col, Integer[].class));
         }
     }
 
     private static class BoxedIntArrayReader extends SingleColumnReader<Integer[]> {
 
         @Override
-        public Integer[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Integer[].class);
+        public Integer[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Integer[].class);
         }
     }
 
     private static class IntListReader extends SingleColumnReader<List<Integer>> {
 
         @Override
-        public List<Integer> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Integer[].class));
+        public List<Integer> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Integer[].class));
         }
     }
 
     private static class LongArrayReader extends SingleColumnReader<long[]> {
 
         @Override
-        public long[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Long[].class));
+        public long[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, col, Long[].class));
         }
     }
 
     private static class BoxedLongArrayReader extends SingleColumnReader<Long[]> {
 
         @Override
-        public Long[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Long[].class);
+        public Long[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Long[].class);
         }
     }
 
     private static class LongListReader extends SingleColumnReader<List<Long>> {
 
         @Override
-        public List<Long> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Long[].class));
+        public List<Long> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Long[].class));
         }
     }
 
     private static class FloatArrayReader extends SingleColumnReader<float[]> {
 
         @Override
-        public float[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Float[].class));
+        public float[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, col, Float[].class));
         }
     }
 
     private static class BoxedFloatArrayReader extends SingleColumnReader<Float[]> {
 
         @Override
-        public Float[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Float[].class);
+        public Float[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Float[].class);
         }
     }
 
     private static class FloatListReader extends SingleColumnReader<List<Float>> {
 
         @Override
-        public List<Float> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Float[].class));
+        public List<Float> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Float[].class));
         }
     }
 
     private static class DoubleArrayReader extends SingleColumnReader<double[]> {
 
         @Override
-        public double[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Double[].class));
+        public double[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, col, Double[].class));
         }
     }
 
     private static class BoxedDoubleArrayReader extends SingleColumnReader<Double[]> {
 
         @Override
-        public Double[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), Double[].class);
+        public Double[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, Double[].class);
         }
     }
 
     private static class DoubleListReader extends SingleColumnReader<List<Double>> {
 
         @Override
-        public List<Double> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), Double[].class));
+        public List<Double> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, Double[].class));
         }
     }
 
     private static class StringArrayReader extends SingleColumnReader<String[]> {
 
         @Override
-        public String[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), String[].class);
+        public String[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, String[].class);
         }
     }
 
     private static class StringListReader extends SingleColumnReader<List<String>> {
 
         @Override
-        public List<String> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), String[].class));
+        public List<String> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, String[].class));
         }
     }
 
     private static class UUIDArrayReader extends SingleColumnReader<UUID[]> {
 
         @Override
-        public UUID[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getArray(rs, ctx.col(), UUID[].class);
+        public UUID[] read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getArray(rs, col, UUID[].class);
         }
     }
 
     private static class UUIDListReader extends SingleColumnReader<List<UUID>> {
 
         @Override
-        public List<UUID> read(ResultSet rs, Context ctx) throws SQLException {
-            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, ctx.col(), UUID[].class));
+        public List<UUID> read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return CollectionUtils.toListOrNull(ctx.getDialect().getArray(rs, col, UUID[].class));
         }
     }
 
-    private static class BooleanReader extends SingleColumnReader<Boolean> {
+    private static class BooleanReader extends SingleColumnReader<Boolean> implements ColumnReader.OfBoolean {
 
         @Override
-        public Boolean read(ResultSet rs, Context ctx) throws SQLException {
-            boolean value = rs.getBoolean(ctx.col());
+        public Boolean read(ResultSet rs, Context ctx, int col) throws SQLException {
+            boolean value = rs.getBoolean(col);
             if (!value && rs.wasNull()) {
                 return null;
             }
             return value;
         }
+
+        @Override
+        public boolean readBoolean(ResultSet rs, int col) throws SQLException {
+            return rs.getBoolean(col);
+        }
     }
 
     private static class CharReader extends SingleColumnReader<Character> {
 
         @Override
-        public Character read(ResultSet rs, Context ctx) throws SQLException {
-            String str = rs.getString(ctx.col());
+        public Character read(ResultSet rs, Context ctx, int col) throws SQLException {
+            String str = rs.getString(col);
             return str != null ? str.charAt(0) : null;
         }
     }
@@ -422,8 +441,8 @@ public class ReaderManager {
     private static class ByteReader extends SingleColumnReader<Byte> {
 
         @Override
-        public Byte read(ResultSet rs, Context ctx) throws SQLException {
-            byte value = rs.getByte(ctx.col());
+        public Byte read(ResultSet rs, Context ctx, int col) throws SQLException {
+            byte value = rs.getByte(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
@@ -434,8 +453,8 @@ public class ReaderManager {
     private static class ShortReader extends SingleColumnReader<Short> {
 
         @Override
-        public Short read(ResultSet rs, Context ctx) throws SQLException {
-            short value = rs.getShort(ctx.col());
+        public Short read(ResultSet rs, Context ctx, int col) throws SQLException {
+            short value = rs.getShort(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
@@ -443,35 +462,45 @@ public class ReaderManager {
         }
     }
 
-    private static class IntReader extends SingleColumnReader<Integer> {
+    private static class IntReader extends SingleColumnReader<Integer> implements ColumnReader.OfInt {
 
         @Override
-        public Integer read(ResultSet rs, Context ctx) throws SQLException {
-            int value = rs.getInt(ctx.col());
+        public Integer read(ResultSet rs, Context ctx, int col) throws SQLException {
+            int value = rs.getInt(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
             return value;
         }
+
+        @Override
+        public int readInt(ResultSet rs, int col) throws SQLException {
+            return rs.getInt(col);
+        }
     }
 
-    private static class LongReader extends SingleColumnReader<Long> {
+    private static class LongReader extends SingleColumnReader<Long> implements ColumnReader.OfLong {
 
         @Override
-        public Long read(ResultSet rs, Context ctx) throws SQLException {
-            long value = rs.getLong(ctx.col());
+        public Long read(ResultSet rs, Context ctx, int col) throws SQLException {
+            long value = rs.getLong(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
             return value;
         }
+
+        @Override
+        public long readLong(ResultSet rs, int col) throws SQLException {
+            return rs.getLong(col);
+        }
     }
 
     private static class FloatReader extends SingleColumnReader<Float> {
 
         @Override
-        public Float read(ResultSet rs, Context ctx) throws SQLException {
-            float value = rs.getFloat(ctx.col());
+        public Float read(ResultSet rs, Context ctx, int col) throws SQLException {
+            float value = rs.getFloat(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
@@ -479,23 +508,28 @@ public class ReaderManager {
         }
     }
 
-    private static class DoubleReader extends SingleColumnReader<Double> {
+    private static class DoubleReader extends SingleColumnReader<Double> implements ColumnReader.OfDouble {
 
         @Override
-        public Double read(ResultSet rs, Context ctx) throws SQLException {
-            double value = rs.getDouble(ctx.col());
+        public Double read(ResultSet rs, Context ctx, int col) throws SQLException {
+            double value = rs.getDouble(col);
             if (value == 0 && rs.wasNull()) {
                 return null;
             }
             return value;
         }
+
+        @Override
+        public double readDouble(ResultSet rs, int col) throws SQLException {
+            return rs.getDouble(col);
+        }
     }
 
     private static class BigIntegerReader extends SingleColumnReader<BigInteger> {
 
         @Override
-        public BigInteger read(ResultSet rs, Context ctx) throws SQLException {
-            BigDecimal decimal = rs.getBigDecimal(ctx.col());
+        public BigInteger read(ResultSet rs, Context ctx, int col) throws SQLException {
+            BigDecimal decimal = rs.getBigDecimal(col);
             return decimal != null ? decimal.toBigInteger() : null;
         }
     }
@@ -503,24 +537,24 @@ public class ReaderManager {
     private static class BigDecimalReader extends SingleColumnReader<BigDecimal> {
 
         @Override
-        public BigDecimal read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getBigDecimal(ctx.col());
+        public BigDecimal read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getBigDecimal(col);
         }
     }
 
     private static class StringReader extends SingleColumnReader<String> {
 
         @Override
-        public String read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getString(ctx.col());
+        public String read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getString(col);
         }
     }
 
     private static class UUIDReader extends SingleColumnReader<UUID> {
 
         @Override
-        public UUID read(ResultSet rs, Context ctx) throws SQLException {
-            Object obj = rs.getObject(ctx.col());
+        public UUID read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Object obj = rs.getObject(col);
             if (obj == null) {
                 return null;
             }
@@ -537,39 +571,39 @@ public class ReaderManager {
     private static class BlobReader extends SingleColumnReader<Blob> {
 
         @Override
-        public Blob read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getBlob(ctx.col());
+        public Blob read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getBlob(col);
         }
     }
 
     private static class SqlDateReader extends SingleColumnReader<java.sql.Date> {
 
         @Override
-        public java.sql.Date read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getDate(ctx.col());
+        public java.sql.Date read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getDate(col);
         }
     }
 
     private static class SqlTimeReader extends SingleColumnReader<java.sql.Time> {
 
         @Override
-        public java.sql.Time read(ResultSet rs, Context ctx) throws SQLException {
-            return rs.getTime(ctx.col());
+        public java.sql.Time read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return rs.getTime(col);
         }
     }
 
     private static class SqlTimestampReader extends SingleColumnReader<java.sql.Timestamp> {
 
         @Override
-        public Timestamp read(ResultSet rs, Context ctx) throws SQLException {
-            return ctx.getDialect().getTimestamp(rs, ctx.col());
+        public Timestamp read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return ctx.getDialect().getTimestamp(rs, col);
         }
     }
 
     private static class DateReader extends SingleColumnReader<java.util.Date> {
         @Override
-        public java.util.Date read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public java.util.Date read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     java.util.Date.from(timestamp.toInstant()) :
                     null;
@@ -579,8 +613,8 @@ public class ReaderManager {
     private static class LocalDateReader extends SingleColumnReader<LocalDate> {
 
         @Override
-        public LocalDate read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public LocalDate read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     LocalDateTime.ofInstant(timestamp.toInstant(), ctx.getZoneId()).toLocalDate() :
                     null;
@@ -590,8 +624,8 @@ public class ReaderManager {
     private static class LocalTimeReader extends SingleColumnReader<LocalTime> {
 
         @Override
-        public LocalTime read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public LocalTime read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     LocalDateTime.ofInstant(timestamp.toInstant(), ctx.getZoneId()).toLocalTime() :
                     null;
@@ -601,8 +635,8 @@ public class ReaderManager {
     private static class LocalDateTimeReader extends SingleColumnReader<LocalDateTime> {
 
         @Override
-        public LocalDateTime read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public LocalDateTime read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     LocalDateTime.ofInstant(timestamp.toInstant(), ctx.getZoneId()) :
                     null;
@@ -612,8 +646,8 @@ public class ReaderManager {
     private static class OffsetDateTimeReader extends SingleColumnReader<OffsetDateTime> {
 
         @Override
-        public OffsetDateTime read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public OffsetDateTime read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     OffsetDateTime.ofInstant(timestamp.toInstant(), ctx.getZoneId()) :
                     null;
@@ -623,8 +657,8 @@ public class ReaderManager {
     private static class ZonedDateTimeReader extends SingleColumnReader<ZonedDateTime> {
 
         @Override
-        public ZonedDateTime read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, ctx.col());
+        public ZonedDateTime read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = ctx.getDialect().getTimestamp(rs, col);
             return timestamp != null ?
                     ZonedDateTime.ofInstant(timestamp.toInstant(), ctx.getZoneId()) :
                     null;
@@ -634,8 +668,8 @@ public class ReaderManager {
     private static class InstantReader extends SingleColumnReader<Instant> {
 
         @Override
-        public Instant read(ResultSet rs, Context ctx) throws SQLException {
-            Timestamp timestamp = rs.getTimestamp(ctx.col());
+        public Instant read(ResultSet rs, Context ctx, int col) throws SQLException {
+            Timestamp timestamp = rs.getTimestamp(col);
             return timestamp != null ? timestamp.toInstant() : null;
         }
     }
@@ -649,8 +683,8 @@ public class ReaderManager {
         }
 
         @Override
-        public String read(ResultSet rs, Context ctx) throws SQLException {
-            return dialect.baseValueToJson(rs.getObject(ctx.col(), dialect.getJsonBaseType()));
+        public String read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return dialect.baseValueToJson(rs.getObject(col, dialect.getJsonBaseType()));
         }
     }
 
@@ -667,7 +701,15 @@ public class ReaderManager {
 
         @Override
         public T read(ResultSet rs, Context ctx) throws SQLException {
-            S sqlValue = sqlReader.read(rs, ctx);
+            return toScalar(sqlReader.read(rs, ctx));
+        }
+
+        @Override
+        public void skip(Context ctx) {
+            sqlReader.skip(ctx);
+        }
+
+        T toScalar(S sqlValue) {
             try {
                 return sqlValue != null ? scalarProvider.toScalar(sqlValue) : null;
             } catch (Exception ex) {
@@ -683,10 +725,20 @@ public class ReaderManager {
                 );
             }
         }
+    }
+
+    private static class CustomizedColumnReader<T, S> extends CustomizedScalarReader<T, S> implements ColumnReader<T> {
+
+        private final ColumnReader<S> sqlReader;
+
+        CustomizedColumnReader(ScalarProvider<T, S> scalarProvider, ColumnReader<S> sqlReader) {
+            super(scalarProvider, sqlReader);
+            this.sqlReader = sqlReader;
+        }
 
         @Override
-        public void skip(Context ctx) {
-            sqlReader.skip(ctx);
+        public T read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return toScalar(sqlReader.read(rs, ctx, col));
         }
     }
 
@@ -696,17 +748,43 @@ public class ReaderManager {
 
         private final Reader<?> foreignKeyReader;
 
-        private ReferenceReader(ImmutableProp prop, ReaderManager readerManager) {
+        private final RowFactory rowFactory;
+
+        private final PropId[] rowPropIds;
+
+        private ReferenceReader(ImmutableProp prop, Reader<?> foreignKeyReader) {
             this.targetType = prop.getTargetType();
-            this.foreignKeyReader = readerManager.scalarReader(targetType.getIdProp());
+            this.foreignKeyReader = foreignKeyReader;
+            PropId idPropId = targetType.getIdProp().getId();
+            this.rowFactory = idPropId.asIndex() != -1 ? targetType.getRowFactory() : null;
+            this.rowPropIds = new PropId[] { idPropId };
+        }
+
+        static ReferenceReader of(ImmutableProp prop, ReaderManager readerManager) {
+            Reader<?> foreignKeyReader = readerManager.scalarReader(prop.getTargetType().getIdProp());
+            if (foreignKeyReader instanceof ColumnReader<?>) {
+                return new ReferenceColumnReader(prop, (ColumnReader<?>) foreignKeyReader);
+            }
+            return new ReferenceReader(prop, foreignKeyReader);
         }
 
         @Override
         public Object read(ResultSet rs, Context ctx) throws SQLException {
-            Object fk = foreignKeyReader.read(rs, ctx);
+            return reference(foreignKeyReader.read(rs, ctx), ctx);
+        }
+
+        @Override
+        public void skip(Context ctx) {
+            foreignKeyReader.skip(ctx);
+        }
+
+        Object reference(Object fk, Context ctx) {
             if (fk == null) {
                 return null;
             }
+            if (rowFactory != null) {
+                return rowFactory.create(rowPropIds, new Object[] { fk });
+            }
             DraftSpi spi = (DraftSpi) targetType.getDraftFactory().apply(ctx.draftContext(), null);
             try {
                 spi.__set(targetType.getIdProp().getId(), fk);
@@ -715,10 +793,20 @@ public class ReaderManager {
             }
             return ctx.resolve(spi);
         }
+    }
+
+    private static class ReferenceColumnReader extends ReferenceReader implements ColumnReader<Object> {
+
+        private final ColumnReader<?> foreignKeyReader;
+
+        private ReferenceColumnReader(ImmutableProp prop, ColumnReader<?> foreignKeyReader) {
+            super(prop, foreignKeyReader);
+            this.foreignKeyReader = foreignKeyReader;
+        }
 
         @Override
-        public void skip(Context ctx) {
-            foreignKeyReader.skip(ctx);
+        public Object read(ResultSet rs, Context ctx, int col) throws SQLException {
+            return reference(foreignKeyReader.read(rs, ctx, col), ctx);
         }
     }
 
@@ -750,8 +838,8 @@ public class ReaderManager {
         private final Reader<?> targetReader;
 
         AssociationReader(AssociationType associationType, ReaderManager readerManager) {
-            sourceReader = new ReferenceReader(associationType.getSourceProp(), readerManager);
-            targetReader = new ReferenceReader(associationType.getTargetProp(), readerManager);
+            sourceReader = ReferenceReader.of(associationType.getSourceProp(), readerManager);
+            targetReader = ReferenceReader.of(associationType.getTargetProp(), readerManager);
         }
 
         @Override
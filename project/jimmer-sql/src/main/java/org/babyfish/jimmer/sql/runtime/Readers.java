@@ -20,82 +20,112 @@ class Readers {
     private Readers() {}
 
     public static Reader<?> createReader(JSqlClientImplementor sqlClient, List<Selection<?>> selections) {
-        switch (selections.size()) {
+        QueryReaderCache queryReaderCache = sqlClient.getQueryReaderCache();
+        if (queryReaderCache != null) {
+            return queryReaderCache.reader(sqlClient, selections);
+        }
+        return createReaderWithoutCache(sqlClient, selections);
+    }
+
+    static Reader<?> createReaderWithoutCache(JSqlClientImplementor sqlClient, List<Selection<?>> selections) {
+        int size = selections.size();
+        if (size < 1 || size > 9) {
+            throw new IllegalArgumentException("The selection count must between 1 and 9");
+        }
+        Reader<?>[] readers = new Reader[size];
+        for (int i = 0; i < size; i++) {
+            readers[i] = createSingleReader(sqlClient, selections.get(i));
+        }
+        Reader<?>[] boundReaders = bind(readers);
+        if (boundReaders != null) {
+            return new BoundReader(tuple(boundReaders));
+        }
+        return tuple(readers);
+    }
+
+    /**
+     * If the count of columns of each reader is known,
+     * bind the absolute column indices once here
+     * instead of counting columns for each row
+     */
+    private static Reader<?>[] bind(Reader<?>[] readers) {
+        Reader<?>[] boundReaders = new Reader[readers.length];
+        int col = 1;
+        for (int i = 0; i < readers.length; i++) {
+            Reader<?> reader = readers[i];
+            if (reader instanceof ColumnReader<?>) {
+                boundReaders[i] = ((ColumnReader<?>) reader).bind(col);
+                col++;
+            } else if (reader instanceof ObjectReader && ((ObjectReader) reader).width() != -1) {
+                boundReaders[i] = ((ObjectReader) reader).bind(col);
+                col += ((ObjectReader) reader).width();
+            } else {
+                return null;
+            }
+        }
+        return boundReaders;
+    }
+
+    private static Reader<?> tuple(Reader<?>[] readers) {
+        switch (readers.length) {
             case 1:
-                return createSingleReader(sqlClient, selections.get(0));
+                return readers[0];
             case 2:
-                return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1))
-                );
+                return Reader.tuple(readers[0], readers[1]);
             case 3:
-                return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2))
-                );
+                return Reader.tuple(readers[0], readers[1], readers[2]);
             case 4:
-                return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3))
-                );
+                return Reader.tuple(readers[0], readers[1], readers[2], readers[3]);
             case 5:
-                return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3)),
-                        createSingleReader(sqlClient, selections.get(4))
-                );
+                return Reader.tuple(readers[0], readers[1], readers[2], readers[3], readers[4]);
             case 6:
                 return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3)),
-                        createSingleReader(sqlClient, selections.get(4)),
-                        createSingleReader(sqlClient, selections.get(5))
+                        readers[0], readers[1], readers[2], readers[3], readers[4],
+                        readers[5]
                 );
             case 7:
                 return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3)),
-                        createSingleReader(sqlClient, selections.get(4)),
-                        createSingleReader(sqlClient, selections.get(5)),
-                        createSingleReader(sqlClient, selections.get(6))
+                        readers[0], readers[1], readers[2], readers[3], readers[4],
+                        readers[5], readers[6]
                 );
             case 8:
                 return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3)),
-                        createSingleReader(sqlClient, selections.get(4)),
-                        createSingleReader(sqlClient, selections.get(5)),
-                        createSingleReader(sqlClient, selections.get(6)),
-                        createSingleReader(sqlClient, selections.get(7))
+                        readers[0], readers[1], readers[2], readers[3], readers[4],
+                        readers[5], readers[6], readers[7]
                 );
-            case 9:
+            default:
                 return Reader.tuple(
-                        createSingleReader(sqlClient, selections.get(0)),
-                        createSingleReader(sqlClient, selections.get(1)),
-                        createSingleReader(sqlClient, selections.get(2)),
-                        createSingleReader(sqlClient, selections.get(3)),
-                        createSingleReader(sqlClient, selections.get(4)),
-                        createSingleReader(sqlClient, selections.get(5)),
-                        createSingleReader(sqlClient, selections.get(6)),
-                        createSingleReader(sqlClient, selections.get(7)),
-                        createSingleReader(sqlClient, selections.get(8))
+                        readers[0], readers[1], readers[2], readers[3], readers[4],
+                        readers[5], readers[6], readers[7], readers[8]
                 );
-            default:
-                throw new IllegalArgumentException("The selection count must between 1 and 9");
         }
     }
 
+    /**
+     * The shape of selection, it determines the reader created by
+     * {@link #createSingleReader(JSqlClientImplementor, Selection)}
+     * and must be kept consistent with that method.
+     */
+    static Object shape(Selection<?> selection) {
+        if (selection instanceof TableSelection) {
+            return ((TableSelection)selection).getImmutableType();
+        }
+        if (selection instanceof Table<?>) {
+            return ((Table<?>)selection).getImmutableType();
+        }
+        if (selection instanceof FetcherSelection<?>) {
+            return ((FetcherSelection<?>) selection).getFetcher();
+        }
+        ExpressionImplementor<?> unwrapped = AbstractTypedEmbeddedPropExpression.<ExpressionImplementor<?>>unwrap(selection);
+        if (unwrapped instanceof PropExpression<?>) {
+            ImmutableProp prop = ((PropExpressionImplementor<?>) unwrapped).getProp();
+            if (prop.isScalar(TargetLevel.ENTITY) && !prop.isEmbedded(EmbeddedLevel.SCALAR)) {
+                return prop;
+            }
+        }
+        return unwrapped.getType();
+    }
+
     private static Reader<?> createSingleReader(JSqlClientImplementor sqlClient, Selection<?> selection) {
         if (selection instanceof TableSelection) {
             ImmutableType immutableType =
@@ -14,15 +14,24 @@ public class SavepointManager {
     @Nullable
     public static Savepoint setIfNeeded(Connection con, JSqlClientImplementor sqlClient) {
         if (sqlClient.getDialect().isTransactionAbortedByError()) {
-            try {
-                return con.getAutoCommit() ? null : con.setSavepoint();
-            } catch (SQLException ex) {
-                throw new ExecutionException("Failed to set savepoint", ex);
-            }
+            return set(con);
         }
         return null;
     }
 
+    /**
+     * Set savepoint if the connection is in transaction,
+     * whether the transaction is aborted by error or not
+     */
+    @Nullable
+    public static Savepoint set(Connection con) {
+        try {
+            return con.getAutoCommit() ? null : con.setSavepoint();
+        } catch (SQLException ex) {
+            throw new ExecutionException("Failed to set savepoint", ex);
+        }
+    }
+
     public static void rollback(ConnectionSupplier con, @Nullable Savepoint savepoint) {
         if (savepoint != null) {
             try {
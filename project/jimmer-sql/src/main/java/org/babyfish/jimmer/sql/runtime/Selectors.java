@@ -2,15 +2,19 @@ package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherUtil;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
@@ -46,7 +50,9 @@ public class Selectors {
                                 try (ResultSet resultSet = stmt.executeQuery()) {
                                     while (resultSet.next()) {
                                         results.add((R)reader.read(resultSet, ctx));
-                                        ctx.resetCol();
+                                        if (!(reader instanceof BoundReader)) {
+                                            ctx.resetCol();
+                                        }
                                     }
                                 }
                                 return results;
@@ -58,7 +64,6 @@ public class Selectors {
         return rows;
     }
 
-    @SuppressWarnings("unchecked")
     public static <R> void forEach(
             JSqlClientImplementor sqlClient,
             Connection con,
@@ -69,10 +74,46 @@ public class Selectors {
             ExecutionPurpose purpose,
             int batchSize,
             Consumer<R> consumer
+    ) {
+        Selectors.<R, Void>stream(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                batchSize,
+                stream -> {
+                    stream.forEach(consumer);
+                    return null;
+                }
+        );
+    }
+
+    /**
+     * Read the rows of the cursor batch by batch, the returned stream
+     * is only valid before the block returns because the cursor is
+     * closed after that.
+     *
+     * <p>Each batch is read by a new draft context and fetched by
+     * a new fetcher context, nothing is retained after the batch is
+     * consumed, so the memory usage does not depend on the total row count.</p>
+     */
+    public static <R, X> X stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Function<Stream<R>, X> block
     ) {
         Executor executor = sqlClient.getExecutor();
         long cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
-        Executor.Args<Void> args = new Executor.Args<>(
+        Executor.Args<X> args = new Executor.Args<>(
                 sqlClient,
                 con,
                 sql,
@@ -82,38 +123,118 @@ public class Selectors {
                 null,
                 (stmt, a) -> {
                     Reader<?> reader = Readers.createReader(sqlClient, selections);
-                    return Internal.usingSqlDraftContext((draftContext) -> {
-                        Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
-                        List<R> results = new ArrayList<>();
-                        stmt.setFetchSize(batchSize);
-                        try (ResultSet resultSet = stmt.executeQuery()) {
-                            while (resultSet.next()) {
-                                results.add((R) reader.read(resultSet, ctx));
-                                ctx.resetCol();
-                                if (results.size() >= batchSize) {
-                                    FetcherUtil.fetch(sqlClient, con, selections, results);
-                                    for (R result : results) {
-                                        consumer.accept(result);
-                                    }
-                                    results.clear();
-                                }
-                            }
-                        }
-                        FetcherUtil.fetch(sqlClient, con, selections, results);
-                        for (R result : results) {
-                            consumer.accept(result);
+                    stmt.setFetchSize(batchSize);
+                    try (ResultSet resultSet = stmt.executeQuery()) {
+                        BatchIterator<R> itr = new BatchIterator<>(
+                                sqlClient,
+                                con,
+                                selections,
+                                reader,
+                                resultSet,
+                                batchSize
+                        );
+                        try (Stream<R> stream = StreamSupport.stream(
+                                Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED),
+                                false
+                        )) {
+                            return block.apply(stream);
                         }
-                        return null;
-                    });
+                    }
                 },
                 cursorId
         );
         executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
         Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
         try {
-            executor.execute(args);
+            return executor.execute(args);
         } finally {
             Cursors.setCurrentCursorId(oldCursorId);
         }
     }
+
+    private static class BatchIterator<R> implements Iterator<R> {
+
+        private final JSqlClientImplementor sqlClient;
+
+        private final Connection con;
+
+        private final List<Selection<?>> selections;
+
+        private final Reader<?> reader;
+
+        private final ResultSet resultSet;
+
+        private final int batchSize;
+
+        private List<R> rows = Collections.emptyList();
+
+        private int index;
+
+        private boolean eof;
+
+        BatchIterator(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                List<Selection<?>> selections,
+                Reader<?> reader,
+                ResultSet resultSet,
+                int batchSize
+        ) {
+            this.sqlClient = sqlClient;
+            this.con = con;
+            this.selections = selections;
+            this.reader = reader;
+            this.resultSet = resultSet;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index >= rows.size()) {
+                if (eof) {
+                    return false;
+                }
+                rows = readBatch();
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.get(index++);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> readBatch() {
+            List<R> batch;
+            try {
+                batch = Internal.usingSqlDraftContext(draftContext -> {
+                    Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
+                    List<R> results = new ArrayList<>();
+                    while (results.size() < batchSize) {
+                        if (!resultSet.next()) {
+                            eof = true;
+                            break;
+                        }
+                        results.add((R) reader.read(resultSet, ctx));
+                        if (!(reader instanceof BoundReader)) {
+                            ctx.resetCol();
+                        }
+                    }
+                    return results;
+                });
+            } catch (SQLException ex) {
+                throw new ExecutionException(
+                        "Cannot read the next batch of cursor: " + ex.getMessage(),
+                        ex
+                );
+            }
+            FetcherUtil.fetch(sqlClient, con, selections, batch);
+            return batch;
+        }
+    }
 }
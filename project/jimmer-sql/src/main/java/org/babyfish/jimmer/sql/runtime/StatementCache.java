@@ -0,0 +1,357 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.transaction.Propagation;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Per-connection cache of prepared statements used by {@link DefaultExecutor}.
+ *
+ * <p>The statements are keyed by SQL text and generated keys mode, and at most
+ * {@code maxSize} statements are kept for each connection, the least recently
+ * used one is closed when it is exceeded. A statement is checked out while it
+ * is being used, so the nested execution of same SQL, such as the child
+ * fetching of an open cursor, simply prepares another statement.</p>
+ *
+ * <p>Statements are only cached while the connection is borrowed by the
+ * connection manager returned by {@link #wrap(ConnectionManager)}, when the
+ * outermost borrowing of a connection is finished, all its cached
+ * statements are closed before the connection is released. So statements are
+ * reused inside {@link TxConnectionManager#executeTransaction(Function)},
+ * batch saves, and object fetchers of one query, but not by separate calls
+ * outside transaction. If the wrapped connection manager is a {@link ScopeBinder},
+ * such as the connection manager of spring boot starter, the statements are
+ * kept until the transaction bound to the connection is completed.</p>
+ *
+ * <p>This cache is disabled by default, please enable it by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setStatementCacheEnabled(boolean)}.
+ * It is unnecessary if the JDBC driver or connection pool already caches statements.</p>
+ */
+public class StatementCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    public static final int NO_GENERATED_KEYS = 0;
+
+    public static final int RETURN_GENERATED_KEYS = 1;
+
+    public static final int RETURN_FIRST_COLUMN = 2;
+
+    private final int maxSize;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Map<Connection, Scope> scopeMap = new IdentityHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public StatementCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("`maxSize` must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The count of cached statements of the connection
+     */
+    public int size(Connection con) {
+        lock.lock();
+        try {
+            Scope scope = scopeMap.get(con);
+            return scope != null ? scope.statementMap.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The cached or new statement, or null if the connection is not
+     * borrowed by the wrapped connection manager so that nothing can be cached.
+     */
+    @Nullable
+    public PreparedStatement acquire(Connection con, String sql, int generatedKeys) throws SQLException {
+        Key key = new Key(sql, generatedKeys);
+        lock.lock();
+        try {
+            Scope scope = scopeMap.get(con);
+            if (scope == null) {
+                return null;
+            }
+            PreparedStatement statement = scope.statementMap.remove(key);
+            if (statement != null) {
+                hitCount.incrementAndGet();
+                return statement;
+            }
+        } finally {
+            lock.unlock();
+        }
+        missCount.incrementAndGet();
+        switch (generatedKeys) {
+            case RETURN_GENERATED_KEYS:
+                return con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            case RETURN_FIRST_COLUMN:
+                return con.prepareStatement(sql, new int[] { 1 });
+            default:
+                return con.prepareStatement(sql);
+        }
+    }
+
+    /**
+     * Give back the statement returned by {@link #acquire(Connection, String, int)}.
+     *
+     * @param reusable Whether the last execution succeeded, otherwise the statement is closed
+     */
+    public void release(
+            Connection con,
+            String sql,
+            int generatedKeys,
+            PreparedStatement statement,
+            boolean reusable
+    ) throws SQLException {
+        if (reusable) {
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException ex) {
+                statement.close();
+                throw ex;
+            }
+            Key key = new Key(sql, generatedKeys);
+            PreparedStatement evicted = null;
+            lock.lock();
+            try {
+                Scope scope = scopeMap.get(con);
+                if (scope != null && !scope.statementMap.containsKey(key)) {
+                    scope.statementMap.put(key, statement);
+                    statement = null;
+                    if (scope.statementMap.size() > maxSize) {
+                        Iterator<PreparedStatement> itr = scope.statementMap.values().iterator();
+                        evicted = itr.next();
+                        itr.remove();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (evicted != null) {
+                evicted.close();
+            }
+        }
+        if (statement != null) {
+            statement.close();
+        }
+    }
+
+    /**
+     * Wrap the connection manager so that the cached statements of
+     * each connection can be closed when that connection is released.
+     */
+    public ConnectionManager wrap(ConnectionManager connectionManager) {
+        if (connectionManager == null || connectionManager instanceof Wrapper) {
+            return connectionManager;
+        }
+        if (connectionManager instanceof TxConnectionManager) {
+            return new TxWrapper((TxConnectionManager) connectionManager);
+        }
+        return new Wrapper(connectionManager);
+    }
+
+    /**
+     * @return The original connection manager
+     * if it is wrapped by {@link #wrap(ConnectionManager)}
+     */
+    public static ConnectionManager unwrap(ConnectionManager connectionManager) {
+        if (connectionManager instanceof Wrapper) {
+            return ((Wrapper) connectionManager).raw;
+        }
+        return connectionManager;
+    }
+
+    private <R> R execute(Connection con, @Nullable ScopeBinder binder, Function<Connection, R> block) {
+        Scope scope;
+        boolean created;
+        lock.lock();
+        try {
+            scope = scopeMap.get(con);
+            created = scope == null;
+            if (created) {
+                scope = new Scope();
+                scopeMap.put(con, scope);
+            }
+            scope.depth++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (created && binder != null && binder.bindScope(con, () -> leave(con))) {
+                lock.lock();
+                try {
+                    scope.depth++;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return block.apply(con);
+        } finally {
+            leave(con);
+        }
+    }
+
+    private void leave(Connection con) {
+        Collection<PreparedStatement> statements = null;
+        lock.lock();
+        try {
+            Scope scope = scopeMap.get(con);
+            if (--scope.depth == 0) {
+                scopeMap.remove(con);
+                statements = scope.statementMap.values();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (statements != null) {
+            for (PreparedStatement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException ex) {
+                    // Closing is the best effort, the connection is released soon
+                }
+            }
+        }
+    }
+
+    /**
+     * Can be implemented by the connection manager whose connection is shared
+     * by several borrowings, such as the connection bound to the transaction
+     * of some framework, so that the cached statements can be reused until
+     * that connection is really released.
+     */
+    public interface ScopeBinder {
+
+        /**
+         * @param con The connection which is borrowed the first time in the scope
+         * @param release The callback which must be invoked once when
+         *                the connection is going to be released
+         * @return Whether the release callback is bound, if false,
+         * the cached statements are closed when the outermost borrowing
+         * of the connection is finished.
+         */
+        boolean bindScope(Connection con, Runnable release);
+    }
+
+    private static class Scope {
+
+        int depth;
+
+        // Access order, the eldest is least recently used
+        final LinkedHashMap<Key, PreparedStatement> statementMap =
+                new LinkedHashMap<>(16, .75F, true);
+    }
+
+    private static class Key {
+
+        final String sql;
+
+        final int generatedKeys;
+
+        Key(String sql, int generatedKeys) {
+            this.sql = sql;
+            this.generatedKeys = generatedKeys;
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + generatedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return generatedKeys == other.generatedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                    "sql='" + sql + '\'' +
+                    ", generatedKeys=" + generatedKeys +
+                    '}';
+        }
+    }
+
+    private class Wrapper implements ConnectionManager {
+
+        final ConnectionManager raw;
+
+        final ScopeBinder binder;
+
+        Wrapper(ConnectionManager raw) {
+            this.raw = raw;
+            this.binder = raw instanceof ScopeBinder ? (ScopeBinder) raw : null;
+        }
+
+        @Override
+        public <R> R execute(@Nullable Connection con, Function<Connection, R> block) {
+            return raw.execute(con, c -> StatementCache.this.execute(c, binder, block));
+        }
+
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            return raw.execute(c -> StatementCache.this.execute(c, binder, block));
+        }
+    }
+
+    private class TxWrapper extends Wrapper implements TxConnectionManager {
+
+        TxWrapper(TxConnectionManager raw) {
+            super(raw);
+        }
+
+        @Override
+        public <R> R executeTransaction(Function<Connection, R> block) {
+            return ((TxConnectionManager) raw).executeTransaction(
+                    c -> StatementCache.this.execute(c, binder, block)
+            );
+        }
+
+        @Override
+        public <R> R executeTransaction(Propagation propagation, Function<Connection, R> block) {
+            return ((TxConnectionManager) raw).executeTransaction(
+                    propagation,
+                    c -> StatementCache.this.execute(c, binder, block)
+            );
+        }
+
+        @Override
+        public boolean registerAfterCommit(Connection con, Runnable action) {
+            return ((TxConnectionManager) raw).registerAfterCommit(con, action);
+        }
+    }
+}
@@ -3,10 +3,19 @@ package org.babyfish.jimmer.sql.runtime;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 @FunctionalInterface
 public interface StatementFactory {
 
+    /**
+     * The factory of the statements which return generated keys.
+     * Unlike other factories, the statements created by it can be
+     * cached by {@link StatementCache}.
+     */
+    StatementFactory RETURN_GENERATED_KEYS =
+            (con, sql) -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+
     PreparedStatement preparedStatement(
             Connection con,
             String sql
@@ -5,6 +5,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -65,6 +67,20 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
         }
     }
 
+    @Override
+    public boolean registerAfterCommit(Connection con, Runnable action) {
+        for (Scope scope = scopeLocal.get(); scope != null; scope = scope.parent) {
+            if (scope.con == con && scope.transactionOwner) {
+                if (scope.afterCommitActions == null) {
+                    scope.afterCommitActions = new ArrayList<>();
+                }
+                scope.afterCommitActions.add(action);
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected abstract Connection openConnection() throws SQLException;
 
     protected void closeConnection(Connection con) throws SQLException {
@@ -119,6 +135,8 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
 
     private class Scope {
 
+        private final Scope parent;
+
         private final Connection con;
 
         private final boolean withTransaction;
@@ -127,7 +145,10 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
 
         private final boolean transactionOwner;
 
+        private List<Runnable> afterCommitActions;
+
         Scope(Scope parent, boolean borrow, boolean withTransaction) throws SQLException {
+            this.parent = parent;
             if (parent != null && parent.withTransaction && !withTransaction) {
                 borrow = false;
             }
@@ -180,6 +201,12 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
                     closeConnection(con);
                 }
             }
+            List<Runnable> actions = afterCommitActions;
+            if (actions != null && !error) {
+                for (Runnable action : actions) {
+                    action.run();
+                }
+            }
         }
     }
 }
@@ -35,4 +35,19 @@ public interface TxConnectionManager extends ConnectionManager {
     }
 
     <R> R executeTransaction(Propagation propagation, Function<Connection, R> block);
+
+    /**
+     * Register an action which is executed after the transaction
+     * of the connection is committed, it is not executed if the
+     * transaction is rolled back.
+     *
+     * @param con The connection of the transaction
+     * @param action The action to be executed after commit
+     * @return Whether the action is registered, false means that the connection
+     * is not in a transaction managed by this connection manager or this
+     * connection manager does not support it.
+     */
+    default boolean registerAfterCommit(Connection con, Runnable action) {
+        return false;
+    }
 }
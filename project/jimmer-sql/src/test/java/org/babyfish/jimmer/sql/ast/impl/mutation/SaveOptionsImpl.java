@@ -136,4 +136,19 @@ public class SaveOptionsImpl implements SaveOptions {
     public boolean isTransactionRequired() {
         return sqlClient.isMutationTransactionRequired();
     }
+
+    @Override
+    public boolean isBulkLoadEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isShapeMergingEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDiffUpdateEnabled() {
+        return false;
+    }
 }
@@ -0,0 +1,92 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.common.Tests;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+public class BinaryValueSerializerTest extends Tests {
+
+    @Test
+    public void testObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(Constants.learningGraphQLId1);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(1);
+            draft.setPrice(new BigDecimal("50.80"));
+            draft.applyStore(store -> store.setId(Constants.oreillyId));
+            draft.addIntoAuthors(author -> author.setId(Constants.eveId));
+            draft.addIntoAuthors(author -> author.setId(Constants.alexId));
+        });
+        ValueSerializer<Book> jsonSerializer = new ValueSerializer<>(ImmutableType.get(Book.class));
+        ValueSerializer<Book> binarySerializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        byte[] bytes = binarySerializer.serialize(book);
+        Assertions.assertTrue(bytes.length < jsonSerializer.serialize(book).length);
+        Assertions.assertEquals(book.toString(), binarySerializer.deserialize(bytes).toString());
+    }
+
+    @Test
+    public void testIdList() {
+        List<UUID> bookIds = Arrays.asList(
+                Constants.learningGraphQLId1,
+                Constants.learningGraphQLId2,
+                Constants.learningGraphQLId3
+        );
+        ValueSerializer<List<UUID>> serializer = new BinaryValueSerializer<>(BookStoreProps.BOOKS.unwrap());
+        Assertions.assertEquals(bookIds, serializer.deserialize(serializer.serialize(bookIds)));
+        Assertions.assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    public void testGenericCalculatedValue() {
+        List<UUID> bookIds = Arrays.asList(
+                Constants.learningGraphQLId1,
+                Constants.learningGraphQLId2
+        );
+        ValueSerializer<List<UUID>> serializer = new BinaryValueSerializer<>(
+                ImmutableType.get(BookStore.class).getProp("newestBookIds")
+        );
+        Assertions.assertEquals(bookIds, serializer.deserialize(serializer.serialize(bookIds)));
+        Assertions.assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    public void testMixedFormats() {
+        List<UUID> bookIds = Collections.singletonList(Constants.learningGraphQLId1);
+        ValueSerializer<List<UUID>> jsonSerializer = new ValueSerializer<>(BookStoreProps.BOOKS.unwrap());
+        ValueSerializer<List<UUID>> binarySerializer = new BinaryValueSerializer<>(BookStoreProps.BOOKS.unwrap());
+        ValueSerializer<String> otherBinarySerializer = new BinaryValueSerializer<>(BookStoreProps.NAME.unwrap());
+
+        // The json value written before the format is switched can still be read
+        Map<String, List<UUID>> map = binarySerializer.deserialize(
+                Arrays.asList("a", "b"),
+                Arrays.asList(jsonSerializer.serialize(bookIds), binarySerializer.serialize(bookIds))
+        );
+        Assertions.assertEquals(bookIds, map.get("a"));
+        Assertions.assertEquals(bookIds, map.get("b"));
+
+        // The value written by other format or other metadata is treated as cache missing
+        Assertions.assertEquals(
+                Collections.emptyMap(),
+                jsonSerializer.deserialize(
+                        Collections.singletonList("a"),
+                        Collections.singletonList(binarySerializer.serialize(bookIds))
+                )
+        );
+        Assertions.assertEquals(
+                Collections.emptyMap(),
+                binarySerializer.deserialize(
+                        Collections.singletonList("a"),
+                        Collections.singletonList(otherBinarySerializer.serialize("O'REILLY"))
+                )
+        );
+    }
+}
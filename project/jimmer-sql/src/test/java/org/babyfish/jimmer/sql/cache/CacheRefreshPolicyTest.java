@@ -0,0 +1,229 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+public class CacheRefreshPolicyTest extends AbstractTest {
+
+    @Test
+    public void testRefreshInBackground() {
+        StaleBinder binder = new StaleBinder(Runnable::run, true);
+        binder.map.put(1L, "Old-1");
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>().add(binder).build();
+        List<String> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Map<Long, String> map = cache.getAll(
+                    Collections.singleton(1L),
+                    new CacheEnvironment<>(
+                            getSqlClient(),
+                            con,
+                            keys -> load("Loader", keys, loadedKeys),
+                            keys -> load("BackgroundLoader", keys, loadedKeys),
+                            false
+                    )
+            );
+            // The stale value is returned
+            Assertions.assertEquals("Old-1", map.get(1L));
+        });
+        Assertions.assertEquals(Collections.singletonList("BackgroundLoader-1"), loadedKeys);
+        Assertions.assertEquals("BackgroundLoader-1", binder.map.get(1L));
+    }
+
+    @Test
+    public void testRefreshByCurrentThread() {
+        StaleBinder binder = new StaleBinder(Runnable::run, true);
+        binder.map.put(1L, "Old-1");
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>().add(binder).build();
+        List<String> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Map<Long, String> map = cache.getAll(
+                    Collections.singleton(1L),
+                    new CacheEnvironment<>(
+                            getSqlClient(),
+                            con,
+                            keys -> load("Loader", keys, loadedKeys),
+                            false
+                    )
+            );
+            // No background loader, so the value is reloaded by the current thread
+            Assertions.assertEquals("Loader-1", map.get(1L));
+        });
+        Assertions.assertEquals(Collections.singletonList("Loader-1"), loadedKeys);
+        Assertions.assertEquals("Loader-1", binder.map.get(1L));
+    }
+
+    @Test
+    public void testSkipRefreshAheadWithoutBackgroundLoader() {
+        StaleBinder binder = new StaleBinder(Runnable::run, false);
+        binder.map.put(1L, "Old-1");
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>().add(binder).build();
+        List<String> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Map<Long, String> map = cache.getAll(
+                    Collections.singleton(1L),
+                    new CacheEnvironment<>(
+                            getSqlClient(),
+                            con,
+                            keys -> load("Loader", keys, loadedKeys),
+                            false
+                    )
+            );
+            // The value is not stale, refresh-ahead is skipped
+            Assertions.assertEquals("Old-1", map.get(1L));
+        });
+        Assertions.assertEquals(Collections.emptyList(), loadedKeys);
+        Assertions.assertEquals("Old-1", binder.map.get(1L));
+    }
+
+    @Test
+    public void testDiscardRefreshOfDeletedKey() {
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        StaleBinder binder = new StaleBinder(tasks::add, true);
+        binder.map.put(1L, "Old-1");
+        binder.map.put(2L, "Old-2");
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>().add(binder).build();
+        List<String> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            CacheEnvironment<Long, String> env = new CacheEnvironment<>(
+                    getSqlClient(),
+                    con,
+                    keys -> load("Loader", keys, loadedKeys),
+                    keys -> load("BackgroundLoader", keys, loadedKeys),
+                    false
+            );
+            cache.getAll(Arrays.asList(1L, 2L), env);
+            // At most one reload for each key
+            cache.getAll(Arrays.asList(1L, 2L), env);
+        });
+        Assertions.assertEquals(1, tasks.size());
+        cache.deleteAll(Collections.singleton(1L), null);
+        tasks.get(0).run();
+        Assertions.assertEquals(Arrays.asList("BackgroundLoader-1", "BackgroundLoader-2"), loadedKeys);
+        Assertions.assertNull(binder.map.get(1L));
+        Assertions.assertEquals("BackgroundLoader-2", binder.map.get(2L));
+    }
+
+    @Test
+    public void testStaleValueOfNextNodeIsNotSaved() {
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        StaleBinder localBinder = new StaleBinder(tasks::add, false);
+        StaleBinder remoteBinder = new StaleBinder(tasks::add, true);
+        remoteBinder.map.put(1L, "Old-1");
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(localBinder)
+                .add(remoteBinder)
+                .build();
+        List<String> loadedKeys = new ArrayList<>();
+        jdbc(con -> {
+            Map<Long, String> map = cache.getAll(
+                    Collections.singleton(1L),
+                    new CacheEnvironment<>(
+                            getSqlClient(),
+                            con,
+                            keys -> load("Loader", keys, loadedKeys),
+                            keys -> load("BackgroundLoader", keys, loadedKeys),
+                            false
+                    )
+            );
+            // The stale value of remote binder is returned
+            Assertions.assertEquals("Old-1", map.get(1L));
+        });
+        // but it is not saved into the local binder as a fresh value
+        Assertions.assertFalse(localBinder.map.containsKey(1L));
+        Assertions.assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        Assertions.assertEquals(Collections.singletonList("BackgroundLoader-1"), loadedKeys);
+        Assertions.assertEquals("BackgroundLoader-1", remoteBinder.map.get(1L));
+        Assertions.assertFalse(localBinder.map.containsKey(1L));
+    }
+
+    private static Map<Long, String> load(String prefix, Collection<Long> keys, List<String> loadedKeys) {
+        Map<Long, String> map = new LinkedHashMap<>();
+        for (Long key : keys) {
+            String value = prefix + '-' + key;
+            loadedKeys.add(value);
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    // All cached values are treated as values to be refreshed,
+    // they are stale values too if `stale` is true
+    private static class StaleBinder implements SimpleBinder<Long, String> {
+
+        final Map<Long, String> map = new ConcurrentHashMap<>();
+
+        private final CacheRefreshPolicy refreshPolicy;
+
+        private final boolean stale;
+
+        StaleBinder(Executor executor, boolean stale) {
+            refreshPolicy = CacheRefreshPolicy.of(null, Duration.ofMinutes(1), executor);
+            this.stale = stale;
+        }
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new LinkedHashMap<>();
+            for (Long key : keys) {
+                String value = map.get(key);
+                if (value != null) {
+                    resultMap.put(key, value);
+                }
+            }
+            return resultMap;
+        }
+
+        @Override
+        public Map<Long, String> getAllWithRefreshKeys(
+                Collection<Long> keys,
+                Set<Long> refreshKeys,
+                Set<Long> staleKeys
+        ) {
+            Map<Long, String> resultMap = getAll(keys);
+            refreshKeys.addAll(resultMap.keySet());
+            if (stale) {
+                staleKeys.addAll(resultMap.keySet());
+            }
+            return resultMap;
+        }
+
+        @Override
+        public CacheRefreshPolicy refreshPolicy() {
+            return refreshPolicy;
+        }
+
+        @Override
+        public void setAll(Map<Long, String> map) {
+            this.map.putAll(map);
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            map.keySet().removeAll(keys);
+        }
+
+        @Override
+        public ImmutableType type() {
+            return ImmutableType.get(Book.class);
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+    }
+}
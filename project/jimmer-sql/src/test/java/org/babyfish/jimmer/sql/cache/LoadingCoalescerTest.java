@@ -0,0 +1,183 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.LoadingCoalescer;
+import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class LoadingCoalescerTest extends AbstractTest {
+
+    @Test
+    public void testCoalesce() throws Exception {
+        LoadingCoalescer coalescer = new LoadingCoalescer(null);
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(new MapBinder())
+                .coalesce(coalescer)
+                .build();
+        List<Set<Long>> loadedKeySets = new CopyOnWriteArrayList<>();
+        CountDownLatch firstLoading = new CountDownLatch(1);
+        CountDownLatch secondLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheLoader<Long, String> loader = keys -> {
+            loadedKeySets.add(new TreeSet<>(keys));
+            if (keys.contains(1L)) {
+                firstLoading.countDown();
+                await(release);
+            } else {
+                secondLoading.countDown();
+            }
+            return load(keys);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            jdbc(con -> {
+                CacheEnvironment<Long, String> env =
+                        new CacheEnvironment<>(getSqlClient(), con, loader, false);
+                Future<Map<Long, String>> future1 = executorService.submit(
+                        () -> cache.getAll(Arrays.asList(1L, 2L), env)
+                );
+                await(firstLoading);
+                Future<Map<Long, String>> future2 = executorService.submit(
+                        () -> cache.getAll(Arrays.asList(2L, 3L), env)
+                );
+                await(secondLoading);
+                release.countDown();
+                Assertions.assertEquals(load(Arrays.asList(1L, 2L)), get(future1));
+                Assertions.assertEquals(load(Arrays.asList(2L, 3L)), get(future2));
+            });
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(
+                Arrays.asList(
+                        new TreeSet<>(Arrays.asList(1L, 2L)),
+                        new TreeSet<>(Collections.singletonList(3L))
+                ),
+                loadedKeySets
+        );
+        Assertions.assertEquals(2, coalescer.getLoadCount());
+        Assertions.assertEquals(3, coalescer.getLoadedKeyCount());
+        Assertions.assertEquals(1, coalescer.getCoalescedRequestCount());
+        Assertions.assertEquals(1, coalescer.getCoalescedKeyCount());
+        Assertions.assertEquals(0, coalescer.getTimeoutKeyCount());
+    }
+
+    @Test
+    public void testWaitTimeout() throws Exception {
+        LoadingCoalescer coalescer = new LoadingCoalescer(Duration.ofMillis(100));
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(new MapBinder())
+                .coalesce(coalescer)
+                .build();
+        List<Set<Long>> loadedKeySets = new CopyOnWriteArrayList<>();
+        CountDownLatch firstLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheLoader<Long, String> loader = keys -> {
+            loadedKeySets.add(new TreeSet<>(keys));
+            if (firstLoading.getCount() != 0) {
+                firstLoading.countDown();
+                await(release);
+            }
+            return load(keys);
+        };
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            jdbc(con -> {
+                CacheEnvironment<Long, String> env =
+                        new CacheEnvironment<>(getSqlClient(), con, loader, false);
+                Future<Map<Long, String>> future = executorService.submit(
+                        () -> cache.getAll(Collections.singletonList(1L), env)
+                );
+                await(firstLoading);
+                Assertions.assertEquals(
+                        load(Collections.singletonList(1L)),
+                        cache.getAll(Collections.singletonList(1L), env)
+                );
+                release.countDown();
+                Assertions.assertEquals(load(Collections.singletonList(1L)), get(future));
+            });
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(2, loadedKeySets.size());
+        Assertions.assertEquals(2, coalescer.getLoadCount());
+        Assertions.assertEquals(1, coalescer.getCoalescedRequestCount());
+        Assertions.assertEquals(0, coalescer.getCoalescedKeyCount());
+        Assertions.assertEquals(1, coalescer.getTimeoutKeyCount());
+    }
+
+    private static Map<Long, String> load(Collection<Long> keys) {
+        Map<Long, String> map = new HashMap<>();
+        for (Long key : keys) {
+            map.put(key, "Value-" + key);
+        }
+        return map;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Assertions.fail(ex);
+        }
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            return Assertions.fail(ex);
+        }
+    }
+
+    private static class MapBinder implements SimpleBinder<Long, String> {
+
+        private final Map<Long, String> map = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new HashMap<>();
+            for (Long key : keys) {
+                String value = map.get(key);
+                if (value != null) {
+                    resultMap.put(key, value);
+                }
+            }
+            return resultMap;
+        }
+
+        @Override
+        public void setAll(Map<Long, String> map) {
+            for (Map.Entry<Long, String> e : map.entrySet()) {
+                if (e.getValue() != null) {
+                    this.map.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            map.keySet().removeAll(keys);
+        }
+
+        @Override
+        public ImmutableType type() {
+            return ImmutableType.get(Book.class);
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.babyfish.jimmer.sql.cache.redisson;
+
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.common.Tests;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.TreeNodeProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class InvalidateFrameTest extends Tests {
+
+    @Test
+    public void testTypeAndProp() {
+        UUID trackerId = UUID.randomUUID();
+        byte[] bytes = InvalidateFrame.encode(
+                trackerId,
+                Arrays.asList(
+                        new CacheTracker.InvalidateEvent(
+                                BookProps.ID.unwrap().getDeclaringType(),
+                                Arrays.asList(
+                                        Constants.graphQLInActionId1,
+                                        Constants.graphQLInActionId2
+                                )
+                        ),
+                        new CacheTracker.InvalidateEvent(
+                                BookProps.AUTHORS.unwrap(),
+                                Collections.singletonList(Constants.graphQLInActionId3)
+                        )
+                ),
+                1024
+        );
+        Assertions.assertEquals(0, bytes[2]);
+        InvalidateFrame frame = InvalidateFrame.decode(bytes);
+        Assertions.assertEquals(trackerId, frame.getTrackerId());
+        assertContentEquals(
+                "[" +
+                        "org.babyfish.jimmer.sql.model.Book[" +
+                        "--->a62f7aa3-9490-4612-98b5-98aae0e77120, " +
+                        "--->e37a8344-73bb-4b23-ba76-82eac11f03e6" +
+                        "], " +
+                        "org.babyfish.jimmer.sql.model.Book.authors[" +
+                        "--->780bdf07-05af-48bf-9be9-f8c65236fecc" +
+                        "]" +
+                        "]",
+                frame.getEvents().toString()
+        );
+    }
+
+    @Test
+    public void testCompressedLongIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 100000; id > 0; id--) {
+            ids.add(id);
+        }
+        byte[] bytes = InvalidateFrame.encode(
+                UUID.randomUUID(),
+                Collections.singletonList(
+                        new CacheTracker.InvalidateEvent(TreeNodeProps.CHILD_NODES.unwrap(), ids)
+                ),
+                1024
+        );
+        Assertions.assertEquals(1, bytes[2]);
+        // Sorted continuous ids are written as deltas and compressed
+        Assertions.assertTrue(bytes.length < 1024, "Frame is too large: " + bytes.length);
+        CacheTracker.InvalidateEvent event = InvalidateFrame.decode(bytes).getEvents().get(0);
+        Assertions.assertSame(TreeNodeProps.CHILD_NODES.unwrap(), event.getProp());
+        List<Long> sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        Assertions.assertEquals(sortedIds, event.getIds());
+    }
+
+    @Test
+    public void testIllegalFrame() {
+        Assertions.assertThrows(
+                RuntimeException.class,
+                () -> InvalidateFrame.decode(new byte[] { 1, 2, 3 })
+        );
+    }
+}
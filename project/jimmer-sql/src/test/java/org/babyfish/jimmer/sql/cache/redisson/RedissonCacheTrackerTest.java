@@ -0,0 +1,103 @@
+package org.babyfish.jimmer.sql.cache.redisson;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.common.Tests;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.*;
+
+public class RedissonCacheTrackerTest extends Tests {
+
+    @Test
+    public void testRepublishAfterFailure() {
+        List<byte[]> frames = new ArrayList<>();
+        boolean[] failing = new boolean[] { true };
+        RedissonClient client = redissonClient(msg -> {
+            if (failing[0]) {
+                throw new IllegalStateException("Redis is unavailable");
+            }
+            frames.add((byte[]) msg);
+        });
+        ImmutableType type = BookProps.ID.unwrap().getDeclaringType();
+        RedissonCacheTracker tracker = RedissonCacheTracker
+                .newBuilder(client)
+                .batchWindow(Duration.ZERO)
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            tracker.publisher().invalidate(
+                    new CacheTracker.InvalidateEvent(
+                            type,
+                            Collections.singletonList(Constants.graphQLInActionId1)
+                    )
+            );
+        });
+        Assertions.assertTrue(frames.isEmpty());
+        failing[0] = false;
+        tracker.publisher().invalidate(
+                new CacheTracker.InvalidateEvent(
+                        type,
+                        Collections.singletonList(Constants.graphQLInActionId2)
+                )
+        );
+        Assertions.assertEquals(1, frames.size());
+        assertContentEquals(
+                "[" +
+                        "org.babyfish.jimmer.sql.model.Book[" +
+                        "--->a62f7aa3-9490-4612-98b5-98aae0e77120, " +
+                        "--->e37a8344-73bb-4b23-ba76-82eac11f03e6" +
+                        "]" +
+                        "]",
+                InvalidateFrame.decode(frames.get(0)).getEvents().toString()
+        );
+        tracker.flush();
+        Assertions.assertEquals(1, frames.size());
+    }
+
+    private static RedissonClient redissonClient(Publisher publisher) {
+        RTopic topic = (RTopic) Proxy.newProxyInstance(
+                RTopic.class.getClassLoader(),
+                new Class[] { RTopic.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("publish")) {
+                        publisher.publish(args[0]);
+                    }
+                    return defaultValue(method.getReturnType());
+                }
+        );
+        return (RedissonClient) Proxy.newProxyInstance(
+                RedissonClient.class.getClassLoader(),
+                new Class[] { RedissonClient.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getTopic")) {
+                        return topic;
+                    }
+                    return defaultValue(method.getReturnType());
+                }
+        );
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        return null;
+    }
+
+    private interface Publisher {
+        void publish(Object msg);
+    }
+}
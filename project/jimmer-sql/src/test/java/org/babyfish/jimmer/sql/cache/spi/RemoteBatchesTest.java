@@ -0,0 +1,144 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import org.babyfish.jimmer.sql.cache.RemoteBatchPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class RemoteBatchesTest {
+
+    @Test
+    public void testSlot() {
+        Assertions.assertEquals(12739, RedisSlots.slot("123456789"));
+        Assertions.assertEquals(12182, RedisSlots.slot("foo"));
+        Assertions.assertEquals(5061, RedisSlots.slot("bar"));
+        Assertions.assertEquals(RedisSlots.slot("foo"), RedisSlots.slot("{foo}.bar"));
+        Assertions.assertNotEquals(RedisSlots.slot("bar"), RedisSlots.slot("{}.bar"));
+    }
+
+    @Test
+    public void testBatches() {
+        RemoteBatchPolicy policy = RemoteBatchPolicy.of(3, null, true, Runnable::run);
+        List<String> keys = Arrays.asList("{a}1", "{b}1", "{a}2", "{a}3", "{a}4", "{b}2");
+        List<List<List<String>>> batches = RemoteBatches.batches(keys, policy);
+        Assertions.assertEquals(2, batches.size());
+        for (List<List<String>> batch : batches) {
+            int size = 0;
+            for (List<String> group : batch) {
+                Set<Integer> slots = new HashSet<>();
+                for (String key : group) {
+                    slots.add(RedisSlots.slot(key));
+                }
+                Assertions.assertEquals(1, slots.size());
+                size += group.size();
+            }
+            Assertions.assertEquals(3, size);
+        }
+    }
+
+    @Test
+    public void testPartialResult() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            RemoteBatchPolicy policy = RemoteBatchPolicy.of(
+                    1,
+                    Duration.ofMillis(200),
+                    false,
+                    executorService
+            );
+            List<byte[]> values = RemoteBatches.read(
+                    Arrays.asList("fast", "slow"),
+                    policy,
+                    keyGroups -> {
+                        List<List<byte[]>> valueGroups = new ArrayList<>();
+                        for (List<String> keyGroup : keyGroups) {
+                            List<byte[]> valueGroup = new ArrayList<>();
+                            for (String key : keyGroup) {
+                                if (key.equals("slow")) {
+                                    await(release);
+                                }
+                                valueGroup.add(key.getBytes(StandardCharsets.UTF_8));
+                            }
+                            valueGroups.add(valueGroup);
+                        }
+                        return valueGroups;
+                    }
+            );
+            Assertions.assertEquals(2, values.size());
+            Assertions.assertEquals("fast", new String(values.get(0), StandardCharsets.UTF_8));
+            // The timeout batch is treated as cache miss
+            Assertions.assertNull(values.get(1));
+        } finally {
+            release.countDown();
+            executorService.shutdownNow();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFailedBatch() {
+        RemoteBatchPolicy policy = RemoteBatchPolicy.of(1, null, false, Runnable::run);
+        List<byte[]> values = RemoteBatches.read(
+                Arrays.asList("good", "bad"),
+                policy,
+                keyGroups -> {
+                    List<List<byte[]>> valueGroups = new ArrayList<>();
+                    for (List<String> keyGroup : keyGroups) {
+                        List<byte[]> valueGroup = new ArrayList<>();
+                        for (String key : keyGroup) {
+                            if (key.equals("bad")) {
+                                throw new IllegalStateException("Failed to read " + key);
+                            }
+                            valueGroup.add(key.getBytes(StandardCharsets.UTF_8));
+                        }
+                        valueGroups.add(valueGroup);
+                    }
+                    return valueGroups;
+                }
+        );
+        Assertions.assertEquals(2, values.size());
+        Assertions.assertEquals("good", new String(values.get(0), StandardCharsets.UTF_8));
+        // The failed batch is treated as cache miss
+        Assertions.assertNull(values.get(1));
+    }
+
+    @Test
+    public void testFailedInlineBatch() {
+        RemoteBatchPolicy policy = RemoteBatchPolicy.of(10, null, false, Runnable::run);
+        List<byte[]> values = RemoteBatches.read(
+                Arrays.asList("a", "b"),
+                policy,
+                keyGroups -> {
+                    throw new IllegalStateException("Remote cache is unavailable");
+                }
+        );
+        Assertions.assertEquals(Arrays.asList(null, null), values);
+        Map<String, byte[]> map = new LinkedHashMap<>();
+        map.put("a", new byte[] { 1 });
+        map.put("b", new byte[] { 2 });
+        // The failed write is logged and ignored
+        RemoteBatches.write(
+                map,
+                policy,
+                maps -> {
+                    throw new IllegalStateException("Remote cache is unavailable");
+                }
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -241,6 +241,16 @@ public abstract class AbstractMutationTest extends AbstractTest {
             return this;
         }
 
+        public ExpectDSLWithResult skippedRowCount(Class<?> entityType, int rowCount) {
+            Assertions.assertNotNull(result);
+            Assertions.assertEquals(
+                    rowCount,
+                    result.getSkippedRowCount(entityType),
+                    "skippedRowCountMap['" + entityType.getName() + "']"
+            );
+            return this;
+        }
+
         public ExpectDSLWithResult entity(Consumer<EntityDSL> block) {
             if (throwable != null) {
                 rethrow(throwable);
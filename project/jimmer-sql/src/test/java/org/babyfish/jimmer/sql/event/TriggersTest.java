@@ -1,15 +1,24 @@
 package org.babyfish.jimmer.sql.event;
 
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.common.TestUtils;
 import org.babyfish.jimmer.sql.event.impl.TriggersImpl;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.transaction.AbstractTxConnectionManager;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
@@ -418,4 +427,160 @@ public class TriggersTest {
                 authorBookListEvents
         );
     }
+
+    @Test
+    public void fireChangesToBatchListener() {
+        List<List<EntityEvent<Book>>> batches = new ArrayList<>();
+        BatchEntityListener<Book> batchHandler = batches::add;
+        triggers.addEntityListener(Book.class, batchHandler);
+        Book book1 = BookDraft.$.produce(book -> {
+            book.setId(graphQLInActionId3).setName("GraphQL in Action");
+        });
+        Book book2 = BookDraft.$.produce(book -> {
+            book.setId(graphQLInActionId3).setName("GraphQL in Action+");
+        });
+        Book book3 = BookDraft.$.produce(book -> {
+            book.setId(learningGraphQLId3).setName("Learning GraphQL");
+        });
+        triggers.fireEntityTableChanges(
+                Arrays.asList(
+                        new Tuple2<>(null, book1),
+                        new Tuple2<>(book1, book2),
+                        new Tuple2<>(null, book3),
+                        new Tuple2<>(book3, null)
+                ),
+                null,
+                null
+        );
+        Assertions.assertEquals(4, bookEvents.size());
+        TestUtils.expect(
+                "[" +
+                        "--->[" +
+                        "--->--->Event{" +
+                        "--->--->--->oldEntity=null, " +
+                        "--->--->--->newEntity={" +
+                        "--->--->--->--->\"id\":\"" + graphQLInActionId3 + "\"," +
+                        "--->--->--->--->\"name\":\"GraphQL in Action+\"" +
+                        "--->--->--->}, " +
+                        "--->--->--->reason=null" +
+                        "--->--->}" +
+                        "--->]" +
+                        "]",
+                batches
+        );
+    }
+
+    @Test
+    public void fireChangesToAsyncBatchListener() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<EntityEvent<Book>>> binlogBatches = new ArrayList<>();
+        List<List<EntityEvent<Book>>> transactionBatches = new ArrayList<>();
+        triggers.addEntityListener(Book.class, asyncBatchListener(binlogBatches, tasks));
+        TriggersImpl transactionTriggers = (TriggersImpl) JSqlClient
+                .newBuilder()
+                .setTriggerType(TriggerType.TRANSACTION_ONLY)
+                .build()
+                .getTriggers();
+        transactionTriggers.addEntityListener(Book.class, asyncBatchListener(transactionBatches, tasks));
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId3).setName("GraphQL in Action");
+        });
+
+        transactionTriggers.fireEntityTableChanges(
+                Collections.singletonList(new Tuple2<>(null, book)),
+                null,
+                null
+        );
+        Assertions.assertEquals(1, transactionBatches.size());
+        Assertions.assertTrue(tasks.isEmpty());
+
+        triggers.fireEntityTableChanges(
+                Collections.singletonList(new Tuple2<>(null, book)),
+                null,
+                null
+        );
+        Assertions.assertTrue(binlogBatches.isEmpty());
+        Assertions.assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        Assertions.assertEquals(1, binlogBatches.size());
+    }
+
+    @Test
+    public void fireTransactionChangesToAsyncBatchListenerAfterCommit() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<EntityEvent<Book>>> batches = new ArrayList<>();
+        Connection con = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (method.getReturnType() == int.class) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return null;
+                }
+        );
+        TxConnectionManager connectionManager = new AbstractTxConnectionManager() {
+            @Override
+            protected Connection openConnection() {
+                return con;
+            }
+        };
+        TriggersImpl transactionTriggers = (TriggersImpl) JSqlClient
+                .newBuilder()
+                .setConnectionManager(connectionManager)
+                .setTriggerType(TriggerType.TRANSACTION_ONLY)
+                .build()
+                .getTriggers();
+        transactionTriggers.addEntityListener(Book.class, asyncBatchListener(batches, tasks));
+        List<Tuple2<Object, Object>> rowPairs = Arrays.asList(
+                new Tuple2<>(null, BookDraft.$.produce(draft -> {
+                    draft.setId(graphQLInActionId1).setName("GraphQL in Action");
+                })),
+                new Tuple2<>(null, BookDraft.$.produce(draft -> {
+                    draft.setId(graphQLInActionId2).setName("GraphQL in Action");
+                }))
+        );
+
+        connectionManager.executeTransaction(c -> {
+            transactionTriggers.fireEntityTableChanges(rowPairs, c, null);
+            // Nothing is delivered before commit
+            Assertions.assertTrue(tasks.isEmpty());
+            return null;
+        });
+        Assertions.assertTrue(batches.isEmpty());
+        Assertions.assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(2, batches.get(0).size());
+
+        // Nothing is delivered if the transaction is rolled back
+        tasks.clear();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            connectionManager.executeTransaction(c -> {
+                transactionTriggers.fireEntityTableChanges(rowPairs, c, null);
+                throw new IllegalStateException("Rollback");
+            });
+        });
+        Assertions.assertTrue(tasks.isEmpty());
+        Assertions.assertEquals(1, batches.size());
+    }
+
+    private static BatchEntityListener<Book> asyncBatchListener(
+            List<List<EntityEvent<Book>>> batches,
+            List<Runnable> tasks
+    ) {
+        return new BatchEntityListener<Book>() {
+            @Override
+            public void onChanges(List<EntityEvent<Book>> events) {
+                batches.add(events);
+            }
+            @Override
+            public Executor getExecutor() {
+                return tasks::add;
+            }
+        };
+    }
 }
@@ -0,0 +1,68 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.fetcher.impl.AdaptiveBatchSizer;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class AdaptiveBatchSizeTest extends AbstractQueryTest {
+
+    @Test
+    public void testAdaptDefaultBatchSize() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setDefaultBatchSize(2);
+            it.setAdaptiveBatchSizeEnabled(true);
+        });
+        AdaptiveBatchSizer sizer = ((JSqlClientImplementor) sqlClient).getAdaptiveBatchSizer();
+        Assertions.assertNotNull(sizer);
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            for (int i = 0; i < 3; i++) {
+                List<Book> books = sqlClient
+                        .createQuery(table)
+                        .select(
+                                table.fetch(
+                                        BookFetcher.$
+                                                .name()
+                                                .store(BookStoreFetcher.$.name())
+                                )
+                        )
+                        .execute(con);
+                Assertions.assertFalse(books.isEmpty());
+            }
+        });
+        List<AdaptiveBatchSizer.Decision> decisions = sizer.getDecisions();
+        Assertions.assertEquals(1, decisions.size());
+        AdaptiveBatchSizer.Decision decision = decisions.get(0);
+        Assertions.assertTrue(decision.getPath().endsWith("store"));
+        Assertions.assertEquals(3, decision.getSampleCount());
+        Assertions.assertEquals(1D, decision.getRowsPerKey());
+        Assertions.assertTrue(decision.getBatchSize() > 0);
+        Assertions.assertTrue(decision.getBatchSize() <= 4);
+    }
+
+    @Test
+    public void testExplicitBatchSizeIsRespected() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setAdaptiveBatchSizeEnabled(true));
+        AdaptiveBatchSizer sizer = ((JSqlClientImplementor) sqlClient).getAdaptiveBatchSizer();
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            sqlClient
+                    .createQuery(table)
+                    .select(
+                            table.fetch(
+                                    BookFetcher.$
+                                            .name()
+                                            .store(BookStoreFetcher.$.name(), it -> it.batch(1))
+                            )
+                    )
+                    .execute(con);
+        });
+        Assertions.assertTrue(sizer.getDecisions().isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.fetcher.impl.AssociationMemo;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+
+public class AssociationMemoTest extends AbstractQueryTest {
+
+    @Test
+    public void testReuseAcrossRequests() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTriggerType(TriggerType.TRANSACTION_ONLY);
+            it.setAssociationMemoEnabled(true);
+        });
+        AssociationMemo memo = ((JSqlClientImplementor) sqlClient).getAssociationMemo();
+        Assertions.assertNotNull(memo);
+        jdbc(con -> {
+            List<Book> books = queryBooks(sqlClient, con);
+            Assertions.assertEquals(2, getExecutions().size());
+            Assertions.assertTrue(memo.size() > 0);
+
+            clearExecutions();
+            Assertions.assertEquals(books.toString(), queryBooks(sqlClient, con).toString());
+            Assertions.assertEquals(1, getExecutions().size());
+            Assertions.assertTrue(memo.getHitCount() > 0);
+
+            sqlClient.getTriggers().fireEntityEvict(
+                    ImmutableType.get(BookStore.class),
+                    books.get(0).store().id(),
+                    con
+            );
+            Assertions.assertEquals(0, memo.size());
+
+            clearExecutions();
+            Assertions.assertEquals(books.toString(), queryBooks(sqlClient, con).toString());
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testEvictOnlyAffectedEntries() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTriggerType(TriggerType.TRANSACTION_ONLY);
+            it.setAssociationMemoEnabled(true);
+        });
+        AssociationMemo memo = ((JSqlClientImplementor) sqlClient).getAssociationMemo();
+        jdbc(con -> {
+            List<Book> books = queryBooks(sqlClient, con, "GraphQL in Action", "Learning GraphQL");
+            Assertions.assertEquals(2, memo.size());
+
+            // Event raised after commit, for example, by binlog
+            sqlClient.getTriggers().fireEntityEvict(
+                    ImmutableType.get(BookStore.class),
+                    books.get(0).store().id(),
+                    null
+            );
+            Assertions.assertEquals(1, memo.size());
+
+            clearExecutions();
+            queryBooks(sqlClient, con, "GraphQL in Action", "Learning GraphQL");
+            Assertions.assertEquals(2, getExecutions().size());
+            Assertions.assertEquals(2, memo.size());
+        });
+    }
+
+    @Test
+    public void testNotMemoizedAgainAfterTransactionEvent() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTriggerType(TriggerType.TRANSACTION_ONLY);
+            it.setAssociationMemoEnabled(true);
+        });
+        AssociationMemo memo = ((JSqlClientImplementor) sqlClient).getAssociationMemo();
+        jdbc(con -> {
+            List<Book> books = queryBooks(sqlClient, con, "GraphQL in Action", "Learning GraphQL");
+            Assertions.assertEquals(2, memo.size());
+
+            // Event raised before commit, the value loaded by
+            // other requests may be the value before commit
+            sqlClient.getTriggers().fireEntityEvict(
+                    ImmutableType.get(BookStore.class),
+                    books.get(0).store().id(),
+                    con
+            );
+            Assertions.assertEquals(1, memo.size());
+
+            for (int i = 0; i < 2; i++) {
+                clearExecutions();
+                queryBooks(sqlClient, con, "GraphQL in Action", "Learning GraphQL");
+                Assertions.assertEquals(2, getExecutions().size());
+                Assertions.assertEquals(1, memo.size());
+            }
+        });
+    }
+
+    @Test
+    public void testIgnoredInTransaction() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setAssociationMemoEnabled(true));
+        AssociationMemo memo = ((JSqlClientImplementor) sqlClient).getAssociationMemo();
+        jdbc(null, true, con -> {
+            queryBooks(sqlClient, con);
+            queryBooks(sqlClient, con);
+        });
+        Assertions.assertEquals(4, getExecutions().size());
+        Assertions.assertEquals(0, memo.size());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertNull(((JSqlClientImplementor) getSqlClient()).getAssociationMemo());
+    }
+
+    private static List<Book> queryBooks(JSqlClient sqlClient, Connection con) {
+        return queryBooks(sqlClient, con, "GraphQL in Action");
+    }
+
+    private static List<Book> queryBooks(JSqlClient sqlClient, Connection con, String ... names) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.name().in(Arrays.asList(names)))
+                .orderBy(table.name())
+                .orderBy(table.edition())
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .name()
+                                        .edition()
+                                        .store(BookStoreFetcher.$.name())
+                        )
+                )
+                .execute(con);
+    }
+}
@@ -0,0 +1,149 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelFetchingTest extends AbstractQueryTest {
+
+    @Test
+    public void testParallelSiblings() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            JSqlClient sequentialClient = JSqlClient
+                    .newBuilder()
+                    .setDialect(new H2Dialect())
+                    .setConnectionManager(testConnectionManager())
+                    .build();
+            // The loading statements of `store` and `authors` must overlap,
+            // otherwise the first one waits for the second one until timeout
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            JSqlClient parallelClient = JSqlClient
+                    .newBuilder()
+                    .setDialect(new H2Dialect())
+                    .setConnectionManager(testConnectionManager())
+                    .setExecutor(new BarrierExecutor(barrier))
+                    .setParallelFetchingEnabled(true)
+                    .setParallelFetchingExecutor(command -> {
+                        submittedCount.incrementAndGet();
+                        executorService.execute(command);
+                    })
+                    .build();
+            List<Book> sequentialBooks = queryBooks(sequentialClient);
+            List<Book> parallelBooks = queryBooks(parallelClient);
+            Assertions.assertFalse(sequentialBooks.isEmpty());
+            Assertions.assertEquals(sequentialBooks, parallelBooks);
+            Assertions.assertEquals(sequentialBooks.toString(), parallelBooks.toString());
+            Assertions.assertTrue(submittedCount.get() > 0);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testIgnoredInTransaction() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        JSqlClient parallelClient = JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .setConnectionManager(testConnectionManager())
+                .setParallelFetchingEnabled(true)
+                .setParallelFetchingExecutor(command -> {
+                    submittedCount.incrementAndGet();
+                    command.run();
+                })
+                .build();
+        jdbc(null, true, con -> {
+            BookTable table = BookTable.$;
+            List<Book> books = parallelClient
+                    .createQuery(table)
+                    .orderBy(table.name(), table.edition())
+                    .select(
+                            table.fetch(
+                                    BookFetcher.$
+                                            .name()
+                                            .store(BookStoreFetcher.$.name())
+                                            .authors(AuthorFetcher.$.firstName())
+                            )
+                    )
+                    .execute(con);
+            Assertions.assertFalse(books.isEmpty());
+        });
+        Assertions.assertEquals(0, submittedCount.get());
+    }
+
+    private static class BarrierExecutor implements Executor {
+
+        private final CyclicBarrier barrier;
+
+        private final AtomicInteger loadCount = new AtomicInteger();
+
+        BarrierExecutor(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public <R> R execute(@NotNull Args<R> args) {
+            // Only the first statements of the two sibling batches meet at the barrier
+            if (args.purpose.getType() == ExecutionPurpose.Type.LOAD && loadCount.getAndIncrement() < 2) {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException ex) {
+                    throw new AssertionError("The sibling batches are not loaded concurrently", ex);
+                }
+            }
+            return DefaultExecutor.INSTANCE.execute(args);
+        }
+
+        @Override
+        public BatchContext executeBatch(
+                @NotNull Connection con,
+                @NotNull String sql,
+                @Nullable ImmutableProp generatedIdProp,
+                @NotNull ExecutionPurpose purpose,
+                @NotNull JSqlClientImplementor sqlClient
+        ) {
+            return DefaultExecutor.INSTANCE.executeBatch(con, sql, generatedIdProp, purpose, sqlClient);
+        }
+    }
+
+    private static List<Book> queryBooks(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name(), table.edition())
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .name()
+                                        .edition()
+                                        .store(BookStoreFetcher.$.name())
+                                        .authors(
+                                                AuthorFetcher.$
+                                                        .firstName()
+                                                        .lastName(),
+                                                it -> it.filter(args -> {
+                                                    args.orderBy(args.getTable().firstName());
+                                                })
+                                        )
+                        )
+                )
+                .execute();
+    }
+}
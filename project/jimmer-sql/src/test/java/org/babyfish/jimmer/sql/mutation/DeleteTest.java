@@ -5,9 +5,11 @@ import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.common.NativeDatabases;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.exception.CircularDeletionException;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.LogicalDeletedLongGenerator;
@@ -155,6 +157,43 @@ public class DeleteTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testDeleteBookStoreOnDissociateDeleteByCte() {
+        NativeDatabases.assumeNativeDatabase();
+        executeAndExpectResult(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                getSqlClient(it -> it.setDialect(new PostgresDialect()))
+                        .getEntities()
+                        .deleteCommand(BookStore.class, manningId)
+                        .setDissociateAction(BookProps.STORE, DissociateAction.DELETE),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with cte_1_ as (" +
+                                        "--->delete from BOOK_STORE where ID = ? returning ID" +
+                                        "), cte_2_ as (" +
+                                        "--->delete from BOOK where STORE_ID in (" +
+                                        "--->--->select ID from cte_1_" +
+                                        "--->) returning ID" +
+                                        "), cte_3_ as (" +
+                                        "--->delete from BOOK_AUTHOR_MAPPING where BOOK_ID in (" +
+                                        "--->--->select ID from cte_2_" +
+                                        "--->) returning 1" +
+                                        ") select " +
+                                        "(select count(*) from cte_1_), " +
+                                        "(select count(*) from cte_2_), " +
+                                        "(select count(*) from cte_3_)"
+                        );
+                        it.variables(manningId);
+                    });
+                    ctx.totalRowCount(7);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 3);
+                    ctx.rowCount(AffectedTable.of(BookProps.AUTHORS), 3);
+                }
+        );
+    }
+
     @Test
     public void testDeleteBook() {
         UUID nonExistingId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
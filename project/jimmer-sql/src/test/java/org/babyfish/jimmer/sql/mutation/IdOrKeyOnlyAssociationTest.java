@@ -4,19 +4,25 @@ import org.babyfish.jimmer.Draft;
 import org.babyfish.jimmer.meta.KeyMatcher;
 import org.babyfish.jimmer.sql.DraftInterceptor;
 import org.babyfish.jimmer.sql.DraftPreProcessor;
+import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
+import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import org.babyfish.jimmer.sql.common.Constants;
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.impl.IdentityIdGenerator;
 import org.babyfish.jimmer.sql.model.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
 
 public class IdOrKeyOnlyAssociationTest extends AbstractMutationTest {
 
@@ -50,6 +56,75 @@ public class IdOrKeyOnlyAssociationTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testIdOnlyAsReferenceWithLargeInList() {
+        Book book = Immutables.createBook(draft -> {
+            draft.setId(Constants.learningGraphQLId1);
+            draft.setAuthorIds(Arrays.asList(Constants.alexId, Constants.danId));
+        });
+        Set<UUID> authorIds = new HashSet<>();
+        executeAndExpectResult(
+                con -> {
+                    SimpleSaveResult<Book> result = getSqlClient(it -> it.setLargeInListThreshold(2))
+                            .getEntities()
+                            .saveCommand(book)
+                            .execute(con);
+                    try (PreparedStatement stmt = con.prepareStatement(
+                            "select AUTHOR_ID from BOOK_AUTHOR_MAPPING where BOOK_ID = ?"
+                    )) {
+                        stmt.setObject(1, Constants.learningGraphQLId1);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                authorIds.add(rs.getObject(1, UUID.class));
+                            }
+                        }
+                    } catch (SQLException ex) {
+                        throw new ExecutionException("Cannot query the middle table", ex);
+                    }
+                    return result;
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "delete from BOOK_AUTHOR_MAPPING " +
+                                        "where BOOK_ID = ? " +
+                                        "and (BOOK_ID, AUTHOR_ID) not in (" +
+                                        "--->select * from unnest(?, ?)" +
+                                        ")"
+                        );
+                        it.variables(
+                                Constants.learningGraphQLId1,
+                                new Object[] { Constants.learningGraphQLId1, Constants.learningGraphQLId1 },
+                                new Object[] { Constants.alexId, Constants.danId }
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) " +
+                                        "select tb_new_.BOOK_ID, tb_new_.AUTHOR_ID " +
+                                        "from unnest(?, ?) tb_new_(BOOK_ID, AUTHOR_ID) " +
+                                        "where not exists (" +
+                                        "--->select * from BOOK_AUTHOR_MAPPING tb_old_ " +
+                                        "--->where tb_old_.BOOK_ID = tb_new_.BOOK_ID " +
+                                        "--->and tb_old_.AUTHOR_ID = tb_new_.AUTHOR_ID" +
+                                        ")"
+                        );
+                        it.variables(
+                                new Object[] { Constants.learningGraphQLId1, Constants.learningGraphQLId1 },
+                                new Object[] { Constants.alexId, Constants.danId }
+                        );
+                    });
+                    ctx.entity(it -> {});
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookProps.AUTHORS), 2);
+                }
+        );
+        Assertions.assertEquals(
+                new HashSet<>(Arrays.asList(Constants.alexId, Constants.danId)),
+                authorIds
+        );
+    }
+
     @Test
     public void testIdOnlyAsEntity() {
         Book book = Immutables.createBook(draft -> {
@@ -121,6 +121,101 @@ public class IdentityTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testMultiRowInsertH2() {
+
+        resetIdentity(null);
+
+        JSqlClient sqlClient = getSqlClient(it ->
+                it.setDialect(new H2Dialect())
+                        .setMultiRowInsertBatchSize(2)
+        );
+        Department department1 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Develop");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Jacob");
+                emp.setGender(Gender.MALE);
+            });
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Tania");
+                emp.setGender(Gender.FEMALE);
+            });
+        });
+        Department department2 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Sales");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Oakes");
+                emp.setGender(Gender.MALE);
+            });
+        });
+        executeAndExpectResult(
+                sqlClient.getEntities().saveEntitiesCommand(
+                                Arrays.asList(department1, department2)
+                        ).setTargetTransferModeAll(TargetTransferMode.ALLOWED)
+                        .setMode(SaveMode.INSERT_ONLY)
+                        .setAssociatedModeAll(AssociatedSaveMode.APPEND),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into DEPARTMENT(NAME, DELETED_MILLIS) values(?, ?), (?, ?)");
+                        it.variables("Develop", 0L, "Sales", 0L);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into EMPLOYEE(NAME, GENDER, DELETED_MILLIS, DEPARTMENT_ID) " +
+                                        "values(?, ?, ?, ?), (?, ?, ?, ?)"
+                        );
+                        it.variables("Jacob", "M", 0L, 100L, "Tania", "F", 0L, 100L);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into EMPLOYEE(NAME, GENDER, DELETED_MILLIS, DEPARTMENT_ID) values(?, ?, ?, ?)");
+                        it.variables("Oakes", "M", 0L, 101L);
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"100\"," +
+                                        "--->\"name\":\"Develop\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"100\"," +
+                                        "--->--->--->\"name\":\"Jacob\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->},{" +
+                                        "--->--->--->\"id\":\"101\"," +
+                                        "--->--->--->\"name\":\"Tania\"," +
+                                        "--->--->--->\"gender\":\"FEMALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"101\"," +
+                                        "--->\"name\":\"Sales\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"102\"," +
+                                        "--->--->--->\"name\":\"Oakes\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"101\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                }
+        );
+    }
+
     @Test
     public void testInsertMySql() {
 
@@ -0,0 +1,154 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.dialect.MySqlDialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * `LOAD DATA LOCAL` needs MySQL server with `local_infile`,
+ * so the JDBC objects are mocked.
+ */
+public class MySqlBulkLoadTest {
+
+    @Test
+    public void testLoaded() throws SQLException {
+        MockedStatement mocked = new MockedStatement(2);
+        Dialect.BulkLoadContext ctx = context(
+                Arrays.<Object>asList(1L, "TURING"),
+                Arrays.<Object>asList(2L, "APRESS\tPRESS")
+        );
+        Assertions.assertEquals(
+                "load data local infile 'jimmer_bulk_load' into table BOOK_STORE " +
+                        "character set utf8mb4(ID, NAME)",
+                new MySqlDialect().getBulkLoadSql(ctx)
+        );
+        Assertions.assertEquals(2, new MySqlDialect().bulkLoad(mocked.statement, ctx));
+        Assertions.assertEquals("1\tTURING\n2\tAPRESS\\tPRESS\n", mocked.data);
+    }
+
+    @Test
+    public void testInstantFormattedByZone() throws SQLException {
+        MockedStatement mocked = new MockedStatement(1);
+        Dialect.BulkLoadContext ctx = context(
+                Arrays.<Object>asList(1L, Timestamp.from(Instant.parse("2024-01-01T00:00:00.123Z")))
+        );
+        Assertions.assertEquals(1, new MySqlDialect().bulkLoad(mocked.statement, ctx));
+        Assertions.assertEquals("1\t2024-01-01 08:00:00.123000\n", mocked.data);
+    }
+
+    @Test
+    public void testUnsupportedValue() throws SQLException {
+        Dialect.BulkLoadContext ctx = context(
+                Arrays.<Object>asList(1L, new int[] { 1, 2 })
+        );
+        Assertions.assertNull(new MySqlDialect().getBulkLoadSql(ctx));
+    }
+
+    @Test
+    public void testDuplicatedRows() {
+        MockedStatement mocked = new MockedStatement(1);
+        SQLIntegrityConstraintViolationException ex = Assertions.assertThrows(
+                SQLIntegrityConstraintViolationException.class,
+                () -> new MySqlDialect().bulkLoad(
+                        mocked.statement,
+                        context(
+                                Arrays.<Object>asList(1L, "TURING"),
+                                Arrays.<Object>asList(2L, "APRESS")
+                        )
+                )
+        );
+        Assertions.assertEquals(
+                "Only 1 of 2 rows are loaded into the table \"BOOK_STORE\", " +
+                        "the duplicated rows are ignored by `LOAD DATA LOCAL`",
+                ex.getMessage()
+        );
+        Assertions.assertEquals("23000", ex.getSQLState());
+    }
+
+    @SafeVarargs
+    private static Dialect.BulkLoadContext context(List<Object> ... rows) {
+        return new Dialect.BulkLoadContext() {
+            @Override
+            public Connection getConnection() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getTableName() {
+                return "BOOK_STORE";
+            }
+
+            @Override
+            public List<String> getColumnNames() {
+                return Arrays.asList("ID", "NAME");
+            }
+
+            @Override
+            public List<List<Object>> getRows() {
+                return Arrays.asList(rows);
+            }
+
+            @Override
+            public ZoneId getZoneId() {
+                return ZoneId.of("Asia/Shanghai");
+            }
+        };
+    }
+
+    private static class MockedStatement {
+
+        final PreparedStatement statement;
+
+        String data;
+
+        MockedStatement(long loadedRowCount) {
+            this.statement = (PreparedStatement) Proxy.newProxyInstance(
+                    JdbcStatement.class.getClassLoader(),
+                    new Class[] { PreparedStatement.class, JdbcStatement.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "isWrapperFor":
+                                return ((Class<?>) args[0]).isInstance(proxy);
+                            case "unwrap":
+                                return proxy;
+                            case "setLocalInfileInputStream":
+                                data = read((InputStream) args[0]);
+                                return null;
+                            case "executeLargeUpdate":
+                                return loadedRowCount;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    }
+            );
+        }
+
+        private static String read(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            // Small buffer, the rows are encoded across several reads
+            byte[] buf = new byte[4];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static org.babyfish.jimmer.sql.common.Constants.*;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.model.inheritance.*;
 import org.babyfish.jimmer.sql.model.issue1084.DocumentStorage;
@@ -35,6 +36,8 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public class SaveTest extends AbstractMutationTest {
 
@@ -136,6 +139,80 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testInsertByUnsupportedBulkLoad() {
+        UUID newId1 = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        UUID newId2 = UUID.fromString("4f351857-6cbc-4aad-ac3a-140a20034a3b");
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId1);
+                                    store.setName("TURING");
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId2);
+                                    store.setName("APRESS");
+                                })
+                        )
+                ).setMode(SaveMode.INSERT_ONLY).setBulkLoadEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.batchVariables(0, newId1, "TURING", 0);
+                        it.batchVariables(1, newId2, "APRESS", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"version\":0}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"4f351857-6cbc-4aad-ac3a-140a20034a3b\",\"name\":\"APRESS\"}");
+                        it.modified("{\"id\":\"4f351857-6cbc-4aad-ac3a-140a20034a3b\",\"name\":\"APRESS\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testInsertByPostgresBulkLoad() {
+        NativeDatabases.assumeNativeDatabase();
+        UUID newId1 = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        UUID newId2 = UUID.fromString("4f351857-6cbc-4aad-ac3a-140a20034a3b");
+        executeAndExpectResult(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                getSqlClient(it -> it.setDialect(new PostgresDialect())).getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId1);
+                                    store.setName("TURING\tPRESS");
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId2);
+                                    store.setName("APRESS");
+                                })
+                        )
+                ).setMode(SaveMode.INSERT_ONLY).setBulkLoadEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("copy BOOK_STORE(ID, NAME, VERSION) from stdin");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\\tPRESS\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\\tPRESS\",\"version\":0}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"4f351857-6cbc-4aad-ac3a-140a20034a3b\",\"name\":\"APRESS\"}");
+                        it.modified("{\"id\":\"4f351857-6cbc-4aad-ac3a-140a20034a3b\",\"name\":\"APRESS\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                }
+        );
+    }
+
     @Test
     public void testUpdateWithVersion() {
         executeAndExpectResult(
@@ -185,6 +262,284 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testDiffUpdate() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect())).getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(graphQLInActionId1);
+                                    book.setName("GraphQL in Action");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal("80"));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(graphQLInActionId2);
+                                    book.setName("GraphQL in Action");
+                                    book.setEdition(2);
+                                    book.setPrice(new BigDecimal("82"));
+                                })
+                        )
+                ).setMode(SaveMode.UPDATE_ONLY).setDiffUpdateEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.queryReason(QueryReason.DIFF_UPDATE);
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                        "from BOOK tb_1_ " +
+                                        "where tb_1_.ID = any(?)"
+                        );
+                        it.variables((Object) new Object[] {graphQLInActionId1, graphQLInActionId2});
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.variables(new BigDecimal("82"), graphQLInActionId2);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\",\"name\":\"GraphQL in Action\",\"edition\":1,\"price\":80}");
+                        it.modified("{\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\",\"name\":\"GraphQL in Action\",\"edition\":1,\"price\":80}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\",\"name\":\"GraphQL in Action\",\"edition\":2,\"price\":82}");
+                        it.modified("{\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\",\"name\":\"GraphQL in Action\",\"edition\":2,\"price\":82}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 1);
+                    ctx.skippedRowCount(Book.class, 1);
+                }
+        );
+    }
+
+    @Test
+    public void testDiffUpdateWithUserOptimisticLock() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect())).getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(graphQLInActionId1);
+                                    book.setName("GraphQL in Action");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal("80"));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(graphQLInActionId2);
+                                    book.setName("GraphQL in Action");
+                                    book.setEdition(2);
+                                    book.setPrice(new BigDecimal("82"));
+                                })
+                        )
+                )
+                        .setMode(SaveMode.UPDATE_ONLY)
+                        .setDiffUpdateEnabled()
+                        .setOptimisticLock(BookTable.class, (table, it) -> {
+                            return table.price().le(it.newValue(BookProps.PRICE));
+                        }),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.queryReason(QueryReason.DIFF_UPDATE);
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                        "from BOOK tb_1_ " +
+                                        "where tb_1_.ID = any(?)"
+                        );
+                        it.variables((Object) new Object[] {graphQLInActionId1, graphQLInActionId2});
+                    });
+                    // The unchanged object is skipped, no update statement with empty SET clause
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ? and PRICE <= ?");
+                        it.variables(new BigDecimal("82"), graphQLInActionId2, new BigDecimal("82"));
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\",\"name\":\"GraphQL in Action\",\"edition\":1,\"price\":80}");
+                        it.modified("{\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\",\"name\":\"GraphQL in Action\",\"edition\":1,\"price\":80}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\",\"name\":\"GraphQL in Action\",\"edition\":2,\"price\":82}");
+                        it.modified("{\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\",\"name\":\"GraphQL in Action\",\"edition\":2,\"price\":82}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 1);
+                    ctx.skippedRowCount(Book.class, 1);
+                }
+        );
+    }
+
+    @Test
+    public void testDiffUpdateWithVersion() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect())).getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(oreillyId);
+                                    store.setName("O'REILLY");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(manningId);
+                                    store.setName("MANNING");
+                                    store.setWebsite("https://www.manning.com");
+                                    store.setVersion(0);
+                                })
+                        )
+                ).setMode(SaveMode.UPDATE_ONLY).setDiffUpdateEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.queryReason(QueryReason.DIFF_UPDATE);
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                        "from BOOK_STORE tb_1_ " +
+                                        "where tb_1_.ID = any(?)"
+                        );
+                        it.variables((Object) new Object[] {oreillyId, manningId});
+                    });
+                    // The version of the unchanged object is not increased
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE " +
+                                        "set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("https://www.manning.com", manningId, 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\",\"version\":0}");
+                        it.modified("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\",\"version\":0}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\",\"website\":\"https://www.manning.com\",\"version\":0}");
+                        it.modified("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\",\"website\":\"https://www.manning.com\",\"version\":1}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                    ctx.skippedRowCount(BookStore.class, 1);
+                }
+        );
+    }
+
+    @Test
+    public void testDiffUpdateIgnoredByInsertOnly() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveCommand(
+                        BookStoreDraft.$.produce(store -> {
+                            store.setId(newId);
+                            store.setName("TURING");
+                        })
+                ).setMode(SaveMode.INSERT_ONLY).setDiffUpdateEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.variables(newId, "TURING", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testMergeShapes() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().saveEntitiesCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(oreillyId);
+                                    store.setName("TURING");
+                                    store.addIntoBooks(book -> {
+                                        book.setId(learningGraphQLId1);
+                                        book.setName("SQL Optimization");
+                                    });
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(manningId);
+                                    store.setName("APRESS");
+                                    store.setWebsite("https://www.apress.com");
+                                    store.addIntoBooks(book -> {
+                                        book.setId(graphQLInActionId1);
+                                        book.setName("Jimmer, a new ORM");
+                                    });
+                                })
+                        )
+                )
+                .setMode(SaveMode.UPDATE_ONLY)
+                .setAssociatedModeAll(AssociatedSaveMode.UPDATE)
+                .setTargetTransferModeAll(TargetTransferMode.ALLOWED)
+                .setShapeMergingEnabled(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ? where ID = ?");
+                        it.variables("TURING", oreillyId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ?, WEBSITE = ? where ID = ?");
+                        it.variables("APRESS", "https://www.apress.com", manningId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set NAME = ?, STORE_ID = ? where ID = ?");
+                        it.batchVariables(0, "SQL Optimization", oreillyId, learningGraphQLId1);
+                        it.batchVariables(1, "Jimmer, a new ORM", manningId, graphQLInActionId1);
+                    });
+                    ctx.entity(it -> {
+                        it.original(
+                                "{" +
+                                        "--->\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"," +
+                                        "--->\"name\":\"TURING\"," +
+                                        "--->\"books\":[" +
+                                        "--->--->{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"name\":\"SQL Optimization\"}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"," +
+                                        "--->\"name\":\"TURING\"," +
+                                        "--->\"books\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\"," +
+                                        "--->--->--->\"name\":\"SQL Optimization\"," +
+                                        "--->--->--->\"store\":{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.original(
+                                "{" +
+                                        "--->\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\"," +
+                                        "--->\"name\":\"APRESS\"," +
+                                        "--->\"website\":\"https://www.apress.com\"," +
+                                        "--->\"books\":[" +
+                                        "--->--->{\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\",\"name\":\"Jimmer, a new ORM\"}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\"," +
+                                        "--->\"name\":\"APRESS\"," +
+                                        "--->\"website\":\"https://www.apress.com\"," +
+                                        "--->\"books\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\"," +
+                                        "--->--->--->\"name\":\"Jimmer, a new ORM\"," +
+                                        "--->--->--->\"store\":{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                    ctx.totalRowCount(4);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                    ctx.rowCount(AffectedTable.of(Book.class), 2);
+                }
+        );
+    }
+
     @Test
     public void testInsertByKeyProps() {
         UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
@@ -1227,6 +1582,55 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testBatchSaveByChunks() {
+        setAutoIds(TreeNode.class, 100L, 101L, 102L);
+        AtomicBoolean closed = new AtomicBoolean();
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .saveEntitiesCommand(
+                                Stream.of("batch-node-1", "batch-node-2", "batch-node-3")
+                                        .map(name ->
+                                                TreeNodeDraft.$.produce(node -> {
+                                                    node.setName(name).setParent((TreeNode) null);
+                                                })
+                                        )
+                                        .onClose(() -> closed.set(true))
+                        )
+                        .setChunkSize(2),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "where tb_1_.PARENT_ID is null and tb_1_.NAME in (?, ?)");
+                        it.variables("batch-node-1", "batch-node-2");
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.batchVariables(0, 100L, "batch-node-1", new DbLiteral.DbNull(long.class));
+                        it.batchVariables(1, 101L, "batch-node-2", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "where tb_1_.PARENT_ID is null and tb_1_.NAME = ?");
+                        it.variables("batch-node-3");
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.variables(102L, "batch-node-3", new DbLiteral.DbNull(long.class));
+                    });
+                    ctx.totalRowCount(3);
+                    ctx.rowCount(AffectedTable.of(TreeNode.class), 3);
+                }
+        );
+        // The stream is owned by the caller
+        Assertions.assertFalse(closed.get());
+    }
+
     @Test
     public void testSaveNullParent() {
         SaveException ex = Assertions.assertThrows(SaveException.class, () -> {
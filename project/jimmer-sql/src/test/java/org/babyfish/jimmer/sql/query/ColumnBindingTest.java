@@ -0,0 +1,82 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ColumnBindingTest extends AbstractQueryTest {
+
+    @Test
+    public void testBoundColumnsBetweenScalars() {
+        BookTable table = BookTable.$;
+        List<Tuple3<String, Book, Integer>> tuples = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name(), table.edition())
+                .select(
+                        table.name(),
+                        table,
+                        table.edition()
+                )
+                .execute();
+        Assertions.assertFalse(tuples.isEmpty());
+        for (Tuple3<String, Book, Integer> tuple : tuples) {
+            Assertions.assertEquals(tuple.get_1(), tuple.get_2().name());
+            Assertions.assertEquals(tuple.get_3(), tuple.get_2().edition());
+        }
+    }
+
+    @Test
+    public void testBoundColumnsOfReference() {
+        AuthorTable table = AuthorTable.$;
+        List<Tuple3<Author, String, Author>> tuples = getSqlClient()
+                .createQuery(table)
+                .select(
+                        table,
+                        table.lastName(),
+                        table.fetch(
+                                AuthorFetcher.$
+                                        .firstName()
+                                        .gender()
+                        )
+                )
+                .execute();
+        Assertions.assertFalse(tuples.isEmpty());
+        for (Tuple3<Author, String, Author> tuple : tuples) {
+            Assertions.assertEquals(tuple.get_1().id(), tuple.get_3().id());
+            Assertions.assertEquals(tuple.get_1().lastName(), tuple.get_2());
+            Assertions.assertEquals(tuple.get_1().firstName(), tuple.get_3().firstName());
+            Assertions.assertEquals(tuple.get_1().gender(), tuple.get_3().gender());
+        }
+    }
+
+    @Test
+    public void testBoundPrimitiveColumns() {
+        AuthorTable table = AuthorTable.$;
+        List<Tuple2<Author, Integer>> tuples = getSqlClient()
+                .createQuery(table)
+                .select(
+                        table.fetch(
+                                AuthorFetcher.$
+                                        .firstName()
+                                        .lastName()
+                                        .fullNameLength()
+                        ),
+                        table.fullNameLength()
+                )
+                .execute();
+        Assertions.assertFalse(tuples.isEmpty());
+        for (Tuple2<Author, Integer> tuple : tuples) {
+            Author author = tuple.get_1();
+            Assertions.assertEquals(
+                    author.firstName().length() + author.lastName().length(),
+                    author.fullNameLength()
+            );
+            Assertions.assertEquals(author.fullNameLength(), tuple.get_2());
+        }
+    }
+}
@@ -2,10 +2,12 @@ package org.babyfish.jimmer.sql.query;
 
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class CursorTest extends AbstractQueryTest {
 
@@ -152,4 +154,42 @@ public class CursorTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void stream() {
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            List<Book> expected = getSqlClient()
+                    .createQuery(table)
+                    .orderBy(table.name().asc(), table.edition().asc())
+                    .select(
+                            table.fetch(
+                                    BookFetcher.$.allScalarFields()
+                                            .store(BookStoreFetcher.$.name())
+                                            .authors(AuthorFetcher.$.firstName())
+                            )
+                    )
+                    .execute(con);
+            List<Book> actual = getSqlClient()
+                    .createQuery(table)
+                    .orderBy(table.name().asc(), table.edition().asc())
+                    .select(
+                            table.fetch(
+                                    BookFetcher.$.allScalarFields()
+                                            .store(BookStoreFetcher.$.name())
+                                            .authors(AuthorFetcher.$.firstName())
+                            )
+                    )
+                    .stream(con, 5, stream -> stream.collect(Collectors.toList()));
+            Assertions.assertEquals(expected.toString(), actual.toString());
+            long count = getSqlClient()
+                    .createQuery(table)
+                    .select(table)
+                    .stream(con, 4, stream -> stream.filter(book -> book.edition() == 3).count());
+            Assertions.assertEquals(
+                    expected.stream().filter(book -> book.edition() == 3).count(),
+                    count
+            );
+        });
+    }
 }
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
@@ -12,9 +13,14 @@ import org.babyfish.jimmer.sql.model.embedded.MachineTable;
 import org.babyfish.jimmer.sql.model.embedded.OrderItemTable;
 import org.babyfish.jimmer.sql.model.embedded.TransformTable;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadataTable;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 public class InCollectionTest extends AbstractQueryTest {
@@ -77,6 +83,153 @@ public class InCollectionTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testLargeSimpleId() {
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setLargeInListThreshold(5);
+                    cfg.setDialect(new H2Dialect() {
+                        @Override
+                        public boolean isAnyEqualityOfArraySupported() {
+                            return false;
+                        }
+                        @Override
+                        public int getMaxInListSize() {
+                            return 5;
+                        }
+                    });
+                })
+                        .createQuery(table)
+                        .where(
+                                table.id().in(
+                                        Arrays.asList(
+                                                1L, 2L, 3L, 4L, 5L,
+                                                6L, 7L, 8L
+                                        )
+                                )
+                        )
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where tb_1_.NODE_ID = any(?) " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables(
+                            (Object) new Object[] { 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L }
+                    );
+                    ctx.rows("[1,2,3,4,5,6,7,8]");
+                }
+        );
+    }
+
+    @Test
+    public void testLargeIdsByTemporaryTable() {
+        JSqlClient sqlClient = getSqlClient(cfg -> {
+            cfg.setLargeInListThreshold(2);
+            cfg.setDialect(new H2Dialect() {
+                @Override
+                public boolean isArraySupported() {
+                    return false;
+                }
+                @Override
+                public boolean isAnyEqualityOfArraySupported() {
+                    return false;
+                }
+                @Override
+                public String temporaryKeyTableDDL(String tableName, Class<?> keyType, String sqlTypeName) {
+                    return "create local temporary table if not exists " +
+                            tableName +
+                            "(USAGE_ID bigint not null, KEY_VALUE " +
+                            sqlTypeName +
+                            " not null, primary key(USAGE_ID, KEY_VALUE))";
+                }
+            });
+        });
+        connectAndExpect(
+                con -> {
+                    List<Book> books = sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findByIds(
+                                    Book.class,
+                                    Arrays.asList(learningGraphQLId1, graphQLInActionId1, learningGraphQLId1)
+                            );
+                    // The keys are deleted after the query
+                    try (PreparedStatement stmt = con.prepareStatement(
+                            "select count(*) from JIMMER_KEYS_UUID"
+                    )) {
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            rs.next();
+                            Assertions.assertEquals(0, rs.getInt(1));
+                        }
+                    } catch (SQLException ex) {
+                        Assertions.fail(ex);
+                    }
+                    return books;
+                },
+                ctx -> {
+                    // statements[0] is the DDL of the temporary table
+                    ctx.statement(1).sql(
+                            "insert into JIMMER_KEYS_UUID(USAGE_ID, KEY_VALUE) values(?, ?)"
+                    );
+                    // UUID keys are bound as native uuid, not string
+                    ctx.statement(2).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID in (" +
+                                    "--->select KEY_VALUE from JIMMER_KEYS_UUID where USAGE_ID = ?" +
+                                    ")"
+                    );
+                    ctx.statement(3).sql(
+                            "delete from JIMMER_KEYS_UUID where USAGE_ID = ?"
+                    );
+                    ctx.rows(2);
+                }
+        );
+    }
+
+    @Test
+    public void testLargeEmbeddedIdByTupleUnnest() {
+        OrderItemTable table = OrderItemTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setLargeInListThreshold(5);
+                    cfg.setDialect(new H2Dialect());
+                })
+                        .createQuery(table)
+                        .where(
+                                table.orderId().in(
+                                        Arrays.asList(
+                                                Immutables.createOrderId(id -> id.setX("001").setY("001")),
+                                                Immutables.createOrderId(id -> id.setX("001").setY("002")),
+                                                Immutables.createOrderId(id -> id.setX("001").setY("003")),
+                                                Immutables.createOrderId(id -> id.setX("001").setY("004")),
+                                                Immutables.createOrderId(id -> id.setX("002").setY("001"))
+                                        )
+                                )
+                        )
+                        .select(table),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ORDER_ITEM_A, tb_1_.ORDER_ITEM_B, tb_1_.ORDER_ITEM_C, " +
+                                    "tb_1_.NAME, " +
+                                    "tb_1_.FK_ORDER_X, tb_1_.FK_ORDER_Y " +
+                                    "from ORDER_ITEM tb_1_ " +
+                                    "where (tb_1_.FK_ORDER_X, tb_1_.FK_ORDER_Y) in (" +
+                                    "--->select * from unnest(?, ?)" +
+                                    ")"
+                    ).variables(
+                            (Object) new Object[] { "001", "001", "001", "001", "002" },
+                            (Object) new Object[] { "001", "002", "003", "004", "001" }
+                    );
+                    ctx.rows(4);
+                }
+        );
+    }
+
     @Test
     public void testEmbeddedId() {
         OrderItemTable table = OrderItemTable.$;
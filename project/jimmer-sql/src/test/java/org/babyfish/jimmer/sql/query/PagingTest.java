@@ -1,5 +1,7 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.SeekSlice;
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
@@ -17,6 +19,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class PagingTest extends AbstractQueryTest {
 
@@ -578,6 +581,146 @@ public class PagingTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testFetchSeek() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name())
+                .orderBy(table.edition().desc())
+                .select(table);
+        jdbc(con -> {
+            SeekSlice<Book> slice1 = query.fetchSeek(null, 5, con);
+            SeekSlice<Book> slice2 = query.fetchSeek(slice1.getNextCursor(), 5, con);
+            SeekSlice<Book> slice3 = query.fetchSeek(slice2.getNextCursor(), 5, con);
+            Assertions.assertTrue(slice1.isHead());
+            Assertions.assertFalse(slice1.isTail());
+            Assertions.assertEquals(
+                    "[Effective TypeScript-3, Effective TypeScript-2, Effective TypeScript-1, " +
+                            "GraphQL in Action-3, GraphQL in Action-2]",
+                    titles(slice1)
+            );
+            Assertions.assertFalse(slice2.isHead());
+            Assertions.assertFalse(slice2.isTail());
+            Assertions.assertEquals(
+                    "[GraphQL in Action-1, Learning GraphQL-3, Learning GraphQL-2, " +
+                            "Learning GraphQL-1, Programming TypeScript-3]",
+                    titles(slice2)
+            );
+            Assertions.assertTrue(slice3.isTail());
+            Assertions.assertNull(slice3.getNextCursor());
+            Assertions.assertEquals(
+                    "[Programming TypeScript-2, Programming TypeScript-1]",
+                    titles(slice3)
+            );
+        });
+    }
+
+    @Test
+    public void testFetchSeekByTupleComparison() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .where(table.storeId().eq(Constants.manningId))
+                .orderBy(table.name())
+                .select(table);
+        jdbc(con -> {
+            SeekSlice<Book> slice1 = query.fetchSeek(null, 2, con);
+            SeekSlice<Book> slice2 = query.fetchSeek(slice1.getNextCursor(), 2, con);
+            Assertions.assertEquals(2, slice1.getRows().size());
+            Assertions.assertEquals(1, slice2.getRows().size());
+            Assertions.assertTrue(slice2.isTail());
+            Assertions.assertTrue(
+                    getExecutions().get(1).getSql().contains(
+                            "where tb_1_.STORE_ID = ? and (tb_1_.NAME, tb_1_.ID) > (?, ?) " +
+                                    "order by tb_1_.NAME asc, tb_1_.ID asc"
+                    )
+            );
+        });
+    }
+
+    @Test
+    public void testFetchPageWithCountCache() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setCountCacheEnabled(true));
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .orderBy(table.name())
+                .select(table);
+        jdbc(con -> {
+            org.babyfish.jimmer.Page<Book> page1 = query.fetchPage(0, 3, con);
+            org.babyfish.jimmer.Page<Book> page2 = query.fetchPage(1, 3, con);
+            Assertions.assertEquals(4, page1.getTotalRowCount());
+            Assertions.assertEquals(3, page1.getRows().size());
+            Assertions.assertEquals(4, page2.getTotalRowCount());
+            Assertions.assertEquals(1, page2.getRows().size());
+            // The count query of second page is not executed
+            Assertions.assertEquals(3, getExecutions().size());
+            Assertions.assertEquals(4, query.fetchUnlimitedCount(con));
+            Assertions.assertEquals(3, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testFetchPageWithCountCacheAndArrayVariable() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setCountCacheEnabled(true);
+            // The in-list is bound as one array variable
+            it.setLargeInListThreshold(2);
+        });
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient
+                .createQuery(table)
+                .where(table.edition().in(Arrays.asList(2, 3)))
+                .orderBy(table.name(), table.edition())
+                .select(table);
+        jdbc(con -> {
+            org.babyfish.jimmer.Page<Book> page1 = query.fetchPage(0, 5, con);
+            org.babyfish.jimmer.Page<Book> page2 = query.fetchPage(1, 5, con);
+            Assertions.assertEquals(8, page1.getTotalRowCount());
+            Assertions.assertEquals(8, page2.getTotalRowCount());
+            Assertions.assertEquals(3, page2.getRows().size());
+            // The array variables of two executions are different objects
+            // with the same content, the count query of second page is not executed
+            Assertions.assertEquals(3, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testFetchPageConcurrently() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setConcurrentPagingEnabled(true);
+            // Synchronous executor makes the execution order predictable
+            it.setParallelFetchingExecutor(Runnable::run);
+        });
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .orderBy(table.name())
+                .select(table);
+        org.babyfish.jimmer.Page<Book> page = query.fetchPage(1, 3);
+        Assertions.assertEquals(4, page.getTotalRowCount());
+        Assertions.assertEquals(1, page.getRows().size());
+        Assertions.assertEquals("Programming TypeScript", page.getRows().get(0).name());
+        Assertions.assertEquals(2, getExecutions().size());
+
+        org.babyfish.jimmer.Page<Book> emptyPage = query.fetchPage(2, 3);
+        Assertions.assertEquals(4, emptyPage.getTotalRowCount());
+        Assertions.assertTrue(emptyPage.getRows().isEmpty());
+    }
+
+    private static String titles(SeekSlice<Book> slice) {
+        return slice
+                .getRows()
+                .stream()
+                .map(it -> it.name() + '-' + it.edition())
+                .collect(Collectors.toList())
+                .toString();
+    }
+
     private static class Page<E> {
 
         final List<E> entities;
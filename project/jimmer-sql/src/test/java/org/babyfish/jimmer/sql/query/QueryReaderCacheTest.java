@@ -0,0 +1,113 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.QueryReaderCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class QueryReaderCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testReuseReaderForSameShape() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryReaderCacheEnabled(true));
+        QueryReaderCache readerCache = ((JSqlClientImplementor) sqlClient).getQueryReaderCache();
+        Assertions.assertNotNull(readerCache);
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            for (int edition = 1; edition <= 3; edition++) {
+                List<Book> books = sqlClient
+                        .createQuery(table)
+                        .where(table.edition().eq(edition))
+                        .select(
+                                table.fetch(
+                                        BookFetcher.$
+                                                .name()
+                                                .edition()
+                                )
+                        )
+                        .execute(con);
+                Assertions.assertFalse(books.isEmpty());
+                for (Book book : books) {
+                    Assertions.assertEquals(edition, book.edition());
+                }
+            }
+            sqlClient
+                    .createQuery(table)
+                    .select(table.name(), table.edition())
+                    .execute(con);
+        });
+        Assertions.assertEquals(2, readerCache.getMissCount());
+        Assertions.assertEquals(2, readerCache.getHitCount());
+        Assertions.assertEquals(2, readerCache.size());
+        Assertions.assertEquals(2, readerCache.getSqlMissCount());
+        Assertions.assertEquals(2, readerCache.getSqlHitCount());
+        Assertions.assertEquals(2, readerCache.sqlSize());
+    }
+
+    @Test
+    public void testReuseSqlForSameShape() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryReaderCacheEnabled(true));
+        JSqlClient sqlClientWithoutCache = getSqlClient();
+        QueryReaderCache readerCache = ((JSqlClientImplementor) sqlClient).getQueryReaderCache();
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            for (String name : new String[] { "GraphQL in Action", "Learning GraphQL", null }) {
+                for (int offset = 0; offset < 3; offset++) {
+                    Assertions.assertEquals(
+                            sqlClientWithoutCache
+                                    .createQuery(table)
+                                    .whereIf(name != null, () -> table.name().eq(name))
+                                    .where(table.edition().ge(2))
+                                    .orderBy(table.edition().desc(), table.id().asc())
+                                    .select(table.id(), table.name(), table.edition())
+                                    .limit(2, offset)
+                                    .execute(con),
+                            sqlClient
+                                    .createQuery(table)
+                                    .whereIf(name != null, () -> table.name().eq(name))
+                                    .where(table.edition().ge(2))
+                                    .orderBy(table.edition().desc(), table.id().asc())
+                                    .select(table.id(), table.name(), table.edition())
+                                    .limit(2, offset)
+                                    .execute(con)
+                    );
+                }
+            }
+        });
+        // With and without `name = ?`, `offset = 0` and `offset > 0`
+        Assertions.assertEquals(4, readerCache.getSqlMissCount());
+        Assertions.assertEquals(5, readerCache.getSqlHitCount());
+        Assertions.assertEquals(4, readerCache.sqlSize());
+    }
+
+    @Test
+    public void testNotReuseSqlOfJoinedQuery() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryReaderCacheEnabled(true));
+        QueryReaderCache readerCache = ((JSqlClientImplementor) sqlClient).getQueryReaderCache();
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            for (int i = 0; i < 2; i++) {
+                sqlClient
+                        .createQuery(table)
+                        .where(table.store().name().eq("MANNING"))
+                        .select(table.name())
+                        .execute(con);
+            }
+        });
+        Assertions.assertEquals(0, readerCache.getSqlMissCount());
+        Assertions.assertEquals(0, readerCache.getSqlHitCount());
+        Assertions.assertEquals(0, readerCache.sqlSize());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertNull(((JSqlClientImplementor) getSqlClient()).getQueryReaderCache());
+    }
+}
@@ -0,0 +1,103 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.Draft;
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.runtime.RowFactory;
+import org.babyfish.jimmer.runtime.RowValues;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+public class RowFactoryTest extends AbstractQueryTest {
+
+    @Test
+    public void testGeneratedRowFactory() {
+        Assertions.assertNotNull(ImmutableType.get(Author.class).getRowFactory());
+        // Validation rules belong to draft, so no row factory for `Book`
+        Assertions.assertNull(ImmutableType.get(Book.class).getRowFactory());
+    }
+
+    @Test
+    public void testReadWithoutDraft() {
+        AuthorTable table = AuthorTable.$;
+        List<Author> authors = getSqlClient()
+                .createQuery(table)
+                .where(table.firstName().eq("Boris"))
+                .select(
+                        table.fetch(
+                                AuthorFetcher.$
+                                        .firstName()
+                                        .lastName()
+                                        .gender()
+                        )
+                )
+                .execute();
+        Assertions.assertEquals(1, authors.size());
+        Author author = authors.get(0);
+        Assertions.assertFalse(author instanceof Draft);
+        Assertions.assertEquals("Cherny", author.lastName());
+        Assertions.assertEquals(Gender.MALE, author.gender());
+        Assertions.assertFalse(ImmutableObjects.isLoaded(author, AuthorProps.BOOKS));
+        Assertions.assertFalse(ImmutableObjects.isLoaded(author, AuthorProps.COUNTRY));
+    }
+
+    @Test
+    public void testPrimitiveWithoutBoxing() {
+        RowFactory rowFactory = ImmutableType.get(Author.class).getRowFactory();
+        PropId[] propIds = new PropId[] {
+                AuthorProps.ID.unwrap().getId(),
+                AuthorProps.FULL_NAME_LENGTH.unwrap().getId()
+        };
+        UUID id = UUID.randomUUID();
+        boolean[] isNull = new boolean[1];
+        RowValues values = new RowValues() {
+            @Override
+            public Object get(int index) {
+                Assertions.assertEquals(0, index, "The int value must not be boxed");
+                return id;
+            }
+
+            @Override
+            public int getInt(int index) {
+                Assertions.assertEquals(1, index);
+                return isNull[0] ? 0 : 11;
+            }
+
+            @Override
+            public long getLong(int index) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public double getDouble(int index) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public boolean getBoolean(int index) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public boolean wasNull() {
+                return isNull[0];
+            }
+        };
+        Author author = (Author) rowFactory.create(propIds, values);
+        Assertions.assertEquals(id, author.id());
+        Assertions.assertEquals(11, author.fullNameLength());
+        Assertions.assertFalse(ImmutableObjects.isLoaded(author, AuthorProps.FIRST_NAME));
+        isNull[0] = true;
+        IllegalArgumentException ex = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> rowFactory.create(propIds, values)
+        );
+        Assertions.assertEquals("'fullNameLength' cannot be null", ex.getMessage());
+    }
+}
@@ -0,0 +1,122 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testReuseInSameConnectionScope() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setStatementCacheEnabled(true));
+        JSqlClientImplementor implementor = (JSqlClientImplementor) sqlClient;
+        StatementCache statementCache = implementor.getStatementCache();
+        Assertions.assertNotNull(statementCache);
+        jdbc(con -> {
+            implementor.getConnectionManager().execute(con, c -> {
+                Assertions.assertEquals(
+                        "[GraphQL in Action, GraphQL in Action, GraphQL in Action]",
+                        queryNames(sqlClient, c, "GraphQL in Action").toString()
+                );
+                Assertions.assertEquals(
+                        "[Learning GraphQL, Learning GraphQL, Learning GraphQL]",
+                        queryNames(sqlClient, c, "Learning GraphQL").toString()
+                );
+                Assertions.assertEquals(1, statementCache.size(c));
+                return null;
+            });
+            Assertions.assertEquals(0, statementCache.size(con));
+        });
+        Assertions.assertEquals(1, statementCache.getMissCount());
+        Assertions.assertEquals(1, statementCache.getHitCount());
+        Assertions.assertEquals(2, getExecutions().size());
+    }
+
+    @Test
+    public void testReuseInTransaction() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(
+                    ConnectionManager.simpleConnectionManager(
+                            new SimpleDriverDataSource(new Driver(), JDBC_URL)
+                    )
+            );
+            it.setStatementCacheEnabled(true);
+        });
+        StatementCache statementCache = ((JSqlClientImplementor) sqlClient).getStatementCache();
+        sqlClient.transaction(() -> {
+            Assertions.assertEquals(
+                    "[GraphQL in Action, GraphQL in Action, GraphQL in Action]",
+                    queryNames(sqlClient, null, "GraphQL in Action").toString()
+            );
+            Assertions.assertEquals(
+                    "[Learning GraphQL, Learning GraphQL, Learning GraphQL]",
+                    queryNames(sqlClient, null, "Learning GraphQL").toString()
+            );
+            return null;
+        });
+        Assertions.assertEquals(1, statementCache.getMissCount());
+        Assertions.assertEquals(1, statementCache.getHitCount());
+        Assertions.assertEquals(2, getExecutions().size());
+    }
+
+    @Test
+    public void testReuseInBoundScope() {
+        List<Runnable> releases = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(new ScopeBinderImpl(releases));
+            it.setStatementCacheEnabled(true);
+        });
+        StatementCache statementCache = ((JSqlClientImplementor) sqlClient).getStatementCache();
+        jdbc(con -> {
+            // Separate calls outside transaction, the scope is
+            // kept until the bound release callback is invoked
+            queryNames(sqlClient, con, "GraphQL in Action");
+            queryNames(sqlClient, con, "Learning GraphQL");
+            Assertions.assertEquals(1, statementCache.size(con));
+            Assertions.assertEquals(1, releases.size());
+            releases.get(0).run();
+            Assertions.assertEquals(0, statementCache.size(con));
+        });
+        Assertions.assertEquals(1, statementCache.getMissCount());
+        Assertions.assertEquals(1, statementCache.getHitCount());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertNull(((JSqlClientImplementor) getSqlClient()).getStatementCache());
+    }
+
+    private static class ScopeBinderImpl
+            extends TestConnectionManager
+            implements StatementCache.ScopeBinder {
+
+        private final List<Runnable> releases;
+
+        ScopeBinderImpl(List<Runnable> releases) {
+            this.releases = releases;
+        }
+
+        @Override
+        public boolean bindScope(Connection con, Runnable release) {
+            releases.add(release);
+            return true;
+        }
+    }
+
+    private static List<String> queryNames(JSqlClient sqlClient, Connection con, String name) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.name().eq(name))
+                .select(table.name())
+                .execute(con);
+    }
+}
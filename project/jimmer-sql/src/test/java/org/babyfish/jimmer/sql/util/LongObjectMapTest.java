@@ -0,0 +1,103 @@
+package org.babyfish.jimmer.sql.util;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.ast.impl.util.IdCollections;
+import org.babyfish.jimmer.sql.ast.impl.util.LongObjectMap;
+import org.babyfish.jimmer.sql.ast.impl.util.LongSet;
+import org.junit.jupiter.api.Assertions;
+import org.babyfish.jimmer.sql.model.TreeNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void testMap() {
+        LongObjectMap<String> map = new LongObjectMap<>(false);
+        map.put(3L, "Gamma");
+        map.put(1L, "Alpha");
+        map.put(2L, "Beta");
+        map.put(1L, "alpha");
+        Assertions.assertEquals("{3=Gamma, 1=alpha, 2=Beta}", map.toString());
+        Assertions.assertEquals("Beta", map.get(2L));
+        Assertions.assertNull(map.get((Object) 2));
+        Assertions.assertNull(map.get(4L));
+        Assertions.assertEquals("Gamma", map.remove(3L));
+        Assertions.assertFalse(map.containsKey(3L));
+        map.put(3L, "gamma");
+        Assertions.assertEquals("{1=alpha, 2=Beta, 3=gamma}", map.toString());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("4", "Delta"));
+    }
+
+    @Test
+    public void testSameAsLinkedHashMap() {
+        LongObjectMap<Long> map = new LongObjectMap<>(false, 2);
+        Map<Object, Long> expected = new LinkedHashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            long key = i * 7919 % 1009;
+            map.put(key, i);
+            expected.put(key, i);
+            if (i % 3 == 0) {
+                map.remove(i);
+                expected.remove(i);
+            }
+        }
+        Iterator<Map.Entry<Object, Long>> itr = map.entrySet().iterator();
+        while (itr.hasNext()) {
+            if (itr.next().getValue() % 5 == 0) {
+                itr.remove();
+            }
+        }
+        expected.values().removeIf(it -> it % 5 == 0);
+        Assertions.assertEquals(expected, map);
+        Assertions.assertEquals(
+                new ArrayList<>(expected.keySet()),
+                new ArrayList<>(map.keySet())
+        );
+    }
+
+    @Test
+    public void testIntSet() {
+        LongSet set = new LongSet(true);
+        set.addAll(Arrays.asList(5, 3, 5, 1));
+        Assertions.assertEquals("[5, 3, 1]", set.toString());
+        Assertions.assertTrue(set.contains((Object) 3));
+        Assertions.assertFalse(set.contains((Object) 3L));
+        Assertions.assertTrue(set.remove(3));
+        Assertions.assertEquals("[5, 1]", set.toString());
+        Assertions.assertEquals(Integer.class, set.iterator().next().getClass());
+    }
+
+    @Test
+    public void testSetValueAfterGrow() {
+        LongObjectMap<String> map = new LongObjectMap<>(false, 2);
+        map.put(1L, "Alpha");
+        Map.Entry<Object, String> entry = map.entrySet().iterator().next();
+        for (long i = 2; i <= 100; i++) {
+            map.put(i, "Value-" + i);
+        }
+        Assertions.assertEquals("Alpha", entry.setValue("alpha"));
+        Assertions.assertEquals("alpha", map.get(1L));
+        Assertions.assertEquals("alpha", entry.getValue());
+        map.remove(1L);
+        Assertions.assertThrows(IllegalStateException.class, () -> entry.setValue("ALPHA"));
+    }
+
+    @Test
+    public void testIdSetIgnoresNull() {
+        // Cache returns null for the source without target
+        Set<Object> ids = IdCollections.toIdSet(
+                ImmutableType.get(TreeNode.class),
+                Arrays.asList(3L, null, 1L, 3L, null)
+        );
+        Assertions.assertTrue(ids instanceof LongSet);
+        Assertions.assertEquals(Arrays.asList(3L, 1L), new ArrayList<>(ids));
+        Assertions.assertFalse(ids.contains(null));
+    }
+}